@@ -0,0 +1,215 @@
+package com.infosys.aibudgettracker.analytics.forecast.backtest;
+
+import com.infosys.aibudgettracker.analytics.forecast.ExponentialSmoothingModel;
+import com.infosys.aibudgettracker.analytics.forecast.ForecastEngine;
+import com.infosys.aibudgettracker.analytics.forecast.ForecastModel;
+import com.infosys.aibudgettracker.analytics.forecast.HoltWintersModel;
+import com.infosys.aibudgettracker.analytics.forecast.LinearTrendModel;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Offline backtest of the forecasting models with rolling-origin evaluation.
+ *
+ * For every user and every origin {@code t >= min-train}, each model forecasts month {@code t + 1}
+ * from months {@code [0, t)}, stepping over month {@code t} with its own forecast. That is the
+ * horizon the prediction endpoint uses: it fits on complete months only and skips the month in
+ * progress to reach next month. The {@code auto} row is the engine's own holdout-based choice.
+ * Users are evaluated in parallel.
+ *
+ * Lives under src/backtest/java, which only the backtest profile compiles, so it is not part of
+ * the application jar.
+ *
+ * <pre>
+ * mvn -Pbacktest test-compile exec:java -Dbacktest.args="--users=2000"
+ *      [--users=500] [--months=48] [--seed=42] [--min-train=6] [--input=history.csv] [--output=report.txt]
+ * </pre>
+ *
+ * {@code --input} reads anonymized history as {@code user,yyyy-MM,total} lines (header optional)
+ * instead of generating synthetic users.
+ */
+public class BacktestHarness {
+
+    // the month in progress, then the month predicted
+    private static final int STEPS = 2;
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseArgs(args);
+        int minTrain = Integer.parseInt(options.getOrDefault("min-train", "6"));
+
+        double[][] series;
+        String source;
+        if (options.containsKey("input")) {
+            series = readCsv(Path.of(options.get("input")));
+            source = options.get("input");
+        } else {
+            int users = Integer.parseInt(options.getOrDefault("users", "500"));
+            int months = Integer.parseInt(options.getOrDefault("months", "48"));
+            long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+            series = SyntheticHistory.generate(users, months, seed);
+            source = "synthetic users=" + users + " months=" + months + " seed=" + seed;
+        }
+
+        List<ForecastModel> models = List.of(new LinearTrendModel(), new ExponentialSmoothingModel(), new HoltWintersModel());
+        ForecastEngine engine = new ForecastEngine(models);
+        Result result = run(series, models, engine, minTrain);
+
+        String report = result.format(source, series.length, minTrain);
+        if (options.containsKey("output")) {
+            Files.writeString(Path.of(options.get("output")), report, StandardCharsets.UTF_8);
+        }
+        System.out.print(report);
+    }
+
+    static Result run(double[][] series, List<ForecastModel> models, ForecastEngine engine, int minTrain) {
+        int rows = models.size() + 1; // last row is the engine's automatic choice
+        return IntStream.range(0, series.length).parallel()
+                .mapToObj(u -> evaluateUser(series[u], models, engine, minTrain, rows))
+                .reduce(new Result(names(models), rows), Result::merge);
+    }
+
+    private static Result evaluateUser(double[] y, List<ForecastModel> models, ForecastEngine engine,
+                                       int minTrain, int rows) {
+        Result r = new Result(names(models), rows);
+        double[] scratch = engine.newScratch();
+        // forecasts stand in for the skipped month here, so y itself is never written
+        double[] work = y.clone();
+        for (int t = minTrain; t + STEPS - 1 < y.length; t++) {
+            double actual = y[t + STEPS - 1];
+            for (int m = 0; m < models.size(); m++) {
+                ForecastModel model = models.get(m);
+                if (t < model.minHistory()) continue;
+                long start = System.nanoTime();
+                double predicted = Math.max(0.0, iterate(model, work, t, scratch));
+                r.add(m, actual, predicted, System.nanoTime() - start);
+                System.arraycopy(y, t, work, t, STEPS - 1);
+            }
+            long start = System.nanoTime();
+            double predicted = engine.forecast(work, t, STEPS, scratch).getValue();
+            r.add(rows - 1, actual, predicted, System.nanoTime() - start);
+            System.arraycopy(y, t, work, t, STEPS - 1);
+        }
+        return r;
+    }
+
+    /** {@code y[n + STEPS - 1]} from {@code y[0..n)}, as {@link ForecastEngine} iterates a model. */
+    private static double iterate(ForecastModel model, double[] y, int n, double[] scratch) {
+        double value = model.forecast(y, n, scratch);
+        for (int k = 1; k < STEPS; k++) {
+            y[n + k - 1] = value;
+            value = model.forecast(y, n + k, scratch);
+        }
+        return value;
+    }
+
+    private static String[] names(List<ForecastModel> models) {
+        String[] names = new String[models.size() + 1];
+        for (int i = 0; i < models.size(); i++) names[i] = models.get(i).name();
+        names[models.size()] = "auto";
+        return names;
+    }
+
+    private static double[][] readCsv(Path path) throws IOException {
+        Map<String, TreeMap<YearMonth, Double>> byUser = new HashMap<>();
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            String[] parts = line.split(",");
+            if (parts.length < 3 || parts[1].trim().isEmpty() || !Character.isDigit(parts[1].trim().charAt(0))) continue;
+            byUser.computeIfAbsent(parts[0].trim(), k -> new TreeMap<>())
+                    .merge(YearMonth.parse(parts[1].trim()), Double.parseDouble(parts[2].trim()), Double::sum);
+        }
+        List<double[]> series = new ArrayList<>();
+        for (TreeMap<YearMonth, Double> months : byUser.values()) {
+            YearMonth first = months.firstKey();
+            double[] y = new double[(int) first.until(months.lastKey(), ChronoUnit.MONTHS) + 1];
+            months.forEach((ym, v) -> y[(int) first.until(ym, ChronoUnit.MONTHS)] = v);
+            series.add(y);
+        }
+        return series.toArray(new double[0][]);
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int eq = arg.indexOf('=');
+            if (eq > 0) options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            else options.put(arg.substring(2), "true");
+        }
+        return options;
+    }
+
+    /** Per-model error and timing sums; merged across users. */
+    static final class Result {
+        private final String[] names;
+        private final long[] count;
+        private final double[] absError;
+        private final double[] pctError;
+        private final long[] pctCount;
+        private final long[] nanos;
+
+        Result(String[] names, int rows) {
+            this.names = names;
+            this.count = new long[rows];
+            this.absError = new double[rows];
+            this.pctError = new double[rows];
+            this.pctCount = new long[rows];
+            this.nanos = new long[rows];
+        }
+
+        void add(int row, double actual, double predicted, long elapsed) {
+            double err = Math.abs(actual - predicted);
+            count[row]++;
+            absError[row] += err;
+            nanos[row] += elapsed;
+            // MAPE is undefined for months without spend
+            if (actual > 0) {
+                pctError[row] += err / actual;
+                pctCount[row]++;
+            }
+        }
+
+        Result merge(Result other) {
+            Result r = new Result(names, count.length);
+            for (int i = 0; i < count.length; i++) {
+                r.count[i] = count[i] + other.count[i];
+                r.absError[i] = absError[i] + other.absError[i];
+                r.pctError[i] = pctError[i] + other.pctError[i];
+                r.pctCount[i] = pctCount[i] + other.pctCount[i];
+                r.nanos[i] = nanos[i] + other.nanos[i];
+            }
+            return r;
+        }
+
+        double mae(int row) {
+            return count[row] == 0 ? Double.NaN : absError[row] / count[row];
+        }
+
+        double mape(int row) {
+            return pctCount[row] == 0 ? Double.NaN : 100.0 * pctError[row] / pctCount[row];
+        }
+
+        String format(String source, int users, int minTrain) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("Forecast backtest (rolling origin, next month past the one in progress)\n");
+            sb.append("source: ").append(source).append("\n");
+            sb.append("users: ").append(users).append(", min-train: ").append(minTrain).append("\n\n");
+            sb.append(String.format("%-24s %10s %12s %9s %12s%n", "model", "forecasts", "MAE", "MAPE %", "us/forecast"));
+            for (int i = 0; i < names.length; i++) {
+                sb.append(String.format("%-24s %10d %12.2f %9.2f %12.3f%n", names[i], count[i], mae(i), mape(i),
+                        count[i] == 0 ? Double.NaN : nanos[i] / 1000.0 / count[i]));
+            }
+            return sb.toString();
+        }
+    }
+}
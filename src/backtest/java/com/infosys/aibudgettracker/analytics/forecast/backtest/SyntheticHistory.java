@@ -0,0 +1,50 @@
+package com.infosys.aibudgettracker.analytics.forecast.backtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic monthly expense histories with a mix of shapes seen in real users: flat,
+ * trending, strongly seasonal, noisy, with one-off spikes, and late starters.
+ */
+final class SyntheticHistory {
+
+    private SyntheticHistory() {
+    }
+
+    static double[][] generate(int users, int months, long seed) {
+        SplittableRandom root = new SplittableRandom(seed);
+        double[][] series = new double[users][];
+        for (int u = 0; u < users; u++) {
+            series[u] = generateOne(root.split(), months);
+        }
+        return series;
+    }
+
+    private static double[] generateOne(SplittableRandom rng, int months) {
+        double base = Math.exp(6.5 + rng.nextDouble() * 2.0); // roughly 650 to 4800 a month
+        double trend = (rng.nextDouble() - 0.5) * base * 0.02;
+        double seasonality = rng.nextDouble() < 0.5 ? base * rng.nextDouble() * 0.4 : 0.0;
+        double noise = base * (0.02 + rng.nextDouble() * 0.25);
+        double spikeChance = rng.nextDouble() * 0.08;
+        int startsAt = rng.nextDouble() < 0.2 ? rng.nextInt(Math.max(1, months / 2)) : 0;
+
+        double[] y = new double[months];
+        for (int t = startsAt; t < months; t++) {
+            double v = base + trend * t
+                    + seasonality * Math.sin(2 * Math.PI * (t % 12) / 12.0)
+                    + noise * gaussian(rng);
+            if (rng.nextDouble() < spikeChance) {
+                v += base * (0.5 + rng.nextDouble());
+            }
+            y[t] = Math.max(0.0, v);
+        }
+        return y;
+    }
+
+    private static double gaussian(SplittableRandom rng) {
+        // Box-Muller, one value per call is plenty here
+        double u1 = Math.max(rng.nextDouble(), 1e-12);
+        double u2 = rng.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+}
@@ -0,0 +1,115 @@
+package com.infosys.aibudgettracker.analytics.columnar;
+
+import com.infosys.aibudgettracker.transaction.model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The yearly analytics aggregation (category breakdown of one month, expense trend and income vs
+ * expense per month) done the previous way, with streams and boxed maps over entities, against
+ * the column kernels over the same rows.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=AggregationKernelBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class AggregationKernelBenchmark {
+
+    private static final String[] CATEGORIES = {"Rent", "Food", "Travel", "Entertainment", "Shopping",
+            "Healthcare", "Utilities", "Other", "Salary", "Freelance"};
+    private static final int YEAR = 2024;
+    private static final int MONTH = 6;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private List<Transaction> transactions;
+    private TransactionColumns columns;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom rng = new SplittableRandom(3);
+        transactions = new ArrayList<>(rows);
+        columns = new TransactionColumns(rows);
+        LocalDate first = LocalDate.of(YEAR, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            Transaction t = new Transaction();
+            boolean income = rng.nextInt(10) == 0;
+            t.setType(income ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE);
+            t.setCategory(CATEGORIES[income ? 8 + rng.nextInt(2) : rng.nextInt(8)]);
+            t.setAmount(Math.round((1 + rng.nextDouble() * 500) * 100) / 100.0);
+            t.setTransactionDate(first.plusDays(rng.nextInt(366)).atTime(12, 0));
+            transactions.add(t);
+            columns.add(t.getAmountMinor(), (int) t.getTransactionDate().toLocalDate().toEpochDay(),
+                    income ? TransactionColumns.INCOME : TransactionColumns.EXPENSE, t.getCategory());
+        }
+    }
+
+    @Benchmark
+    public void streams(Blackhole bh) {
+        LocalDateTime startOfMonth = LocalDateTime.of(YEAR, MONTH, 1, 0, 0);
+        LocalDateTime endOfMonth = startOfMonth.plusMonths(1).minusSeconds(1);
+        List<Transaction> month = transactions.stream()
+                .filter(t -> !t.getTransactionDate().isBefore(startOfMonth) && !t.getTransactionDate().isAfter(endOfMonth))
+                .collect(Collectors.toList());
+        Map<String, Double> categoryTotals = month.stream()
+                .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
+                .collect(Collectors.groupingBy(Transaction::getCategory, Collectors.summingDouble(Transaction::getAmount)));
+
+        Map<Integer, Double> trend = new HashMap<>();
+        transactions.stream()
+                .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
+                .forEach(t -> trend.merge(t.getTransactionDate().getMonthValue(), t.getAmount(), Double::sum));
+
+        Map<Integer, Double> income = new HashMap<>();
+        Map<Integer, Double> expense = new HashMap<>();
+        transactions.forEach(t -> {
+            int m = t.getTransactionDate().getMonthValue();
+            if (t.getType() == Transaction.TransactionType.INCOME) income.merge(m, t.getAmount(), Double::sum);
+            else expense.merge(m, t.getAmount(), Double::sum);
+        });
+        bh.consume(categoryTotals);
+        bh.consume(trend);
+        bh.consume(income);
+        bh.consume(expense);
+    }
+
+    @Benchmark
+    public void kernels(Blackhole bh) {
+        DayBuckets months = DayBuckets.months(YearMonth.of(YEAR, 1), 12);
+        long[] byCategory = new long[columns.categoryCount()];
+        ColumnKernels.sumByCategory(columns, TransactionColumns.EXPENSE, months.startDay(MONTH - 1), months.endDay(MONTH - 1), byCategory);
+        long[] income = new long[12];
+        long[] expense = new long[12];
+        ColumnKernels.sumByBucketAndType(columns, months, income, expense);
+        bh.consume(byCategory);
+        bh.consume(income);
+        bh.consume(expense);
+    }
+}
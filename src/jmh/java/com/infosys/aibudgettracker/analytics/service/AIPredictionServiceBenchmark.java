@@ -0,0 +1,63 @@
+package com.infosys.aibudgettracker.analytics.service;
+
+import com.infosys.aibudgettracker.analytics.forecast.ExponentialSmoothingModel;
+import com.infosys.aibudgettracker.analytics.forecast.ForecastEngine;
+import com.infosys.aibudgettracker.analytics.forecast.HoltWintersModel;
+import com.infosys.aibudgettracker.analytics.forecast.LinearTrendModel;
+import com.infosys.aibudgettracker.benchmark.SyntheticLedger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AIPredictionService#predictNextMonthExpenses}: monthly bucketing of the window plus
+ * fitting every forecast model, over a stubbed loader.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=AIPredictionServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class AIPredictionServiceBenchmark {
+
+    private static final Long USER_ID = 1L;
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    @Param({"12", "36"})
+    public int months;
+
+    private AIPredictionService service;
+
+    @Setup
+    public void setUp() {
+        YearMonth now = YearMonth.now();
+        service = new AIPredictionService();
+        ReflectionTestUtils.setField(service, "columnsLoader", SyntheticLedger.loaderOf(SyntheticLedger.columns(
+                rows, now.minusMonths(months - 1).atDay(1), now.atEndOfMonth(), 17)));
+        ReflectionTestUtils.setField(service, "forecastEngine", new ForecastEngine(
+                List.of(new LinearTrendModel(), new ExponentialSmoothingModel(), new HoltWintersModel())));
+    }
+
+    @Benchmark
+    public AIPredictionService.AIPredictionResult predictNextMonthExpenses() {
+        return service.predictNextMonthExpenses(USER_ID, months);
+    }
+}
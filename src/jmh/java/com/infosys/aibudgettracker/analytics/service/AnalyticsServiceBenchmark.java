@@ -0,0 +1,68 @@
+package com.infosys.aibudgettracker.analytics.service;
+
+import com.infosys.aibudgettracker.analytics.dto.AnalyticsResponse;
+import com.infosys.aibudgettracker.benchmark.Stubs;
+import com.infosys.aibudgettracker.benchmark.SyntheticLedger;
+import com.infosys.aibudgettracker.category.repository.CategoryRepository;
+import com.infosys.aibudgettracker.category.service.CategoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AnalyticsService#getAnalytics} over a year of synthetic history, flat and rolled up to
+ * top-level categories. The loader is stubbed, so this is the in-memory aggregation only.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=AnalyticsServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class AnalyticsServiceBenchmark {
+
+    private static final Long USER_ID = 1L;
+    private static final int YEAR = 2024;
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private AnalyticsService service;
+
+    @Setup
+    public void setUp() {
+        CategoryService categoryService = new CategoryService();
+        ReflectionTestUtils.setField(categoryService, "categoryRepository", Stubs.of(CategoryRepository.class,
+                Map.of("findByUserId", args -> SyntheticLedger.categories(USER_ID))));
+
+        service = new AnalyticsService();
+        ReflectionTestUtils.setField(service, "columnsLoader", SyntheticLedger.loaderOf(
+                SyntheticLedger.columns(rows, LocalDate.of(YEAR, 1, 1), LocalDate.of(YEAR, 12, 31), 11)));
+        ReflectionTestUtils.setField(service, "categoryService", categoryService);
+    }
+
+    @Benchmark
+    public AnalyticsResponse flat() {
+        return service.getAnalytics(USER_ID, YEAR, 6);
+    }
+
+    @Benchmark
+    public AnalyticsResponse rolledUp() {
+        return service.getAnalytics(USER_ID, YEAR, 6, 0);
+    }
+}
@@ -0,0 +1,53 @@
+package com.infosys.aibudgettracker.authservice.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work done on every authenticated request: {@link JwtUtil#validateToken} followed by
+ * {@link JwtUtil#getUsernameFromToken} in the filter, and {@link JwtUtil#generateToken} at login.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=JwtUtilBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        token = jwtUtil.generateToken("benchmark-user");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken("benchmark-user");
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String validateAndReadUsername() {
+        return jwtUtil.validateToken(token) ? jwtUtil.getUsernameFromToken(token) : null;
+    }
+}
@@ -0,0 +1,78 @@
+package com.infosys.aibudgettracker.benchmark;
+
+import com.infosys.aibudgettracker.analytics.columnar.TransactionColumns;
+import com.infosys.aibudgettracker.analytics.columnar.TransactionColumnsLoader;
+import com.infosys.aibudgettracker.category.model.Category;
+import com.infosys.aibudgettracker.money.Money;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded synthetic transaction history for benchmarks: about one row in ten is income, expenses
+ * spread over a fixed set of categories, amounts up to 500 with whole cents.
+ */
+public final class SyntheticLedger {
+
+    public static final String[] EXPENSE_CATEGORIES = {"Rent", "Food", "Travel", "Entertainment", "Shopping",
+            "Healthcare", "Utilities", "Other"};
+    public static final String[] INCOME_CATEGORIES = {"Salary", "Freelance"};
+
+    private SyntheticLedger() {
+    }
+
+    /** {@code rows} transactions dated uniformly over {@code [first, last]}. */
+    public static TransactionColumns columns(int rows, LocalDate first, LocalDate last, long seed) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        int firstDay = (int) first.toEpochDay();
+        int span = (int) (last.toEpochDay() - first.toEpochDay()) + 1;
+        TransactionColumns columns = new TransactionColumns(rows);
+        for (int i = 0; i < rows; i++) {
+            boolean income = rng.nextInt(10) == 0;
+            String category = income
+                    ? INCOME_CATEGORIES[rng.nextInt(INCOME_CATEGORIES.length)]
+                    : EXPENSE_CATEGORIES[rng.nextInt(EXPENSE_CATEGORIES.length)];
+            columns.add(Money.toMinor(1 + rng.nextInt(50_000) / 100.0), firstDay + rng.nextInt(span),
+                    income ? TransactionColumns.INCOME : TransactionColumns.EXPENSE, category);
+        }
+        return columns;
+    }
+
+    /** A loader that ignores the requested range and always answers with {@code columns}. */
+    public static TransactionColumnsLoader loaderOf(TransactionColumns columns) {
+        return new TransactionColumnsLoader() {
+            @Override
+            public TransactionColumns load(Long userId, LocalDate from, LocalDate to) {
+                return columns;
+            }
+        };
+    }
+
+    // parent of each expense category: 1 = Living, 2 = Leisure, null = top level
+    private static final Long[] PARENTS = {1L, 1L, 2L, 2L, 2L, 1L, 1L, null};
+
+    /**
+     * The expense categories under two parents ("Living" and "Leisure"), so roll-ups and
+     * level aggregation have real work to do.
+     */
+    public static List<Category> categories(Long userId) {
+        List<Category> categories = new ArrayList<>();
+        categories.add(category(1L, userId, "Living", null));
+        categories.add(category(2L, userId, "Leisure", null));
+        for (int i = 0; i < EXPENSE_CATEGORIES.length; i++) {
+            categories.add(category(10L + i, userId, EXPENSE_CATEGORIES[i], PARENTS[i]));
+        }
+        return categories;
+    }
+
+    private static Category category(Long id, Long userId, String name, Long parentId) {
+        Category c = new Category();
+        c.setId(id);
+        c.setUserId(userId);
+        c.setName(name);
+        c.setParentId(parentId);
+        return c;
+    }
+}
@@ -0,0 +1,84 @@
+package com.infosys.aibudgettracker.budget.service;
+
+import com.infosys.aibudgettracker.benchmark.Stubs;
+import com.infosys.aibudgettracker.benchmark.SyntheticLedger;
+import com.infosys.aibudgettracker.budget.dto.BudgetProgress;
+import com.infosys.aibudgettracker.budget.model.Budget;
+import com.infosys.aibudgettracker.budget.repository.BudgetRepository;
+import com.infosys.aibudgettracker.category.repository.CategoryRepository;
+import com.infosys.aibudgettracker.category.service.CategoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BudgetService#getBudgetProgress} for a month of synthetic expenses, with a budget on
+ * every leaf category and on both parents so the tree roll-up is exercised.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=BudgetServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class BudgetServiceBenchmark {
+
+    private static final Long USER_ID = 1L;
+    private static final YearMonth MONTH = YearMonth.of(2024, 6);
+
+    @Param({"100", "10000"})
+    public int rows;
+
+    private BudgetService service;
+
+    @Setup
+    public void setUp() {
+        List<Budget> budgets = new ArrayList<>();
+        for (String category : SyntheticLedger.EXPENSE_CATEGORIES) budgets.add(budget(category, 500.0));
+        budgets.add(budget("Living", 3000.0));
+        budgets.add(budget("Leisure", 1000.0));
+
+        CategoryService categoryService = new CategoryService();
+        ReflectionTestUtils.setField(categoryService, "categoryRepository", Stubs.of(CategoryRepository.class,
+                Map.of("findByUserId", args -> SyntheticLedger.categories(USER_ID))));
+
+        service = new BudgetService();
+        ReflectionTestUtils.setField(service, "budgetRepository", Stubs.of(BudgetRepository.class,
+                Map.of("findByUserIdAndMonthAndYear", args -> budgets)));
+        ReflectionTestUtils.setField(service, "columnsLoader", SyntheticLedger.loaderOf(
+                SyntheticLedger.columns(rows, MONTH.atDay(1), MONTH.atEndOfMonth(), 5)));
+        ReflectionTestUtils.setField(service, "categoryService", categoryService);
+    }
+
+    @Benchmark
+    public List<BudgetProgress> getBudgetProgress() {
+        return service.getBudgetProgress(USER_ID, MONTH.getMonthValue(), MONTH.getYear());
+    }
+
+    private static Budget budget(String category, double amount) {
+        Budget b = new Budget();
+        b.setUserId(USER_ID);
+        b.setCategory(category);
+        b.setAmount(amount);
+        b.setMonth(MONTH.getMonthValue());
+        b.setYear(MONTH.getYear());
+        return b;
+    }
+}
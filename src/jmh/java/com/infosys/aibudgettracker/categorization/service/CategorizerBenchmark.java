@@ -0,0 +1,81 @@
+package com.infosys.aibudgettracker.categorization.service;
+
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classifications per second of the naive Bayes categorizer, including feature hashing.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=CategorizerBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategorizerBenchmark {
+
+    private static final String[][] MERCHANTS = {
+            {"Food", "swiggy order", "zomato", "dominos pizza", "grocery mart", "starbucks coffee", "big basket"},
+            {"Travel", "uber trip", "ola cabs", "indigo airlines", "irctc ticket", "metro card recharge"},
+            {"Utilities", "electricity bill", "water board", "airtel broadband", "jio recharge", "gas cylinder"},
+            {"Entertainment", "netflix subscription", "spotify premium", "pvr cinemas", "bookmyshow"},
+            {"Shopping", "amazon order", "flipkart", "myntra fashion", "decathlon", "ikea store"},
+            {"Healthcare", "apollo pharmacy", "clinic visit", "lab test", "dental care"},
+            {"Rent", "monthly rent", "house rent transfer", "landlord payment"},
+    };
+
+    @Param({"16384", "1024"})
+    public int dim;
+
+    private NaiveBayesModel model;
+    private String[] queries;
+    private double[] amounts;
+    private int next;
+    private final int[] features = new int[HashedFeatures.MAX_FEATURES];
+    private final String[] labels = new String[3];
+    private final double[] probs = new double[3];
+
+    @Setup(Level.Trial)
+    public void train() {
+        SplittableRandom rng = new SplittableRandom(7);
+        model = new NaiveBayesModel(dim);
+        for (int i = 0; i < 50_000; i++) {
+            int c = rng.nextInt(MERCHANTS.length);
+            String[] row = MERCHANTS[c];
+            String description = row[1 + rng.nextInt(row.length - 1)] + " #" + rng.nextInt(100000);
+            int n = HashedFeatures.extract(description, 10 + rng.nextDouble() * 500, TransactionType.EXPENSE, features);
+            model.update(c, row[0], features, n, 1);
+        }
+        queries = new String[1024];
+        amounts = new double[1024];
+        for (int i = 0; i < queries.length; i++) {
+            String[] row = MERCHANTS[rng.nextInt(MERCHANTS.length)];
+            queries[i] = "POS " + row[1 + rng.nextInt(row.length - 1)].toUpperCase() + " REF " + rng.nextInt(1000000);
+            amounts[i] = 10 + rng.nextDouble() * 500;
+        }
+    }
+
+    @Benchmark
+    public String classify() {
+        int i = next++ & (queries.length - 1);
+        int n = HashedFeatures.extract(queries[i], amounts[i], TransactionType.EXPENSE, features);
+        model.classify(features, n, labels, probs);
+        return labels[0];
+    }
+}
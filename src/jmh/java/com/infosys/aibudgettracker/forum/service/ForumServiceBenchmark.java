@@ -0,0 +1,128 @@
+package com.infosys.aibudgettracker.forum.service;
+
+import com.infosys.aibudgettracker.authservice.model.User;
+import com.infosys.aibudgettracker.authservice.repository.UserRepository;
+import com.infosys.aibudgettracker.benchmark.Stubs;
+import com.infosys.aibudgettracker.forum.dto.LikeCount;
+import com.infosys.aibudgettracker.forum.dto.PostResponse;
+import com.infosys.aibudgettracker.forum.model.Comment;
+import com.infosys.aibudgettracker.forum.model.Post;
+import com.infosys.aibudgettracker.forum.repository.CommentLikeRepository;
+import com.infosys.aibudgettracker.forum.repository.CommentRepository;
+import com.infosys.aibudgettracker.forum.repository.PostLikeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ForumService#toResponse} for a post seen by a signed-in user. Repositories answer from
+ * memory, so the score is the mapping work. Against a real database each repository call is a
+ * round trip, so setup fails the run if one response takes more calls than the batched queries
+ * need: four without comments, six with.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=ForumServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class ForumServiceBenchmark {
+
+    @Param({"0", "10", "100"})
+    public int comments;
+
+    private ForumService service;
+    private Post post;
+    private final Optional<String> viewer = Optional.of("reader");
+    private final AtomicLong calls = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        User author = user(1L, "author", User.Role.USER);
+        User reader = user(2L, "reader", User.Role.USER);
+        post = new Post();
+        post.setId(1L);
+        post.setUser(author);
+        post.setContent("How do you budget for irregular expenses?");
+        List<Comment> thread = new ArrayList<>(comments);
+        for (int i = 0; i < comments; i++) {
+            Comment c = new Comment();
+            c.setId((long) i);
+            c.setPost(post);
+            c.setUser(i % 2 == 0 ? author : reader);
+            c.setContent("Comment " + i);
+            thread.add(c);
+        }
+
+        service = new ForumService();
+        List<Long> commentIds = thread.stream().map(Comment::getId).toList();
+        ReflectionTestUtils.setField(service, "postLikeRepository", Stubs.of(PostLikeRepository.class, Map.of(
+                "countByPostIds", args -> counted(List.of(likes(1L, 3L))),
+                "findPostIdsLikedBy", args -> counted(List.of()))));
+        ReflectionTestUtils.setField(service, "userRepository", Stubs.of(UserRepository.class, Map.of(
+                "findByUsername", args -> counted(Optional.of(reader)))));
+        ReflectionTestUtils.setField(service, "commentRepository", Stubs.of(CommentRepository.class, Map.of(
+                "findByPostIdInOrderByCreatedAtAsc", args -> counted(thread))));
+        ReflectionTestUtils.setField(service, "commentLikeRepository", Stubs.of(CommentLikeRepository.class, Map.of(
+                "countByCommentIds", args -> counted(commentIds.stream().map(id -> likes(id, 1L)).toList()),
+                "findCommentIdsLikedBy", args -> counted(List.of()))));
+
+        calls.set(0);
+        service.toResponse(post, viewer);
+        long expected = comments == 0 ? 4 : 6;
+        if (calls.get() != expected) {
+            throw new IllegalStateException("toResponse made " + calls.get() + " repository calls with "
+                    + comments + " comments, expected " + expected);
+        }
+    }
+
+    @Benchmark
+    public PostResponse toResponse() {
+        return service.toResponse(post, viewer);
+    }
+
+    private <T> T counted(T value) {
+        calls.incrementAndGet();
+        return value;
+    }
+
+    private static LikeCount likes(Long id, long likes) {
+        return new LikeCount() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getLikes() {
+                return likes;
+            }
+        };
+    }
+
+    private static User user(Long id, String username, User.Role role) {
+        User u = new User();
+        u.setId(id);
+        u.setUsername(username);
+        u.setRole(role);
+        return u;
+    }
+}
@@ -0,0 +1,151 @@
+package com.infosys.aibudgettracker.recurring.service;
+
+import com.infosys.aibudgettracker.benchmark.Stubs;
+import com.infosys.aibudgettracker.recurring.dto.RecurringSeriesResponse;
+import com.infosys.aibudgettracker.recurring.repository.RecurringSeriesRepository;
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RecurringDetectionService#detectForUser} for one user with a long history, from the rows
+ * arriving through JDBC to the series being saved: the per-row grouping and tail bookkeeping of
+ * the load as well as the detector. The rows come from memory and the repositories are stubs, so
+ * the score is the service's own work; {@link RecurringDetectorBenchmark} isolates the detector.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=RecurringDetectionServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class RecurringDetectionServiceBenchmark {
+
+    private static final String[] SUBSCRIPTIONS = {"NETFLIX.COM", "Spotify Premium", "Airtel Broadband",
+            "Gym membership", "Jio recharge", "Amazon Prime", "Hotstar", "Electricity bill"};
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private RecurringDetectionService service;
+    private String[] types;
+    private long[] amounts;
+    private String[] descriptions;
+    private String[] categories;
+    private Timestamp[] dates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generate();
+        service = new RecurringDetectionService(10);
+        ReflectionTestUtils.setField(service, "amountTolerance", 0.10);
+        ReflectionTestUtils.setField(service, "minOccurrences", 3);
+        ReflectionTestUtils.setField(service, "minConfidence", 0.7);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", new InMemoryJdbcTemplate());
+        ReflectionTestUtils.setField(service, "transactionManager", Stubs.of(PlatformTransactionManager.class, Map.of(
+                "getTransaction", args -> new SimpleTransactionStatus(),
+                "commit", args -> null)));
+        ReflectionTestUtils.setField(service, "seriesRepository", Stubs.of(RecurringSeriesRepository.class, Map.of(
+                "deleteByUserId", args -> null,
+                "saveAll", args -> args[0],
+                "findByUserIdOrderByNextExpectedDateAsc", args -> List.of())));
+        ReflectionTestUtils.setField(service, "eventPublisher", (ApplicationEventPublisher) event -> { });
+    }
+
+    private void generate() {
+        SplittableRandom rng = new SplittableRandom(5);
+        int startDay = (int) LocalDate.of(2016, 1, 1).toEpochDay();
+        int span = 10 * 365;
+        int[] days = new int[rows];
+        String[] text = new String[rows];
+        long[] minor = new long[rows];
+        int i = 0;
+        // a monthly bill per subscription, then irregular spend at a few thousand merchants
+        for (String name : SUBSCRIPTIONS) {
+            long price = 9_900 + rng.nextInt(90_000);
+            for (int d = startDay + rng.nextInt(28); d < startDay + span && i < rows / 10; d += 29 + rng.nextInt(3)) {
+                days[i] = d;
+                text[i] = name + " " + rng.nextInt(10_000);
+                minor[i] = price;
+                i++;
+            }
+        }
+        for (; i < rows; i++) {
+            days[i] = startDay + rng.nextInt(span);
+            text[i] = "POS MERCHANT" + (char) ('A' + rng.nextInt(26)) + (char) ('A' + rng.nextInt(26)) + " REF " + rng.nextInt(1_000_000);
+            minor[i] = 100 + rng.nextInt(500_000);
+        }
+        // the service's query orders by date
+        Integer[] order = new Integer[rows];
+        for (int k = 0; k < rows; k++) order[k] = k;
+        Arrays.sort(order, (a, b) -> Integer.compare(days[a], days[b]));
+        types = new String[rows];
+        amounts = new long[rows];
+        descriptions = new String[rows];
+        categories = new String[rows];
+        dates = new Timestamp[rows];
+        for (int k = 0; k < rows; k++) {
+            int r = order[k];
+            types[k] = TransactionType.EXPENSE.name();
+            amounts[k] = minor[r];
+            descriptions[k] = text[r];
+            categories[k] = "Other";
+            dates[k] = Timestamp.valueOf(LocalDate.ofEpochDay(days[r]).atTime(12, 0));
+        }
+    }
+
+    @Benchmark
+    public List<RecurringSeriesResponse> detectForUser() {
+        return service.detectForUser(1L);
+    }
+
+    /** Feeds the generated rows to the row handler through a one-row cursor. */
+    private final class InMemoryJdbcTemplate extends JdbcTemplate {
+        private final int[] row = new int[1];
+        private final ResultSet cursor = Stubs.of(ResultSet.class, Map.of(
+                "getString", args -> {
+                    int column = (Integer) args[0];
+                    return column == 1 ? types[row[0]] : column == 3 ? descriptions[row[0]] : categories[row[0]];
+                },
+                "getLong", args -> amounts[row[0]],
+                "getTimestamp", args -> dates[row[0]]));
+
+        @Override
+        public void query(PreparedStatementCreator psc, RowCallbackHandler rch) {
+            try {
+                for (row[0] = 0; row[0] < rows; row[0]++) rch.processRow(cursor);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.infosys.aibudgettracker.recurring.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch recurring detection over one user's history held in columns: a few dozen real
+ * subscriptions hidden among irregular spend spread over thousands of merchants.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=RecurringDetectorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class RecurringDetectorBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    private int[] group;
+    private int[] day;
+    private double[] amount;
+    private int groups;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom rng = new SplittableRandom(11);
+        int merchants = 5000;
+        int subscriptions = 40;
+        groups = merchants + subscriptions;
+        group = new int[rows];
+        day = new int[rows];
+        amount = new double[rows];
+        int startDay = 10_000;
+        int span = 20 * 365;
+        // recurring rows first, then irregular spend; each group is still in date order
+        int i = 0;
+        for (int s = 0; s < subscriptions && i < rows; s++) {
+            double price = 5 + rng.nextDouble() * 50;
+            for (int d = startDay + rng.nextInt(30); d < startDay + span && i < rows; d += 28 + rng.nextInt(5)) {
+                group[i] = merchants + s;
+                day[i] = d;
+                amount[i] = price;
+                i++;
+            }
+        }
+        int[] days = new int[rows - i];
+        for (int k = 0; k < days.length; k++) days[k] = startDay + rng.nextInt(span);
+        Arrays.sort(days);
+        for (int k = 0; k < days.length; k++, i++) {
+            group[i] = rng.nextInt(merchants);
+            day[i] = days[k];
+            amount[i] = 1 + rng.nextDouble() * 300;
+        }
+    }
+
+    @Benchmark
+    public List<RecurringDetector.Candidate> detect() {
+        return new RecurringDetector(0.10, 3, 0.7).detect(rows, group, groups, day, amount);
+    }
+}
@@ -0,0 +1,66 @@
+package com.infosys.aibudgettracker.savingsgoal.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SavingsForecastService#simulate}, the Monte-Carlo core behind /api/savings-goals/forecast,
+ * at the endpoint's default of 10,000 paths and the 240-month horizon cap. The requirement is well
+ * under 50 ms per call; {@code slow} goals are ones most paths never reach, so every path runs the
+ * full horizon.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=SavingsForecastBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class SavingsForecastBenchmark {
+
+    private static final int HORIZON = 240;
+
+    @Param({"10000"})
+    public int paths;
+
+    @Param({"1", "10"})
+    public int goals;
+
+    @Param({"typical", "slow"})
+    public String reach;
+
+    private double[] monthlyNet;
+    private double[] remaining;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom rng = new SplittableRandom(13);
+        // two years of history, mostly saving with the odd bad month
+        monthlyNet = new double[24];
+        for (int m = 0; m < monthlyNet.length; m++) {
+            monthlyNet[m] = 400 + rng.nextInt(1200) - (m % 7 == 0 ? 2500 : 0);
+        }
+        remaining = new double[goals];
+        for (int g = 0; g < goals; g++) {
+            remaining[g] = "slow".equals(reach) ? 1_000_000.0 + g : 2_000.0 + rng.nextInt(30_000);
+        }
+    }
+
+    @Benchmark
+    public int[] simulate() {
+        return SavingsForecastService.simulate(monthlyNet, remaining, paths, HORIZON, new SplittableRandom(42));
+    }
+}
@@ -0,0 +1,76 @@
+package com.infosys.aibudgettracker.savingsgoal.service;
+
+import com.infosys.aibudgettracker.benchmark.Stubs;
+import com.infosys.aibudgettracker.savingsgoal.dto.SavingsGoalProgress;
+import com.infosys.aibudgettracker.savingsgoal.model.SavingsGoal;
+import com.infosys.aibudgettracker.savingsgoal.repository.SavingsGoalRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SavingsGoalService#getSavingsGoalProgress}, which is the per-goal mapToProgress
+ * (percentages, days remaining, on-track check) over a stubbed repository.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=SavingsGoalServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class SavingsGoalServiceBenchmark {
+
+    private static final Long USER_ID = 1L;
+
+    @Param({"10", "1000"})
+    public int goals;
+
+    private SavingsGoalService service;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom rng = new SplittableRandom(9);
+        LocalDate today = LocalDate.now();
+        List<SavingsGoal> list = new ArrayList<>(goals);
+        for (int i = 0; i < goals; i++) {
+            SavingsGoal g = new SavingsGoal();
+            g.setId((long) i);
+            g.setUserId(USER_ID);
+            g.setName("Goal " + i);
+            g.setTargetAmount(1000.0 + rng.nextInt(100_000));
+            g.setCurrentAmount((double) rng.nextInt(1000));
+            // a quarter without a target date, the rest spread over the next two years
+            g.setTargetDate(i % 4 == 0 ? null : today.plusDays(1 + rng.nextInt(730)));
+            g.setCreatedAt(LocalDateTime.now().minusDays(rng.nextInt(365)));
+            g.setUpdatedAt(g.getCreatedAt());
+            list.add(g);
+        }
+        service = new SavingsGoalService();
+        ReflectionTestUtils.setField(service, "savingsGoalRepository", Stubs.of(SavingsGoalRepository.class,
+                Map.of("findByUserId", args -> list)));
+    }
+
+    @Benchmark
+    public List<SavingsGoalProgress> getSavingsGoalProgress() {
+        return service.getSavingsGoalProgress(USER_ID);
+    }
+}
@@ -0,0 +1,49 @@
+package com.infosys.aibudgettracker.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Latency histogram (microseconds) and error count for one operation, shared by all clients. */
+final class EndpointStats {
+
+    final String label;
+    private final Histogram latency = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String label) {
+        this.label = label;
+    }
+
+    void success(long nanos) {
+        latency.recordValue(Math.max(1, nanos / 1000));
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    long requests() {
+        return latency.getTotalCount() + errors.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    /** {@code percentile} of successful calls in milliseconds. */
+    double millis(double percentile) {
+        return latency.getTotalCount() == 0 ? Double.NaN : latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double maxMillis() {
+        return latency.getTotalCount() == 0 ? Double.NaN : latency.getMaxValue() / 1000.0;
+    }
+
+    /** HdrHistogram's percentile distribution (.hgrm), for plotting or comparing full curves. */
+    void writeDistribution(PrintStream out) {
+        latency.outputPercentileDistribution(out, 1000.0);
+    }
+}
@@ -0,0 +1,305 @@
+package com.infosys.aibudgettracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infosys.aibudgettracker.AibudgettrackerApplication;
+import com.infosys.aibudgettracker.seed.DatasetSeeder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end HTTP load test: thousands of closed-loop clients, one virtual thread each, log in
+ * through {@code /api/auth/login} and then loop over a weighted {@link Scenario} until the run ends,
+ * pausing an exponentially distributed think time between calls.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.args="--clients=2000 --duration=120 --scenario=browse"
+ * </pre>
+ *
+ * Without {@code --url} the application is started in-process on a random port against the
+ * embedded test database and seeded with {@link DatasetSeeder} ({@code --seed-users},
+ * {@code --seed-transactions}). With {@code --url} it targets a running instance whose users
+ * {@code <prefix>_1..<prefix>_<seed-users>} were seeded beforehand with password {@code password}.
+ *
+ * Other options: {@code --scenario} (built-in {@code mixed}, {@code browse}, {@code write}, or a file
+ * path), {@code --warmup} seconds excluded from the numbers, {@code --login-concurrency},
+ * {@code --timeout} seconds per request (timeouts count as errors), {@code --think-ms} mean think time,
+ * {@code --seed}, {@code --output} for the report and {@code --histograms=<dir>} for one .hgrm
+ * percentile distribution per endpoint. The report has a fixed layout, so reports from two builds
+ * can be diffed directly.
+ *
+ * Embedded runs take {@code --threads=platform} or {@code --threads=virtual} to choose how the
+ * server handles requests; the report then ends with the server's peak thread count, time spent
+ * queueing for a database connection and, on virtual threads, where they were pinned. Running the
+ * same scenario once with each gives the comparison.
+ */
+public class LoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        int clients = Integer.parseInt(options.getOrDefault("clients", "1000"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        double thinkMs = Double.parseDouble(options.getOrDefault("think-ms", "1000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int seedUsers = Integer.parseInt(options.getOrDefault("seed-users", "1000"));
+        String prefix = options.getOrDefault("prefix", "load");
+        Duration timeout = Duration.ofSeconds(Integer.parseInt(options.getOrDefault("timeout", "30")));
+        Scenario scenario = Scenario.load(options.getOrDefault("scenario", "mixed"));
+
+        ConfigurableApplicationContext context = null;
+        String threads = options.get("threads");
+        URI base;
+        String target;
+        if (options.containsKey("url")) {
+            base = URI.create(options.get("url"));
+            target = base.toString();
+        } else {
+            context = startEmbedded(threads);
+            base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            long transactions = Long.parseLong(options.getOrDefault("seed-transactions", "200000"));
+            Map<String, String> seedOptions = new HashMap<>();
+            seedOptions.put("users", String.valueOf(seedUsers));
+            seedOptions.put("transactions", String.valueOf(transactions));
+            seedOptions.put("prefix", prefix);
+            seedOptions.put("seed", String.valueOf(seed));
+            DatasetSeeder.seed(context.getBean(JdbcTemplate.class), seedOptions);
+            target = "embedded, " + seedUsers + " users, " + transactions + " transactions"
+                    + (threads == null ? "" : ", " + threads + " threads");
+        }
+
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation op : scenario.operations) stats.put(op, new EndpointStats(op.label));
+        EndpointStats login = new EndpointStats("auth.login");
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        // clients log in first; warmup and measurement start once every client is ready
+        CountDownLatch ready = new CountDownLatch(clients);
+        CountDownLatch go = new CountDownLatch(1);
+        long[] window = new long[2];
+        // post ids are the same for everyone, so only the first client to log in lists them
+        Map<String, long[]> shared = new ConcurrentHashMap<>();
+        // BCrypt makes logins CPU-bound; an unbounded stampede only measures the connection pool timing out
+        Semaphore loginSlots = new Semaphore(Integer.parseInt(options.getOrDefault("login-concurrency", "32")));
+
+        System.out.printf("%d clients, scenario %s, %ds warmup + %ds against %s%n",
+                clients, scenario.name, warmup, duration, target);
+        long loginStarted = System.nanoTime();
+        double loginSeconds;
+        String server = "";
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                String username = prefix + "_" + (1 + i % seedUsers);
+                SplittableRandom random = new SplittableRandom(seed * 1_000_003 + i);
+                executor.submit(() -> {
+                    Operation.Client client = null;
+                    loginSlots.acquire();
+                    try {
+                        client = login(http, base, timeout, username, random, login, scenario, shared);
+                    } finally {
+                        loginSlots.release();
+                        ready.countDown();
+                    }
+                    go.await();
+                    if (client != null) runClient(http, client, scenario, thinkMs, stats, window[0], window[1]);
+                    return null;
+                });
+            }
+            ready.await();
+            loginSeconds = (System.nanoTime() - loginStarted) / 1e9;
+            System.out.printf("%d logins in %.1f s, running%n", clients, loginSeconds);
+            window[0] = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmup);
+            window[1] = window[0] + TimeUnit.SECONDS.toNanos(duration);
+            go.countDown();
+        } finally {
+            if (context != null) {
+                server = ServerStats.report(context.getBean(MeterRegistry.class));
+                context.close();
+            }
+        }
+
+        String report = report(scenario, stats, login, loginSeconds, clients, warmup, duration, thinkMs, target) + server;
+        System.out.print(report);
+        if (options.containsKey("output")) {
+            Files.writeString(Path.of(options.get("output")), report, StandardCharsets.UTF_8);
+        }
+        if (options.containsKey("histograms")) {
+            Path dir = Files.createDirectories(Path.of(options.get("histograms")));
+            List<EndpointStats> all = new ArrayList<>(stats.values());
+            all.add(login);
+            for (EndpointStats s : all) {
+                try (PrintStream out = new PrintStream(dir.resolve(s.label + ".hgrm").toFile(), StandardCharsets.UTF_8)) {
+                    s.writeDistribution(out);
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startEmbedded(String threads) {
+        return new SpringApplicationBuilder(AibudgettrackerApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + "virtual".equals(threads),
+                        "--app.predictions.batch.enabled=false",
+                        "--app.savings.sweep.enabled=false",
+                        "--logging.level.root=WARN",
+                        // one client per connection is the point, so let Tomcat take them all
+                        "--server.tomcat.max-connections=20000",
+                        "--server.tomcat.accept-count=2000");
+    }
+
+    /** Logs in and looks up the goals and posts to act on; null when the login failed. */
+    private static Operation.Client login(HttpClient http, URI base, Duration timeout, String username,
+                                          SplittableRandom random, EndpointStats loginStats,
+                                          Scenario scenario, Map<String, long[]> shared) {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"password\"}";
+        HttpRequest request = HttpRequest.newBuilder(base.resolve("/api/auth/login")).timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = send(http, request, loginStats, Long.MIN_VALUE);
+        if (response == null) return null;
+        try {
+            Operation.Client client = new Operation.Client(base, JSON.readTree(response.body()).path("token").asText(), random);
+            client.timeout = timeout;
+            if (scenario.operations.contains(Operation.GOALS_CONTRIBUTE)) {
+                client.goalIds = ids(http, client.get("/api/savings-goals").build());
+            }
+            if (scenario.operations.contains(Operation.FORUM_COMMENT) || scenario.operations.contains(Operation.FORUM_LIKE)) {
+                // not computeIfAbsent: that holds a synchronized bin lock over the HTTP call and pins
+                // every other client's virtual thread until it returns
+                long[] posts = shared.get("posts");
+                if (posts == null) {
+                    shared.putIfAbsent("posts", ids(http, client.get("/api/forum/posts?page=0&size=20").build()));
+                    posts = shared.get("posts");
+                }
+                client.postIds = posts;
+            }
+            return client;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void runClient(HttpClient http, Operation.Client client, Scenario scenario, double thinkMs,
+                                  Map<Operation, EndpointStats> stats, long measureFrom, long stopAt) {
+        // stagger the first calls instead of releasing every client at once
+        LockSupport.parkNanos(client.random.nextLong(TimeUnit.MILLISECONDS.toNanos((long) thinkMs + 1)));
+        while (System.nanoTime() < stopAt) {
+            Operation op = scenario.next(client.random);
+            HttpRequest.Builder request = op.request(client);
+            if (request != null) send(http, request.build(), stats.get(op), measureFrom);
+            if (thinkMs > 0) {
+                LockSupport.parkNanos((long) (-Math.log(1 - client.random.nextDouble()) * thinkMs * 1_000_000));
+            }
+        }
+    }
+
+    /** Sends and records the call; returns the response when it succeeded. */
+    private static HttpResponse<String> send(HttpClient http, HttpRequest request, EndpointStats stats, long measureFrom) {
+        long start = System.nanoTime();
+        boolean measured = start >= measureFrom;
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - start;
+            if (response.statusCode() >= 400) {
+                if (measured) stats.error();
+                return null;
+            }
+            if (measured) stats.success(elapsed);
+            return response;
+        } catch (IOException e) {
+            if (measured) stats.error();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static long[] ids(HttpClient http, HttpRequest request) {
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) return new long[0];
+            JsonNode array = JSON.readTree(response.body());
+            long[] ids = new long[array.size()];
+            for (int i = 0; i < ids.length; i++) ids[i] = array.get(i).path("id").asLong();
+            return ids;
+        } catch (IOException e) {
+            return new long[0];
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new long[0];
+        }
+    }
+
+    static String report(Scenario scenario, Map<Operation, EndpointStats> stats, EndpointStats login,
+                         double loginSeconds, int clients, int warmup, int duration, double thinkMs, String target) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("HTTP load test\n");
+        sb.append("target: ").append(target).append("\n");
+        sb.append(String.format("scenario: %s, clients: %d, warmup: %ds, measured: %ds, think: %.0f ms%n%n",
+                scenario.name, clients, warmup, duration, thinkMs));
+        sb.append(String.format("%-22s %6s %10s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "mix %", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        long requests = 0;
+        long errors = 0;
+        for (Operation op : scenario.operations) {
+            EndpointStats s = stats.get(op);
+            requests += s.requests();
+            errors += s.errors();
+            row(sb, s, String.format("%.1f", 100 * scenario.weight(op)), duration);
+        }
+        sb.append(String.format("%-22s %6s %10d %8d %9.1f%n", "total", "", requests, errors, (double) requests / duration));
+        // logins run before the measured window, over their own elapsed time
+        row(sb, login, "-", loginSeconds);
+        return sb.toString();
+    }
+
+    private static void row(StringBuilder sb, EndpointStats s, String mix, double seconds) {
+        sb.append(String.format("%-22s %6s %10d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n", s.label, mix, s.requests(),
+                s.errors(), s.requests() / seconds, s.millis(50), s.millis(99), s.millis(99.9), s.maxMillis()));
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int eq = arg.indexOf('=');
+            if (eq > 0) options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            else options.put(arg.substring(2), "true");
+        }
+        return options;
+    }
+}
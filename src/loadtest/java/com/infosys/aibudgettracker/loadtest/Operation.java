@@ -0,0 +1,157 @@
+package com.infosys.aibudgettracker.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/** The calls a scenario can mix, each building one request for a logged-in client. */
+enum Operation {
+
+    TRANSACTIONS_LIST("transactions.list") {
+        @Override
+        HttpRequest.Builder request(Client c) {
+            return c.get("/api/transactions");
+        }
+    },
+    TRANSACTIONS_CREATE("transactions.create") {
+        @Override
+        HttpRequest.Builder request(Client c) {
+            String[] categories = {"Food", "Shopping", "Travel", "Entertainment", "Other"};
+            String body = String.format(Locale.ROOT,
+                    "{\"type\":\"EXPENSE\",\"amount\":%.2f,\"category\":\"%s\",\"description\":\"Load test\",\"transactionDate\":\"%s\"}",
+                    50 + c.random.nextDouble() * 950, categories[c.random.nextInt(categories.length)],
+                    LocalDateTime.now().withNano(0));
+            return c.post("/api/transactions", body);
+        }
+    },
+    ANALYTICS_MONTH("analytics.month") {
+        @Override
+        HttpRequest.Builder request(Client c) {
+            YearMonth month = YearMonth.now().minusMonths(c.random.nextInt(12));
+            return c.get("/api/analytics?year=" + month.getYear() + "&month=" + month.getMonthValue());
+        }
+    },
+    ANALYTICS_RANGE("analytics.range") {
+        @Override
+        HttpRequest.Builder request(Client c) {
+            LocalDate end = LocalDate.now();
+            return c.get("/api/analytics/range?startDate=" + end.minusDays(90) + "&endDate=" + end);
+        }
+    },
+    ANALYTICS_PREDICT("analytics.predict") {
+        @Override
+        HttpRequest.Builder request(Client c) {
+            return c.get("/api/analytics/predict-next-month?months=24");
+        }
+    },
+    BUDGETS_LIST("budgets.list") {
+        @Override
+        HttpRequest.Builder request(Client c) {
+            YearMonth month = YearMonth.now();
+            return c.get("/api/budgets?month=" + month.getMonthValue() + "&year=" + month.getYear());
+        }
+    },
+    BUDGETS_PROGRESS("budgets.progress") {
+        @Override
+        HttpRequest.Builder request(Client c) {
+            YearMonth month = YearMonth.now();
+            return c.get("/api/budgets/progress?month=" + month.getMonthValue() + "&year=" + month.getYear());
+        }
+    },
+    GOALS_LIST("goals.list") {
+        @Override
+        HttpRequest.Builder request(Client c) {
+            return c.get("/api/savings-goals");
+        }
+    },
+    GOALS_PROGRESS("goals.progress") {
+        @Override
+        HttpRequest.Builder request(Client c) {
+            return c.get("/api/savings-goals/progress");
+        }
+    },
+    GOALS_CONTRIBUTE("goals.contribute") {
+        @Override
+        HttpRequest.Builder request(Client c) {
+            Long goal = c.pick(c.goalIds);
+            if (goal == null) return null;
+            return c.post("/api/savings-goals/" + goal + "/add", String.format(Locale.ROOT, "{\"amount\":%.2f}",
+                    100 + c.random.nextInt(20) * 50.0));
+        }
+    },
+    FORUM_LIST("forum.list") {
+        @Override
+        HttpRequest.Builder request(Client c) {
+            return c.get("/api/forum/posts?page=0&size=10");
+        }
+    },
+    FORUM_COMMENT("forum.comment") {
+        @Override
+        HttpRequest.Builder request(Client c) {
+            Long post = c.pick(c.postIds);
+            if (post == null) return null;
+            return c.post("/api/forum/posts/" + post + "/comments", "{\"content\":\"Load test comment\"}");
+        }
+    },
+    FORUM_LIKE("forum.like") {
+        @Override
+        HttpRequest.Builder request(Client c) {
+            Long post = c.pick(c.postIds);
+            if (post == null) return null;
+            return c.post("/api/forum/posts/" + post + "/like", "");
+        }
+    };
+
+    final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    /** The request to send, or null when the client has nothing to act on (no goals, no posts). */
+    abstract HttpRequest.Builder request(Client c);
+
+    static Operation byLabel(String label) {
+        for (Operation op : values()) {
+            if (op.label.equals(label)) return op;
+        }
+        throw new IllegalArgumentException("Unknown operation '" + label + "'");
+    }
+
+    /** Per-client state the requests are built from. */
+    static final class Client {
+        final URI base;
+        final String token;
+        Duration timeout = Duration.ofSeconds(30);
+        final SplittableRandom random;
+        long[] goalIds = new long[0];
+        long[] postIds = new long[0];
+
+        Client(URI base, String token, SplittableRandom random) {
+            this.base = base;
+            this.token = token;
+            this.random = random;
+        }
+
+        HttpRequest.Builder get(String path) {
+            return HttpRequest.newBuilder(base.resolve(path)).timeout(timeout)
+                    .header("Authorization", "Bearer " + token).GET();
+        }
+
+        HttpRequest.Builder post(String path, String json) {
+            return HttpRequest.newBuilder(base.resolve(path)).timeout(timeout)
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json));
+        }
+
+        Long pick(long[] ids) {
+            return ids.length == 0 ? null : ids[random.nextInt(ids.length)];
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.infosys.aibudgettracker.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted mix of {@link Operation}s. Read from a file of {@code operation weight} lines
+ * ({@code #} starts a comment), or by name from the built-in {@code scenarios/<name>.txt}.
+ */
+final class Scenario {
+
+    final String name;
+    final List<Operation> operations;
+    private final double[] cumulative;
+
+    private Scenario(String name, List<Operation> operations, double[] cumulative) {
+        this.name = name;
+        this.operations = operations;
+        this.cumulative = cumulative;
+    }
+
+    static Scenario load(String nameOrPath) throws IOException {
+        Path file = Path.of(nameOrPath);
+        if (Files.isRegularFile(file)) {
+            return parse(nameOrPath, Files.readString(file, StandardCharsets.UTF_8));
+        }
+        try (InputStream in = Scenario.class.getResourceAsStream("/scenarios/" + nameOrPath + ".txt")) {
+            if (in == null) throw new IllegalArgumentException("No scenario file or built-in scenario '" + nameOrPath + "'");
+            return parse(nameOrPath, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    static Scenario parse(String name, String text) {
+        List<Operation> operations = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (String raw : text.split("\n")) {
+            int hash = raw.indexOf('#');
+            String line = (hash >= 0 ? raw.substring(0, hash) : raw).trim();
+            if (line.isEmpty()) continue;
+            String[] parts = line.split("\\s+");
+            double weight = parts.length > 1 ? Double.parseDouble(parts[1]) : 1;
+            if (weight <= 0) continue;
+            operations.add(Operation.byLabel(parts[0]));
+            weights.add(weight);
+        }
+        if (operations.isEmpty()) throw new IllegalArgumentException("Scenario '" + name + "' has no operations");
+        double[] cumulative = new double[weights.size()];
+        double total = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            total += weights.get(i);
+            cumulative[i] = total;
+        }
+        return new Scenario(name, List.copyOf(operations), cumulative);
+    }
+
+    Operation next(SplittableRandom random) {
+        double x = random.nextDouble() * cumulative[cumulative.length - 1];
+        for (int i = 0; i < cumulative.length; i++) {
+            if (x < cumulative[i]) return operations.get(i);
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    /** Share of calls going to {@code op}. */
+    double weight(Operation op) {
+        int i = operations.indexOf(op);
+        if (i < 0) return 0;
+        return (cumulative[i] - (i == 0 ? 0 : cumulative[i - 1])) / cumulative[cumulative.length - 1];
+    }
+}
@@ -0,0 +1,50 @@
+package com.infosys.aibudgettracker.loadtest;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What an embedded server went through during the run, read from its meters before it stops:
+ * platform threads at peak, how long requests queued for a database connection and how many gave
+ * up, and where virtual threads were pinned. The counts cover the whole run, logins included.
+ */
+final class ServerStats {
+
+    private ServerStats() {
+    }
+
+    static String report(MeterRegistry registry) {
+        StringBuilder sb = new StringBuilder("\nserver\n");
+        Gauge peak = registry.find("jvm.threads.peak").gauge();
+        sb.append(String.format("%-22s %10.0f%n", "peak platform threads", peak == null ? Double.NaN : peak.value()));
+
+        FunctionTimer wait = registry.find("app.db.limiter.wait").functionTimer();
+        FunctionCounter rejected = registry.find("app.db.limiter.rejected").functionCounter();
+        if (wait != null) {
+            double count = wait.count();
+            double total = wait.totalTime(TimeUnit.MILLISECONDS);
+            sb.append(String.format("%-22s %10.0f connections, %.0f ms queued in total, %.3f ms mean, %.0f gave up%n",
+                    "db limiter", count, total, count == 0 ? 0 : total / count,
+                    rejected == null ? Double.NaN : rejected.count()));
+        }
+
+        List<Timer> pinned = registry.find("app.vthreads.pinned").timers().stream()
+                .sorted(Comparator.comparingDouble((Timer t) -> t.totalTime(TimeUnit.MILLISECONDS)).reversed())
+                .toList();
+        if (!pinned.isEmpty()) {
+            sb.append(String.format("%-22s %10s %10s %10s  %s%n", "pinned virtual threads", "events", "total ms", "max ms", "site"));
+            for (Timer t : pinned) {
+                sb.append(String.format("%-22s %10d %10.0f %10.1f  %s%n", "", t.count(),
+                        t.totalTime(TimeUnit.MILLISECONDS), t.max(TimeUnit.MILLISECONDS), t.getId().getTag("site")));
+            }
+        }
+        return sb.toString();
+    }
+}
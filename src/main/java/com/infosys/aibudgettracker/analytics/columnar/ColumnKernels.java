@@ -0,0 +1,84 @@
+package com.infosys.aibudgettracker.analytics.columnar;
+
+/**
+ * Filter, group-by and sum kernels over {@link TransactionColumns}.
+ *
+ * Kernels take day ranges as inclusive epoch days and buckets as {@link DayBuckets}. They add
+ * into arrays owned by the caller and allocate nothing, so a request that needs several
+ * aggregates over the same rows pays for one load and a few linear scans. Sums use
+ * {@link Math#addExact}, so an overflowing total throws instead of wrapping; the check costs
+ * nothing measurable next to the branches already in each loop.
+ */
+public final class ColumnKernels {
+
+    private ColumnKernels() {
+    }
+
+    /** Sum of amounts of {@code type} within {@code [fromDay, toDay]}. */
+    public static long sum(TransactionColumns c, byte type, int fromDay, int toDay) {
+        long total = 0;
+        for (int i = 0; i < c.size; i++) {
+            int d = c.day[i];
+            if (c.type[i] == type && d >= fromDay && d <= toDay) total = Math.addExact(total, c.amount[i]);
+        }
+        return total;
+    }
+
+    /**
+     * Writes the indices of rows of {@code type} within {@code [fromDay, toDay]} into {@code out}.
+     *
+     * @return number of rows selected
+     */
+    public static int filter(TransactionColumns c, byte type, int fromDay, int toDay, int[] out) {
+        int n = 0;
+        for (int i = 0; i < c.size; i++) {
+            int d = c.day[i];
+            if (c.type[i] == type && d >= fromDay && d <= toDay) out[n++] = i;
+        }
+        return n;
+    }
+
+    /** Adds amounts of {@code type} within {@code [fromDay, toDay]} into {@code out[categoryId]}. */
+    public static void sumByCategory(TransactionColumns c, byte type, int fromDay, int toDay, long[] out) {
+        for (int i = 0; i < c.size; i++) {
+            int d = c.day[i];
+            if (c.type[i] != type || d < fromDay || d > toDay) continue;
+            int k = c.category[i];
+            out[k] = Math.addExact(out[k], c.amount[i]);
+        }
+    }
+
+    /** Adds amounts into {@code income[bucket]} or {@code expense[bucket]} by type. */
+    public static void sumByBucketAndType(TransactionColumns c, DayBuckets buckets, long[] income, long[] expense) {
+        for (int i = 0; i < c.size; i++) {
+            int b = buckets.bucketOf(c.day[i]);
+            if (b < 0) continue;
+            if (c.type[i] == TransactionColumns.INCOME) income[b] = Math.addExact(income[b], c.amount[i]);
+            else expense[b] = Math.addExact(expense[b], c.amount[i]);
+        }
+    }
+
+    /** Adds amounts of {@code type} into {@code out[bucket]}. */
+    public static void sumByBucket(TransactionColumns c, byte type, DayBuckets buckets, long[] out) {
+        for (int i = 0; i < c.size; i++) {
+            if (c.type[i] != type) continue;
+            int b = buckets.bucketOf(c.day[i]);
+            if (b >= 0) out[b] = Math.addExact(out[b], c.amount[i]);
+        }
+    }
+
+    /**
+     * Adds amounts of {@code type} into a row-major {@code [category][bucket]} matrix, so each
+     * category's series is the contiguous slice {@code out[category * buckets, (category + 1) * buckets)}.
+     */
+    public static void sumByCategoryAndBucket(TransactionColumns c, byte type, DayBuckets buckets, long[] out) {
+        int count = buckets.count();
+        for (int i = 0; i < c.size; i++) {
+            if (c.type[i] != type) continue;
+            int b = buckets.bucketOf(c.day[i]);
+            if (b < 0) continue;
+            int k = c.category[i] * count + b;
+            out[k] = Math.addExact(out[k], c.amount[i]);
+        }
+    }
+}
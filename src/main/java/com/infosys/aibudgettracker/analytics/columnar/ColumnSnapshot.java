@@ -0,0 +1,168 @@
+package com.infosys.aibudgettracker.analytics.columnar;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One user's ledger frozen on disk as day-sorted columns, read through a read-only memory map.
+ *
+ * Layout (big-endian): magic, version, watermark (highest transaction id included), row count,
+ * category count, sum of all amounts, the category names as UTF-8 prefixed by a signed short
+ * length (-1 for a missing category), padding to 8 bytes, then the columns back to back:
+ * long amount[rows], int day[rows], int category[rows], byte type[rows]. Rows are sorted by day,
+ * so a date range is a binary search plus one contiguous slice of each column. Watermark, row
+ * count and amount sum identify the rows the file was written from, so a reader can check them
+ * against the database before trusting the file.
+ *
+ * The mapping spares the heap the full history and the database the scan, but reads are not
+ * zero-copy: {@link #read} copies the requested slice into heap {@link TransactionColumns}, since
+ * the kernels work on arrays and the loader appends the delta to the same columns.
+ */
+final class ColumnSnapshot {
+
+    private static final int MAGIC = 0x54584331; // "TXC1"
+    private static final int VERSION = 3;
+    private static final int HEADER = 32;
+
+    private final MappedByteBuffer buffer;
+    private final long watermark;
+    private final int rows;
+    private final long amountSum;
+    private final String[] categoryNames;
+    private final int amountOffset;
+    private final int dayOffset;
+    private final int categoryOffset;
+    private final int typeOffset;
+
+    private ColumnSnapshot(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a ledger snapshot");
+        }
+        this.watermark = buffer.getLong(8);
+        this.rows = buffer.getInt(16);
+        int categories = buffer.getInt(20);
+        this.amountSum = buffer.getLong(24);
+        this.categoryNames = new String[categories];
+        int pos = HEADER;
+        for (int c = 0; c < categories; c++) {
+            int len = buffer.getShort(pos);
+            pos += 2;
+            if (len < 0) continue; // no category
+            byte[] bytes = new byte[len];
+            buffer.get(pos, bytes);
+            categoryNames[c] = new String(bytes, StandardCharsets.UTF_8);
+            pos += len;
+        }
+        this.amountOffset = align(pos);
+        this.dayOffset = amountOffset + rows * Long.BYTES;
+        this.categoryOffset = dayOffset + rows * Integer.BYTES;
+        this.typeOffset = categoryOffset + rows * Integer.BYTES;
+    }
+
+    static ColumnSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return new ColumnSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes {@code c} (which must be sorted by day) with the given watermark. The caller moves
+     * the file into place, so readers never see a partial snapshot.
+     */
+    static void write(Path file, TransactionColumns c, long watermark) throws IOException {
+        int rows = c.size;
+        byte[][] names = new byte[c.categoryCount()][];
+        int header = HEADER;
+        for (int i = 0; i < names.length; i++) {
+            String name = c.categoryName(i);
+            names[i] = name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+            if (names[i] != null && names[i].length > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Category name of " + names[i].length + " bytes is too long");
+            }
+            header += 2 + (names[i] == null ? 0 : names[i].length);
+        }
+        int dataOffset = align(header);
+        long amountSum = 0;
+        for (int i = 0; i < rows; i++) amountSum += c.amount[i];
+        ByteBuffer out = ByteBuffer.allocate(dataOffset + rows * (Long.BYTES + 2 * Integer.BYTES + 1));
+        out.putInt(MAGIC).putInt(VERSION).putLong(watermark).putInt(rows).putInt(names.length).putLong(amountSum);
+        for (byte[] name : names) {
+            if (name == null) out.putShort((short) -1);
+            else out.putShort((short) name.length).put(name);
+        }
+        out.position(dataOffset);
+        out.asLongBuffer().put(c.amount, 0, rows);
+        out.position(dataOffset + rows * Long.BYTES);
+        out.asIntBuffer().put(c.day, 0, rows);
+        out.position(dataOffset + rows * (Long.BYTES + Integer.BYTES));
+        out.asIntBuffer().put(c.category, 0, rows);
+        out.position(dataOffset + rows * (Long.BYTES + 2 * Integer.BYTES));
+        out.put(c.type, 0, rows);
+        out.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) channel.write(out);
+            channel.force(false);
+        }
+    }
+
+    long watermark() {
+        return watermark;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    /** Sum of every row's amount, in minor units. */
+    long amountSum() {
+        return amountSum;
+    }
+
+    /**
+     * Rows dated within {@code [fromDay, toDay]} as fresh heap columns. Each column is one bulk
+     * copy of a contiguous slice of the mapping, and the snapshot's category ids are kept as they are.
+     *
+     * @param extraCapacity room to reserve for rows the caller appends afterwards
+     */
+    TransactionColumns read(int fromDay, int toDay, int extraCapacity) {
+        int lo = lowerBound(fromDay);
+        int hi = lowerBound(toDay + 1);
+        int n = Math.max(0, hi - lo);
+
+        TransactionColumns c = new TransactionColumns(n + extraCapacity);
+        for (String name : categoryNames) c.categoryId(name);
+        if (n > 0) {
+            buffer.slice(amountOffset + lo * Long.BYTES, n * Long.BYTES).asLongBuffer().get(c.amount, 0, n);
+            buffer.slice(dayOffset + lo * Integer.BYTES, n * Integer.BYTES).asIntBuffer().get(c.day, 0, n);
+            buffer.slice(categoryOffset + lo * Integer.BYTES, n * Integer.BYTES).asIntBuffer().get(c.category, 0, n);
+            buffer.get(typeOffset + lo, c.type, 0, n);
+        }
+        c.size = n;
+        return c;
+    }
+
+    /** Index of the first row dated on or after {@code day}. */
+    private int lowerBound(int day) {
+        int lo = 0;
+        int hi = rows;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (buffer.getInt(dayOffset + mid * Integer.BYTES) < day) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static int align(int offset) {
+        return (offset + 7) & ~7;
+    }
+}
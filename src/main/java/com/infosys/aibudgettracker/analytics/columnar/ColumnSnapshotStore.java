@@ -0,0 +1,235 @@
+package com.infosys.aibudgettracker.analytics.columnar;
+
+import com.infosys.aibudgettracker.metrics.CacheStats;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent;
+import com.infosys.aibudgettracker.transaction.model.Transaction;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user {@link ColumnSnapshot} files for long-range analytics.
+ *
+ * A snapshot holds every transaction up to its watermark id; rows created afterwards are the
+ * delta that {@link TransactionColumnsLoader} still reads from the database. Snapshots are only
+ * written once a user's writes have been quiet for the settle period, for users whose history is
+ * large enough to be worth it, and are rewritten (compacting the delta into them) once a read
+ * sees the delta grow past its limit. Updating or deleting a row the snapshot already holds
+ * drops the file, and reads go to the database until the next rewrite. A file that cannot be
+ * deleted is marked invalid instead and never mapped again until it has been rewritten, so a
+ * file system problem costs a database read rather than failing the transaction write.
+ *
+ * Files are named by user id only, so before a file is first mapped its header (watermark, row
+ * count and amount sum) is checked against the user's rows in the database. A file left by
+ * another database, or by writes made while this instance was down, is dropped and rewritten.
+ */
+@Component
+public class ColumnSnapshotStore implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnSnapshotStore.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long settleNanos;
+    private final int minRows;
+    private final int compactDeltaRows;
+
+    // open mappings, bounded so idle users' pages can be released
+    private final Map<Long, ColumnSnapshot> open;
+    private final CacheStats openStats;
+    // users due a (re)write, checked by the compaction job
+    private final Map<Long, Boolean> pending = new ConcurrentHashMap<>();
+    // nanoTime of each user's latest transaction write that has not settled yet
+    private final Map<Long, Long> lastWrite = new ConcurrentHashMap<>();
+    // users whose file is stale but could not be deleted
+    private final Set<Long> invalid = ConcurrentHashMap.newKeySet();
+
+    public ColumnSnapshotStore(@Value("${app.snapshots.enabled:true}") boolean enabled,
+                               @Value("${app.snapshots.dir:data/ledger-snapshots}") String directory,
+                               @Value("${app.snapshots.settle-ms:30000}") long settleMs,
+                               @Value("${app.snapshots.min-rows:2000}") int minRows,
+                               @Value("${app.snapshots.compact-delta-rows:500}") int compactDeltaRows,
+                               @Value("${app.snapshots.max-open:1000}") int maxOpen) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.settleNanos = TimeUnit.MILLISECONDS.toNanos(settleMs);
+        this.minRows = minRows;
+        this.compactDeltaRows = compactDeltaRows;
+        this.open = Collections.synchronizedMap(new LinkedHashMap<Long, ColumnSnapshot>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ColumnSnapshot> eldest) {
+                return size() > maxOpen;
+            }
+        });
+        this.openStats = new CacheStats("ledger-snapshots", open);
+    }
+
+    /** The user's snapshot, or null when there is none (or snapshots are off). */
+    ColumnSnapshot find(Long userId) {
+        if (!enabled || invalid.contains(userId)) return null;
+        ColumnSnapshot snapshot = openStats.record(open.get(userId));
+        if (snapshot != null) return snapshot;
+        Path file = file(userId);
+        if (!Files.exists(file)) return null;
+        try {
+            snapshot = ColumnSnapshot.open(file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Dropping unreadable ledger snapshot {}: {}", file, e.getMessage());
+            delete(userId);
+            return null;
+        }
+        if (!matchesDatabase(userId, snapshot)) {
+            log.info("Dropping ledger snapshot {} that does not match the database", file);
+            delete(userId);
+            pending.put(userId, Boolean.TRUE);
+            return null;
+        }
+        open.put(userId, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Called by the loader after each read so big histories get a snapshot and long deltas get
+     * compacted.
+     *
+     * @param rows          rows read from the database
+     * @param fromSnapshot  whether those rows were the delta on top of a snapshot
+     */
+    void recordLoad(Long userId, int rows, boolean fromSnapshot) {
+        if (!enabled) return;
+        if (rows >= (fromSnapshot ? compactDeltaRows : minRows)) {
+            pending.put(userId, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Runs inside the writer's transaction, so a stale file is gone before the change commits;
+     * it must not throw, or the user's write would roll back.
+     */
+    @EventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (!enabled) return;
+        Long userId = event.getUserId();
+        lastWrite.put(userId, System.nanoTime());
+        Transaction previous = event.getPrevious();
+        if (previous == null) return; // new rows land in the delta
+
+        ColumnSnapshot snapshot = open.get(userId);
+        if (snapshot != null && previous.getId() != null && previous.getId() > snapshot.watermark()) return;
+        if (snapshot != null || Files.exists(file(userId))) {
+            delete(userId);
+            pending.put(userId, Boolean.TRUE);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.snapshots.compact-interval-ms:60000}")
+    public void compactPending() {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        lastWrite.entrySet().removeIf(e -> now - e.getValue() >= settleNanos && !pending.containsKey(e.getKey()));
+        for (Long userId : pending.keySet()) {
+            Long last = lastWrite.get(userId);
+            if (last != null && now - last < settleNanos) continue;
+            pending.remove(userId);
+            try {
+                write(userId);
+                if (last != null) lastWrite.remove(userId, last);
+            } catch (RuntimeException e) {
+                pending.put(userId, Boolean.TRUE);
+                log.warn("Ledger snapshot for user {} failed: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    /** Rewrites the user's snapshot from the full transaction history. */
+    public void write(Long userId) {
+        Long writeBefore = lastWrite.get(userId);
+        TransactionColumns columns = new TransactionColumns(1024);
+        long[] watermark = new long[1];
+        jdbcTemplate.query("select id, amount_minor, transaction_date, type, category from transactions "
+                        + "where user_id = ? order by transaction_date",
+                rs -> {
+                    watermark[0] = Math.max(watermark[0], rs.getLong(1));
+                    columns.add(rs.getLong(2),
+                            (int) rs.getTimestamp(3).toLocalDateTime().toLocalDate().toEpochDay(),
+                            "INCOME".equals(rs.getString(4)) ? TransactionColumns.INCOME : TransactionColumns.EXPENSE,
+                            rs.getString(5));
+                },
+                userId);
+
+        Path file = file(userId);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            ColumnSnapshot.write(tmp, columns, watermark[0]);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write ledger snapshot " + file, e);
+        }
+        open.remove(userId);
+        invalid.remove(userId);
+
+        // a write that raced with the query may already be missing from the file
+        if (!Objects.equals(writeBefore, lastWrite.get(userId))) {
+            delete(userId);
+            pending.put(userId, Boolean.TRUE);
+        }
+    }
+
+    private boolean matchesDatabase(Long userId, ColumnSnapshot snapshot) {
+        Boolean matches = jdbcTemplate.query("select count(*), coalesce(max(id), 0), coalesce(sum(amount_minor), 0) "
+                        + "from transactions where user_id = ? and id <= ?",
+                rs -> rs.next()
+                        && rs.getLong(1) == snapshot.rows()
+                        && rs.getLong(2) == snapshot.watermark()
+                        && rs.getLong(3) == snapshot.amountSum(),
+                userId, snapshot.watermark());
+        return Boolean.TRUE.equals(matches);
+    }
+
+    /** Drops the user's file, or marks it invalid when it cannot be deleted. */
+    private void delete(Long userId) {
+        invalid.add(userId);
+        open.remove(userId);
+        try {
+            Files.deleteIfExists(file(userId));
+            invalid.remove(userId);
+        } catch (IOException e) {
+            log.warn("Could not delete ledger snapshot {}, ignoring it until it is rewritten: {}",
+                    file(userId), e.getMessage());
+        }
+    }
+
+    private Path file(Long userId) {
+        return directory.resolve("user-" + userId + ".col");
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        openStats.bindTo(registry);
+    }
+}
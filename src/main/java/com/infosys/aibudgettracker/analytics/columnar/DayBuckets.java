@@ -0,0 +1,54 @@
+package com.infosys.aibudgettracker.analytics.columnar;
+
+import java.time.YearMonth;
+
+/**
+ * Consecutive day ranges (typically calendar months) with an O(1) day-to-bucket lookup table,
+ * built once per request and shared by every kernel call over it.
+ */
+public final class DayBuckets {
+
+    private final int firstDay;
+    private final int[] bounds;
+    private final short[] bucketOfDay;
+
+    private DayBuckets(int[] bounds) {
+        this.bounds = bounds;
+        this.firstDay = bounds[0];
+        this.bucketOfDay = new short[bounds[bounds.length - 1] - firstDay];
+        for (short b = 0; b < bounds.length - 1; b++) {
+            for (int d = bounds[b]; d < bounds[b + 1]; d++) {
+                bucketOfDay[d - firstDay] = b;
+            }
+        }
+    }
+
+    /** {@code months} consecutive calendar months starting at {@code first}. */
+    public static DayBuckets months(YearMonth first, int months) {
+        int[] bounds = new int[months + 1];
+        for (int m = 0; m <= months; m++) {
+            bounds[m] = (int) first.plusMonths(m).atDay(1).toEpochDay();
+        }
+        return new DayBuckets(bounds);
+    }
+
+    public int count() {
+        return bounds.length - 1;
+    }
+
+    /** First epoch day of {@code bucket}. */
+    public int startDay(int bucket) {
+        return bounds[bucket];
+    }
+
+    /** Last epoch day of {@code bucket}, inclusive. */
+    public int endDay(int bucket) {
+        return bounds[bucket + 1] - 1;
+    }
+
+    /** Bucket containing {@code day}, or -1 when it is outside all of them. */
+    public int bucketOf(int day) {
+        int offset = day - firstDay;
+        return offset >= 0 && offset < bucketOfDay.length ? bucketOfDay[offset] : -1;
+    }
+}
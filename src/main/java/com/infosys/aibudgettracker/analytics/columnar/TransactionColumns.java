@@ -0,0 +1,78 @@
+package com.infosys.aibudgettracker.analytics.columnar;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A user's transactions as parallel primitive columns: amount in {@link com.infosys.aibudgettracker.money.Money} minor units, epoch day, type
+ * and a category id local to this instance. Built once per request and read by
+ * {@link ColumnKernels}; rows are in no particular order.
+ *
+ * Category ids index {@link #categoryName(int)} and keep the exact spelling stored on the rows,
+ * so callers that group case-sensitively get the same groups as before.
+ */
+public final class TransactionColumns {
+
+    public static final byte INCOME = 0;
+    public static final byte EXPENSE = 1;
+
+    int size;
+    long[] amount;
+    int[] day;
+    byte[] type;
+    int[] category;
+    private String[] categoryNames;
+    private int categoryCount;
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+
+    public TransactionColumns(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        amount = new long[capacity];
+        day = new int[capacity];
+        type = new byte[capacity];
+        category = new int[capacity];
+        categoryNames = new String[8];
+    }
+
+    public void add(long amountMinor, int epochDay, byte rowType, String categoryName) {
+        if (size == amount.length) ensureCapacity(size * 2);
+        amount[size] = amountMinor;
+        day[size] = epochDay;
+        type[size] = rowType;
+        category[size] = categoryId(categoryName);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int categoryCount() {
+        return categoryCount;
+    }
+
+    public String categoryName(int id) {
+        return categoryNames[id];
+    }
+
+    void ensureCapacity(int capacity) {
+        if (capacity <= amount.length) return;
+        amount = Arrays.copyOf(amount, capacity);
+        day = Arrays.copyOf(day, capacity);
+        type = Arrays.copyOf(type, capacity);
+        category = Arrays.copyOf(category, capacity);
+    }
+
+    /** Registers {@code name} and returns its id, so bulk copies can keep ids from another dictionary. */
+    int categoryId(String name) {
+        Integer id = categoryIds.get(name);
+        if (id != null) return id;
+        if (categoryCount == categoryNames.length) {
+            categoryNames = Arrays.copyOf(categoryNames, categoryCount * 2);
+        }
+        categoryNames[categoryCount] = name;
+        categoryIds.put(name, categoryCount);
+        return categoryCount++;
+    }
+}
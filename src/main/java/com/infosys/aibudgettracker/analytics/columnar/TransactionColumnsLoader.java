@@ -0,0 +1,55 @@
+package com.infosys.aibudgettracker.analytics.columnar;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Reads a user's transactions for a date range straight into {@link TransactionColumns},
+ * without materializing entities.
+ *
+ * When the user has a {@link ColumnSnapshot}, the range is sliced out of the mapped file and
+ * only rows created after the snapshot's watermark are read from the database.
+ */
+@Component
+public class TransactionColumnsLoader {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ColumnSnapshotStore snapshotStore;
+
+    /** Transactions dated within {@code [from, to]}, both days inclusive. */
+    public TransactionColumns load(Long userId, LocalDate from, LocalDate to) {
+        ColumnSnapshot snapshot = snapshotStore.find(userId);
+        if (snapshot == null) {
+            TransactionColumns columns = new TransactionColumns(256);
+            int rows = loadRows(columns, userId, from, to, 0L);
+            snapshotStore.recordLoad(userId, rows, false);
+            return columns;
+        }
+
+        TransactionColumns columns = snapshot.read((int) from.toEpochDay(), (int) to.toEpochDay(), 64);
+        int delta = loadRows(columns, userId, from, to, snapshot.watermark());
+        snapshotStore.recordLoad(userId, delta, true);
+        return columns;
+    }
+
+    private int loadRows(TransactionColumns columns, Long userId, LocalDate from, LocalDate to, long afterId) {
+        int before = columns.size();
+        jdbcTemplate.query("select amount_minor, transaction_date, type, category from transactions "
+                        + "where user_id = ? and id > ? and transaction_date >= ? and transaction_date < ?",
+                rs -> {
+                    columns.add(rs.getLong(1),
+                            (int) rs.getTimestamp(2).toLocalDateTime().toLocalDate().toEpochDay(),
+                            "INCOME".equals(rs.getString(3)) ? TransactionColumns.INCOME : TransactionColumns.EXPENSE,
+                            rs.getString(4));
+                },
+                userId, afterId, Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        return columns.size() - before;
+    }
+}
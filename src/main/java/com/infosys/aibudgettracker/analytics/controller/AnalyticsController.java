@@ -1,12 +1,20 @@
 package com.infosys.aibudgettracker.analytics.controller;
 
 import com.infosys.aibudgettracker.analytics.dto.AnalyticsResponse;
+import com.infosys.aibudgettracker.analytics.dto.CategoryForecastDTO;
+import com.infosys.aibudgettracker.analytics.dto.RangeTotalDTO;
 import com.infosys.aibudgettracker.analytics.service.AnalyticsService;
 import com.infosys.aibudgettracker.analytics.service.AIPredictionService;
+import com.infosys.aibudgettracker.analytics.service.DayIndexService;
+import com.infosys.aibudgettracker.analytics.service.PredictionBatchService;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 import com.infosys.aibudgettracker.authservice.model.User;
 import com.infosys.aibudgettracker.authservice.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -26,17 +34,28 @@ public class AnalyticsController {
     @Autowired
     private AIPredictionService aiPredictionService;
 
+    @Autowired
+    private PredictionBatchService predictionBatchService;
+
+    @Autowired
+    private DayIndexService dayIndexService;
+
+    // upper bound on the history a single prediction request may scan
+    @Value("${app.predictions.max-history-months:36}")
+    private int maxHistoryMonths;
+
     @GetMapping
     public ResponseEntity<?> getAnalytics(
             @RequestParam int year,
             @RequestParam int month,
+            @RequestParam(required = false) Integer categoryLevel,
             Authentication authentication) {
         try {
             String username = authentication.getName();
             User user = userRepository.findByUsername(username)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            AnalyticsResponse response = analyticsService.getAnalytics(user.getId(), year, month);
+            AnalyticsResponse response = analyticsService.getAnalytics(user.getId(), year, month, categoryLevel);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -46,14 +65,21 @@ public class AnalyticsController {
 
     @GetMapping("/predict-next-month")
     public ResponseEntity<?> predictNextMonth(
-            @RequestParam(required = false, defaultValue = "12") int months,
+            @RequestParam(required = false, defaultValue = "24") int months,
             Authentication authentication) {
+        // the current month is not fitted, so one month is no history at all
+        if (months < 2 || months > maxHistoryMonths) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("months must be between 2 and " + maxHistoryMonths);
+        }
         try {
             String username = authentication.getName();
             com.infosys.aibudgettracker.authservice.model.User user = userRepository.findByUsername(username)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            AIPredictionService.AIPredictionResult res = aiPredictionService.predictNextMonthExpenses(user.getId(), months);
+            // served from the nightly batch when it has this user and window, computed on demand otherwise
+            AIPredictionService.AIPredictionResult res = predictionBatchService.findPrecomputed(user.getId(), months)
+                    .orElseGet(() -> aiPredictionService.predictNextMonthExpenses(user.getId(), months));
 
             Map<String, Object> resp = new java.util.HashMap<>();
             java.util.List<String> labels = new java.util.ArrayList<>();
@@ -61,6 +87,7 @@ public class AnalyticsController {
             resp.put("historyMonths", labels);
             resp.put("historyTotals", res.getMonthlyTotals());
             resp.put("predictedAmount", res.getPredictedAmount());
+            resp.put("model", res.getModel());
 
             return ResponseEntity.ok(resp);
         } catch (Exception e) {
@@ -68,4 +95,70 @@ public class AnalyticsController {
                     .body("Error predicting expenses: " + e.getMessage());
         }
     }
+
+    @GetMapping("/predict-next-month/categories")
+    public ResponseEntity<?> predictNextMonthByCategory(
+            @RequestParam(required = false, defaultValue = "24") int months,
+            Authentication authentication) {
+        // the current month is not fitted, so one month is no history at all
+        if (months < 2 || months > maxHistoryMonths) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("months must be between 2 and " + maxHistoryMonths);
+        }
+        try {
+            String username = authentication.getName();
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            List<CategoryForecastDTO> forecasts = aiPredictionService.predictNextMonthByCategory(user.getId(), months);
+            return ResponseEntity.ok(forecasts);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Error predicting expenses: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/range")
+    public ResponseEntity<?> getRangeTotal(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Authentication authentication) {
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("endDate must not be before startDate");
+        }
+        try {
+            String username = authentication.getName();
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            RangeTotalDTO total = dayIndexService.getRangeTotal(user.getId(), startDate, endDate);
+            return ResponseEntity.ok(total);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Error fetching range totals: " + e.getMessage());
+        }
+    }
+
+    // e.g. window=7&points=30 for a 7-day rolling spend line over the last month
+    @GetMapping("/rolling")
+    public ResponseEntity<?> getRollingTotals(
+            @RequestParam(required = false, defaultValue = "7") int window,
+            @RequestParam(required = false, defaultValue = "1") int points,
+            Authentication authentication) {
+        if (window < 1 || window > 366 || points < 1 || points > 366) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("window and points must be between 1 and 366");
+        }
+        try {
+            String username = authentication.getName();
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            List<RangeTotalDTO> totals = dayIndexService.getRollingTotals(user.getId(), window, points);
+            return ResponseEntity.ok(totals);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Error fetching rolling totals: " + e.getMessage());
+        }
+    }
 }
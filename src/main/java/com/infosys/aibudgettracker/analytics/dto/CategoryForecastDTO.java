@@ -0,0 +1,14 @@
+package com.infosys.aibudgettracker.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryForecastDTO {
+    private String category;
+    private Double predictedAmount;
+    private String model;
+}
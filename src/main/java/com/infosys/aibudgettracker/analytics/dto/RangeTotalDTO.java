@@ -0,0 +1,17 @@
+package com.infosys.aibudgettracker.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RangeTotalDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private double totalIncome;
+    private double totalExpense;
+    private double net;
+}
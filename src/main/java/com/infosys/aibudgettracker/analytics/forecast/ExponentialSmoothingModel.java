@@ -0,0 +1,45 @@
+package com.infosys.aibudgettracker.analytics.forecast;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Simple exponential smoothing. The smoothing factor is picked per series from a small grid by
+ * in-sample one-step error, which is a handful of passes over the data and needs no buffer.
+ */
+@Component
+@Order(2)
+public class ExponentialSmoothingModel implements ForecastModel {
+
+    private static final double[] ALPHAS = {0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9};
+
+    @Override
+    public String name() {
+        return "exponential-smoothing";
+    }
+
+    @Override
+    public int minHistory() {
+        return 2;
+    }
+
+    @Override
+    public double forecast(double[] y, int n, double[] scratch) {
+        double bestLevel = y[0];
+        double bestError = Double.MAX_VALUE;
+        for (double alpha : ALPHAS) {
+            double level = y[0];
+            double error = 0.0;
+            for (int i = 1; i < n; i++) {
+                double e = y[i] - level;
+                error += e * e;
+                level += alpha * e;
+            }
+            if (error < bestError) {
+                bestError = error;
+                bestLevel = level;
+            }
+        }
+        return bestLevel;
+    }
+}
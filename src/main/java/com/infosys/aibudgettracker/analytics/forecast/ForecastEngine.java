@@ -0,0 +1,95 @@
+package com.infosys.aibudgettracker.analytics.forecast;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Picks the best {@link ForecastModel} for a series by holdout error and forecasts with it.
+ *
+ * For each model that has enough history, the last {@link #HOLDOUT} points are predicted one
+ * step ahead from their prefixes; the model with the lowest mean absolute error is then run on
+ * the full series. New models are plugged in by declaring another {@code ForecastModel} bean.
+ *
+ * A model only competes once the series holds its {@link ForecastModel#minHistory()} plus the
+ * holdout, so Holt-Winters needs 16 complete months. Series must hold complete periods only; a
+ * month still in progress reads as a drop in spending and would bias the choice towards low
+ * forecasts, so callers forecast past it with {@code steps > 1} instead.
+ */
+@Component
+public class ForecastEngine {
+
+    static final int HOLDOUT = 3;
+
+    private final List<ForecastModel> models;
+    private final int scratchSize;
+
+    @Autowired
+    public ForecastEngine(List<ForecastModel> models) {
+        this.models = models;
+        int size = 0;
+        for (ForecastModel m : models) size = Math.max(size, m.scratchSize());
+        this.scratchSize = size;
+    }
+
+    public List<ForecastModel> getModels() {
+        return models;
+    }
+
+    /** A buffer large enough for any registered model; reuse it across calls on the same thread. */
+    public double[] newScratch() {
+        return new double[scratchSize];
+    }
+
+    public SeriesForecast forecast(double[] y, int n, double[] scratch) {
+        return forecast(y, n, 1, scratch);
+    }
+
+    /**
+     * Forecasts {@code y[n + steps - 1]} from {@code y[0..n)}. The model is chosen on one-step
+     * holdout error and then iterated, each forecast standing in for the next point, so
+     * {@code y} must have room for {@code n + steps - 1} points and those past {@code n} are overwritten.
+     */
+    public SeriesForecast forecast(double[] y, int n, int steps, double[] scratch) {
+        if (n == 0) {
+            return new SeriesForecast(0.0, "none", Double.NaN);
+        }
+
+        ForecastModel best = null;
+        double bestError = Double.MAX_VALUE;
+        int train = n - HOLDOUT;
+        for (ForecastModel model : models) {
+            if (train < model.minHistory()) continue;
+            double error = 0.0;
+            for (int t = train; t < n; t++) {
+                error += Math.abs(y[t] - model.forecast(y, t, scratch));
+            }
+            error /= HOLDOUT;
+            if (error < bestError) {
+                bestError = error;
+                best = model;
+            }
+        }
+
+        if (best == null) {
+            // too short to hold anything out, use the simplest model that fits
+            for (ForecastModel model : models) {
+                if (n >= model.minHistory()) {
+                    return new SeriesForecast(Math.max(0.0, iterate(model, y, n, steps, scratch)), model.name(), Double.NaN);
+                }
+            }
+            return new SeriesForecast(0.0, "none", Double.NaN);
+        }
+        return new SeriesForecast(Math.max(0.0, iterate(best, y, n, steps, scratch)), best.name(), bestError);
+    }
+
+    private static double iterate(ForecastModel model, double[] y, int n, int steps, double[] scratch) {
+        double value = model.forecast(y, n, scratch);
+        for (int k = 1; k < steps; k++) {
+            y[n + k - 1] = value;
+            value = model.forecast(y, n + k, scratch);
+        }
+        return value;
+    }
+}
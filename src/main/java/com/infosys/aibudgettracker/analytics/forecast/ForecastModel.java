@@ -0,0 +1,28 @@
+package com.infosys.aibudgettracker.analytics.forecast;
+
+/**
+ * A one-step-ahead forecasting model over a plain {@code double[]} series.
+ *
+ * Implementations must not allocate in {@link #forecast}: any working memory comes from the
+ * caller-provided scratch buffer, so the engine can evaluate every model on every category of a
+ * user with a single buffer.
+ */
+public interface ForecastModel {
+
+    String name();
+
+    /** Fewest points the model needs to produce a forecast. */
+    int minHistory();
+
+    /** Length of the scratch buffer {@link #forecast} needs. */
+    default int scratchSize() {
+        return 0;
+    }
+
+    /**
+     * Forecasts {@code y[n]} from {@code y[0..n)}.
+     *
+     * @param scratch working buffer of at least {@link #scratchSize()} elements; contents are overwritten
+     */
+    double forecast(double[] y, int n, double[] scratch);
+}
@@ -0,0 +1,68 @@
+package com.infosys.aibudgettracker.analytics.forecast;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Additive Holt-Winters with a yearly season over monthly data. The first season initialises the
+ * level and the seasonal offsets, and the trend starts from the year-over-year change of the
+ * points after it, so one season and a month is enough. The offsets live in the scratch buffer.
+ */
+@Component
+@Order(3)
+public class HoltWintersModel implements ForecastModel {
+
+    static final int SEASON = 12;
+
+    private static final double ALPHA = 0.3;
+    private static final double BETA = 0.1;
+    private static final double GAMMA = 0.3;
+
+    @Override
+    public String name() {
+        return "holt-winters";
+    }
+
+    @Override
+    public int minHistory() {
+        return SEASON + 1;
+    }
+
+    @Override
+    public int scratchSize() {
+        return SEASON;
+    }
+
+    @Override
+    public double forecast(double[] y, int n, double[] seasonal) {
+        double first = 0.0;
+        for (int i = 0; i < SEASON; i++) {
+            first += y[i];
+        }
+        first /= SEASON;
+
+        // year-over-year change of every point past the first season, up to a full season of them
+        int pairs = Math.min(SEASON, n - SEASON);
+        double trend = 0.0;
+        for (int i = 0; i < pairs; i++) {
+            trend += y[i + SEASON] - y[i];
+        }
+        trend /= (double) pairs * SEASON;
+
+        // the season's mean sits at its middle; offsets are taken from the trend line through it
+        double middle = (SEASON - 1) / 2.0;
+        double level = first + trend * middle;
+        for (int i = 0; i < SEASON; i++) {
+            seasonal[i] = y[i] - (first + trend * (i - middle));
+        }
+
+        for (int t = SEASON; t < n; t++) {
+            int s = t % SEASON;
+            double previousLevel = level;
+            level = ALPHA * (y[t] - seasonal[s]) + (1 - ALPHA) * (level + trend);
+            trend = BETA * (level - previousLevel) + (1 - BETA) * trend;
+            seasonal[s] = GAMMA * (y[t] - level) + (1 - GAMMA) * seasonal[s];
+        }
+        return level + trend + seasonal[n % SEASON];
+    }
+}
@@ -0,0 +1,42 @@
+package com.infosys.aibudgettracker.analytics.forecast;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Least-squares line through the series, extrapolated one step. Falls back to the mean when
+ * all points share the same x (a single point).
+ */
+@Component
+@Order(1)
+public class LinearTrendModel implements ForecastModel {
+
+    @Override
+    public String name() {
+        return "linear";
+    }
+
+    @Override
+    public int minHistory() {
+        return 1;
+    }
+
+    @Override
+    public double forecast(double[] y, int n, double[] scratch) {
+        double sx = 0.0, sy = 0.0, sxx = 0.0, sxy = 0.0;
+        for (int i = 0; i < n; i++) {
+            double yi = y[i];
+            sx += i;
+            sy += yi;
+            sxx += (double) i * i;
+            sxy += i * yi;
+        }
+        double denom = n * sxx - sx * sx;
+        if (Math.abs(denom) <= 1e-9) {
+            return n == 0 ? 0.0 : sy / n;
+        }
+        double slope = (n * sxy - sx * sy) / denom;
+        double intercept = (sy - slope * sx) / n;
+        return intercept + slope * n;
+    }
+}
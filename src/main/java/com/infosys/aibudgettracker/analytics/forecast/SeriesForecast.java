@@ -0,0 +1,21 @@
+package com.infosys.aibudgettracker.analytics.forecast;
+
+/**
+ * Result of forecasting one series: the next value, the model that produced it and that
+ * model's mean absolute error on the holdout window (NaN when there was no holdout).
+ */
+public final class SeriesForecast {
+    private final double value;
+    private final String model;
+    private final double holdoutError;
+
+    public SeriesForecast(double value, String model, double holdoutError) {
+        this.value = value;
+        this.model = model;
+        this.holdoutError = holdoutError;
+    }
+
+    public double getValue() { return value; }
+    public String getModel() { return model; }
+    public double getHoldoutError() { return holdoutError; }
+}
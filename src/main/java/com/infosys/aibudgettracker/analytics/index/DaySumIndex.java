@@ -0,0 +1,106 @@
+package com.infosys.aibudgettracker.analytics.index;
+
+import java.time.LocalDate;
+
+/**
+ * Fenwick trees of income and expense per epoch day for one user, in exact minor units so
+ * removing a transaction restores the totals exactly.
+ *
+ * Point updates and inclusive day-range sums are O(log n) in the number of days covered. The
+ * covered range starts at {@code base} and doubles when a day falls outside it, rebuilding the
+ * trees in O(n). Days are clamped to [{@link #MIN_DAY}, {@link #MAX_DAY}], so a mistyped year
+ * lands on the boundary day instead of growing the trees without bound. Not thread-safe; callers
+ * synchronize on the instance.
+ */
+public class DaySumIndex {
+
+    public static final long MIN_DAY = LocalDate.of(1900, 1, 1).toEpochDay();
+    public static final long MAX_DAY = LocalDate.of(2199, 12, 31).toEpochDay();
+
+    private long base;
+    private long[] income;
+    private long[] expense;
+
+    public DaySumIndex(long firstDay, long lastDay) {
+        firstDay = clamp(firstDay);
+        lastDay = clamp(lastDay);
+        this.base = firstDay;
+        int size = Integer.highestOneBit((int) Math.max(1, lastDay - firstDay + 1)) << 1;
+        this.income = new long[size + 1];
+        this.expense = new long[size + 1];
+    }
+
+    public void add(long day, boolean isExpense, long amountMinor) {
+        day = clamp(day);
+        ensureCovers(day);
+        long[] tree = isExpense ? expense : income;
+        for (int i = (int) (day - base) + 1; i < tree.length; i += i & -i) {
+            tree[i] += amountMinor;
+        }
+    }
+
+    /** Expense total over {@code [fromDay, toDay]}, both inclusive. */
+    public long expense(long fromDay, long toDay) {
+        return range(expense, fromDay, toDay);
+    }
+
+    /** Income total over {@code [fromDay, toDay]}, both inclusive. */
+    public long income(long fromDay, long toDay) {
+        return range(income, fromDay, toDay);
+    }
+
+    private long range(long[] tree, long fromDay, long toDay) {
+        if (toDay < fromDay || toDay < MIN_DAY || fromDay > MAX_DAY) return 0;
+        return prefix(tree, clamp(toDay)) - prefix(tree, clamp(fromDay) - 1);
+    }
+
+    private static long clamp(long day) {
+        return Math.max(MIN_DAY, Math.min(MAX_DAY, day));
+    }
+
+    // sum of days [base, day]
+    private long prefix(long[] tree, long day) {
+        if (day < base) return 0;
+        int i = (int) Math.min(day - base + 1, tree.length - 1);
+        long sum = 0;
+        for (; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private void ensureCovers(long day) {
+        long capacity = income.length - 1;
+        if (day >= base && day < base + capacity) return;
+
+        long newBase = Math.min(base, day);
+        long newEnd = Math.max(base + capacity, day + 1);
+        long size = capacity;
+        while (size < newEnd - newBase) size <<= 1;
+        // grow to the left by the slack too, so a run of back-dated inserts does not rebuild every time
+        if (day < base) newBase = newEnd - size;
+
+        income = rebuild(income, newBase, (int) size);
+        expense = rebuild(expense, newBase, (int) size);
+        base = newBase;
+    }
+
+    private long[] rebuild(long[] tree, long newBase, int size) {
+        int n = tree.length - 1;
+        long[] values = new long[size + 1];
+        // point values from the old tree, shifted to the new base
+        int shift = (int) (base - newBase);
+        long previous = 0;
+        for (int i = 1; i <= n; i++) {
+            long prefix = prefix(tree, base + i - 1);
+            values[i + shift] = prefix - previous;
+            previous = prefix;
+        }
+        // linear-time Fenwick construction in place
+        for (int i = 1; i <= size; i++) {
+            int parent = i + (i & -i);
+            if (parent <= size) values[parent] += values[i];
+        }
+        return values;
+    }
+}
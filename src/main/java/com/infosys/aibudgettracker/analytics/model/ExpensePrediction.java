@@ -0,0 +1,45 @@
+package com.infosys.aibudgettracker.analytics.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Next-month expense prediction precomputed by the nightly batch. A row is only valid for the
+ * month it was computed in ({@code baseMonth}) and the history length it was computed with, and
+ * only until the user's transactions change, which deletes it.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "expense_predictions",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "base_month", "history_months"}))
+public class ExpensePrediction {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    // yyyy-MM of the last month in the history window
+    @Column(nullable = false, length = 7)
+    private String baseMonth;
+
+    @Column(nullable = false)
+    private Integer historyMonths;
+
+    @Column(nullable = false)
+    private Double predictedAmount;
+
+    @Column(nullable = false)
+    private String model;
+
+    // comma separated monthly totals, oldest first
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String historyTotals;
+
+    @Column(nullable = false)
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,25 @@
+package com.infosys.aibudgettracker.analytics.repository;
+
+import com.infosys.aibudgettracker.analytics.model.ExpensePrediction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExpensePredictionRepository extends JpaRepository<ExpensePrediction, Long> {
+    Optional<ExpensePrediction> findByUserIdAndBaseMonthAndHistoryMonths(Long userId, String baseMonth, Integer historyMonths);
+    List<ExpensePrediction> findByUserIdInAndBaseMonthAndHistoryMonths(Collection<Long> userIds, String baseMonth, Integer historyMonths);
+
+    // joins the caller's transaction when there is one, so the rows go with the write that outdated them
+    @Transactional
+    @Modifying
+    @Query("delete from ExpensePrediction p where p.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
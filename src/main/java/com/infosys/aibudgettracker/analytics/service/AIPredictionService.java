@@ -1,112 +1,151 @@
 package com.infosys.aibudgettracker.analytics.service;
 
-import com.infosys.aibudgettracker.transaction.model.Transaction;
-import com.infosys.aibudgettracker.transaction.repository.TransactionRepository;
+import com.infosys.aibudgettracker.analytics.columnar.ColumnKernels;
+import com.infosys.aibudgettracker.analytics.columnar.DayBuckets;
+import com.infosys.aibudgettracker.analytics.columnar.TransactionColumns;
+import com.infosys.aibudgettracker.analytics.columnar.TransactionColumnsLoader;
+import com.infosys.aibudgettracker.analytics.dto.CategoryForecastDTO;
+import com.infosys.aibudgettracker.analytics.forecast.ForecastEngine;
+import com.infosys.aibudgettracker.analytics.forecast.SeriesForecast;
+import com.infosys.aibudgettracker.money.Money;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 @Service
 public class AIPredictionService {
 
     @Autowired
-    private TransactionRepository transactionRepository;
+    private TransactionColumnsLoader columnsLoader;
+
+    @Autowired
+    private ForecastEngine forecastEngine;
 
     /**
-     * Predict next month expenses using a simple linear regression on monthly totals.
+     * Predict next month expenses from monthly totals. Linear trend, exponential smoothing and
+     * Holt-Winters are all tried and the one with the lowest error on the most recent months wins.
      * This is intentionally lightweight and dependency-free so it can run without ML libs.
      *
+     * The current month is returned with the history but not fitted: it is still in progress,
+     * so the models train on the complete months before it and forecast two steps ahead.
+     * Holt-Winters takes part from 17 months.
+     *
      * @param userId the user's id
-     * @param months number of past months to use for training (e.g. 6 or 12)
+     * @param months number of months to load, the current one included (e.g. 12 or 24)
      * @return predicted expense amount for the next month
      */
     public AIPredictionResult predictNextMonthExpenses(Long userId, int months) {
-        // gather transactions for the past `months` months
         YearMonth now = YearMonth.now();
         YearMonth start = now.minusMonths(months - 1);
 
-        LocalDateTime startDate = start.atDay(1).atStartOfDay();
-        LocalDateTime endDate = now.atEndOfMonth().atTime(23,59,59);
-
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(userId, startDate, endDate);
-
-        // aggregate expenses per month
-        Map<YearMonth, Double> totals = new HashMap<>();
-        for (Transaction t : transactions) {
-            if (t.getType() != Transaction.TransactionType.EXPENSE) continue;
-            YearMonth ym = YearMonth.from(t.getTransactionDate());
-            totals.put(ym, totals.getOrDefault(ym, 0.0) + (t.getAmount() == null ? 0.0 : t.getAmount()));
-        }
+        TransactionColumns columns = columnsLoader.load(userId, start.atDay(1), now.atEndOfMonth());
+        return predictNextMonthExpenses(months, start, columns);
+    }
 
-        // Build ordered list of months and values
-        List<YearMonth> monthsList = new ArrayList<>();
-        for (int i = 0; i < months; i++) {
-            monthsList.add(start.plusMonths(i));
-        }
+    /**
+     * Same, over transactions the caller already loaded; {@code columns} must cover the
+     * {@code months} months from {@code start} and rows outside them are ignored.
+     */
+    public AIPredictionResult predictNextMonthExpenses(int months, YearMonth start, TransactionColumns columns) {
+        // monthly expense totals
+        long[] totals = new long[months];
+        ColumnKernels.sumByBucket(columns, TransactionColumns.EXPENSE, DayBuckets.months(start, months), totals);
+        double[] y = new double[months];
+        for (int i = 0; i < months; i++) y[i] = Money.toUnits(totals[i]);
+
+        return predictFromMonthlyTotals(y, start, forecastEngine.newScratch());
+    }
 
-        List<Double> y = new ArrayList<>();
-        for (YearMonth ym : monthsList) {
-            y.add(totals.getOrDefault(ym, 0.0));
-        }
+    /**
+     * Forecasts from already aggregated monthly expense totals, so batch callers that sum many
+     * users at once can skip the per-user query.
+     *
+     * @param y       expense totals, one per month starting at {@code start}
+     * @param scratch buffer from {@link ForecastEngine#newScratch()}, reusable across calls on one thread
+     */
+    public AIPredictionResult predictFromMonthlyTotals(double[] y, YearMonth start, double[] scratch) {
+        YearMonth now = YearMonth.now();
+        int complete = completeMonths(start, y.length, now);
+        int steps = complete == 0 ? 1 : (int) start.plusMonths(complete - 1).until(now.plusMonths(1), ChronoUnit.MONTHS);
+        double[] work = Arrays.copyOf(y, Math.max(y.length, complete + steps - 1));
+        SeriesForecast forecast = forecastEngine.forecast(work, complete, steps, scratch);
+        return new AIPredictionResult(forecast.getValue(), forecast.getModel(), monthList(start, y.length), toList(y));
+    }
 
-        // If insufficient variation, return simple average
-        double sum = 0.0;
-        for (Double v : y) sum += v;
-        double avg = y.isEmpty() ? 0.0 : sum / y.size();
+    /**
+     * Forecasts next month's spend for every expense category the user has in the window, each
+     * with its own best model. All series share one flat array and one scratch buffer.
+     */
+    public List<CategoryForecastDTO> predictNextMonthByCategory(Long userId, int months) {
+        YearMonth now = YearMonth.now();
+        YearMonth start = now.minusMonths(months - 1);
 
-        // perform linear regression y = a + b*x where x = 0..n-1
-        int n = y.size();
-        if (n == 0) {
-            return new AIPredictionResult(0.0, monthsList, y);
+        TransactionColumns columns = columnsLoader.load(userId, start.atDay(1), now.atEndOfMonth());
+        int categories = columns.categoryCount();
+
+        // row-major [category][month] so each category's history is a contiguous slice
+        long[] series = new long[categories * months];
+        ColumnKernels.sumByCategoryAndBucket(columns, TransactionColumns.EXPENSE, DayBuckets.months(start, months), series);
+
+        double[] history = new double[months];
+        double[] scratch = forecastEngine.newScratch();
+        List<CategoryForecastDTO> result = new ArrayList<>(categories);
+        for (int c = 0; c < categories; c++) {
+            boolean spent = false;
+            for (int m = 0; m < months; m++) {
+                long v = series[c * months + m];
+                history[m] = Money.toUnits(v);
+                spent |= v != 0;
+            }
+            // categories only used for income have no expense history to forecast
+            if (!spent) continue;
+            // the window ends with the current month, which forecasting steps over
+            SeriesForecast forecast = forecastEngine.forecast(history, months - 1, 2, scratch);
+            result.add(new CategoryForecastDTO(columns.categoryName(c), forecast.getValue(), forecast.getModel()));
         }
+        result.sort((a, b) -> Double.compare(b.getPredictedAmount(), a.getPredictedAmount()));
+        return result;
+    }
 
-        double sx = 0.0, sy = 0.0, sxx = 0.0, sxy = 0.0;
-        for (int i = 0; i < n; i++) {
-            double xi = i;
-            double yi = y.get(i);
-            sx += xi;
-            sy += yi;
-            sxx += xi * xi;
-            sxy += xi * yi;
-        }
+    // months of the series that ended before the current one
+    private static int completeMonths(YearMonth start, int length, YearMonth now) {
+        return (int) Math.max(0, Math.min(length, start.until(now, ChronoUnit.MONTHS)));
+    }
 
-        double denom = n * sxx - sx * sx;
-        double slope = 0.0;
-        double intercept = 0.0;
-        if (Math.abs(denom) > 1e-9) {
-            slope = (n * sxy - sx * sy) / denom;
-            intercept = (sy - slope * sx) / n;
-        } else {
-            // fallback to average
-            slope = 0.0;
-            intercept = avg;
+    private static List<YearMonth> monthList(YearMonth start, int months) {
+        List<YearMonth> monthsList = new ArrayList<>(months);
+        for (int i = 0; i < months; i++) {
+            monthsList.add(start.plusMonths(i));
         }
+        return monthsList;
+    }
 
-        double nextX = n;
-        double prediction = intercept + slope * nextX;
-        if (prediction < 0) prediction = 0.0;
-
-        return new AIPredictionResult(prediction, monthsList, y);
+    private static List<Double> toList(double[] values) {
+        List<Double> list = new ArrayList<>(values.length);
+        for (double v : values) list.add(v);
+        return list;
     }
 
     public static class AIPredictionResult {
         private double predictedAmount;
+        private String model;
         private List<YearMonth> months;
         private List<Double> monthlyTotals;
 
-        public AIPredictionResult(double predictedAmount, List<YearMonth> months, List<Double> monthlyTotals) {
+        public AIPredictionResult(double predictedAmount, String model, List<YearMonth> months, List<Double> monthlyTotals) {
             this.predictedAmount = predictedAmount;
+            this.model = model;
             this.months = months;
             this.monthlyTotals = monthlyTotals;
         }
 
         public double getPredictedAmount() { return predictedAmount; }
+        public String getModel() { return model; }
         public List<YearMonth> getMonths() { return months; }
         public List<Double> getMonthlyTotals() { return monthlyTotals; }
     }
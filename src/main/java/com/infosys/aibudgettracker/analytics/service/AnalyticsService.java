@@ -1,60 +1,85 @@
 package com.infosys.aibudgettracker.analytics.service;
 
+import com.infosys.aibudgettracker.analytics.columnar.ColumnKernels;
+import com.infosys.aibudgettracker.analytics.columnar.DayBuckets;
+import com.infosys.aibudgettracker.analytics.columnar.TransactionColumns;
+import com.infosys.aibudgettracker.analytics.columnar.TransactionColumnsLoader;
 import com.infosys.aibudgettracker.analytics.dto.AnalyticsResponse;
 import com.infosys.aibudgettracker.analytics.dto.CategoryBreakdownDTO;
 import com.infosys.aibudgettracker.analytics.dto.IncomeVsExpenseDTO;
 import com.infosys.aibudgettracker.analytics.dto.MonthlyTrendDTO;
-import com.infosys.aibudgettracker.transaction.model.Transaction;
-import com.infosys.aibudgettracker.transaction.repository.TransactionRepository;
+import com.infosys.aibudgettracker.category.service.CategoryService;
+import com.infosys.aibudgettracker.money.Money;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.time.YearMonth;
-import java.time.format.DateTimeFormatter;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class AnalyticsService {
 
     @Autowired
-    private TransactionRepository transactionRepository;
+    private TransactionColumnsLoader columnsLoader;
+
+    @Autowired
+    private CategoryService categoryService;
 
     public AnalyticsResponse getAnalytics(Long userId, int year, int month) {
-        // Get date range for the specified month
-        LocalDateTime startOfMonth = LocalDateTime.of(year, month, 1, 0, 0);
-        LocalDateTime endOfMonth = startOfMonth.plusMonths(1).minusSeconds(1);
+        return getAnalytics(userId, year, month, null);
+    }
 
-        // Get all transactions for the year
-        LocalDateTime startOfYear = LocalDateTime.of(year, 1, 1, 0, 0);
-        LocalDateTime endOfYear = LocalDateTime.of(year, 12, 31, 23, 59, 59);
+    /**
+     * @param categoryLevel depth to roll the category breakdown up to (0 = top-level categories),
+     *                      or null to keep the flat per-category breakdown
+     */
+    public AnalyticsResponse getAnalytics(Long userId, int year, int month, Integer categoryLevel) {
+        // One load of the year in columns; the month is a day range inside it
+        TransactionColumns columns = columnsLoader.load(userId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+        return getAnalytics(userId, year, month, categoryLevel, columns);
+    }
 
-        List<Transaction> monthTransactions = transactionRepository
-                .findByUserIdAndTransactionDateBetween(userId, startOfMonth, endOfMonth);
-        
-        List<Transaction> yearTransactions = transactionRepository
-                .findByUserIdAndTransactionDateBetween(userId, startOfYear, endOfYear);
+    /**
+     * Same, over transactions the caller already loaded; {@code columns} must cover the whole
+     * year and rows outside it are ignored, so one load can be shared with other aggregates.
+     */
+    public AnalyticsResponse getAnalytics(Long userId, int year, int month, Integer categoryLevel,
+                                          TransactionColumns columns) {
+        DayBuckets months = DayBuckets.months(YearMonth.of(year, 1), 12);
 
         // Category breakdown for the selected month (expenses only)
-        List<CategoryBreakdownDTO> categoryBreakdown = getCategoryBreakdown(monthTransactions);
+        List<CategoryBreakdownDTO> categoryBreakdown = getCategoryBreakdown(userId, columns,
+                months.startDay(month - 1), months.endDay(month - 1), categoryLevel);
 
-        // Monthly trend for the entire year (expenses only)
-        List<MonthlyTrendDTO> monthlyTrend = getMonthlyTrend(yearTransactions, year);
+        // Monthly income and expense totals for the entire year
+        long[] income = new long[12];
+        long[] expense = new long[12];
+        ColumnKernels.sumByBucketAndType(columns, months, income, expense);
 
-        // Income vs Expenses for the entire year
-        List<IncomeVsExpenseDTO> incomeVsExpenses = getIncomeVsExpenses(yearTransactions, year);
+        List<MonthlyTrendDTO> monthlyTrend = getMonthlyTrend(expense, year);
+        List<IncomeVsExpenseDTO> incomeVsExpenses = getIncomeVsExpenses(income, expense, year);
 
         return new AnalyticsResponse(categoryBreakdown, monthlyTrend, incomeVsExpenses);
     }
 
-    private List<CategoryBreakdownDTO> getCategoryBreakdown(List<Transaction> transactions) {
-        Map<String, Double> categoryTotals = transactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                .collect(Collectors.groupingBy(
-                        Transaction::getCategory,
-                        Collectors.summingDouble(Transaction::getAmount)
-                ));
+    private List<CategoryBreakdownDTO> getCategoryBreakdown(Long userId, TransactionColumns columns,
+                                                            int fromDay, int toDay, Integer categoryLevel) {
+        long[] sums = new long[columns.categoryCount()];
+        ColumnKernels.sumByCategory(columns, TransactionColumns.EXPENSE, fromDay, toDay, sums);
+
+        Map<String, Double> categoryTotals = new HashMap<>();
+        for (int c = 0; c < sums.length; c++) {
+            if (sums[c] != 0) categoryTotals.put(columns.categoryName(c), Money.toUnits(sums[c]));
+        }
+
+        if (categoryLevel != null) {
+            categoryTotals = categoryService.getTree(userId).aggregateAtLevel(categoryTotals, categoryLevel);
+        }
 
         return categoryTotals.entrySet().stream()
                 .map(entry -> new CategoryBreakdownDTO(entry.getKey(), entry.getValue()))
@@ -62,63 +87,25 @@ public class AnalyticsService {
                 .collect(Collectors.toList());
     }
 
-    private List<MonthlyTrendDTO> getMonthlyTrend(List<Transaction> transactions, int year) {
-        Map<Integer, Double> monthlyTotals = new HashMap<>();
-        
-        // Initialize all months with 0
+    private List<MonthlyTrendDTO> getMonthlyTrend(long[] expense, int year) {
+        List<MonthlyTrendDTO> result = new ArrayList<>(12);
         for (int i = 1; i <= 12; i++) {
-            monthlyTotals.put(i, 0.0);
+            String monthStr = YearMonth.of(year, i).atDay(1).toString();
+            result.add(new MonthlyTrendDTO(monthStr, Money.toUnits(expense[i - 1])));
         }
-
-        // Sum expenses by month
-        transactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                .forEach(t -> {
-                    int month = t.getTransactionDate().getMonthValue();
-                    monthlyTotals.merge(month, t.getAmount(), Double::sum);
-                });
-
-        return monthlyTotals.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(entry -> {
-                    YearMonth ym = YearMonth.of(year, entry.getKey());
-                    String monthStr = ym.atDay(1).toString();
-                    return new MonthlyTrendDTO(monthStr, entry.getValue());
-                })
-                .collect(Collectors.toList());
+        return result;
     }
 
-    private List<IncomeVsExpenseDTO> getIncomeVsExpenses(List<Transaction> transactions, int year) {
-        Map<Integer, Double> incomeByMonth = new HashMap<>();
-        Map<Integer, Double> expenseByMonth = new HashMap<>();
-
-        // Initialize all months with 0
+    private List<IncomeVsExpenseDTO> getIncomeVsExpenses(long[] income, long[] expense, int year) {
+        List<IncomeVsExpenseDTO> result = new ArrayList<>(12);
         for (int i = 1; i <= 12; i++) {
-            incomeByMonth.put(i, 0.0);
-            expenseByMonth.put(i, 0.0);
-        }
-
-        // Aggregate transactions by month and type
-        transactions.forEach(t -> {
-            int month = t.getTransactionDate().getMonthValue();
-            if (t.getType() == Transaction.TransactionType.INCOME) {
-                incomeByMonth.merge(month, t.getAmount(), Double::sum);
-            } else {
-                expenseByMonth.merge(month, t.getAmount(), Double::sum);
-            }
-        });
-
-        List<IncomeVsExpenseDTO> result = new ArrayList<>();
-        for (int i = 1; i <= 12; i++) {
-            YearMonth ym = YearMonth.of(year, i);
-            String monthStr = ym.atDay(1).toString();
+            String monthStr = YearMonth.of(year, i).atDay(1).toString();
             result.add(new IncomeVsExpenseDTO(
                     monthStr,
-                    incomeByMonth.get(i),
-                    expenseByMonth.get(i)
+                    Money.toUnits(income[i - 1]),
+                    Money.toUnits(expense[i - 1])
             ));
         }
-
         return result;
     }
 }
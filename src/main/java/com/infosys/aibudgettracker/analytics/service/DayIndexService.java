@@ -0,0 +1,179 @@
+package com.infosys.aibudgettracker.analytics.service;
+
+import com.infosys.aibudgettracker.analytics.dto.RangeTotalDTO;
+import com.infosys.aibudgettracker.analytics.index.DaySumIndex;
+import com.infosys.aibudgettracker.metrics.CacheStats;
+import com.infosys.aibudgettracker.money.Money;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent;
+import com.infosys.aibudgettracker.transaction.event.TransactionWrites;
+import com.infosys.aibudgettracker.transaction.model.Transaction;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Income and expense totals for arbitrary date ranges and rolling windows.
+ *
+ * Each user's history is folded once into a {@link DaySumIndex} from a per-day grouped query and
+ * then kept current from {@link TransactionChangedEvent}s once they commit, so every range is
+ * answered in O(log days) without touching the transactions table. An index is built while
+ * holding the per-user lock the listener takes, so no committed change falls between the build's
+ * query and the index being registered. A write that was still open when the index was
+ * registered may already be in the query's sums, so its event drops the index for a rebuild
+ * rather than adding the amount twice. Indexes are held in a bounded LRU.
+ */
+@Service
+public class DayIndexService implements MeterBinder {
+
+    private static final int USER_LOCK_STRIPES = 64;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionWrites transactionWrites;
+
+    private final Map<Long, UserIndex> indexes;
+    private final CacheStats indexStats;
+    private final ReentrantLock[] userLocks = new ReentrantLock[USER_LOCK_STRIPES];
+
+    public DayIndexService(@Value("${app.day-index.max-cached-users:10000}") int maxCachedUsers) {
+        this.indexes = Collections.synchronizedMap(new LinkedHashMap<Long, UserIndex>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserIndex> eldest) {
+                return size() > maxCachedUsers;
+            }
+        });
+        this.indexStats = new CacheStats("day-indexes", indexes);
+        for (int i = 0; i < USER_LOCK_STRIPES; i++) userLocks[i] = new ReentrantLock();
+    }
+
+    public RangeTotalDTO getRangeTotal(Long userId, LocalDate start, LocalDate end) {
+        DaySumIndex index = index(userId);
+        synchronized (index) {
+            return total(index, start, end);
+        }
+    }
+
+    /**
+     * Totals of the {@code window}-day windows ending on each of the last {@code points} days,
+     * oldest first.
+     */
+    public List<RangeTotalDTO> getRollingTotals(Long userId, int window, int points) {
+        DaySumIndex index = index(userId);
+        LocalDate today = LocalDate.now();
+        List<RangeTotalDTO> result = new ArrayList<>(points);
+        synchronized (index) {
+            for (int p = points - 1; p >= 0; p--) {
+                LocalDate end = today.minusDays(p);
+                result.add(total(index, end.minusDays(window - 1), end));
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        ReentrantLock lock = userLock(event.getUserId());
+        lock.lock();
+        try {
+            // an index not built yet will read this change from the table when it is
+            UserIndex index = indexes.get(event.getUserId());
+            if (index == null) return;
+            if (index.inDoubt.remove(event)) {
+                indexes.remove(event.getUserId());
+                return;
+            }
+            synchronized (index.sums) {
+                apply(index.sums, event.getPrevious(), -1);
+                apply(index.sums, event.getCurrent(), 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void apply(DaySumIndex index, Transaction t, int sign) {
+        if (t == null || t.getAmountMinor() == null || t.getTransactionDate() == null) return;
+        index.add(t.getTransactionDate().toLocalDate().toEpochDay(),
+                t.getType() == Transaction.TransactionType.EXPENSE, sign * t.getAmountMinor());
+    }
+
+    private static RangeTotalDTO total(DaySumIndex index, LocalDate start, LocalDate end) {
+        long income = index.income(start.toEpochDay(), end.toEpochDay());
+        long expense = index.expense(start.toEpochDay(), end.toEpochDay());
+        return new RangeTotalDTO(start, end, Money.toUnits(income), Money.toUnits(expense), Money.toUnits(income - expense));
+    }
+
+    private DaySumIndex index(Long userId) {
+        UserIndex index = indexStats.record(indexes.get(userId));
+        if (index != null) return index.sums;
+        ReentrantLock lock = userLock(userId);
+        lock.lock();
+        try {
+            index = indexes.get(userId);
+            if (index == null) {
+                index = new UserIndex(build(userId), transactionWrites.openFor(userId));
+                indexes.put(userId, index);
+            }
+            return index.sums;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock userLock(Long userId) {
+        return userLocks[Long.hashCode(userId) & (USER_LOCK_STRIPES - 1)];
+    }
+
+    private DaySumIndex build(Long userId) {
+        long today = LocalDate.now().toEpochDay();
+        List<Object[]> days = new ArrayList<>();
+        jdbcTemplate.query("select cast(transaction_date as date), type, sum(amount_minor) from transactions "
+                + "where user_id = ? group by cast(transaction_date as date), type", rs -> {
+            days.add(new Object[]{rs.getDate(1).toLocalDate().toEpochDay(), rs.getString(2), rs.getLong(3)});
+        }, userId);
+
+        long first = today;
+        long last = today;
+        for (Object[] row : days) {
+            first = Math.min(first, (long) row[0]);
+            last = Math.max(last, (long) row[0]);
+        }
+        DaySumIndex built = new DaySumIndex(first, last);
+        for (Object[] row : days) {
+            built.add((long) row[0], Transaction.TransactionType.EXPENSE.name().equals(row[1]), (long) row[2]);
+        }
+        return built;
+    }
+
+    /** A user's index and the writes open when it was registered, which its query may or may not include. */
+    private static final class UserIndex {
+        final DaySumIndex sums;
+        // guarded by the user's lock
+        final Set<TransactionChangedEvent> inDoubt;
+
+        UserIndex(DaySumIndex sums, Set<TransactionChangedEvent> inDoubt) {
+            this.sums = sums;
+            this.inDoubt = inDoubt;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        indexStats.bindTo(registry);
+    }
+}
@@ -0,0 +1,301 @@
+package com.infosys.aibudgettracker.analytics.service;
+
+import com.infosys.aibudgettracker.analytics.forecast.ForecastEngine;
+import com.infosys.aibudgettracker.analytics.model.ExpensePrediction;
+import com.infosys.aibudgettracker.analytics.repository.ExpensePredictionRepository;
+import com.infosys.aibudgettracker.dataversion.DataVersions;
+import com.infosys.aibudgettracker.money.Money;
+import com.infosys.aibudgettracker.transaction.dto.UserMonthlyTotal;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent;
+import com.infosys.aibudgettracker.transaction.model.Transaction;
+import com.infosys.aibudgettracker.transaction.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Precomputes next-month expense predictions for every active user so the prediction endpoint
+ * can answer from a table instead of scanning history on demand.
+ *
+ * Users are scored in chunks on a dedicated fork-join pool. Each chunk streams its users'
+ * monthly totals from a single grouped query, forecasts from primitive arrays, and saves its
+ * rows with a single saveAll. Every nightly run rescores every active user, since the current
+ * month's total moves daily; a rerun on the same day only scores users without a row from
+ * today unless forced.
+ *
+ * A transaction write deletes the user's rows in the same transaction, so reads fall back to a
+ * live prediction until the next run. Rows older than yesterday are never served either, in
+ * case a nightly run was missed.
+ *
+ * A write can land while a chunk is between reading totals and saving, after its delete has
+ * already run. Writes therefore stamp the user from their delete until their transaction
+ * completes; a chunk skips users stamped since its read, and deletes again the rows of any
+ * user stamped while it was saving.
+ */
+@Service
+public class PredictionBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(PredictionBatchService.class);
+    private static final Object CLEARED_USERS = new Object();
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ExpensePredictionRepository predictionRepository;
+
+    @Autowired
+    private AIPredictionService aiPredictionService;
+
+    @Autowired
+    private ForecastEngine forecastEngine;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataVersions dataVersions;
+
+    @Value("${app.predictions.batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.predictions.batch.history-months:24}")
+    private int historyMonths;
+
+    @Value("${app.predictions.batch.parallelism:4}")
+    private int parallelism;
+
+    @Value("${app.predictions.batch.chunk-size:500}")
+    private int chunkSize;
+
+    private final AtomicLong writeClock = new AtomicLong();
+    private final Map<Long, WriteStamp> writeStamps = new ConcurrentHashMap<>();
+
+    @Scheduled(cron = "${app.predictions.batch.cron:0 0 2 * * *}")
+    public void scoreAllActiveUsers() {
+        if (!enabled) return;
+        run(null, false);
+    }
+
+    /**
+     * Scores users for the current month.
+     *
+     * @param userIds users to score, or null for every user with transactions in the history window
+     * @param force   rescore users that already have a row from today
+     * @return number of users scored
+     */
+    public int run(Collection<Long> userIds, boolean force) {
+        long started = System.nanoTime();
+        YearMonth base = YearMonth.now();
+        YearMonth start = base.minusMonths(historyMonths - 1);
+        LocalDateTime startDate = start.atDay(1).atStartOfDay();
+        LocalDateTime endDate = base.atEndOfMonth().atTime(23, 59, 59);
+
+        List<Long> users = userIds != null
+                ? new ArrayList<>(userIds)
+                : transactionRepository.findActiveUserIds(startDate);
+
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int from = 0; from < users.size(); from += chunkSize) {
+            List<Long> chunk = users.subList(from, Math.min(from + chunkSize, users.size()));
+            tasks.add(() -> scoreChunk(chunk, base, start, startDate, endDate, force));
+        }
+
+        AtomicInteger scored = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            for (Future<Integer> f : pool.invokeAll(tasks)) {
+                scored.addAndGet(f.get());
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Prediction batch failed: " + e.getMessage(), e);
+        } finally {
+            pool.shutdown();
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("Prediction batch for {}: scored {} of {} users in {} s ({} users/s)",
+                base, scored.get(), users.size(), String.format("%.2f", seconds),
+                String.format("%.1f", seconds > 0 ? scored.get() / seconds : 0.0));
+        return scored.get();
+    }
+
+    private int scoreChunk(List<Long> chunk, YearMonth base, YearMonth start,
+                           LocalDateTime startDate, LocalDateTime endDate, boolean force) {
+        String baseMonth = base.toString();
+        Map<Long, ExpensePrediction> existing = new HashMap<>();
+        for (ExpensePrediction p : predictionRepository.findByUserIdInAndBaseMonthAndHistoryMonths(chunk, baseMonth, historyMonths)) {
+            existing.put(p.getUserId(), p);
+        }
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        List<Long> pending = new ArrayList<>();
+        for (Long id : chunk) {
+            ExpensePrediction row = existing.get(id);
+            if (force || row == null || row.getComputedAt().isBefore(today)) pending.add(id);
+        }
+        if (pending.isEmpty()) return 0;
+
+        Map<Long, double[]> totals = new HashMap<>();
+        for (Long id : pending) totals.put(id, new double[historyMonths]);
+
+        long readStamp = writeClock.get();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<UserMonthlyTotal> rows = transactionRepository.streamMonthlyTotals(pending, startDate, endDate)) {
+                rows.forEach(row -> {
+                    if (row.getType() != Transaction.TransactionType.EXPENSE) return;
+                    int idx = (int) start.until(YearMonth.of(row.getYear(), row.getMonth()), ChronoUnit.MONTHS);
+                    if (idx < 0 || idx >= historyMonths) return;
+                    totals.get(row.getUserId())[idx] += row.getTotal() == null ? 0.0 : Money.toUnits(row.getTotal());
+                });
+            }
+        });
+
+        double[] scratch = forecastEngine.newScratch();
+        LocalDateTime now = LocalDateTime.now();
+        List<ExpensePrediction> rows = new ArrayList<>(pending.size());
+        for (Long userId : pending) {
+            if (writtenSince(userId, readStamp)) continue;
+            AIPredictionService.AIPredictionResult result =
+                    aiPredictionService.predictFromMonthlyTotals(totals.get(userId), start, scratch);
+            ExpensePrediction row = existing.getOrDefault(userId, new ExpensePrediction());
+            row.setUserId(userId);
+            row.setBaseMonth(baseMonth);
+            row.setHistoryMonths(historyMonths);
+            row.setPredictedAmount(result.getPredictedAmount());
+            row.setModel(result.getModel());
+            row.setHistoryTotals(join(totals.get(userId)));
+            row.setComputedAt(now);
+            rows.add(row);
+        }
+        predictionRepository.saveAll(rows);
+        int saved = rows.size();
+        for (ExpensePrediction row : rows) {
+            // a write that deleted before the save would otherwise leave this row behind
+            if (writtenSince(row.getUserId(), readStamp)) {
+                predictionRepository.deleteByUserId(row.getUserId());
+                saved--;
+            }
+            // the dashboard and prediction endpoints serve these rows, so their ETags must move too
+            dataVersions.bump(row.getUserId());
+        }
+        return saved;
+    }
+
+    /**
+     * The precomputed prediction for this month, if the batch has a current one for this history length.
+     */
+    public Optional<AIPredictionService.AIPredictionResult> findPrecomputed(Long userId, int months) {
+        YearMonth base = YearMonth.now();
+        LocalDateTime oldest = LocalDate.now().minusDays(1).atStartOfDay();
+        return predictionRepository.findByUserIdAndBaseMonthAndHistoryMonths(userId, base.toString(), months)
+                .filter(p -> !p.getComputedAt().isBefore(oldest))
+                .map(p -> {
+                    List<YearMonth> monthList = new ArrayList<>(months);
+                    YearMonth start = base.minusMonths(months - 1);
+                    for (int i = 0; i < months; i++) monthList.add(start.plusMonths(i));
+                    List<Double> history = new ArrayList<>(months);
+                    for (String v : p.getHistoryTotals().split(",")) history.add(Double.parseDouble(v));
+                    return new AIPredictionService.AIPredictionResult(p.getPredictedAmount(), p.getModel(), monthList, history);
+                });
+    }
+
+    @EventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        Long userId = event.getUserId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            startWrite(userId);
+            try {
+                predictionRepository.deleteByUserId(userId);
+            } finally {
+                endWrite(userId);
+            }
+            return;
+        }
+        // an import publishes an event per row; one delete per user and transaction is enough
+        @SuppressWarnings("unchecked")
+        Set<Long> cleared = (Set<Long>) TransactionSynchronizationManager.getResource(CLEARED_USERS);
+        if (cleared == null) {
+            Set<Long> users = new HashSet<>();
+            cleared = users;
+            TransactionSynchronizationManager.bindResource(CLEARED_USERS, cleared);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CLEARED_USERS);
+                    for (Long id : users) endWrite(id);
+                }
+            });
+        }
+        if (cleared.add(userId)) {
+            startWrite(userId);
+            predictionRepository.deleteByUserId(userId);
+        }
+    }
+
+    private void startWrite(Long userId) {
+        WriteStamp stamp = writeStamps.computeIfAbsent(userId, id -> new WriteStamp());
+        synchronized (stamp) {
+            stamp.inFlight++;
+        }
+    }
+
+    private void endWrite(Long userId) {
+        WriteStamp stamp = writeStamps.get(userId);
+        synchronized (stamp) {
+            stamp.inFlight--;
+            stamp.completed = writeClock.incrementAndGet();
+        }
+    }
+
+    /** Whether a write for the user is open or has completed since {@code stamp} was read. */
+    private boolean writtenSince(Long userId, long stamp) {
+        WriteStamp s = writeStamps.get(userId);
+        if (s == null) return false;
+        synchronized (s) {
+            return s.inFlight > 0 || s.completed > stamp;
+        }
+    }
+
+    /** Open writes and the clock value of the last one to complete, for one user. */
+    private static final class WriteStamp {
+        int inFlight;
+        long completed;
+    }
+
+    private static String join(double[] values) {
+        StringJoiner joiner = new StringJoiner(",");
+        for (double v : values) joiner.add(Double.toString(v));
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,38 @@
+package com.infosys.aibudgettracker.anomaly.controller;
+
+import com.infosys.aibudgettracker.anomaly.dto.SpendingAnomalyResponse;
+import com.infosys.aibudgettracker.anomaly.service.AnomalyDetectionService;
+import com.infosys.aibudgettracker.authservice.model.User;
+import com.infosys.aibudgettracker.authservice.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/anomalies")
+@CrossOrigin(origins = "http://localhost:5173")
+public class AnomalyController {
+
+    @Autowired
+    private AnomalyDetectionService anomalyDetectionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @GetMapping
+    public ResponseEntity<?> getUserAnomalies(Authentication authentication) {
+        try {
+            String username = authentication.getName();
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            List<SpendingAnomalyResponse> anomalies = anomalyDetectionService.getAnomalies(user.getId());
+            return ResponseEntity.ok(anomalies);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+}
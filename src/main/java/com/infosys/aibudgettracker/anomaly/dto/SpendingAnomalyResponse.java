@@ -0,0 +1,21 @@
+package com.infosys.aibudgettracker.anomaly.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingAnomalyResponse {
+    private Long id;
+    private Long transactionId;
+    private String category;
+    private Double amount;
+    private Double expectedAmount;
+    private Double stdDev;
+    private Double zScore;
+    private LocalDateTime transactionDate;
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,40 @@
+package com.infosys.aibudgettracker.anomaly.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of the in-memory running expense statistics for one (user, category), written in
+ * batches by AnomalyDetectionService and read back on startup.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "category_spend_stats", uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "category"}))
+public class CategorySpendStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    // normalized (trimmed, lower-case) category name
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false)
+    private Long sampleCount;
+
+    @Column(nullable = false)
+    private Double mean;
+
+    // sum of squared deviations from the mean
+    @Column(nullable = false)
+    private Double m2;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
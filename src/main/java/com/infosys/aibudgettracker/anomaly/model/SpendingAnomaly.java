@@ -0,0 +1,59 @@
+package com.infosys.aibudgettracker.anomaly.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * An expense that was unusually large for its category when it was recorded, together with the
+ * category statistics it was judged against.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "spending_anomalies", indexes = {
+        @Index(name = "idx_spending_anomalies_user", columnList = "user_id, detected_at"),
+        @Index(name = "idx_spending_anomalies_transaction", columnList = "transaction_id")
+})
+public class SpendingAnomaly {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long transactionId;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false)
+    private Double amount;
+
+    // category mean and standard deviation before this transaction was counted
+    @Column(nullable = false)
+    private Double expectedAmount;
+
+    @Column(nullable = false)
+    private Double stdDev;
+
+    @Column(nullable = false)
+    private Double zScore;
+
+    @Column(nullable = false)
+    private Long sampleCount;
+
+    @Column(nullable = false)
+    private LocalDateTime transactionDate;
+
+    @Column(nullable = false)
+    private LocalDateTime detectedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        detectedAt = LocalDateTime.now();
+    }
+}
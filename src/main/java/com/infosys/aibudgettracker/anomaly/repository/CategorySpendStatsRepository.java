@@ -0,0 +1,9 @@
+package com.infosys.aibudgettracker.anomaly.repository;
+
+import com.infosys.aibudgettracker.anomaly.model.CategorySpendStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CategorySpendStatsRepository extends JpaRepository<CategorySpendStats, Long> {
+}
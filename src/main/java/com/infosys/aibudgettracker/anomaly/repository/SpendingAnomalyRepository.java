@@ -0,0 +1,18 @@
+package com.infosys.aibudgettracker.anomaly.repository;
+
+import com.infosys.aibudgettracker.anomaly.model.SpendingAnomaly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface SpendingAnomalyRepository extends JpaRepository<SpendingAnomaly, Long> {
+    List<SpendingAnomaly> findByUserIdOrderByDetectedAtDesc(Long userId);
+
+    @Modifying
+    @Transactional
+    void deleteByTransactionId(Long transactionId);
+}
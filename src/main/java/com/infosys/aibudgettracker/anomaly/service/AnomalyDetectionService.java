@@ -0,0 +1,259 @@
+package com.infosys.aibudgettracker.anomaly.service;
+
+import com.infosys.aibudgettracker.anomaly.dto.SpendingAnomalyResponse;
+import com.infosys.aibudgettracker.anomaly.model.SpendingAnomaly;
+import com.infosys.aibudgettracker.anomaly.repository.SpendingAnomalyRepository;
+import com.infosys.aibudgettracker.category.service.CategoryDictionary;
+import com.infosys.aibudgettracker.money.Money;
+import com.infosys.aibudgettracker.transaction.dto.CategoryAmountStats;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent;
+import com.infosys.aibudgettracker.transaction.model.Transaction;
+import com.infosys.aibudgettracker.transaction.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Flags expenses that are far above the usual amount for their category as they are written.
+ *
+ * Running mean and variance per (user, category) live in a {@link WelfordStatsTable} and are
+ * updated in O(1) from {@link TransactionChangedEvent}s once the write has committed; the write
+ * path never reads history and never writes to the database. Anomalies found (and ones dropped
+ * because their transaction changed) are queued and written in batches every
+ * {@code app.anomaly.flush-interval-ms}, and before anomalies are read. Changed statistics are
+ * checkpointed to category_spend_stats on a fixed delay and on shutdown, and reloaded on startup.
+ * On the very first start the table is seeded with one aggregate query.
+ */
+@Service
+public class AnomalyDetectionService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnomalyDetectionService.class);
+
+    @Autowired
+    private SpendingAnomalyRepository anomalyRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.anomaly.enabled:true}")
+    private boolean enabled;
+
+    // how many standard deviations above the category mean counts as an anomaly
+    @Value("${app.anomaly.z-threshold:5.0}")
+    private double zThreshold;
+
+    // no judgement until the category has this many earlier expenses
+    @Value("${app.anomaly.min-samples:8}")
+    private long minSamples;
+
+    private final WelfordStatsTable stats = new WelfordStatsTable();
+
+    // anomalies to insert and transaction ids whose anomalies to delete, in event order
+    private final Queue<Object> pendingWrites = new ConcurrentLinkedQueue<>();
+
+    // taken from pendingWrites but not written yet, kept for the next flush if a batch fails; guarded by this
+    private final Deque<Object> unwritten = new ArrayDeque<>();
+
+    @PostConstruct
+    public void restore() {
+        if (!enabled) return;
+        long started = System.currentTimeMillis();
+        int[] loaded = new int[1];
+        jdbcTemplate.query("select user_id, category, sample_count, mean, m2 from category_spend_stats", rs -> {
+            long key = WelfordStatsTable.key(rs.getLong(1), categoryDictionary.idOf(rs.getString(2)));
+            stats.load(key, rs.getLong(3), rs.getDouble(4), rs.getDouble(5));
+            loaded[0]++;
+        });
+        if (loaded[0] == 0) {
+            seedFromHistory();
+        }
+        log.info("Anomaly statistics ready: {} user categories in {} ms", stats.size(), System.currentTimeMillis() - started);
+    }
+
+    private void seedFromHistory() {
+        for (CategoryAmountStats row : transactionRepository.amountStatsByUserAndCategory(Transaction.TransactionType.EXPENSE)) {
+            long n = row.getCount() == null ? 0 : row.getCount();
+            if (n == 0) continue;
+            double total = row.getTotal() == null ? 0.0 : Money.toUnits(row.getTotal());
+            double sumSquares = row.getSumSquares() == null ? 0.0
+                    : row.getSumSquares() / (Money.MINOR_PER_UNIT * Money.MINOR_PER_UNIT);
+            // rows with the same normalized name are merged by adding their raw sums
+            stats.merge(WelfordStatsTable.key(row.getUserId(), categoryDictionary.idOf(row.getCategory())), n, total, sumSquares);
+        }
+        // persist the seed right away so the next start does not repeat the scan
+        checkpointAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (!enabled) return;
+        Transaction previous = event.getPrevious();
+        Transaction current = event.getCurrent();
+        // edits that keep the amount and category do not change the judgement
+        boolean rejudge = previous == null || current == null
+                || !previous.getAmount().equals(current.getAmount())
+                || !CategoryDictionary.normalize(previous.getCategory()).equals(CategoryDictionary.normalize(current.getCategory()));
+        if (isExpense(previous)) {
+            stats.remove(keyOf(previous), previous.getAmount());
+            if (rejudge) pendingWrites.add(previous.getId());
+        }
+        if (isExpense(current)) {
+            WelfordStatsTable.Stats before = stats.add(keyOf(current), current.getAmount());
+            if (rejudge || !isExpense(previous)) check(current, before);
+        }
+    }
+
+    private void check(Transaction t, WelfordStatsTable.Stats before) {
+        if (before.count < minSamples) return;
+        double stdDev = before.stdDev();
+        if (stdDev <= 0) return;
+        double z = (t.getAmount() - before.mean) / stdDev;
+        if (z < zThreshold) return;
+
+        SpendingAnomaly anomaly = new SpendingAnomaly();
+        anomaly.setUserId(t.getUserId());
+        anomaly.setTransactionId(t.getId());
+        anomaly.setCategory(t.getCategory());
+        anomaly.setAmount(t.getAmount());
+        anomaly.setExpectedAmount(before.mean);
+        anomaly.setStdDev(stdDev);
+        anomaly.setZScore(z);
+        anomaly.setSampleCount(before.count);
+        anomaly.setTransactionDate(t.getTransactionDate());
+        anomaly.setDetectedAt(LocalDateTime.now());
+        pendingWrites.add(anomaly);
+    }
+
+    public List<SpendingAnomalyResponse> getAnomalies(Long userId) {
+        flushAnomalies();
+        return anomalyRepository.findByUserIdOrderByDetectedAtDesc(userId)
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Scheduled(fixedDelayString = "${app.anomaly.checkpoint-interval-ms:60000}",
+            initialDelayString = "${app.anomaly.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        if (!enabled) return;
+        List<WelfordStatsTable.Entry> changed = new ArrayList<>();
+        stats.drainDirty(changed::add);
+        write(changed);
+    }
+
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        flushAnomalies();
+        checkpoint();
+    }
+
+    /**
+     * Writes queued anomaly changes. Consecutive inserts and consecutive deletes go out as one
+     * batch each, in the order they were queued, so a re-judged transaction ends with its latest
+     * verdict. Changes are dropped from the queue only once their batch is written; after a
+     * failure the rest stay at its head for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${app.anomaly.flush-interval-ms:1000}")
+    public synchronized void flushAnomalies() {
+        if (pendingWrites.isEmpty() && unwritten.isEmpty()) return;
+        Object next;
+        while ((next = pendingWrites.poll()) != null) unwritten.add(next);
+        while (!unwritten.isEmpty()) {
+            boolean inserts = unwritten.peekFirst() instanceof SpendingAnomaly;
+            List<Object[]> rows = new ArrayList<>();
+            for (Object change : unwritten) {
+                if (change instanceof SpendingAnomaly a) {
+                    if (!inserts) break;
+                    rows.add(new Object[]{a.getUserId(), a.getTransactionId(), a.getCategory(), a.getAmount(),
+                            a.getExpectedAmount(), a.getStdDev(), a.getZScore(), a.getSampleCount(),
+                            Timestamp.valueOf(a.getTransactionDate()), Timestamp.valueOf(a.getDetectedAt())});
+                } else {
+                    if (inserts) break;
+                    rows.add(new Object[]{change});
+                }
+            }
+            if (inserts) {
+                jdbcTemplate.batchUpdate("insert into spending_anomalies (user_id, transaction_id, category, amount, expected_amount, "
+                        + "std_dev, z_score, sample_count, transaction_date, detected_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+            } else {
+                jdbcTemplate.batchUpdate("delete from spending_anomalies where transaction_id = ?", rows);
+            }
+            for (int i = 0; i < rows.size(); i++) unwritten.pollFirst();
+        }
+    }
+
+    private void checkpointAll() {
+        List<WelfordStatsTable.Entry> all = new ArrayList<>();
+        stats.forEach(all::add);
+        write(all);
+    }
+
+    private void write(List<WelfordStatsTable.Entry> entries) {
+        if (entries.isEmpty()) return;
+        try {
+            upsert(entries);
+        } catch (RuntimeException e) {
+            // the flags were cleared when the entries were taken; set them again so the next checkpoint retries
+            for (WelfordStatsTable.Entry entry : entries) stats.markDirty(entry.key);
+            throw e;
+        }
+    }
+
+    private void upsert(List<WelfordStatsTable.Entry> entries) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (WelfordStatsTable.Entry e : entries) {
+            rows.add(new Object[]{WelfordStatsTable.userOf(e.key), categoryDictionary.nameOf(WelfordStatsTable.categoryOf(e.key)),
+                    e.count, e.mean, e.m2, now});
+        }
+        jdbcTemplate.batchUpdate("insert into category_spend_stats (user_id, category, sample_count, mean, m2, updated_at) "
+                + "values (?, ?, ?, ?, ?, ?) on duplicate key update sample_count = values(sample_count), "
+                + "mean = values(mean), m2 = values(m2), updated_at = values(updated_at)", rows);
+        log.debug("Checkpointed {} anomaly statistics", rows.size());
+    }
+
+    private long keyOf(Transaction t) {
+        return WelfordStatsTable.key(t.getUserId(), categoryDictionary.idOf(t.getCategory()));
+    }
+
+    private static boolean isExpense(Transaction t) {
+        return t != null && t.getType() == Transaction.TransactionType.EXPENSE && t.getAmount() != null;
+    }
+
+    private SpendingAnomalyResponse mapToResponse(SpendingAnomaly a) {
+        return new SpendingAnomalyResponse(
+                a.getId(),
+                a.getTransactionId(),
+                a.getCategory(),
+                a.getAmount(),
+                a.getExpectedAmount(),
+                a.getStdDev(),
+                a.getZScore(),
+                a.getTransactionDate(),
+                a.getDetectedAt()
+        );
+    }
+}
@@ -0,0 +1,271 @@
+package com.infosys.aibudgettracker.anomaly.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Running count, mean and sum of squared deviations (Welford) per long key, stored in
+ * open-addressed primitive arrays split into independently locked stripes.
+ *
+ * Every operation is O(1) and touches a single stripe, so concurrent writers for different keys
+ * rarely contend. Entries changed since the last {@link #drainDirty} are tracked for checkpointing.
+ */
+class WelfordStatsTable {
+
+    private static final int STRIPES = 64;
+    private static final long EMPTY = 0L;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    WelfordStatsTable() {
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe(16);
+    }
+
+    /** Packs a user and a dictionary category id into one non-zero key. */
+    static long key(long userId, int categoryId) {
+        if (categoryId < 0 || categoryId >= 1 << 24) {
+            throw new IllegalArgumentException("category id " + categoryId + " does not fit in 24 bits");
+        }
+        return (userId << 24) | categoryId;
+    }
+
+    static long userOf(long key) {
+        return key >>> 24;
+    }
+
+    static int categoryOf(long key) {
+        return (int) (key & 0xFFFFFFL);
+    }
+
+    /**
+     * Adds {@code x} to the key's statistics.
+     *
+     * @return the statistics as they were before {@code x} was added
+     */
+    Stats add(long key, double x) {
+        Stripe s = stripeFor(key);
+        synchronized (s) {
+            int slot = s.slotFor(key, true);
+            Stats before = s.stats(slot);
+            long n = s.counts[slot] + 1;
+            double delta = x - s.means[slot];
+            s.means[slot] += delta / n;
+            s.m2s[slot] += delta * (x - s.means[slot]);
+            s.counts[slot] = n;
+            s.dirty[slot] = true;
+            return before;
+        }
+    }
+
+    /** Reverses an earlier {@link #add} of {@code x}, used when a transaction is edited or deleted. */
+    void remove(long key, double x) {
+        Stripe s = stripeFor(key);
+        synchronized (s) {
+            int slot = s.slotFor(key, false);
+            if (slot < 0 || s.counts[slot] == 0) return;
+            long n = s.counts[slot] - 1;
+            if (n == 0) {
+                s.means[slot] = 0.0;
+                s.m2s[slot] = 0.0;
+            } else {
+                double mean = s.means[slot];
+                double newMean = (mean * s.counts[slot] - x) / n;
+                s.m2s[slot] = Math.max(0.0, s.m2s[slot] - (x - mean) * (x - newMean));
+                s.means[slot] = newMean;
+            }
+            s.counts[slot] = n;
+            s.dirty[slot] = true;
+        }
+    }
+
+    Stats get(long key) {
+        Stripe s = stripeFor(key);
+        synchronized (s) {
+            int slot = s.slotFor(key, false);
+            return slot < 0 ? Stats.EMPTY : s.stats(slot);
+        }
+    }
+
+    /** Restores a checkpointed entry without marking it dirty. */
+    void load(long key, long count, double mean, double m2) {
+        Stripe s = stripeFor(key);
+        synchronized (s) {
+            int slot = s.slotFor(key, true);
+            s.counts[slot] = count;
+            s.means[slot] = mean;
+            s.m2s[slot] = m2;
+            s.dirty[slot] = false;
+        }
+    }
+
+    /**
+     * Folds {@code n} more observations, given as their sum and sum of squares, into a restored
+     * entry without marking it dirty.
+     */
+    void merge(long key, long n, double sum, double sumSquares) {
+        if (n == 0) return;
+        Stripe s = stripeFor(key);
+        synchronized (s) {
+            int slot = s.slotFor(key, true);
+            long count = s.counts[slot] + n;
+            double total = s.means[slot] * s.counts[slot] + sum;
+            double squares = s.m2s[slot] + s.counts[slot] * s.means[slot] * s.means[slot] + sumSquares;
+            double mean = total / count;
+            s.counts[slot] = count;
+            s.means[slot] = mean;
+            s.m2s[slot] = Math.max(0.0, squares - count * mean * mean);
+        }
+    }
+
+    /** Marks an entry for the next {@link #drainDirty} again, after its checkpoint failed. */
+    void markDirty(long key) {
+        Stripe s = stripeFor(key);
+        synchronized (s) {
+            int slot = s.slotFor(key, false);
+            if (slot >= 0) s.dirty[slot] = true;
+        }
+    }
+
+    /** Hands every entry changed since the previous call to {@code sink} and clears its dirty flag. */
+    int drainDirty(Consumer<Entry> sink) {
+        int drained = 0;
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                for (int i = 0; i < s.keys.length; i++) {
+                    if (s.keys[i] != EMPTY && s.dirty[i]) {
+                        sink.accept(new Entry(s.keys[i], s.counts[i], s.means[i], s.m2s[i]));
+                        s.dirty[i] = false;
+                        drained++;
+                    }
+                }
+            }
+        }
+        return drained;
+    }
+
+    void forEach(Consumer<Entry> sink) {
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                for (int i = 0; i < s.keys.length; i++) {
+                    if (s.keys[i] != EMPTY) sink.accept(new Entry(s.keys[i], s.counts[i], s.means[i], s.m2s[i]));
+                }
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                size += s.size;
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(long key) {
+        return stripes[(int) (mix(key) >>> 58) & (STRIPES - 1)];
+    }
+
+    private static long mix(long key) {
+        // murmur3 finalizer; spreads the packed user/category bits over the whole word
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    static final class Stats {
+        static final Stats EMPTY = new Stats(0, 0.0, 0.0);
+
+        final long count;
+        final double mean;
+        final double m2;
+
+        Stats(long count, double mean, double m2) {
+            this.count = count;
+            this.mean = mean;
+            this.m2 = m2;
+        }
+
+        /** Sample standard deviation; 0 until there are two observations. */
+        double stdDev() {
+            return count < 2 ? 0.0 : Math.sqrt(m2 / (count - 1));
+        }
+    }
+
+    static final class Entry {
+        final long key;
+        final long count;
+        final double mean;
+        final double m2;
+
+        Entry(long key, long count, double mean, double m2) {
+            this.key = key;
+            this.count = count;
+            this.mean = mean;
+            this.m2 = m2;
+        }
+    }
+
+    private static final class Stripe {
+        long[] keys;
+        long[] counts;
+        double[] means;
+        double[] m2s;
+        boolean[] dirty;
+        int size;
+
+        Stripe(int capacity) {
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            counts = new long[capacity];
+            means = new double[capacity];
+            m2s = new double[capacity];
+            dirty = new boolean[capacity];
+        }
+
+        Stats stats(int slot) {
+            return new Stats(counts[slot], means[slot], m2s[slot]);
+        }
+
+        int slotFor(long key, boolean insert) {
+            int mask = keys.length - 1;
+            int i = (int) mix(key) & mask;
+            while (keys[i] != EMPTY) {
+                if (keys[i] == key) return i;
+                i = (i + 1) & mask;
+            }
+            if (!insert) return -1;
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+                return slotFor(key, true);
+            }
+            keys[i] = key;
+            size++;
+            return i;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldCounts = counts;
+            double[] oldMeans = means;
+            double[] oldM2s = m2s;
+            boolean[] oldDirty = dirty;
+            allocate(oldKeys.length * 2);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == EMPTY) continue;
+                int slot = slotFor(oldKeys[i], true);
+                counts[slot] = oldCounts[i];
+                means[slot] = oldMeans[i];
+                m2s[slot] = oldM2s[i];
+                dirty[slot] = oldDirty[i];
+            }
+        }
+    }
+}
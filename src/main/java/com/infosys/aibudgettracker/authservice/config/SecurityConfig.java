@@ -33,6 +33,12 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
             	.requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
+                // health checks and the Prometheus scraper do not carry user tokens; actuator is only
+                // served on management.server.port, which is not exposed publicly
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                // traces carry other users' request details and metrics their tag values
+                .requestMatchers("/actuator/traces", "/actuator/traces/**",
+                        "/actuator/metrics", "/actuator/metrics/**").hasAnyRole("ADMIN", "OWNER")
                 .anyRequest().authenticated())
      // Tell Spring Security not to create sessions, because we are using JWTs
         .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
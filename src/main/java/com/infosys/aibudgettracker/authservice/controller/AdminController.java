@@ -1,14 +1,17 @@
 package com.infosys.aibudgettracker.authservice.controller;
 
+import com.infosys.aibudgettracker.analytics.service.PredictionBatchService;
 import com.infosys.aibudgettracker.authservice.model.User;
 import com.infosys.aibudgettracker.authservice.service.AdminService;
 import com.infosys.aibudgettracker.authservice.repository.UserRepository;
+import com.infosys.aibudgettracker.savingsgoal.service.SavingsSweepService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -22,6 +25,12 @@ public class AdminController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SavingsSweepService savingsSweepService;
+
+    @Autowired
+    private PredictionBatchService predictionBatchService;
+
     // Owner id will be set in application properties and read as a long. The owner can manage admins.
     @org.springframework.beans.factory.annotation.Value("${app.owner.id:0}")
     private Long ownerId;
@@ -88,4 +97,29 @@ public class AdminController {
                 .map(u -> ResponseEntity.ok(u))
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    // Runs the surplus sweep for one finished month on demand; months already swept for a user are skipped
+    @PostMapping("/savings-sweep")
+    public ResponseEntity<?> runSavingsSweep(@RequestParam String month) {
+        if (!isAdminOrOwner()) return ResponseEntity.status(403).body("Forbidden");
+        try {
+            return ResponseEntity.ok(savingsSweepService.sweepMonth(YearMonth.parse(month)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Reruns the prediction batch, optionally for a subset of users; already scored users are skipped unless force=true
+    @PostMapping("/predictions/run")
+    public ResponseEntity<?> runPredictionBatch(
+            @RequestParam(required = false) List<Long> userIds,
+            @RequestParam(defaultValue = "false") boolean force) {
+        if (!isAdminOrOwner()) return ResponseEntity.status(403).body("Forbidden");
+        try {
+            int scored = predictionBatchService.run(userIds, force);
+            return ResponseEntity.ok(java.util.Map.of("usersScored", scored));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
@@ -1,12 +1,19 @@
 package com.infosys.aibudgettracker.authservice.filter;
 
+import com.infosys.aibudgettracker.authservice.model.User;
+import com.infosys.aibudgettracker.authservice.model.User.Role;
 import com.infosys.aibudgettracker.authservice.repository.UserRepository;
 import com.infosys.aibudgettracker.authservice.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,62 +21,131 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+    /** Request attribute holding the authenticated user's id, for handlers that need it before any lookup. */
+    public static final String USER_ID_ATTRIBUTE = JwtRequestFilter.class.getName() + ".userId";
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Value("${app.owner.id:0}")
+    private Long ownerId;
+
     @Override
     protected void doFilterInternal( HttpServletRequest request,HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        final String authHeader = request.getHeader("Authorization");
+        long start = System.nanoTime();
+        String outcome = "anonymous";
+        // a child of the request's span, so the user lookup shows up under it
+        Span span = tracer.currentSpan() == null ? null
+                : tracer.nextSpan().name("JwtRequestFilter.authenticate").tag("layer", "filter").start();
+        try (Tracer.SpanInScope ignored = span != null ? tracer.withSpan(span) : null) {
+            final String authHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+            String username = null;
+            String jwt = null;
 
-        // Check if the header exists and starts with "Bearer "
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7); // Extract the token
-            username = jwtUtil.getUsernameFromToken(jwt);
-        }
+            // Check if the header exists and starts with "Bearer "
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                jwt = authHeader.substring(7); // Extract the token
+                outcome = "error";
+                username = jwtUtil.getUsernameFromToken(jwt);
+                outcome = "unknown_user";
+            }
 
-        // If we have a username and the user is not already authenticated...
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Load the user entity from the database so we can check banned status
-            var userOpt = userRepository.findByUsername(username);
-            if (userOpt.isPresent()) {
-                var user = userOpt.get();
-
-                // If user is banned, reject the request
-                if (user.isBanned()) {
-                    response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                    response.getWriter().write("Error: User is banned.");
-                    return;
-                }
+            // If we have a username and the user is not already authenticated...
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Load the user entity from the database so we can check banned status
+                var userOpt = userRepository.findByUsername(username);
+                if (userOpt.isPresent()) {
+                    var user = userOpt.get();
+
+                    // If user is banned, reject the request
+                    if (user.isBanned()) {
+                        outcome = "banned";
+                        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                        response.getWriter().write("Error: User is banned.");
+                    } else {
+                        // Build UserDetails and validate token
+                        UserDetails userDetails = org.springframework.security.core.userdetails.User
+                                .withUsername(user.getUsername())
+                                .password(user.getPassword())
+                                .roles(roles(user))
+                                .build();
 
-                // Build UserDetails and validate token
-                UserDetails userDetails = org.springframework.security.core.userdetails.User
-                        .withUsername(user.getUsername())
-                        .password(user.getPassword())
-                        .authorities(new java.util.ArrayList<>())
-                        .build();
-
-                if (jwtUtil.validateToken(jwt)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                        outcome = "invalid";
+                        if (jwtUtil.validateToken(jwt)) {
+                            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                                    userDetails, null, userDetails.getAuthorities());
+                            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                            SecurityContextHolder.getContext().setAuthentication(authToken);
+                            request.setAttribute(USER_ID_ATTRIBUTE, user.getId());
+                            outcome = "authenticated";
+                        }
+                    }
                 }
             }
+        } catch (RuntimeException e) {
+            record(request, outcome, System.nanoTime() - start);
+            throw e;
+        } finally {
+            if (span != null) span.tag("outcome", outcome).end();
         }
-        filterChain.doFilter(request, response);
+        // only the token check itself; the rest of the request is timed as http.server.requests
+        long elapsed = System.nanoTime() - start;
+        if ("banned".equals(outcome)) {
+            record(request, outcome, elapsed);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // recorded once the request has been dispatched, so the handler's pattern is known
+            record(request, outcome, elapsed);
+        }
+    }
+
+    /** The user's role, plus OWNER for the configured owner account, as AdminController decides it. */
+    private String[] roles(User user) {
+        Role role = user.getRole() != null ? user.getRole() : Role.USER;
+        if (role != Role.OWNER && user.getId().equals(ownerId)) {
+            return new String[]{role.name(), Role.OWNER.name()};
+        }
+        return new String[]{role.name()};
+    }
+
+    private void record(HttpServletRequest request, String outcome, long nanos) {
+        Timer.builder("app.jwt.filter")
+                .description("JWT authentication in the request filter")
+                .tag("endpoint", endpoint(request))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The matched handler's path pattern, e.g. {@code /api/transactions/{id}}, or "unmatched" for
+     * requests no handler took, so neither ids nor arbitrary paths become tag values.
+     */
+    static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "unmatched";
     }
 }
\ No newline at end of file
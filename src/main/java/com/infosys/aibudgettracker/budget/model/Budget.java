@@ -1,5 +1,6 @@
 package com.infosys.aibudgettracker.budget.model;
 
+import com.infosys.aibudgettracker.money.Money;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -20,8 +21,9 @@ public class Budget {
     @Column(nullable = false)
     private String category;
     
-    @Column(nullable = false)
-    private Double amount;
+    // exact minor units; getAmount/setAmount convert for the API
+    @Column(name = "amount_minor", nullable = false)
+    private Long amountMinor;
     
     @Column(nullable = false)
     private Integer month;
@@ -34,6 +36,14 @@ public class Budget {
     
     private LocalDateTime updatedAt;
     
+    public Double getAmount() {
+        return Money.toUnits(amountMinor);
+    }
+    
+    public void setAmount(Double amount) {
+        this.amountMinor = Money.toMinor(amount);
+    }
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
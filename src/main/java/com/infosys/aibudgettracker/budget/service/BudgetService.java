@@ -1,19 +1,26 @@
 package com.infosys.aibudgettracker.budget.service;
 
+import com.infosys.aibudgettracker.analytics.columnar.ColumnKernels;
+import com.infosys.aibudgettracker.analytics.columnar.TransactionColumns;
+import com.infosys.aibudgettracker.analytics.columnar.TransactionColumnsLoader;
 import com.infosys.aibudgettracker.budget.dto.BudgetProgress;
 import com.infosys.aibudgettracker.budget.dto.BudgetRequest;
 import com.infosys.aibudgettracker.budget.dto.BudgetResponse;
 import com.infosys.aibudgettracker.budget.model.Budget;
 import com.infosys.aibudgettracker.budget.repository.BudgetRepository;
-import com.infosys.aibudgettracker.transaction.model.Transaction;
-import com.infosys.aibudgettracker.transaction.repository.TransactionRepository;
+import com.infosys.aibudgettracker.category.service.CategoryDictionary;
+import com.infosys.aibudgettracker.category.service.CategoryService;
+import com.infosys.aibudgettracker.category.service.CategoryTree;
+import com.infosys.aibudgettracker.dataversion.DataVersions;
+import com.infosys.aibudgettracker.money.Money;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,7 +30,13 @@ public class BudgetService {
     private BudgetRepository budgetRepository;
     
     @Autowired
-    private TransactionRepository transactionRepository;
+    private TransactionColumnsLoader columnsLoader;
+    
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private DataVersions dataVersions;
     
     public BudgetResponse createBudget(Long userId, BudgetRequest request) {
         // Check if budget already exists for this category/month/year
@@ -42,6 +55,7 @@ public class BudgetService {
         budget.setYear(request.getYear());
         
         Budget savedBudget = budgetRepository.save(budget);
+        dataVersions.bump(userId);
         return mapToResponse(savedBudget);
     }
     
@@ -63,6 +77,7 @@ public class BudgetService {
         budget.setAmount(request.getAmount());
         
         Budget updatedBudget = budgetRepository.save(budget);
+        dataVersions.bump(userId);
         return mapToResponse(updatedBudget);
     }
     
@@ -75,31 +90,55 @@ public class BudgetService {
         }
         
         budgetRepository.delete(budget);
+        dataVersions.bump(userId);
     }
     
     public List<BudgetProgress> getBudgetProgress(Long userId, Integer month, Integer year) {
+        // Expenses of the month as columns, summed per category in one pass
+        YearMonth yearMonth = YearMonth.of(year, month);
+        TransactionColumns columns = columnsLoader.load(userId, yearMonth.atDay(1), yearMonth.atEndOfMonth());
+        return getBudgetProgress(userId, month, year, columns);
+    }
+    
+    /**
+     * Same, over transactions the caller already loaded; {@code columns} must cover the month
+     * and rows outside it are ignored, so a year loaded for analytics can be reused.
+     */
+    public List<BudgetProgress> getBudgetProgress(Long userId, Integer month, Integer year, TransactionColumns columns) {
         List<Budget> budgets = budgetRepository.findByUserIdAndMonthAndYear(userId, month, year);
-        
-        // Get start and end of month
+        return getBudgetProgress(month, year, columns, budgets, categoryService.getTree(userId));
+    }
+    
+    /**
+     * Same, with the month's budgets and the user's category tree also read by the caller, so
+     * it runs without touching the database.
+     */
+    public List<BudgetProgress> getBudgetProgress(Integer month, Integer year, TransactionColumns columns,
+                                                  List<Budget> budgets, CategoryTree tree) {
         YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDateTime startDate = yearMonth.atDay(1).atStartOfDay();
-        LocalDateTime endDate = yearMonth.atEndOfMonth().atTime(23, 59, 59);
+        long[] byCategory = new long[columns.categoryCount()];
+        ColumnKernels.sumByCategory(columns, TransactionColumns.EXPENSE,
+                (int) yearMonth.atDay(1).toEpochDay(), (int) yearMonth.atEndOfMonth().toEpochDay(), byCategory);
         
-        // Get all expenses for this month
-        List<Transaction> transactions = transactionRepository
-                .findByUserIdAndTransactionDateBetween(userId, startDate, endDate);
+        // Roll the per-category sums up the category tree so a budget on a parent category
+        // also covers everything spent in its subcategories
+        Map<String, Long> leafSums = new HashMap<>();
+        for (int c = 0; c < byCategory.length; c++) {
+            if (byCategory[c] == 0) continue;
+            leafSums.merge(CategoryDictionary.normalize(columns.categoryName(c)), byCategory[c], Long::sum);
+        }
+        long[] rolledUp = tree.rollUpMinor(leafSums);
         
         List<BudgetProgress> progressList = new ArrayList<>();
         
         for (Budget budget : budgets) {
-            // Calculate spent amount for this category
-            double spent = transactions.stream()
-                    .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                    .filter(t -> t.getCategory().equalsIgnoreCase(budget.getCategory()))
-                    .mapToDouble(Transaction::getAmount)
-                    .sum();
+            int idx = tree.indexOf(budget.getCategory());
+            long spentMinor = idx >= 0
+                    ? rolledUp[idx]
+                    : leafSums.getOrDefault(CategoryDictionary.normalize(budget.getCategory()), 0L);
+            double spent = Money.toUnits(spentMinor);
             
-            double remaining = budget.getAmount() - spent;
+            double remaining = Money.toUnits(budget.getAmountMinor() - spentMinor);
             double percentage = budget.getAmount() > 0 ? (spent / budget.getAmount()) * 100 : 0;
             
             progressList.add(new BudgetProgress(
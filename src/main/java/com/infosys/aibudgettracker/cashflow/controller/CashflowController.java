@@ -0,0 +1,42 @@
+package com.infosys.aibudgettracker.cashflow.controller;
+
+import com.infosys.aibudgettracker.authservice.model.User;
+import com.infosys.aibudgettracker.authservice.repository.UserRepository;
+import com.infosys.aibudgettracker.cashflow.dto.CashflowProjection;
+import com.infosys.aibudgettracker.cashflow.service.CashflowProjectionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/cashflow")
+@CrossOrigin(origins = "http://localhost:5173")
+public class CashflowController {
+
+    @Autowired
+    private CashflowProjectionService cashflowProjectionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @GetMapping("/projection")
+    public ResponseEntity<?> getProjection(
+            @RequestParam(defaultValue = "90") int days,
+            Authentication authentication) {
+        try {
+            if (days < 1 || days > cashflowProjectionService.getHorizonDays()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body("days must be between 1 and " + cashflowProjectionService.getHorizonDays());
+            }
+            String username = authentication.getName();
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            CashflowProjection projection = cashflowProjectionService.project(user.getId(), user.getSavings(), days);
+            return ResponseEntity.ok(projection);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.infosys.aibudgettracker.cashflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CashflowDay {
+    private LocalDate date;
+    // recurring and already scheduled transactions falling on this day
+    private Double income;
+    private Double expense;
+    private Double discretionary;
+    // projected balance at the end of the day
+    private Double balance;
+}
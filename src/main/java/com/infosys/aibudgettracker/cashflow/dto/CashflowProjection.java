@@ -0,0 +1,19 @@
+package com.infosys.aibudgettracker.cashflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CashflowProjection {
+    private Double startingBalance;
+    private Double dailyDiscretionarySpend;
+    private Double lowestBalance;
+    private LocalDate lowestBalanceDate;
+    private Double endingBalance;
+    private List<CashflowDay> days;
+}
@@ -0,0 +1,358 @@
+package com.infosys.aibudgettracker.cashflow.service;
+
+import com.infosys.aibudgettracker.cashflow.dto.CashflowDay;
+import com.infosys.aibudgettracker.cashflow.dto.CashflowProjection;
+import com.infosys.aibudgettracker.metrics.CacheStats;
+import com.infosys.aibudgettracker.money.Money;
+import com.infosys.aibudgettracker.recurring.event.RecurringSeriesChangedEvent;
+import com.infosys.aibudgettracker.recurring.model.RecurringSeries;
+import com.infosys.aibudgettracker.recurring.repository.RecurringSeriesRepository;
+import com.infosys.aibudgettracker.recurring.service.RecurringDetectionService;
+import com.infosys.aibudgettracker.transaction.dto.UserTypeTotal;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent;
+import com.infosys.aibudgettracker.transaction.event.TransactionWrites;
+import com.infosys.aibudgettracker.transaction.model.Transaction;
+import com.infosys.aibudgettracker.transaction.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Projects a user's balance for each of the coming days.
+ *
+ * The balance starts from the user's savings and moves by the recurring series expected on each
+ * day, transactions already entered with a future date, and a flat daily discretionary spend:
+ * trailing expenses minus what the recurring expense series account for, spread per day. A future
+ * transaction that matches an expected occurrence (same description group and type, amount within
+ * the recurring tolerance, date within a tenth of the period) settles it and is counted instead.
+ *
+ * Per-day income and expense arrays and the trailing expense total are cached per user and
+ * patched in place on every committed transaction write and whenever a single series is created
+ * or advanced; only a wholesale re-detection of the user's series or a new calendar day rebuilds
+ * them. A state is built while holding the per-user lock both listeners take, so no committed
+ * change falls between the build's queries and the state being registered. A write that was
+ * still open when the state was registered may already be in what the build read, so its event
+ * drops the state for a rebuild rather than counting the row twice. Balances are a prefix sum
+ * over the arrays at request time.
+ */
+@Service
+public class CashflowProjectionService implements MeterBinder {
+
+    private static final int USER_LOCK_STRIPES = 64;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RecurringSeriesRepository seriesRepository;
+
+    @Autowired
+    private TransactionWrites transactionWrites;
+
+    @Value("${app.cashflow.horizon-days:90}")
+    private int horizonDays;
+
+    @Value("${app.cashflow.discretionary-window-days:90}")
+    private int windowDays;
+
+    @Value("${app.recurring.amount-tolerance:0.10}")
+    private double amountTolerance;
+
+    private final Map<Long, State> cache;
+    private final CacheStats cacheStats;
+    private final ReentrantLock[] userLocks = new ReentrantLock[USER_LOCK_STRIPES];
+
+    public CashflowProjectionService(@Value("${app.cashflow.max-cached-users:5000}") int maxCachedUsers) {
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<Long, State>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, State> eldest) {
+                return size() > maxCachedUsers;
+            }
+        });
+        this.cacheStats = new CacheStats("cashflow-states", cache);
+        for (int i = 0; i < USER_LOCK_STRIPES; i++) userLocks[i] = new ReentrantLock();
+    }
+
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+
+    public CashflowProjection project(Long userId, Double savings, int days) {
+        int n = Math.min(days, horizonDays);
+        State state = state(userId);
+
+        double start = savings == null ? 0.0 : savings;
+        double balance = start;
+        double lowest = start;
+        LocalDate lowestDate = state.today;
+        List<CashflowDay> result = new ArrayList<>(n);
+        synchronized (state) {
+            double discretionary = state.discretionaryPerDay();
+            for (int d = 0; d < n; d++) {
+                LocalDate date = state.today.plusDays(d + 1);
+                balance += state.income[d] - state.expense[d] - discretionary;
+                if (balance < lowest) {
+                    lowest = balance;
+                    lowestDate = date;
+                }
+                result.add(new CashflowDay(date, state.income[d], state.expense[d], discretionary, balance));
+            }
+            return new CashflowProjection(start, discretionary, lowest, lowestDate, balance, result);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        ReentrantLock lock = userLock(event.getUserId());
+        lock.lock();
+        try {
+            // a state not built yet will read this change from the table when it is
+            State state = cache.get(event.getUserId());
+            if (state == null) return;
+            synchronized (state) {
+                if (!state.today.equals(LocalDate.now()) || state.inDoubt.remove(event)) {
+                    cache.remove(event.getUserId());
+                    return;
+                }
+                if (event.getPrevious() != null) state.apply(event.getPrevious(), -1);
+                if (event.getCurrent() != null) state.apply(event.getCurrent(), 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onRecurringSeriesChanged(RecurringSeriesChangedEvent event) {
+        ReentrantLock lock = userLock(event.getUserId());
+        lock.lock();
+        try {
+            State state = cache.get(event.getUserId());
+            if (state == null) return;
+            synchronized (state) {
+                if (event.getSeries() == null || !state.today.equals(LocalDate.now())) {
+                    cache.remove(event.getUserId());
+                    return;
+                }
+                state.replace(event.getSeries());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private State state(Long userId) {
+        LocalDate today = LocalDate.now();
+        State state = cache.get(userId);
+        if (state != null && state.today.equals(today)) {
+            cacheStats.hit();
+            return state;
+        }
+        cacheStats.miss();
+        ReentrantLock lock = userLock(userId);
+        lock.lock();
+        try {
+            // another request may have built it while this one waited
+            state = cache.get(userId);
+            if (state == null || !state.today.equals(today)) {
+                state = build(userId, today);
+                state.inDoubt = transactionWrites.openFor(userId);
+                cache.put(userId, state);
+            }
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock userLock(Long userId) {
+        return userLocks[Long.hashCode(userId) & (USER_LOCK_STRIPES - 1)];
+    }
+
+    private State build(Long userId, LocalDate today) {
+        State state = new State(today, horizonDays, windowDays, amountTolerance);
+
+        // series first, so a future transaction can take the place of the occurrence it settles
+        for (RecurringSeries s : seriesRepository.findByUserIdOrderByNextExpectedDateAsc(userId)) {
+            state.project(s);
+        }
+
+        for (Transaction t : transactionRepository.findByUserIdAndTransactionDateBetween(
+                userId, today.plusDays(1).atStartOfDay(), today.plusDays(horizonDays).atTime(23, 59, 59))) {
+            state.apply(t, 1);
+        }
+
+        for (UserTypeTotal row : transactionRepository.sumByUserAndType(
+                List.of(userId), today.minusDays(windowDays - 1).atStartOfDay(), today.atTime(23, 59, 59))) {
+            if (row.getType() == Transaction.TransactionType.EXPENSE && row.getTotal() != null) {
+                state.windowExpense += Money.toUnits(row.getTotal());
+            }
+        }
+        return state;
+    }
+
+    /** One expected occurrence of a recurring series inside the horizon. */
+    private static final class Occurrence {
+        final Long seriesId;
+        final String key;
+        final Transaction.TransactionType type;
+        final double amount;
+        final long epochDay;
+        final int index;
+        final int slack;
+        // id of the future transaction entered for this occurrence, which is counted instead
+        Long settledBy;
+
+        Occurrence(RecurringSeries s, long epochDay, int index) {
+            this.seriesId = s.getId();
+            this.key = s.getSeriesKey();
+            this.type = s.getType();
+            this.amount = s.getAmount();
+            this.epochDay = epochDay;
+            this.index = index;
+            this.slack = Math.max(1, s.getPeriod().getDays() / 10);
+        }
+    }
+
+    private static final class State {
+        final LocalDate today;
+        final double[] income;
+        final double[] expense;
+        final int windowDays;
+        final double amountTolerance;
+        double windowExpense;
+        double recurringExpenseInWindow;
+        final List<Occurrence> occurrences = new ArrayList<>();
+        final Map<Long, Double> seriesWindowExpense = new HashMap<>();
+        final Map<Long, Transaction> future = new HashMap<>();
+        // writes open when the state was registered, which the build may or may not have read
+        Set<TransactionChangedEvent> inDoubt = Collections.emptySet();
+
+        State(LocalDate today, int horizonDays, int windowDays, double amountTolerance) {
+            this.today = today;
+            this.income = new double[horizonDays];
+            this.expense = new double[horizonDays];
+            this.windowDays = windowDays;
+            this.amountTolerance = amountTolerance;
+        }
+
+        double discretionaryPerDay() {
+            return Math.max(0.0, windowExpense - recurringExpenseInWindow) / windowDays;
+        }
+
+        /** Adds the occurrences of an active series that fall inside the horizon. */
+        void project(RecurringSeries s) {
+            if (!RecurringDetectionService.isActive(s, today)) return;
+            if (s.getType() == Transaction.TransactionType.EXPENSE) {
+                double share = s.getAmount() * windowDays / s.getPeriod().getDays();
+                seriesWindowExpense.put(s.getId(), share);
+                recurringExpenseInWindow += share;
+            }
+            LocalDate last = today.plusDays(income.length);
+            LocalDate date = s.getNextExpectedDate();
+            if (!date.isAfter(today)) {
+                // due but not seen yet: expect it right away
+                add(new Occurrence(s, date.toEpochDay(), 0));
+                while (!date.isAfter(today)) date = s.getPeriod().next(date);
+            }
+            for (; !date.isAfter(last); date = s.getPeriod().next(date)) {
+                add(new Occurrence(s, date.toEpochDay(), (int) (date.toEpochDay() - today.toEpochDay()) - 1));
+            }
+        }
+
+        /**
+         * Swaps one series' occurrences for those of its new state. Future transactions that
+         * settled an old occurrence stay counted as they are and may settle a new one.
+         */
+        void replace(RecurringSeries s) {
+            Double share = seriesWindowExpense.remove(s.getId());
+            if (share != null) recurringExpenseInWindow -= share;
+            occurrences.removeIf(o -> {
+                if (!o.seriesId.equals(s.getId())) return false;
+                if (o.settledBy == null) book(o, -1);
+                return true;
+            });
+            project(s);
+            for (Transaction t : future.values()) {
+                if (!isSettling(t)) settle(t);
+            }
+        }
+
+        /** Adds ({@code sign} 1) or removes ({@code sign} -1) one transaction. */
+        void apply(Transaction t, int sign) {
+            if (t.getAmount() == null || t.getTransactionDate() == null) return;
+            long offset = t.getTransactionDate().toLocalDate().toEpochDay() - today.toEpochDay();
+            boolean isExpense = t.getType() == Transaction.TransactionType.EXPENSE;
+            if (offset >= 1 && offset <= income.length) {
+                (isExpense ? expense : income)[(int) offset - 1] += sign * t.getAmount();
+                if (t.getId() == null) return;
+                if (sign > 0) {
+                    future.put(t.getId(), t);
+                    settle(t);
+                } else {
+                    future.remove(t.getId());
+                    for (Occurrence o : occurrences) {
+                        if (t.getId().equals(o.settledBy)) {
+                            o.settledBy = null;
+                            book(o, 1);
+                        }
+                    }
+                }
+            } else if (offset <= 0 && offset > -windowDays && isExpense) {
+                windowExpense += sign * t.getAmount();
+            }
+        }
+
+        private boolean isSettling(Transaction t) {
+            for (Occurrence o : occurrences) {
+                if (t.getId().equals(o.settledBy)) return true;
+            }
+            return false;
+        }
+
+        /** Lets a future transaction stand in for the closest open occurrence it matches. */
+        private void settle(Transaction t) {
+            String key = RecurringDetectionService.normalize(t.getDescription(), t.getCategory());
+            long day = t.getTransactionDate().toLocalDate().toEpochDay();
+            Occurrence best = null;
+            for (Occurrence o : occurrences) {
+                if (o.settledBy != null || o.type != t.getType() || !o.key.equals(key)) continue;
+                if (Math.abs(day - o.epochDay) > o.slack) continue;
+                if (Math.abs(t.getAmount() - o.amount) > amountTolerance * Math.abs(o.amount)) continue;
+                if (best == null || Math.abs(day - o.epochDay) < Math.abs(day - best.epochDay)) best = o;
+            }
+            if (best != null) {
+                best.settledBy = t.getId();
+                book(best, -1);
+            }
+        }
+
+        private void add(Occurrence o) {
+            occurrences.add(o);
+            book(o, 1);
+        }
+
+        private void book(Occurrence o, int sign) {
+            (o.type == Transaction.TransactionType.INCOME ? income : expense)[o.index] += sign * o.amount;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        cacheStats.bindTo(registry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.infosys.aibudgettracker.categorization.controller;
+
+import com.infosys.aibudgettracker.authservice.model.User;
+import com.infosys.aibudgettracker.authservice.repository.UserRepository;
+import com.infosys.aibudgettracker.categorization.dto.CategorySuggestion;
+import com.infosys.aibudgettracker.categorization.service.CategorizationService;
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/categorization")
+@CrossOrigin(origins = "http://localhost:5173")
+public class CategorizationController {
+
+    @Autowired
+    private CategorizationService categorizationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggestCategory(
+            @RequestParam String description,
+            @RequestParam(required = false) Double amount,
+            @RequestParam(defaultValue = "EXPENSE") TransactionType type,
+            Authentication authentication) {
+        try {
+            String username = authentication.getName();
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            CategorySuggestion suggestion = categorizationService.suggest(user.getId(), description, amount, type);
+            return ResponseEntity.ok(suggestion);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+}
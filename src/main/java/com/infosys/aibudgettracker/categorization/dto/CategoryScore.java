@@ -0,0 +1,13 @@
+package com.infosys.aibudgettracker.categorization.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryScore {
+    private String category;
+    private double probability;
+}
@@ -0,0 +1,19 @@
+package com.infosys.aibudgettracker.categorization.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySuggestion {
+    // null when there is nothing to learn from yet
+    private String category;
+    private double confidence;
+    // "user" when the user's own history decided, "global" when all users' history did
+    private String source;
+    private List<CategoryScore> alternatives;
+}
@@ -0,0 +1,275 @@
+package com.infosys.aibudgettracker.categorization.service;
+
+import com.infosys.aibudgettracker.categorization.dto.CategoryScore;
+import com.infosys.aibudgettracker.categorization.dto.CategorySuggestion;
+import com.infosys.aibudgettracker.category.service.CategoryDictionary;
+import com.infosys.aibudgettracker.metrics.CacheStats;
+import com.infosys.aibudgettracker.money.Money;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent;
+import com.infosys.aibudgettracker.transaction.event.TransactionWrites;
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+import com.infosys.aibudgettracker.transaction.model.Transaction;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Suggests a category from a transaction's description, amount and type.
+ *
+ * A naive Bayes model over hashed features is kept for all users together and one per user.
+ * Users with enough history of their own are answered from their model, everyone else from the
+ * global one. Both are trained once from the transactions table and afterwards kept up to date
+ * from {@link TransactionChangedEvent}s once the change has committed. Per-user models are built on
+ * first use under the same lock the listener takes for them, so no committed change falls between
+ * the build's query and the model being published, and a write still open when the model was
+ * published drops it for a rebuild rather than being trained on twice; they are held in a
+ * bounded LRU.
+ *
+ * Category names are free text, so the global model only suggests those at least
+ * {@code app.categorizer.min-label-users} different users have used; anything rarer, which may
+ * well be one user's private label, is never offered to someone else. The set is worked out with
+ * the global model and refreshed on a schedule.
+ *
+ * The global model reads the whole table, so it is built once in the background after startup
+ * rather than on a request or under a lock writers wait for. Changes that commit while it builds
+ * are buffered and replayed into it before it is published; until then suggestions come from the
+ * user's own model. A change that commits in the moment between buffering starting and the build's
+ * query taking its snapshot can be counted twice, which moves one count among the millions the
+ * model is trained on.
+ */
+@Service
+public class CategorizationService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(CategorizationService.class);
+
+    private static final int GLOBAL_DIM = 1 << 14;
+    private static final int USER_DIM = 1 << 10;
+    private static final int ALTERNATIVES = 3;
+    private static final int USER_LOCK_STRIPES = 64;
+
+    private static final String SELECT = "select user_id, type, amount_minor, category, description from transactions";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private TransactionWrites transactionWrites;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor executor;
+
+    @Value("${app.categorizer.min-user-transactions:20}")
+    private int minUserTransactions;
+
+    @Value("${app.categorizer.min-label-users:5}")
+    private int minLabelUsers;
+
+    private final Map<Long, UserModel> userModels;
+    private final CacheStats userModelStats;
+    private final Object[] userLocks = new Object[USER_LOCK_STRIPES];
+    private final Object globalLock = new Object();
+    private volatile NaiveBayesModel globalModel;
+    // dictionary ids of the categories the global model may suggest
+    private volatile BitSet sharedCategories;
+    // changes committed while the global model builds, non-null only during the build
+    private List<TransactionChangedEvent> globalPending;
+
+    public CategorizationService(@Value("${app.categorizer.max-cached-users:2000}") int maxCachedUsers) {
+        this.userModels = Collections.synchronizedMap(new LinkedHashMap<Long, UserModel>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserModel> eldest) {
+                return size() > maxCachedUsers;
+            }
+        });
+        this.userModelStats = new CacheStats("categorizer-models", userModels);
+        for (int i = 0; i < USER_LOCK_STRIPES; i++) userLocks[i] = new Object();
+    }
+
+    public CategorySuggestion suggest(Long userId, String description, Double amount, TransactionType type) {
+        int[] features = new int[HashedFeatures.MAX_FEATURES];
+        int n = HashedFeatures.extract(description, amount, type, features);
+
+        NaiveBayesModel user = userModel(userId);
+        NaiveBayesModel global = globalModel;
+        BitSet shared = sharedCategories;
+        boolean personal = global == null || shared == null || user.docs() >= minUserTransactions;
+
+        String[] labels = new String[ALTERNATIVES];
+        double[] probs = new double[ALTERNATIVES];
+        int k = personal ? user.classify(features, n, labels, probs) : global.classify(features, n, shared, labels, probs);
+        if (k == 0) {
+            return new CategorySuggestion(null, 0.0, personal ? "user" : "global", new ArrayList<>());
+        }
+        List<CategoryScore> alternatives = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            alternatives.add(new CategoryScore(labels[i], probs[i]));
+        }
+        return new CategorySuggestion(labels[0], probs[0], personal ? "user" : "global", alternatives);
+    }
+
+    /** The most likely category, or {@code fallback} when nothing has been learned yet. */
+    public String suggestCategory(Long userId, String description, Double amount, TransactionType type, String fallback) {
+        String category = suggest(userId, description, amount, type).getCategory();
+        return category != null ? category : fallback;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        // models that are not built yet will read this change from the table when they are
+        NaiveBayesModel global = globalModel;
+        if (global == null) {
+            synchronized (globalLock) {
+                if (globalPending != null) {
+                    globalPending.add(event);
+                } else {
+                    global = globalModel;
+                }
+            }
+        }
+        apply(global, event);
+        synchronized (userLock(event.getUserId())) {
+            UserModel user = userModels.get(event.getUserId());
+            if (user == null) return;
+            if (user.inDoubt.remove(event)) {
+                userModels.remove(event.getUserId());
+            } else {
+                apply(user.model, event);
+            }
+        }
+    }
+
+    private void apply(NaiveBayesModel model, TransactionChangedEvent event) {
+        if (model == null) return;
+        if (event.getPrevious() != null) train(model, event.getPrevious(), -1);
+        if (event.getCurrent() != null) train(model, event.getCurrent(), 1);
+    }
+
+    private void train(NaiveBayesModel model, Transaction t, int delta) {
+        if (model == null || t.getCategory() == null) return;
+        int[] features = new int[HashedFeatures.MAX_FEATURES];
+        int n = HashedFeatures.extract(t.getDescription(), t.getAmount(), t.getType(), features);
+        model.update(categoryDictionary.idOf(t.getCategory()), t.getCategory().trim(), features, n, delta);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void trainGlobalModel() {
+        executor.execute(this::buildGlobalModel);
+    }
+
+    void buildGlobalModel() {
+        synchronized (globalLock) {
+            if (globalModel != null || globalPending != null) return;
+            globalPending = new ArrayList<>();
+        }
+        try {
+            long started = System.currentTimeMillis();
+            NaiveBayesModel built = new NaiveBayesModel(GLOBAL_DIM);
+            jdbcTemplate.query(SELECT, trainer(built));
+            refreshSharedCategories();
+            // replay outside the lock, a batch at a time, until nothing more has arrived
+            while (true) {
+                List<TransactionChangedEvent> replay;
+                synchronized (globalLock) {
+                    replay = globalPending;
+                    if (replay.isEmpty()) {
+                        globalModel = built;
+                        globalPending = null;
+                        break;
+                    }
+                    globalPending = new ArrayList<>();
+                }
+                for (TransactionChangedEvent event : replay) apply(built, event);
+            }
+            log.info("Trained global categorizer on {} transactions in {} ms",
+                    built.docs(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            synchronized (globalLock) {
+                globalPending = null;
+            }
+            log.error("Training the global categorizer failed, suggestions use per-user models only", e);
+        }
+    }
+
+    /** Recounts which categories enough users share for the global model to suggest them. */
+    @Scheduled(fixedDelayString = "${app.categorizer.shared-labels-refresh-ms:3600000}",
+            initialDelayString = "${app.categorizer.shared-labels-refresh-ms:3600000}")
+    public void refreshSharedCategories() {
+        BitSet shared = new BitSet();
+        jdbcTemplate.query("select lower(trim(category)), count(distinct user_id) from transactions "
+                + "where category is not null group by lower(trim(category))", rs -> {
+            if (rs.getLong(2) >= minLabelUsers) shared.set(categoryDictionary.idOf(rs.getString(1)));
+        });
+        sharedCategories = shared;
+    }
+
+    private NaiveBayesModel userModel(Long userId) {
+        UserModel user = userModelStats.record(userModels.get(userId));
+        if (user != null) return user.model;
+        synchronized (userLock(userId)) {
+            user = userModels.get(userId);
+            if (user == null) {
+                NaiveBayesModel model = new NaiveBayesModel(USER_DIM);
+                jdbcTemplate.query(SELECT + " where user_id = ?", trainer(model), userId);
+                user = new UserModel(model, transactionWrites.openFor(userId));
+                userModels.put(userId, user);
+            }
+            return user.model;
+        }
+    }
+
+    private Object userLock(Long userId) {
+        return userLocks[Long.hashCode(userId) & (USER_LOCK_STRIPES - 1)];
+    }
+
+    private RowCallbackHandler trainer(NaiveBayesModel model) {
+        int[] features = new int[HashedFeatures.MAX_FEATURES];
+        return rs -> {
+            String category = rs.getString(4);
+            if (category == null) return;
+            double amount = Money.toUnits(rs.getLong(3));
+            int n = HashedFeatures.extract(rs.getString(5), amount, TransactionType.valueOf(rs.getString(2)), features);
+            model.update(categoryDictionary.idOf(category), category.trim(), features, n, 1);
+        };
+    }
+
+    /** A user's model and the writes open when it was published, which its query may or may not include. */
+    private static final class UserModel {
+        final NaiveBayesModel model;
+        // guarded by the user's lock
+        final Set<TransactionChangedEvent> inDoubt;
+
+        UserModel(NaiveBayesModel model, Set<TransactionChangedEvent> inDoubt) {
+            this.model = model;
+            this.inDoubt = inDoubt;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        userModelStats.bindTo(registry);
+    }
+}
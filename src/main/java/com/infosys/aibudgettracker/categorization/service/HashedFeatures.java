@@ -0,0 +1,68 @@
+package com.infosys.aibudgettracker.categorization.service;
+
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+
+/**
+ * Turns a transaction into a handful of 32-bit feature hashes without allocating: one per
+ * description token, one for the order of magnitude of the amount and one for the type.
+ *
+ * Tokens are runs of letters and digits, lower-cased; single characters and all-digit runs
+ * (card suffixes, reference numbers) are dropped.
+ */
+final class HashedFeatures {
+
+    static final int MAX_FEATURES = 32;
+
+    private static final int FNV_OFFSET = 0x811c9dc5;
+    private static final int FNV_PRIME = 0x01000193;
+    private static final int AMOUNT_SEED = 0x5bd1e995;
+    private static final int TYPE_SEED = 0x27d4eb2d;
+
+    private HashedFeatures() {
+    }
+
+    /**
+     * Writes feature hashes into {@code out}.
+     *
+     * @return number of features written, at most {@code out.length}
+     */
+    static int extract(String description, Double amount, TransactionType type, int[] out) {
+        int n = 0;
+        if (description != null) {
+            int hash = FNV_OFFSET;
+            int length = 0;
+            boolean letters = false;
+            for (int i = 0, len = description.length(); i <= len && n < out.length - 2; i++) {
+                char c = i < len ? description.charAt(i) : ' ';
+                if (Character.isLetterOrDigit(c)) {
+                    hash = (hash ^ Character.toLowerCase(c)) * FNV_PRIME;
+                    letters |= Character.isLetter(c);
+                    length++;
+                } else {
+                    if (length > 1 && letters) out[n++] = finish(hash);
+                    hash = FNV_OFFSET;
+                    length = 0;
+                    letters = false;
+                }
+            }
+        }
+        if (amount != null && amount > 0 && n < out.length) {
+            // 1-2, 2-4, 4-8, ... so "coffee sized" and "rent sized" amounts land in different buckets
+            out[n++] = finish(AMOUNT_SEED + (64 - Long.numberOfLeadingZeros((long) Math.ceil(amount))));
+        }
+        if (type != null && n < out.length) {
+            out[n++] = finish(TYPE_SEED + type.ordinal());
+        }
+        return n;
+    }
+
+    private static int finish(int h) {
+        // murmur3 fmix32, so the low bits used for bucketing are well mixed
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,158 @@
+package com.infosys.aibudgettracker.categorization.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Multinomial naive Bayes over hashed features with Laplace smoothing, trained one example at a
+ * time and untrainable by passing a negative delta.
+ *
+ * Counts are kept in one flat class-major int array of {@code classes * dim}; classes are
+ * identified by their {@code CategoryDictionary} id and mapped to dense local rows on first use.
+ */
+final class NaiveBayesModel {
+
+    private static final double ALPHA = 1.0;
+
+    private final int dim;
+    private final int mask;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int classes;
+    private int[] rowOfCategory = new int[0];   // dictionary id -> local row, -1 if unseen
+    private String[] labels = new String[4];    // latest original spelling per row
+    private int[] categoryOfRow = new int[4];   // local row -> dictionary id
+    private int[] docCounts = new int[4];
+    private long[] featureTotals = new long[4];
+    private int[] counts;
+    private long docs;
+
+    NaiveBayesModel(int dim) {
+        if (Integer.bitCount(dim) != 1) throw new IllegalArgumentException("dim must be a power of two");
+        this.dim = dim;
+        this.mask = dim - 1;
+        this.counts = new int[4 * dim];
+    }
+
+    void update(int categoryId, String label, int[] features, int n, int delta) {
+        lock.writeLock().lock();
+        try {
+            int row = delta > 0 ? rowFor(categoryId) : existingRow(categoryId);
+            if (row < 0) return;
+            if (delta > 0) labels[row] = label;
+            docCounts[row] = Math.max(0, docCounts[row] + delta);
+            docs = Math.max(0, docs + delta);
+            int base = row * dim;
+            for (int i = 0; i < n; i++) {
+                int slot = base + (features[i] & mask);
+                int before = counts[slot];
+                counts[slot] = Math.max(0, before + delta);
+                featureTotals[row] += counts[slot] - before;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    long docs() {
+        lock.readLock().lock();
+        try {
+            return docs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int classify(int[] features, int n, String[] topLabels, double[] topProbs) {
+        return classify(features, n, null, topLabels, topProbs);
+    }
+
+    /**
+     * Ranks categories for the features.
+     *
+     * @param allowed   dictionary ids of the categories that may be returned, null for all; the
+     *                  probabilities are over these alone
+     * @param topLabels filled with the best labels, most probable first
+     * @param topProbs  filled with the matching posterior probabilities
+     * @return how many entries were filled, 0 when the model is empty
+     */
+    int classify(int[] features, int n, BitSet allowed, String[] topLabels, double[] topProbs) {
+        lock.readLock().lock();
+        try {
+            if (docs == 0) return 0;
+            int k = Math.min(topLabels.length, classes);
+            double[] scores = new double[classes];
+            double logDocs = Math.log(docs);
+            double max = Double.NEGATIVE_INFINITY;
+            for (int row = 0; row < classes; row++) {
+                if (docCounts[row] == 0 || (allowed != null && !allowed.get(categoryOfRow[row]))) {
+                    scores[row] = Double.NEGATIVE_INFINITY;
+                    continue;
+                }
+                double score = Math.log(docCounts[row]) - logDocs;
+                double denominator = Math.log(featureTotals[row] + ALPHA * dim);
+                int base = row * dim;
+                for (int i = 0; i < n; i++) {
+                    score += Math.log(counts[base + (features[i] & mask)] + ALPHA) - denominator;
+                }
+                scores[row] = score;
+                if (score > max) max = score;
+            }
+            if (max == Double.NEGATIVE_INFINITY) return 0;
+
+            double sum = 0.0;
+            for (int row = 0; row < classes; row++) {
+                scores[row] = Math.exp(scores[row] - max);
+                sum += scores[row];
+            }
+
+            // partial selection of the k best; k is tiny so this beats a sort
+            int filled = 0;
+            Arrays.fill(topProbs, 0, k, -1.0);
+            for (int row = 0; row < classes; row++) {
+                double p = scores[row] / sum;
+                if (p <= 0) continue;
+                int pos = Math.min(filled, k - 1);
+                if (filled == k && p <= topProbs[pos]) continue;
+                while (pos > 0 && topProbs[pos - 1] < p) {
+                    topProbs[pos] = topProbs[pos - 1];
+                    topLabels[pos] = topLabels[pos - 1];
+                    pos--;
+                }
+                topProbs[pos] = p;
+                topLabels[pos] = labels[row];
+                if (filled < k) filled++;
+            }
+            return filled;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int existingRow(int categoryId) {
+        return categoryId < rowOfCategory.length ? rowOfCategory[categoryId] : -1;
+    }
+
+    private int rowFor(int categoryId) {
+        int row = existingRow(categoryId);
+        if (row >= 0) return row;
+        if (categoryId >= rowOfCategory.length) {
+            int old = rowOfCategory.length;
+            rowOfCategory = Arrays.copyOf(rowOfCategory, Math.max(categoryId + 1, old * 2));
+            Arrays.fill(rowOfCategory, old, rowOfCategory.length, -1);
+        }
+        if (classes == docCounts.length) {
+            int capacity = classes * 2;
+            labels = Arrays.copyOf(labels, capacity);
+            categoryOfRow = Arrays.copyOf(categoryOfRow, capacity);
+            docCounts = Arrays.copyOf(docCounts, capacity);
+            featureTotals = Arrays.copyOf(featureTotals, capacity);
+            counts = Arrays.copyOf(counts, capacity * dim);
+        }
+        row = classes++;
+        rowOfCategory[categoryId] = row;
+        categoryOfRow[row] = categoryId;
+        return row;
+    }
+}
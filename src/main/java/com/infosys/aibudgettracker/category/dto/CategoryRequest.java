@@ -0,0 +1,9 @@
+package com.infosys.aibudgettracker.category.dto;
+
+import lombok.Data;
+
+@Data
+public class CategoryRequest {
+    private String name;
+    private Long parentId;
+}
@@ -0,0 +1,13 @@
+package com.infosys.aibudgettracker.category.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CategoryResponse {
+    private Long id;
+    private String name;
+    private Long parentId;
+    private Integer level;
+}
@@ -0,0 +1,15 @@
+package com.infosys.aibudgettracker.category.repository;
+
+import com.infosys.aibudgettracker.category.model.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+    List<Category> findByUserId(Long userId);
+    Optional<Category> findByUserIdAndNameIgnoreCase(Long userId, String name);
+    boolean existsByParentId(Long parentId);
+}
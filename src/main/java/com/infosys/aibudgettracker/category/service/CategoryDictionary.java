@@ -0,0 +1,50 @@
+package com.infosys.aibudgettracker.category.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide mapping from normalized category names to small dense ints, so per-category state
+ * can be kept in primitive arrays and packed into primitive keys instead of string-keyed maps.
+ *
+ * Ids are assigned on first sight and are only stable for the lifetime of the process; anything
+ * persisted must store the name.
+ */
+@Component
+public class CategoryDictionary {
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    public static String normalize(String category) {
+        return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public int idOf(String category) {
+        String key = normalize(category);
+        Integer id = ids.get(key);
+        if (id != null) return id;
+        synchronized (names) {
+            return ids.computeIfAbsent(key, k -> {
+                names.add(k);
+                return names.size() - 1;
+            });
+        }
+    }
+
+    public String nameOf(int id) {
+        synchronized (names) {
+            return names.get(id);
+        }
+    }
+
+    public int size() {
+        synchronized (names) {
+            return names.size();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.infosys.aibudgettracker.category.service;
+
+import com.infosys.aibudgettracker.category.dto.CategoryRequest;
+import com.infosys.aibudgettracker.category.dto.CategoryResponse;
+import com.infosys.aibudgettracker.category.model.Category;
+import com.infosys.aibudgettracker.category.repository.CategoryRepository;
+import com.infosys.aibudgettracker.dataversion.DataVersions;
+import com.infosys.aibudgettracker.metrics.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class CategoryService implements MeterBinder {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private DataVersions dataVersions;
+
+    // Trees are rebuilt lazily after any category write for that user
+    private final Map<Long, CategoryTree> treeCache = new ConcurrentHashMap<>();
+    private final CacheStats treeCacheStats = new CacheStats("category-trees", treeCache);
+
+    public CategoryTree getTree(Long userId) {
+        CategoryTree tree = treeCacheStats.record(treeCache.get(userId));
+        if (tree != null) return tree;
+        return treeCache.computeIfAbsent(userId, id -> CategoryTree.build(categoryRepository.findByUserId(id)));
+    }
+
+    public List<CategoryResponse> getUserCategories(Long userId) {
+        List<Category> categories = categoryRepository.findByUserId(userId);
+        CategoryTree tree = getTree(userId);
+        List<CategoryResponse> result = new ArrayList<>();
+        for (Category c : categories) {
+            int idx = tree.indexOf(c.getName());
+            result.add(new CategoryResponse(c.getId(), c.getName(), c.getParentId(), idx >= 0 ? tree.levelOf(idx) : 0));
+        }
+        return result;
+    }
+
+    public CategoryResponse createCategory(Long userId, CategoryRequest request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new RuntimeException("Category name is required");
+        }
+        if (categoryRepository.findByUserIdAndNameIgnoreCase(userId, request.getName().trim()).isPresent()) {
+            throw new RuntimeException("Category already exists");
+        }
+        if (request.getParentId() != null) {
+            requireOwned(request.getParentId(), userId);
+        }
+
+        Category category = new Category();
+        category.setUserId(userId);
+        category.setName(request.getName().trim());
+        category.setParentId(request.getParentId());
+
+        Category saved = categoryRepository.save(category);
+        treeCache.remove(userId);
+        dataVersions.bump(userId);
+        return mapToResponse(saved, userId);
+    }
+
+    public CategoryResponse updateCategory(Long categoryId, Long userId, CategoryRequest request) {
+        Category category = requireOwned(categoryId, userId);
+
+        if (request.getName() != null && !request.getName().isBlank()
+                && !request.getName().trim().equalsIgnoreCase(category.getName())) {
+            if (categoryRepository.findByUserIdAndNameIgnoreCase(userId, request.getName().trim()).isPresent()) {
+                throw new RuntimeException("Category already exists");
+            }
+            category.setName(request.getName().trim());
+        }
+
+        Long parentId = request.getParentId();
+        if (parentId != null) {
+            // walk up from the new parent to make sure we are not moving a node under itself
+            Long cursor = parentId;
+            while (cursor != null) {
+                if (cursor.equals(categoryId)) {
+                    throw new RuntimeException("Category cannot be moved under itself");
+                }
+                cursor = requireOwned(cursor, userId).getParentId();
+            }
+        }
+        category.setParentId(parentId);
+
+        Category updated = categoryRepository.save(category);
+        treeCache.remove(userId);
+        dataVersions.bump(userId);
+        return mapToResponse(updated, userId);
+    }
+
+    public void deleteCategory(Long categoryId, Long userId) {
+        Category category = requireOwned(categoryId, userId);
+        if (categoryRepository.existsByParentId(categoryId)) {
+            throw new RuntimeException("Category has subcategories");
+        }
+        categoryRepository.delete(category);
+        treeCache.remove(userId);
+        dataVersions.bump(userId);
+    }
+
+    private Category requireOwned(Long categoryId, Long userId) {
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new RuntimeException("Category not found"));
+        if (!category.getUserId().equals(userId)) {
+            throw new RuntimeException("Unauthorized access to category");
+        }
+        return category;
+    }
+
+    private CategoryResponse mapToResponse(Category category, Long userId) {
+        CategoryTree tree = getTree(userId);
+        int idx = tree.indexOf(category.getName());
+        return new CategoryResponse(
+                category.getId(),
+                category.getName(),
+                category.getParentId(),
+                idx >= 0 ? tree.levelOf(idx) : 0
+        );
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        treeCacheStats.bindTo(registry);
+    }
+}
@@ -0,0 +1,164 @@
+package com.infosys.aibudgettracker.category.service;
+
+import com.infosys.aibudgettracker.category.model.Category;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of a user's category hierarchy.
+ *
+ * Every node stores its full root-to-self path in a precomputed ancestor table, so rolling
+ * leaf totals up the tree is a single pass over the leaf sums with no recursion and no
+ * further queries.
+ */
+public final class CategoryTree {
+
+    private static final int[] NO_ANCESTORS = new int[0];
+
+    private final String[] names;
+    private final int[][] ancestors;
+    private final Map<String, Integer> indexByName;
+
+    private CategoryTree(String[] names, int[][] ancestors, Map<String, Integer> indexByName) {
+        this.names = names;
+        this.ancestors = ancestors;
+        this.indexByName = indexByName;
+    }
+
+    public static CategoryTree empty() {
+        return new CategoryTree(new String[0], new int[0][], Map.of());
+    }
+
+    public static CategoryTree build(List<Category> categories) {
+        int n = categories.size();
+        String[] names = new String[n];
+        Map<Long, Integer> indexById = new HashMap<>();
+        Map<String, Integer> indexByName = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Category c = categories.get(i);
+            names[i] = c.getName();
+            indexById.put(c.getId(), i);
+            indexByName.put(normalize(c.getName()), i);
+        }
+
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            Long parentId = categories.get(i).getParentId();
+            Integer p = parentId == null ? null : indexById.get(parentId);
+            parent[i] = p == null ? -1 : p;
+        }
+
+        int[][] ancestors = new int[n][];
+        int[] stack = new int[n];
+        for (int i = 0; i < n; i++) {
+            fillAncestors(i, parent, ancestors, stack);
+        }
+        return new CategoryTree(names, ancestors, indexByName);
+    }
+
+    // Walks up to the first node whose path is already known and reuses it, so the whole
+    // table is built in O(total path length). A cycle in bad data is cut at the repeat.
+    // stack is scratch space shared by every call; a path never holds more than n nodes.
+    private static void fillAncestors(int node, int[] parent, int[][] ancestors, int[] stack) {
+        if (ancestors[node] != null) return;
+        int top = 0;
+        int cur = node;
+        while (cur >= 0 && ancestors[cur] == null && top < stack.length) {
+            stack[top++] = cur;
+            ancestors[cur] = NO_ANCESTORS; // marks the node as being visited
+            cur = parent[cur];
+        }
+        int[] base = cur >= 0 ? ancestors[cur] : NO_ANCESTORS;
+        while (top > 0) {
+            int id = stack[--top];
+            int[] path = new int[base.length + 1];
+            System.arraycopy(base, 0, path, 0, base.length);
+            path[base.length] = id;
+            ancestors[id] = path;
+            base = path;
+        }
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public int indexOf(String category) {
+        if (category == null) return -1;
+        Integer idx = indexByName.get(normalize(category));
+        return idx == null ? -1 : idx;
+    }
+
+    public String nameOf(int index) {
+        return names[index];
+    }
+
+    /** Depth of the node, 0 for top-level categories. */
+    public int levelOf(int index) {
+        return ancestors[index].length - 1;
+    }
+
+    /**
+     * Adds every leaf sum to the node it belongs to and to all of that node's ancestors.
+     * Categories that are not part of the tree are ignored here; callers look those up by name.
+     *
+     * @return subtree totals indexed like the tree's nodes
+     */
+    public double[] rollUp(Map<String, Double> leafSums) {
+        double[] totals = new double[names.length];
+        for (Map.Entry<String, Double> e : leafSums.entrySet()) {
+            int idx = indexOf(e.getKey());
+            if (idx < 0) continue;
+            double v = e.getValue();
+            for (int a : ancestors[idx]) {
+                totals[a] += v;
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Same as {@link #rollUp}, over sums in Money minor units, so totals stay exact.
+     *
+     * @return subtree totals in minor units, indexed like the tree's nodes
+     */
+    public long[] rollUpMinor(Map<String, Long> leafSums) {
+        long[] totals = new long[names.length];
+        for (Map.Entry<String, Long> e : leafSums.entrySet()) {
+            int idx = indexOf(e.getKey());
+            if (idx < 0) continue;
+            long v = e.getValue();
+            for (int a : ancestors[idx]) {
+                totals[a] += v;
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Regroups leaf sums at the given depth: each sum is attributed to its ancestor at
+     * {@code level}, or to itself if it sits higher than that. Unknown categories are kept as-is.
+     */
+    public Map<String, Double> aggregateAtLevel(Map<String, Double> leafSums, int level) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Double> e : leafSums.entrySet()) {
+            int idx = indexOf(e.getKey());
+            String key;
+            if (idx < 0) {
+                key = e.getKey();
+            } else {
+                int[] path = ancestors[idx];
+                key = names[path[Math.min(Math.max(level, 0), path.length - 1)]];
+            }
+            result.merge(key, e.getValue(), Double::sum);
+        }
+        return result;
+    }
+
+    private static String normalize(String name) {
+        return CategoryDictionary.normalize(name);
+    }
+}
@@ -0,0 +1,56 @@
+package com.infosys.aibudgettracker.dashboard.controller;
+
+import com.infosys.aibudgettracker.authservice.filter.JwtRequestFilter;
+import com.infosys.aibudgettracker.dashboard.dto.DashboardResponse;
+import com.infosys.aibudgettracker.dashboard.service.DashboardService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "http://localhost:5173")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Value("${app.predictions.max-history-months:36}")
+    private int maxHistoryMonths;
+
+    // year and month default to the current month; months is the prediction's history window
+    @GetMapping
+    public ResponseEntity<?> getDashboard(
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false, defaultValue = "24") int months,
+            HttpServletRequest request) {
+        if (month != null && (month < 1 || month > 12)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("month must be between 1 and 12");
+        }
+        if (months < 2 || months > maxHistoryMonths) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("months must be between 2 and " + maxHistoryMonths);
+        }
+        try {
+            // set by the JWT filter; a lookup here would pin a connection for the whole request
+            Long userId = (Long) request.getAttribute(JwtRequestFilter.USER_ID_ATTRIBUTE);
+            if (userId == null) throw new RuntimeException("User not found");
+
+            YearMonth current = YearMonth.now();
+            DashboardResponse response = dashboardService.getDashboard(userId,
+                    year != null ? year : current.getYear(),
+                    month != null ? month : current.getMonthValue(),
+                    months);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Error fetching dashboard: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.infosys.aibudgettracker.dashboard.dto;
+
+import com.infosys.aibudgettracker.analytics.dto.AnalyticsResponse;
+import com.infosys.aibudgettracker.analytics.service.AIPredictionService;
+import com.infosys.aibudgettracker.budget.dto.BudgetProgress;
+import com.infosys.aibudgettracker.savingsgoal.dto.SavingsGoalProgress;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the dashboard shows in one response. A part that failed or ran past its timeout
+ * is null and has an entry in {@code errors}, keyed by the part's field name.
+ */
+@Data
+@NoArgsConstructor
+public class DashboardResponse {
+    private int year;
+    private int month;
+    private AnalyticsResponse analytics;
+    private List<BudgetProgress> budgetProgress;
+    private List<SavingsGoalProgress> savingsGoalProgress;
+    private AIPredictionService.AIPredictionResult prediction;
+    private Map<String, String> errors = new LinkedHashMap<>();
+}
@@ -0,0 +1,197 @@
+package com.infosys.aibudgettracker.dashboard.service;
+
+import com.infosys.aibudgettracker.analytics.columnar.TransactionColumns;
+import com.infosys.aibudgettracker.analytics.columnar.TransactionColumnsLoader;
+import com.infosys.aibudgettracker.analytics.dto.AnalyticsResponse;
+import com.infosys.aibudgettracker.analytics.service.AIPredictionService;
+import com.infosys.aibudgettracker.analytics.service.AnalyticsService;
+import com.infosys.aibudgettracker.analytics.service.PredictionBatchService;
+import com.infosys.aibudgettracker.budget.dto.BudgetProgress;
+import com.infosys.aibudgettracker.budget.model.Budget;
+import com.infosys.aibudgettracker.budget.repository.BudgetRepository;
+import com.infosys.aibudgettracker.budget.service.BudgetService;
+import com.infosys.aibudgettracker.category.service.CategoryService;
+import com.infosys.aibudgettracker.category.service.CategoryTree;
+import com.infosys.aibudgettracker.dashboard.dto.DashboardResponse;
+import com.infosys.aibudgettracker.metrics.SqlStats;
+import com.infosys.aibudgettracker.savingsgoal.dto.SavingsGoalProgress;
+import com.infosys.aibudgettracker.savingsgoal.service.SavingsGoalService;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the dashboard (month analytics, budget progress, savings goal progress and next
+ * month's prediction) in one request instead of four. The user's transactions are loaded once
+ * for the selected year, stretched to cover the prediction window when the two meet.
+ *
+ * Every part runs on the application task executor: the transaction load, the month's budgets
+ * with the category tree, savings goals, and the stored or live prediction when the window is
+ * far from the year read the database side by side, and the aggregations over the loaded columns
+ * follow the load. Open-in-view is off for this endpoint (see {@code OpenInViewConfig}), so each
+ * read takes a connection for its own transaction and returns it, and the request thread, which
+ * only waits, holds none. Each part has its own {@code app.dashboard.part-timeout-ms} deadline
+ * counted from when the request forked it, so a part that waits on the load has the load's time
+ * inside its budget. A part that fails or runs out of time is reported in the response's errors,
+ * and the rest are returned as they are.
+ */
+@Service
+public class DashboardService {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private SavingsGoalService savingsGoalService;
+
+    @Autowired
+    private AIPredictionService aiPredictionService;
+
+    @Autowired
+    private PredictionBatchService predictionBatchService;
+
+    @Autowired
+    private TransactionColumnsLoader columnsLoader;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor executor;
+
+    @Value("${app.dashboard.part-timeout-ms:3000}")
+    private long partTimeoutMs;
+
+    public DashboardResponse getDashboard(Long userId, int year, int month, int predictionMonths) {
+        DashboardResponse response = new DashboardResponse();
+        response.setYear(year);
+        response.setMonth(month);
+        Map<String, String> errors = response.getErrors();
+
+        LocalDate from = LocalDate.of(year, 1, 1);
+        LocalDate to = LocalDate.of(year, 12, 31);
+        YearMonth now = YearMonth.now();
+        YearMonth windowStart = now.minusMonths(predictionMonths - 1);
+
+        // share the load when the window overlaps or borders the year; otherwise the nightly
+        // batch usually has the prediction, and the window is loaded separately when it has not
+        boolean shareWindow = !windowStart.atDay(1).isAfter(to.plusDays(1))
+                && !now.atEndOfMonth().isBefore(from.minusDays(1));
+        if (shareWindow) {
+            if (windowStart.atDay(1).isBefore(from)) from = windowStart.atDay(1);
+            if (now.atEndOfMonth().isAfter(to)) to = now.atEndOfMonth();
+        }
+
+        Executor parts = inRequestContext();
+        LocalDate loadFrom = from;
+        LocalDate loadTo = to;
+        CompletableFuture<TransactionColumns> columns = CompletableFuture.supplyAsync(() -> {
+            try {
+                return columnsLoader.load(userId, loadFrom, loadTo);
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Error loading transactions: " + e.getMessage(), e);
+            }
+        }, parts);
+        Part<AnalyticsResponse> analytics = fork(columns.thenApplyAsync(
+                loaded -> analyticsService.getAnalytics(userId, year, month, null, loaded), parts));
+
+        CompletableFuture<List<Budget>> budgets = CompletableFuture.supplyAsync(
+                () -> budgetRepository.findByUserIdAndMonthAndYear(userId, month, year), parts);
+        CompletableFuture<CategoryTree> tree = budgets.thenApplyAsync(b -> categoryService.getTree(userId), parts);
+        Part<List<BudgetProgress>> budgetProgress = fork(tree.thenCombineAsync(columns,
+                (t, loaded) -> budgetService.getBudgetProgress(month, year, loaded, budgets.join(), t), parts));
+
+        Part<List<SavingsGoalProgress>> savingsGoalProgress = fork(CompletableFuture.supplyAsync(
+                () -> savingsGoalService.getSavingsGoalProgress(userId), parts));
+
+        Part<AIPredictionService.AIPredictionResult> prediction = fork(shareWindow
+                ? columns.thenApplyAsync(
+                        loaded -> aiPredictionService.predictNextMonthExpenses(predictionMonths, windowStart, loaded), parts)
+                : CompletableFuture.supplyAsync(() -> predictionBatchService.findPrecomputed(userId, predictionMonths)
+                        .orElseGet(() -> aiPredictionService.predictNextMonthExpenses(userId, predictionMonths)), parts));
+
+        response.setAnalytics(await(analytics, "analytics", errors));
+        response.setBudgetProgress(await(budgetProgress, "budgetProgress", errors));
+        response.setSavingsGoalProgress(await(savingsGoalProgress, "savingsGoalProgress", errors));
+        response.setPrediction(await(prediction, "prediction", errors));
+        return response;
+    }
+
+    /**
+     * Runs tasks on the executor, counting any SQL into this request's {@link SqlStats} and
+     * tracing it under the current span.
+     */
+    private Executor inRequestContext() {
+        SqlStats stats = SqlStats.current();
+        Span parent = tracer.currentSpan();
+        return task -> executor.execute(() -> {
+            SqlStats.attach(stats);
+            try (Tracer.SpanInScope ignored = parent != null ? tracer.withSpan(parent) : null) {
+                task.run();
+            } finally {
+                SqlStats.end();
+            }
+        });
+    }
+
+    /** {@code future} with a deadline starting now. */
+    private <T> Part<T> fork(CompletableFuture<T> future) {
+        return new Part<>(future, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(partTimeoutMs));
+    }
+
+    /**
+     * The part's result, or null with the reason recorded under {@code name}. A late part is
+     * cancelled, which stops whatever would have run after it; a read already running finishes
+     * in the background.
+     */
+    private <T> T await(Part<T> part, String name, Map<String, String> errors) {
+        try {
+            return part.future.get(Math.max(0, part.deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            part.future.cancel(true);
+            errors.put(name, "Timed out after " + partTimeoutMs + " ms");
+        } catch (ExecutionException e) {
+            errors.put(name, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            part.future.cancel(true);
+            errors.put(name, "Interrupted");
+        }
+        return null;
+    }
+
+    /** A forked part and the time by which it must have finished. */
+    private static final class Part<T> {
+        final CompletableFuture<T> future;
+        final long deadline;
+
+        Part(CompletableFuture<T> future, long deadline) {
+            this.future = future;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.infosys.aibudgettracker.dataversion;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Conditional GETs on the endpoints that read only what {@link DataVersions} tracks. Endpoints
+ * that also depend on other data (profile, forum, recurring series, anomalies, cash flow) are
+ * left out, since their writes do not bump the version.
+ */
+@Configuration
+public class ConditionalGetConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private DataVersions dataVersions;
+
+    @Value("${app.conditional-get.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!enabled) return;
+        registry.addInterceptor(new ConditionalGetInterceptor(dataVersions))
+                .addPathPatterns("/api/transactions/**", "/api/budgets/**", "/api/savings-goals/**",
+                        "/api/categories/**", "/api/analytics/**", "/api/dashboard/**");
+    }
+}
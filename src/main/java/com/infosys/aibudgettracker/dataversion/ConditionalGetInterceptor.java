@@ -0,0 +1,34 @@
+package com.infosys.aibudgettracker.dataversion;
+
+import com.infosys.aibudgettracker.authservice.filter.JwtRequestFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Tags GET responses with the signed-in user's {@link DataVersions#etag} and answers a matching
+ * {@code If-None-Match} with 304 before the handler runs, so nothing past the token check touches
+ * the database. Responses are marked {@code private, no-cache}: clients may keep them but must
+ * revalidate, which is the cheap request this makes possible.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final DataVersions dataVersions;
+
+    public ConditionalGetInterceptor(DataVersions dataVersions) {
+        this.dataVersions = dataVersions;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod())) return true;
+        if (!(request.getAttribute(JwtRequestFilter.USER_ID_ATTRIBUTE) instanceof Long userId)) return true;
+
+        // read before the handler runs: a write landing meanwhile leaves the tag older than the body, never newer
+        String etag = dataVersions.etag(userId);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
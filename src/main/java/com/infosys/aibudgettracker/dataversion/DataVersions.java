@@ -0,0 +1,57 @@
+package com.infosys.aibudgettracker.dataversion;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user count of writes to the data behind the ledger pages: transactions, budgets, savings
+ * goals, categories and the nightly prediction rows. Every write path bumps it once the write is
+ * committed, and
+ * {@link ConditionalGetInterceptor} turns it into an ETag, so a client asking again about
+ * unchanged data gets a 304 before any query runs.
+ *
+ * Counters are kept in memory and start from zero on each boot, so tags carry the boot time as
+ * well and a restart invalidates every tag handed out before it. They also carry the date,
+ * since goal progress and predictions move with the calendar even when nothing is written.
+ *
+ * Being in memory, the counters only see writes made by this instance. The application must run
+ * as a single instance while conditional GETs are enabled; behind a load balancer, a write served
+ * by one node would leave the other nodes answering 304 with stale data.
+ */
+@Component
+public class DataVersions {
+
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final String boot = Long.toString(System.currentTimeMillis(), 36);
+
+    public long current(Long userId) {
+        return versions.getOrDefault(userId, 0L);
+    }
+
+    /**
+     * Marks the user's data as changed. Inside a transaction the bump waits for the commit, so a
+     * read racing the write can never see the new version with the old data.
+     */
+    public void bump(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.merge(userId, 1L, Long::sum);
+                }
+            });
+        } else {
+            versions.merge(userId, 1L, Long::sum);
+        }
+    }
+
+    /** Weak tag for everything the user can read right now; the same for all of their pages. */
+    public String etag(Long userId) {
+        return "W/\"" + boot + "-" + current(userId) + "-" + LocalDate.now().toEpochDay() + "\"";
+    }
+}
@@ -0,0 +1,75 @@
+package com.infosys.aibudgettracker.db;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puts a {@link LimitedDataSource} in front of the application's data source, so no more than
+ * {@code app.db-limiter.permits} callers (by default the pool size) hold a connection at once,
+ * whichever threads they run on. Publishes {@code app.db.limiter.*}: permits in use, callers
+ * waiting, time spent waiting and callers turned away.
+ */
+@Component
+public class DbConcurrencyLimiter implements BeanPostProcessor, SmartInitializingSingleton {
+
+    private final boolean enabled;
+    private final int permits;
+    private final long timeoutMillis;
+    private final ObjectProvider<MeterRegistry> registry;
+    private final List<LimitedDataSource> limited = new ArrayList<>();
+
+    public DbConcurrencyLimiter(@Value("${app.db-limiter.enabled:true}") boolean enabled,
+                                @Value("${app.db-limiter.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+                                @Value("${app.db-limiter.acquire-timeout-ms:10000}") long timeoutMillis,
+                                ObjectProvider<MeterRegistry> registry) {
+        this.enabled = enabled;
+        this.permits = permits;
+        this.timeoutMillis = timeoutMillis;
+        this.registry = registry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof DataSource dataSource) || bean instanceof LimitedDataSource) return bean;
+        LimitedDataSource wrapped = new LimitedDataSource(dataSource, permits, timeoutMillis);
+        limited.add(wrapped);
+        return wrapped;
+    }
+
+    // the data source may be created after the registry, so meters are bound once both exist
+    @Override
+    public void afterSingletonsInstantiated() {
+        MeterRegistry registry = this.registry.getIfAvailable();
+        if (registry == null) return;
+        for (LimitedDataSource ds : limited) {
+            Gauge.builder("app.db.limiter.permits", ds, LimitedDataSource::limit)
+                    .description("Connections the limiter lets out at once")
+                    .register(registry);
+            Gauge.builder("app.db.limiter.in-use", ds, LimitedDataSource::inUse)
+                    .description("Callers holding a connection")
+                    .register(registry);
+            Gauge.builder("app.db.limiter.waiting", ds, LimitedDataSource::waiting)
+                    .description("Callers queued for a connection")
+                    .register(registry);
+            FunctionTimer.builder("app.db.limiter.wait", ds, LimitedDataSource::acquired,
+                            LimitedDataSource::waitNanos, TimeUnit.NANOSECONDS)
+                    .description("Connections handed out and the time callers queued for them")
+                    .register(registry);
+            FunctionCounter.builder("app.db.limiter.rejected", ds, LimitedDataSource::rejected)
+                    .description("Callers that gave up waiting for a connection")
+                    .register(registry);
+        }
+    }
+}
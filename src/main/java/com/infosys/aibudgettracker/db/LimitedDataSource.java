@@ -0,0 +1,134 @@
+package com.infosys.aibudgettracker.db;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Data source that hands out at most {@code permits} connections at a time. A caller takes a
+ * permit from a fair semaphore before asking the pool, and gives it back when it closes the
+ * connection, so waiters are served in arrival order and give up after {@code timeoutMillis}
+ * with a {@link SQLTransientConnectionException}, the same failure the pool itself reports.
+ *
+ * With one virtual thread per request nothing else bounds how many requests reach the database
+ * at once; the semaphore parks them without pinning a carrier thread, where the pool's own wait
+ * is tuned for a few hundred platform threads.
+ */
+class LimitedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int limit;
+    private final long timeoutMillis;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    LimitedDataSource(DataSource target, int permits, long timeoutMillis) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.limit = permits;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return limited(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return limited(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private void acquire() throws SQLException {
+        if (permits.tryAcquire()) {
+            acquired.increment();
+            return;
+        }
+        long started = System.nanoTime();
+        boolean granted;
+        try {
+            granted = permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waitNanos.add(System.nanoTime() - started);
+        }
+        if (!granted) {
+            rejected.increment();
+            throw new SQLTransientConnectionException("No database connection free within " + timeoutMillis
+                    + " ms, " + permits.getQueueLength() + " callers waiting");
+        }
+        acquired.increment();
+    }
+
+    /** Wraps the pooled connection so closing it returns the permit, once. */
+    private Connection limited(ConnectionSource source) throws SQLException {
+        Connection connection;
+        try {
+            connection = source.get();
+        } catch (SQLException | RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int inUse() {
+        return limit - permits.availablePermits();
+    }
+
+    int waiting() {
+        return permits.getQueueLength();
+    }
+
+    long acquired() {
+        return acquired.sum();
+    }
+
+    double waitNanos() {
+        return waitNanos.sum();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+}
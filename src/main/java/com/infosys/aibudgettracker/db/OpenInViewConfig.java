@@ -0,0 +1,31 @@
+package com.infosys.aibudgettracker.db;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.WebRequestHandlerInterceptorAdapter;
+
+/**
+ * Open-in-view for every endpoint but the dashboard, in place of Spring Boot's all-or-nothing
+ * {@code spring.jpa.open-in-view}. An open entity manager holds the first connection it uses
+ * until the response is written; the dashboard reads on several executor threads at once, each
+ * taking and returning its own connection, and a request thread holding one meanwhile would
+ * count twice against the db limiter.
+ */
+@Configuration
+public class OpenInViewConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addInterceptor(new WebRequestHandlerInterceptorAdapter(interceptor))
+                .excludePathPatterns("/api/dashboard/**");
+    }
+}
@@ -6,13 +6,12 @@ import com.infosys.aibudgettracker.forum.dto.PostResponse;
 import com.infosys.aibudgettracker.forum.model.Post;
 import com.infosys.aibudgettracker.forum.service.ForumService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/forum")
@@ -33,10 +32,10 @@ public class ForumController {
     public ResponseEntity<?> listPosts(@RequestParam(defaultValue = "0") int page,
                                        @RequestParam(defaultValue = "10") int size,
                                        Authentication auth) {
-        Page<Post> posts = forumService.listPosts(page, size);
+        Slice<Post> posts = forumService.listPosts(page, size);
         final Optional<String> currentUser = auth != null ? Optional.of(auth.getName()) : Optional.empty();
         // map page content
-        return ResponseEntity.ok(posts.getContent().stream().map(p -> forumService.toResponse(p, currentUser)).collect(Collectors.toList()));
+        return ResponseEntity.ok(forumService.toResponses(posts.getContent(), currentUser));
     }
 
     @PostMapping("/posts/{id}/like")
@@ -0,0 +1,9 @@
+package com.infosys.aibudgettracker.forum.dto;
+
+/**
+ * Projection of the like count of one post or comment, counted in the database for a page at once.
+ */
+public interface LikeCount {
+    Long getId();
+    Long getLikes();
+}
@@ -1,16 +1,34 @@
 package com.infosys.aibudgettracker.forum.repository;
 
+import com.infosys.aibudgettracker.forum.dto.LikeCount;
 import com.infosys.aibudgettracker.forum.model.CommentLike;
 import com.infosys.aibudgettracker.forum.model.Comment;
 import com.infosys.aibudgettracker.authservice.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CommentLikeRepository extends JpaRepository<CommentLike, Long> {
-    long countByComment(Comment comment);
     Optional<CommentLike> findByCommentAndUser(Comment comment, User user);
-    void deleteByComment(Comment comment);
+
+    @Query("select l.comment.id as id, count(l) as likes from CommentLike l where l.comment.id in :commentIds group by l.comment.id")
+    List<LikeCount> countByCommentIds(@Param("commentIds") Collection<Long> commentIds);
+
+    @Query("select l.comment.id from CommentLike l where l.user.id = :userId and l.comment.id in :commentIds")
+    List<Long> findCommentIdsLikedBy(@Param("userId") Long userId, @Param("commentIds") Collection<Long> commentIds);
+
+    @Modifying
+    @Query("delete from CommentLike l where l.comment.id = :commentId")
+    void deleteByCommentId(@Param("commentId") Long commentId);
+
+    @Modifying
+    @Query("delete from CommentLike l where l.comment.id in (select c.id from Comment c where c.post.id = :postId)")
+    void deleteByPostId(@Param("postId") Long postId);
 }
@@ -1,13 +1,23 @@
 package com.infosys.aibudgettracker.forum.repository;
 
 import com.infosys.aibudgettracker.forum.model.Comment;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByPostIdOrderByCreatedAtAsc(Long postId);
-    void deleteByPostId(Long postId);
+    // authors come in the same query, since every comment shown needs one
+    @EntityGraph(attributePaths = "user")
+    List<Comment> findByPostIdInOrderByCreatedAtAsc(Collection<Long> postIds);
+
+    @Modifying
+    @Query("delete from Comment c where c.post.id = :postId")
+    void deleteByPostId(@Param("postId") Long postId);
 }
@@ -1,16 +1,30 @@
 package com.infosys.aibudgettracker.forum.repository;
 
+import com.infosys.aibudgettracker.forum.dto.LikeCount;
 import com.infosys.aibudgettracker.forum.model.PostLike;
 import com.infosys.aibudgettracker.forum.model.Post;
 import com.infosys.aibudgettracker.authservice.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
-    long countByPost(Post post);
     Optional<PostLike> findByPostAndUser(Post post, User user);
-    void deleteByPost(Post post);
+
+    @Query("select l.post.id as id, count(l) as likes from PostLike l where l.post.id in :postIds group by l.post.id")
+    List<LikeCount> countByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Query("select l.post.id from PostLike l where l.user.id = :userId and l.post.id in :postIds")
+    List<Long> findPostIdsLikedBy(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("delete from PostLike l where l.post.id = :postId")
+    void deleteByPostId(@Param("postId") Long postId);
 }
@@ -1,12 +1,14 @@
 package com.infosys.aibudgettracker.forum.repository;
 
 import com.infosys.aibudgettracker.forum.model.Post;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
-    Page<Post> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    @EntityGraph(attributePaths = "user")
+    Slice<Post> findAllByOrderByCreatedAtDesc(Pageable pageable);
 }
@@ -3,17 +3,24 @@ package com.infosys.aibudgettracker.forum.service;
 import com.infosys.aibudgettracker.authservice.model.User;
 import com.infosys.aibudgettracker.authservice.repository.UserRepository;
 import com.infosys.aibudgettracker.forum.dto.CommentResponse;
+import com.infosys.aibudgettracker.forum.dto.LikeCount;
 import com.infosys.aibudgettracker.forum.dto.PostRequest;
 import com.infosys.aibudgettracker.forum.dto.PostResponse;
 import com.infosys.aibudgettracker.forum.model.*;
 import com.infosys.aibudgettracker.forum.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,54 +48,77 @@ public class ForumService {
         return postRepository.save(p);
     }
 
-    public Page<Post> listPosts(int page, int size) {
+    // a slice, since the listing never shows a total and a page would count every post for it
+    public Slice<Post> listPosts(int page, int size) {
         return postRepository.findAllByOrderByCreatedAtDesc(PageRequest.of(page, size));
     }
 
     public PostResponse toResponse(Post p, Optional<String> currentUsername) {
-        PostResponse r = new PostResponse();
-        r.setId(p.getId());
-        r.setAuthor(p.getUser() != null ? p.getUser().getUsername() : "");
-        r.setContent(p.getContent());
-        r.setCreatedAt(p.getCreatedAt());
-        long likes = postLikeRepository.countByPost(p);
-        r.setLikeCount(likes);
-        boolean liked = false;
-        final Optional<com.infosys.aibudgettracker.authservice.model.User> cu = currentUsername.isPresent()
+        return toResponses(List.of(p), currentUsername).get(0);
+    }
+
+    /**
+     * Maps a page of posts with their comments. Like counts, the viewer's likes and the comments
+     * with their authors are read for the whole page at once, so the number of queries does not
+     * depend on how many posts or comments there are.
+     */
+    public List<PostResponse> toResponses(List<Post> posts, Optional<String> currentUsername) {
+        if (posts.isEmpty()) return new ArrayList<>();
+        final Optional<User> cu = currentUsername.isPresent()
             ? userRepository.findByUsername(currentUsername.get())
             : Optional.empty();
-        if (cu.isPresent()) liked = postLikeRepository.findByPostAndUser(p, cu.get()).isPresent();
-        r.setLikedByCurrentUser(liked);
-        boolean editable = false;
-        if (cu.isPresent()) {
-            User current = cu.get();
-            if (p.getUser() != null && p.getUser().getUsername().equals(current.getUsername())) editable = true;
-            if (current.getRole() != null && current.getRole().name().equals("ADMIN")) editable = true;
-        }
-        r.setEditable(editable);
-        List<CommentResponse> comments = commentRepository.findByPostIdOrderByCreatedAtAsc(p.getId()).stream().map(c -> {
+        boolean admin = cu.isPresent() && cu.get().getRole() != null && cu.get().getRole().name().equals("ADMIN");
+
+        List<Long> postIds = posts.stream().map(Post::getId).collect(Collectors.toList());
+        Map<Long, Long> postLikes = likeCounts(postLikeRepository.countByPostIds(postIds));
+        Set<Long> likedPosts = cu.isPresent()
+            ? new HashSet<>(postLikeRepository.findPostIdsLikedBy(cu.get().getId(), postIds))
+            : Set.of();
+
+        List<Comment> comments = commentRepository.findByPostIdInOrderByCreatedAtAsc(postIds);
+        List<Long> commentIds = comments.stream().map(Comment::getId).collect(Collectors.toList());
+        Map<Long, Long> commentLikes = commentIds.isEmpty() ? Map.of() : likeCounts(commentLikeRepository.countByCommentIds(commentIds));
+        Set<Long> likedComments = cu.isPresent() && !commentIds.isEmpty()
+            ? new HashSet<>(commentLikeRepository.findCommentIdsLikedBy(cu.get().getId(), commentIds))
+            : Set.of();
+
+        Map<Long, List<CommentResponse>> commentsByPost = new HashMap<>();
+        for (Comment c : comments) {
             CommentResponse cr = new CommentResponse();
             cr.setId(c.getId());
             cr.setAuthor(c.getUser() != null ? c.getUser().getUsername() : "");
             cr.setContent(c.getContent());
             cr.setCreatedAt(c.getCreatedAt());
-            cr.setLikeCount(commentLikeRepository.countByComment(c));
-            boolean cliked = false;
-            if (cu.isPresent()) cliked = commentLikeRepository.findByCommentAndUser(c, cu.get()).isPresent();
-            cr.setLikedByCurrentUser(cliked);
-            boolean cEditable = false;
-            if (cu.isPresent()) {
-                User cur = cu.get();
-                if (c.getUser() != null && c.getUser().getUsername().equals(cur.getUsername())) cEditable = true;
-                if (cur.getRole() != null && cur.getRole().name().equals("ADMIN")) cEditable = true;
-            }
-            cr.setEditable(cEditable);
+            cr.setLikeCount(commentLikes.getOrDefault(c.getId(), 0L));
+            cr.setLikedByCurrentUser(likedComments.contains(c.getId()));
+            cr.setEditable(admin || cu.isPresent() && c.getUser() != null
+                    && c.getUser().getUsername().equals(cu.get().getUsername()));
             cr.setUpdatedAt(c.getUpdatedAt());
-            return cr;
-        }).collect(Collectors.toList());
-        r.setComments(comments);
+            commentsByPost.computeIfAbsent(c.getPost().getId(), id -> new ArrayList<>()).add(cr);
+        }
+
+        List<PostResponse> responses = new ArrayList<>(posts.size());
+        for (Post p : posts) {
+            PostResponse r = new PostResponse();
+            r.setId(p.getId());
+            r.setAuthor(p.getUser() != null ? p.getUser().getUsername() : "");
+            r.setContent(p.getContent());
+            r.setCreatedAt(p.getCreatedAt());
+            r.setLikeCount(postLikes.getOrDefault(p.getId(), 0L));
+            r.setLikedByCurrentUser(likedPosts.contains(p.getId()));
+            r.setEditable(admin || cu.isPresent() && p.getUser() != null
+                    && p.getUser().getUsername().equals(cu.get().getUsername()));
+            r.setComments(commentsByPost.getOrDefault(p.getId(), new ArrayList<>()));
             r.setUpdatedAt(p.getUpdatedAt());
-        return r;
+            responses.add(r);
+        }
+        return responses;
+    }
+
+    private static Map<Long, Long> likeCounts(List<LikeCount> counts) {
+        Map<Long, Long> byId = new HashMap<>();
+        for (LikeCount c : counts) byId.put(c.getId(), c.getLikes());
+        return byId;
     }
 
     public void toggleLikePost(Long postId, String username) {
@@ -141,6 +171,7 @@ public class ForumService {
         return postRepository.save(post);
     }
 
+    @Transactional
     public void deletePost(Long postId, String username) {
         User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
         Post post = postRepository.findById(postId).orElseThrow(() -> new RuntimeException("Post not found"));
@@ -149,13 +180,10 @@ public class ForumService {
         if (!allowed) throw new RuntimeException("Not authorized to delete this post");
 
         // delete post likes
-        postLikeRepository.deleteByPost(post);
+        postLikeRepository.deleteByPostId(postId);
 
-        // delete comment likes for each comment
-        List<Comment> comments = commentRepository.findByPostIdOrderByCreatedAtAsc(postId);
-        for (Comment c : comments) {
-            commentLikeRepository.deleteByComment(c);
-        }
+        // delete the likes of all its comments
+        commentLikeRepository.deleteByPostId(postId);
 
         // delete comments
         commentRepository.deleteByPostId(postId);
@@ -175,6 +203,7 @@ public class ForumService {
         return commentRepository.save(comment);
     }
 
+    @Transactional
     public void deleteComment(Long commentId, String username) {
         User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
         Comment comment = commentRepository.findById(commentId).orElseThrow(() -> new RuntimeException("Comment not found"));
@@ -183,7 +212,7 @@ public class ForumService {
         if (!allowed) throw new RuntimeException("Not authorized to delete this comment");
 
         // delete likes associated with this comment
-        commentLikeRepository.deleteByComment(comment);
+        commentLikeRepository.deleteByCommentId(commentId);
         commentRepository.delete(comment);
     }
 }
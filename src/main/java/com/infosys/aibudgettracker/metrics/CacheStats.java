@@ -0,0 +1,69 @@
+package com.infosys.aibudgettracker.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit and miss counts for one of the in-process per-user caches, published under Micrometer's
+ * standard cache meter names ({@code cache.gets} by {@code result}, {@code cache.size}) with a
+ * {@code cache} tag, so the hit rate is {@code hit / (hit + miss)} in any backend.
+ *
+ * The owning service creates it next to the map and returns it from its own
+ * {@link MeterBinder#bindTo}; counting costs one {@link LongAdder} increment per lookup.
+ */
+public final class CacheStats implements MeterBinder {
+
+    private final String name;
+    private final Map<?, ?> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CacheStats(String name, Map<?, ?> cache) {
+        this.name = name;
+        this.cache = cache;
+    }
+
+    /** Counts a lookup that returned {@code value}: null is a miss. */
+    public <V> V record(V value) {
+        if (value == null) misses.increment();
+        else hits.increment();
+        return value;
+    }
+
+    public void hit() {
+        hits.increment();
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tag("cache", name).tag("result", "hit")
+                .description("Cache lookups that found an entry")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tag("cache", name).tag("result", "miss")
+                .description("Cache lookups that had to load the entry")
+                .register(registry);
+        Gauge.builder("cache.size", cache, Map::size)
+                .tag("cache", name)
+                .description("Entries currently cached")
+                .register(registry);
+    }
+}
@@ -0,0 +1,71 @@
+package com.infosys.aibudgettracker.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the core services as {@code app.service}, tagged with the class,
+ * method, outcome ({@code success}/{@code error}), exception, and the {@code uri} pattern of the
+ * HTTP request that made the call ({@code none} for scheduled and batch work). The timer's count
+ * is the call counter, so errors per endpoint are {@code app_service_seconds_count{outcome="error"}}.
+ *
+ * Calls a service makes on itself bypass the proxy and are included in the caller's time.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Around("execution(public * com.infosys.aibudgettracker.transaction.service.TransactionService.*(..))"
+            + " || execution(public * com.infosys.aibudgettracker.analytics.service.AnalyticsService.*(..))"
+            + " || execution(public * com.infosys.aibudgettracker.analytics.service.AIPredictionService.*(..))"
+            + " || execution(public * com.infosys.aibudgettracker.budget.service.BudgetService.*(..))"
+            + " || execution(public * com.infosys.aibudgettracker.savingsgoal.service.SavingsGoalService.*(..))"
+            + " || execution(public * com.infosys.aibudgettracker.forum.service.ForumService.*(..))"
+            + " || execution(public * com.infosys.aibudgettracker.authservice.service.AuthService.*(..))")
+    public Object time(ProceedingJoinPoint pjp) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "success";
+        String exception = "none";
+        try {
+            return pjp.proceed();
+        } catch (Throwable e) {
+            outcome = "error";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Timer.builder("app.service")
+                    .description("Service method calls")
+                    .tag("class", pjp.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", pjp.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .tag("uri", uri())
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** The matched handler pattern (e.g. {@code /api/budgets/{id}}), which keeps ids out of the tag. */
+    static String uri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servlet)) return "none";
+        HttpServletRequest request = servlet.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "none";
+    }
+}
@@ -0,0 +1,90 @@
+package com.infosys.aibudgettracker.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL issued on behalf of one HTTP request: statements executed, time spent executing them, rows
+ * read from their result sets, and how often each statement shape (the SQL with literals and
+ * {@code IN} lists folded to {@code ?}) ran. {@link SqlStatsFilter} opens one per request and
+ * {@link SqlStatsListener} adds to whichever is current on the executing thread; work on other
+ * threads is only counted if it {@link #attach}es the request's stats.
+ *
+ * A JDBC batch counts as one statement, since it is one round trip.
+ */
+public final class SqlStats {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern SPACE = Pattern.compile("\\s+");
+
+    private int statements;
+    private long nanos;
+    private long rows;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    /** Starts counting for the calling thread, replacing whatever was current. */
+    public static SqlStats begin() {
+        SqlStats stats = new SqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /** The stats the calling thread is counting into, or null outside a request. */
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    /** Makes {@code stats} current on the calling thread (null clears it). */
+    public static void attach(SqlStats stats) {
+        if (stats == null) CURRENT.remove();
+        else CURRENT.set(stats);
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    synchronized void recordStatement(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        shapes.merge(shape(sql), 1, Integer::sum);
+    }
+
+    synchronized void recordRow() {
+        rows++;
+    }
+
+    public synchronized int statements() {
+        return statements;
+    }
+
+    public synchronized long nanos() {
+        return nanos;
+    }
+
+    public synchronized long rows() {
+        return rows;
+    }
+
+    /** The shape that ran most often, or null when nothing ran. */
+    public synchronized Map.Entry<String, Integer> mostRepeated() {
+        Map.Entry<String, Integer> top = null;
+        for (Map.Entry<String, Integer> e : shapes.entrySet()) {
+            if (top == null || e.getValue() > top.getValue()) top = e;
+        }
+        return top == null ? null : Map.entry(top.getKey(), top.getValue());
+    }
+
+    /** {@code sql} with literals replaced by {@code ?}, {@code IN} lists collapsed and whitespace squeezed. */
+    static String shape(String sql) {
+        String s = STRING.matcher(sql).replaceAll("?");
+        s = NUMBER.matcher(s).replaceAll("?");
+        s = IN_LIST.matcher(s).replaceAll("(?)");
+        return SPACE.matcher(s).replaceAll(" ").trim();
+    }
+}
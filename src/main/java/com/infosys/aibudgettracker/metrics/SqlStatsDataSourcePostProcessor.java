@@ -0,0 +1,55 @@
+package com.infosys.aibudgettracker.metrics;
+
+import io.micrometer.tracing.Tracer;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps the application's data source in a datasource-proxy so {@link SqlStatsListener} sees every
+ * statement, whether it came from Hibernate, Spring Data or a {@code JdbcTemplate}. The pool is
+ * still reachable through {@link DataSource#unwrap}, which is how its own metrics find it.
+ *
+ * Counting rows needs every result set proxied, one reflective call per getter; bulk loaders
+ * reading millions of cells can turn that off with {@code app.sql-stats.count-rows=false}.
+ */
+@Component
+public class SqlStatsDataSourcePostProcessor implements BeanPostProcessor, SmartInitializingSingleton {
+
+    private final boolean enabled;
+    private final boolean countRows;
+    private final ObjectProvider<Tracer> tracer;
+    private final List<SqlStatsListener> listeners = new ArrayList<>();
+
+    public SqlStatsDataSourcePostProcessor(@Value("${app.sql-stats.enabled:true}") boolean enabled,
+                                           @Value("${app.sql-stats.count-rows:true}") boolean countRows,
+                                           ObjectProvider<Tracer> tracer) {
+        this.enabled = enabled;
+        this.countRows = countRows;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) return bean;
+        SqlStatsListener listener = new SqlStatsListener();
+        listeners.add(listener);
+        ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource).listener(listener);
+        if (countRows) builder.proxyResultSet(listener);
+        return builder.build();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Tracer resolved = tracer.getIfAvailable();
+        if (resolved != null) listeners.forEach(l -> l.setTracer(resolved));
+    }
+}
@@ -0,0 +1,128 @@
+package com.infosys.aibudgettracker.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL each request runs, JWT lookup included, and publishes it per {@code uri}
+ * pattern as {@code app.sql.statements}, {@code app.sql.time} and {@code app.sql.rows}.
+ *
+ * A request that runs more than {@code app.sql-stats.statement-budget} statements, or the same
+ * statement shape {@code app.sql-stats.repeat-threshold} times (the usual sign of an N+1), is
+ * logged at WARN and counted in {@code app.sql.budget.exceeded}. With
+ * {@code app.sql-stats.headers=true} the counts also go back as {@code X-SQL-Count},
+ * {@code X-SQL-Time-Ms} and {@code X-SQL-Rows}; that buffers the body until the request is done,
+ * so it is meant for development and tests.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatsFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.sql-stats.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.sql-stats.headers:false}")
+    private boolean headers;
+
+    @Value("${app.sql-stats.statement-budget:50}")
+    private int statementBudget;
+
+    @Value("${app.sql-stats.repeat-threshold:10}")
+    private int repeatThreshold;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = headers ? new ContentCachingResponseWrapper(response) : null;
+        SqlStats stats = SqlStats.begin();
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            SqlStats.end();
+            record(request, stats);
+            if (buffered != null) {
+                buffered.setHeader("X-SQL-Count", Integer.toString(stats.statements()));
+                buffered.setHeader("X-SQL-Time-Ms", Long.toString(TimeUnit.NANOSECONDS.toMillis(stats.nanos())));
+                buffered.setHeader("X-SQL-Rows", Long.toString(stats.rows()));
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStats stats) {
+        String uri = uri(request);
+        DistributionSummary.builder("app.sql.statements")
+                .description("SQL statements executed per request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("app.sql.time")
+                .description("Time spent executing SQL per request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.nanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("app.sql.rows")
+                .description("Result set rows read per request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.rows());
+
+        if (stats.statements() > statementBudget) {
+            exceeded(uri, "statements");
+            log.warn("{} {} ran {} SQL statements (budget {}) taking {} ms and reading {} rows",
+                    request.getMethod(), request.getRequestURI(), stats.statements(), statementBudget,
+                    TimeUnit.NANOSECONDS.toMillis(stats.nanos()), stats.rows());
+        }
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatThreshold) {
+            exceeded(uri, "repeats");
+            log.warn("{} {} ran the same SQL {} times, likely an N+1: {}",
+                    request.getMethod(), request.getRequestURI(), repeated.getValue(), repeated.getKey());
+        }
+    }
+
+    private void exceeded(String uri, String reason) {
+        Counter.builder("app.sql.budget.exceeded")
+                .description("Requests over the SQL statement budget or repeat threshold")
+                .tag("uri", uri)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /** The matched handler pattern; requests no controller matched share one tag value. */
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "none";
+    }
+}
@@ -0,0 +1,78 @@
+package com.infosys.aibudgettracker.metrics;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogic;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Feeds the current {@link SqlStats} from the proxied data source: each executed statement with
+ * its wall time, and, as a result set factory, each row a caller reads with {@code next()}.
+ * Statements run with no stats current (scheduled jobs, startup) are not looked at. Inside a
+ * trace each statement also gets a {@code jdbc} span carrying its SQL.
+ */
+class SqlStatsListener implements QueryExecutionListener, ResultSetProxyLogicFactory {
+
+    private static final String STARTED = SqlStatsListener.class.getName() + ".started";
+    private static final String SPAN = SqlStatsListener.class.getName() + ".span";
+    private static final int MAX_STATEMENT_LENGTH = 500;
+
+    // set once the context is up, so startup queries do not pull the tracing beans in early
+    private volatile Tracer tracer;
+
+    void setTracer(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (SqlStats.current() != null) execInfo.addCustomValue(STARTED, System.nanoTime());
+        Tracer tracer = this.tracer;
+        if (tracer != null && tracer.currentSpan() != null && !queryInfoList.isEmpty()) {
+            String sql = queryInfoList.get(0).getQuery();
+            execInfo.addCustomValue(SPAN, tracer.nextSpan().name("jdbc")
+                    .tag("layer", "jdbc")
+                    .tag("db.statement", sql.length() > MAX_STATEMENT_LENGTH ? sql.substring(0, MAX_STATEMENT_LENGTH) : sql)
+                    .start());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Span span = execInfo.getCustomValue(SPAN, Span.class);
+        if (span != null) {
+            if (execInfo.getThrowable() != null) span.error(execInfo.getThrowable());
+            span.end();
+        }
+        SqlStats stats = SqlStats.current();
+        Long started = execInfo.getCustomValue(STARTED, Long.class);
+        if (stats == null || started == null || queryInfoList.isEmpty()) return;
+        // ExecutionInfo only has millisecond elapsed time, too coarse for single lookups
+        stats.recordStatement(queryInfoList.get(0).getQuery(), System.nanoTime() - started);
+    }
+
+    @Override
+    public ResultSetProxyLogic create(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        SqlStats stats = SqlStats.current();
+        return (proxy, method, args) -> {
+            if ("getTarget".equals(method.getName()) && method.getParameterCount() == 0) return resultSet;
+            Object result;
+            try {
+                result = method.invoke(resultSet, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (stats != null && "next".equals(method.getName()) && Boolean.TRUE.equals(result)) stats.recordRow();
+            return result;
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.infosys.aibudgettracker.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier (inside {@code synchronized}
+ * or a native frame), which turns a cheap park into a held OS thread. Listens for the JDK's
+ * {@code jdk.VirtualThreadPinned} flight recorder event and records it as the
+ * {@code app.vthreads.pinned} timer, tagged with the innermost application frame (or the
+ * innermost frame outside the JDK), and logs the stack the first time a site shows up.
+ *
+ * Only active when requests run on virtual threads, which needs a Java 21 runtime. Blocks
+ * shorter than {@code app.vthreads.pinned-threshold-ms} are not reported.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinning {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinning.class);
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.vthreads.pinned-threshold-ms:20}")
+    private long thresholdMillis;
+
+    private final Set<String> seenSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) stream.close();
+    }
+
+    private void record(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String site = site(frames);
+        Timer.builder("app.vthreads.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .tag("site", site)
+                .register(meterRegistry)
+                .record(event.getDuration());
+        if (seenSites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms at {}:\n{}", event.getDuration().toMillis(), site,
+                    frames.stream().limit(LOGGED_FRAMES).map(f -> "\tat " + frame(f) + ":" + f.getLineNumber()).collect(Collectors.joining("\n")));
+        }
+    }
+
+    private static String site(List<RecordedFrame> frames) {
+        RecordedFrame outsideJdk = null;
+        for (RecordedFrame f : frames) {
+            if (!f.isJavaFrame()) continue;
+            String type = f.getMethod().getType().getName();
+            if (type.startsWith("com.infosys.")) return frame(f);
+            if (outsideJdk == null && !type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                outsideJdk = f;
+            }
+        }
+        return outsideJdk == null ? "unknown" : frame(outsideJdk);
+    }
+
+    private static String frame(RecordedFrame f) {
+        return f.getMethod().getType().getName() + "." + f.getMethod().getName();
+    }
+}
@@ -0,0 +1,116 @@
+package com.infosys.aibudgettracker.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An exact amount of money held as a {@code long} count of minor units (paise, cents).
+ *
+ * Entities store amounts as minor units and aggregation works on raw {@code long}s through the
+ * static helpers, so sums are exact and never box. Conversion from the {@code Double} amounts the
+ * API takes rounds half-up on the decimal value the client sent (1.005 becomes 1.01), and
+ * conversion back divides once, which yields the same double as parsing the two-decimal string.
+ * Arithmetic throws {@link ArithmeticException} on overflow instead of wrapping.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final long MINOR_PER_UNIT = 100;
+    public static final Money ZERO = new Money(0);
+
+    private final long minor;
+
+    private Money(long minor) {
+        this.minor = minor;
+    }
+
+    public static Money ofMinor(long minor) {
+        return minor == 0 ? ZERO : new Money(minor);
+    }
+
+    public static Money of(double units) {
+        return ofMinor(toMinor(units));
+    }
+
+    public static Money of(BigDecimal units) {
+        return ofMinor(units.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /** Minor units for {@code units}, rounded half-up on its shortest decimal representation. */
+    public static long toMinor(double units) {
+        if (Double.isNaN(units) || Double.isInfinite(units)) {
+            throw new ArithmeticException("Not a money amount: " + units);
+        }
+        return BigDecimal.valueOf(units).setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /** Null-tolerant variant for optional entity and request fields. */
+    public static Long toMinor(Double units) {
+        return units == null ? null : toMinor(units.doubleValue());
+    }
+
+    public static double toUnits(long minor) {
+        return (double) minor / MINOR_PER_UNIT;
+    }
+
+    public static Double toUnits(Long minor) {
+        return minor == null ? null : toUnits(minor.longValue());
+    }
+
+    /** Sum of {@code values[from, to)}, failing rather than wrapping on overflow. */
+    public static long sum(long[] values, int from, int to) {
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            total = Math.addExact(total, values[i]);
+        }
+        return total;
+    }
+
+    public long minor() {
+        return minor;
+    }
+
+    public double toDouble() {
+        return toUnits(minor);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minor, other.minor));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minor, other.minor));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minor));
+    }
+
+    public int signum() {
+        return Long.signum(minor);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minor, other.minor);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).minor == minor;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minor);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,105 @@
+package com.infosys.aibudgettracker.money;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Converts the old floating-point money columns to {@link Money} minor units before Hibernate
+ * looks at the schema.
+ *
+ * For every old column still marked NOT NULL it adds the bigint minor-unit column, backfills it
+ * in chunks (rounding half-up on the stored decimal value, like {@link Money#toMinor(double)}),
+ * makes it NOT NULL and finally relaxes the old column to nullable, since new rows no longer
+ * write it. Every step can be rerun, so an interrupted start simply resumes. The old columns are
+ * kept for rollback and can be dropped by hand later. Fresh databases have nothing to convert.
+ */
+@Component
+public class MoneyColumnMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(MoneyColumnMigration.class);
+
+    private static final int CHUNK = 10_000;
+
+    // table, old column, minor-unit column
+    private static final String[][] COLUMNS = {
+            {"transactions", "amount", "amount_minor"},
+            {"budgets", "amount", "amount_minor"},
+            {"savings_goals", "target_amount", "target_amount_minor"},
+            {"savings_goals", "current_amount", "current_amount_minor"},
+            {"savings_goal_contributions", "amount", "amount_minor"},
+            {"savings_sweep_runs", "surplus", "surplus_minor"},
+            {"savings_sweep_runs", "allocated", "allocated_minor"},
+    };
+
+    @Autowired
+    private DataSource dataSource;
+
+    @PostConstruct
+    public void migrate() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        for (String[] column : COLUMNS) {
+            String table = column[0];
+            String legacy = column[1];
+            String minor = column[2];
+
+            Map<String, Boolean> nullable = columnsOf(table);
+            if (!Boolean.FALSE.equals(nullable.get(legacy))) continue; // absent, or already converted
+
+            if (!nullable.containsKey(minor)) {
+                jdbc.execute("alter table " + table + " add column " + minor + " bigint null");
+            }
+            long converted = 0;
+            int updated;
+            do {
+                updated = jdbc.update("update " + table + " set " + minor + " = round(cast(" + legacy
+                        + " as decimal(19,4)) * " + Money.MINOR_PER_UNIT + ") where " + minor + " is null limit " + CHUNK);
+                converted += updated;
+            } while (updated > 0);
+            jdbc.execute("alter table " + table + " modify " + minor + " bigint not null");
+            jdbc.execute("alter table " + table + " modify " + legacy + " double null");
+            log.info("Converted {}.{} to minor units in {} ({} rows)", table, legacy, minor, converted);
+        }
+    }
+
+    /** Column name to nullability for {@code table}, empty when the table does not exist yet. */
+    private Map<String, Boolean> columnsOf(String table) {
+        Map<String, Boolean> columns = new HashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData meta = connection.getMetaData();
+            for (String name : new String[]{table, table.toUpperCase(Locale.ROOT)}) {
+                try (ResultSet rs = meta.getColumns(connection.getCatalog(), null, name, null)) {
+                    while (rs.next()) {
+                        columns.put(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT),
+                                rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls);
+                    }
+                }
+                if (!columns.isEmpty()) break;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Could not read the schema of " + table + ": " + e.getMessage(), e);
+        }
+        return columns;
+    }
+
+    /** Makes the JPA bootstrap wait for the conversion. */
+    @Component
+    static class EntityManagerFactoryDependsOnMigration extends EntityManagerFactoryDependsOnPostProcessor {
+        EntityManagerFactoryDependsOnMigration() {
+            super("moneyColumnMigration");
+        }
+    }
+}
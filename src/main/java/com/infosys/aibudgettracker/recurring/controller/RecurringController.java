@@ -0,0 +1,52 @@
+package com.infosys.aibudgettracker.recurring.controller;
+
+import com.infosys.aibudgettracker.authservice.model.User;
+import com.infosys.aibudgettracker.authservice.repository.UserRepository;
+import com.infosys.aibudgettracker.recurring.dto.RecurringSeriesResponse;
+import com.infosys.aibudgettracker.recurring.service.RecurringDetectionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring")
+@CrossOrigin(origins = "http://localhost:5173")
+public class RecurringController {
+
+    @Autowired
+    private RecurringDetectionService recurringDetectionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @GetMapping
+    public ResponseEntity<?> getRecurringSeries(Authentication authentication) {
+        try {
+            String username = authentication.getName();
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            List<RecurringSeriesResponse> series = recurringDetectionService.getSeries(user.getId());
+            return ResponseEntity.ok(series);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // full re-analysis of the user's history, e.g. after an import
+    @PostMapping("/detect")
+    public ResponseEntity<?> detectRecurringSeries(Authentication authentication) {
+        try {
+            String username = authentication.getName();
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            List<RecurringSeriesResponse> series = recurringDetectionService.detectForUser(user.getId());
+            return ResponseEntity.ok(series);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.infosys.aibudgettracker.recurring.dto;
+
+import com.infosys.aibudgettracker.recurring.model.RecurringPeriod;
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringSeriesResponse {
+    private Long id;
+    private String label;
+    private String category;
+    private TransactionType type;
+    private RecurringPeriod period;
+    private Double amount;
+    private Integer occurrences;
+    private LocalDate lastDate;
+    private LocalDate nextExpectedDate;
+    private Double confidence;
+    // false once the series has missed more than one expected occurrence
+    private boolean active;
+}
@@ -0,0 +1,27 @@
+package com.infosys.aibudgettracker.recurring.event;
+
+import com.infosys.aibudgettracker.recurring.model.RecurringSeries;
+
+/**
+ * Published when a user's detected recurring series are created, advanced or replaced.
+ *
+ * {@code series} is the one series that was created or advanced, with every other series of the
+ * user unchanged; it is null when the user's series were replaced wholesale.
+ */
+public class RecurringSeriesChangedEvent {
+
+    private final Long userId;
+    private final RecurringSeries series;
+
+    public RecurringSeriesChangedEvent(Long userId) {
+        this(userId, null);
+    }
+
+    public RecurringSeriesChangedEvent(Long userId, RecurringSeries series) {
+        this.userId = userId;
+        this.series = series;
+    }
+
+    public Long getUserId() { return userId; }
+    public RecurringSeries getSeries() { return series; }
+}
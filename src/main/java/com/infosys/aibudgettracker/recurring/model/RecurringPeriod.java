@@ -0,0 +1,49 @@
+package com.infosys.aibudgettracker.recurring.model;
+
+import java.time.LocalDate;
+
+/**
+ * Cadences a recurring series can have, with the interval band (in days) that still counts as
+ * that cadence. Calendar-based cadences step by calendar units so a bill on the 31st stays at
+ * month end.
+ */
+public enum RecurringPeriod {
+    WEEKLY(7, 1),
+    BIWEEKLY(14, 2),
+    MONTHLY(30, 3),
+    QUARTERLY(91, 5),
+    YEARLY(365, 7);
+
+    private final int days;
+    private final int tolerance;
+
+    RecurringPeriod(int days, int tolerance) {
+        this.days = days;
+        this.tolerance = tolerance;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public boolean matches(int intervalDays) {
+        return Math.abs(intervalDays - days) <= tolerance;
+    }
+
+    public LocalDate next(LocalDate last) {
+        switch (this) {
+            case MONTHLY: return last.plusMonths(1);
+            case QUARTERLY: return last.plusMonths(3);
+            case YEARLY: return last.plusYears(1);
+            default: return last.plusDays(days);
+        }
+    }
+
+    /** The cadence whose band contains {@code intervalDays}, or null. */
+    public static RecurringPeriod of(int intervalDays) {
+        for (RecurringPeriod p : values()) {
+            if (p.matches(intervalDays)) return p;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,73 @@
+package com.infosys.aibudgettracker.recurring.model;
+
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A subscription, bill or salary detected in a user's history: transactions with the same
+ * normalized description, a similar amount and a regular interval.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "recurring_series", indexes = @Index(name = "idx_recurring_series_user", columnList = "user_id"))
+public class RecurringSeries {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    // normalized description the series was grouped by
+    @Column(nullable = false)
+    private String seriesKey;
+
+    // description as the user wrote it on the latest occurrence
+    @Column(nullable = false)
+    private String label;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecurringPeriod period;
+
+    // mean amount of the occurrences
+    @Column(nullable = false)
+    private Double amount;
+
+    @Column(nullable = false)
+    private Integer occurrences;
+
+    @Column(nullable = false)
+    private LocalDate firstDate;
+
+    @Column(nullable = false)
+    private LocalDate lastDate;
+
+    @Column(nullable = false)
+    private LocalDate nextExpectedDate;
+
+    // share of intervals that fall inside the period's band
+    @Column(nullable = false)
+    private Double confidence;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,20 @@
+package com.infosys.aibudgettracker.recurring.repository;
+
+import com.infosys.aibudgettracker.recurring.model.RecurringSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RecurringSeriesRepository extends JpaRepository<RecurringSeries, Long> {
+    List<RecurringSeries> findByUserIdOrderByNextExpectedDateAsc(Long userId);
+    List<RecurringSeries> findByUserIdAndSeriesKey(Long userId, String seriesKey);
+
+    @Modifying
+    @Query("delete from RecurringSeries s where s.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
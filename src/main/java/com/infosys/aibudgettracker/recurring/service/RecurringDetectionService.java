@@ -0,0 +1,445 @@
+package com.infosys.aibudgettracker.recurring.service;
+
+import com.infosys.aibudgettracker.metrics.CacheStats;
+import com.infosys.aibudgettracker.money.Money;
+import com.infosys.aibudgettracker.recurring.dto.RecurringSeriesResponse;
+import com.infosys.aibudgettracker.recurring.event.RecurringSeriesChangedEvent;
+import com.infosys.aibudgettracker.recurring.model.RecurringPeriod;
+import com.infosys.aibudgettracker.recurring.model.RecurringSeries;
+import com.infosys.aibudgettracker.recurring.repository.RecurringSeriesRepository;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent;
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+import com.infosys.aibudgettracker.transaction.model.Transaction;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Detects subscriptions, bills and other regular transactions.
+ *
+ * The batch pass reads a user's history once into primitive columns and runs
+ * {@link RecurringDetector} over it, replacing the user's stored series. After that, new
+ * transactions are handled incrementally: one that lands on a known series' next date advances
+ * it in place, and otherwise the last few occurrences of its description group (kept in memory
+ * for recently analysed users) are re-tested so a new series is picked up as soon as its third
+ * occurrence arrives. Users whose in-memory state is not loaded, or whose history was edited,
+ * are re-analysed in the background.
+ *
+ * Changes are handled after they commit, off the request thread: each user's events queue up and
+ * one task at a time works through them in order. That task and {@link #detectForUser} hold the
+ * same per-user lock, so a full re-analysis never interleaves with an incremental update.
+ */
+@Service
+public class RecurringDetectionService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RecurringDetectionService.class);
+
+    // occurrences remembered per description group for incremental detection
+    private static final int TAIL = 12;
+    private static final int USER_LOCK_STRIPES = 64;
+
+    @Autowired
+    private RecurringSeriesRepository seriesRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor executor;
+
+    @Value("${app.recurring.amount-tolerance:0.10}")
+    private double amountTolerance;
+
+    @Value("${app.recurring.min-occurrences:3}")
+    private int minOccurrences;
+
+    @Value("${app.recurring.min-confidence:0.7}")
+    private double minConfidence;
+
+    private final Map<Long, Map<String, Tail>> tails;
+    private final CacheStats tailStats;
+    private final Set<Long> dirtyUsers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Queue<TransactionChangedEvent>> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock[] userLocks = new ReentrantLock[USER_LOCK_STRIPES];
+
+    public RecurringDetectionService(@Value("${app.recurring.max-cached-users:500}") int maxCachedUsers) {
+        this.tails = Collections.synchronizedMap(new LinkedHashMap<Long, Map<String, Tail>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Map<String, Tail>> eldest) {
+                return size() > maxCachedUsers;
+            }
+        });
+        this.tailStats = new CacheStats("recurring-tails", tails);
+        for (int i = 0; i < USER_LOCK_STRIPES; i++) userLocks[i] = new ReentrantLock();
+    }
+
+    public List<RecurringSeriesResponse> getSeries(Long userId) {
+        return seriesRepository.findByUserIdOrderByNextExpectedDateAsc(userId)
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /** Re-analyses the user's full history and replaces their stored series. */
+    public List<RecurringSeriesResponse> detectForUser(Long userId) {
+        ReentrantLock lock = userLock(userId);
+        lock.lock();
+        try {
+            detect(userId);
+        } finally {
+            lock.unlock();
+        }
+        return getSeries(userId);
+    }
+
+    private void detect(Long userId) {
+        long started = System.currentTimeMillis();
+        Columns columns = load(userId);
+        RecurringDetector detector = new RecurringDetector(amountTolerance, minOccurrences, minConfidence);
+        List<RecurringDetector.Candidate> candidates =
+                detector.detect(columns.size, columns.group, columns.keys.size(), columns.day, columns.amount);
+
+        List<RecurringSeries> series = new ArrayList<>(candidates.size());
+        for (RecurringDetector.Candidate c : candidates) {
+            series.add(toSeries(userId, columns.keys.get(c.group), columns.labels.get(c.group),
+                    columns.categories.get(c.group), columns.types.get(c.group), c));
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            seriesRepository.deleteByUserId(userId);
+            seriesRepository.saveAll(series);
+        });
+        tails.put(userId, columns.tailsByKey());
+        dirtyUsers.remove(userId);
+        eventPublisher.publishEvent(new RecurringSeriesChangedEvent(userId));
+
+        log.debug("Recurring detection for user {}: {} transactions, {} series in {} ms",
+                userId, columns.size, series.size(), System.currentTimeMillis() - started);
+    }
+
+    @Scheduled(fixedDelayString = "${app.recurring.refresh-interval-ms:300000}")
+    public void refreshDirtyUsers() {
+        for (Long userId : new ArrayList<>(dirtyUsers)) {
+            try {
+                detectForUser(userId);
+            } catch (RuntimeException e) {
+                log.warn("Recurring detection failed for user {}: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        Long userId = event.getUserId();
+        boolean[] start = new boolean[1];
+        pending.compute(userId, (id, queue) -> {
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                start[0] = true;
+            }
+            queue.add(event);
+            return queue;
+        });
+        // a user's queue is drained by one task at a time; the entry goes once it is empty
+        if (start[0]) executor.execute(() -> drain(userId));
+    }
+
+    private void drain(Long userId) {
+        while (true) {
+            Object[] next = new Object[1];
+            pending.computeIfPresent(userId, (id, queue) -> {
+                next[0] = queue.poll();
+                return next[0] == null ? null : queue;
+            });
+            if (next[0] == null) return;
+            ReentrantLock lock = userLock(userId);
+            lock.lock();
+            try {
+                apply((TransactionChangedEvent) next[0]);
+            } catch (RuntimeException e) {
+                log.warn("Incremental recurring detection failed for user {}: {}", userId, e.getMessage());
+                dirtyUsers.add(userId);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void apply(TransactionChangedEvent event) {
+        if (event.getChangeType() != TransactionChangedEvent.ChangeType.CREATED) {
+            // edits and deletes can split or break a series; recheck the whole history later
+            dirtyUsers.add(event.getUserId());
+            return;
+        }
+        Transaction t = event.getCurrent();
+        if (t.getAmount() == null || t.getTransactionDate() == null) return;
+
+        String key = normalize(t.getDescription(), t.getCategory());
+        LocalDate date = t.getTransactionDate().toLocalDate();
+        List<RecurringSeries> known = seriesRepository.findByUserIdAndSeriesKey(t.getUserId(), key);
+        for (RecurringSeries s : known) {
+            if (s.getType() == t.getType() && withinTolerance(s.getAmount(), t.getAmount()) && advance(s, t, date)) {
+                appendToTail(t, key, date);
+                return;
+            }
+        }
+
+        Tail tail = appendToTail(t, key, date);
+        if (tail == null) {
+            dirtyUsers.add(t.getUserId());
+            return;
+        }
+        RecurringDetector detector = new RecurringDetector(amountTolerance, minOccurrences, minConfidence);
+        for (RecurringDetector.Candidate c : tail.detect(detector)) {
+            if (c.lastDay != date.toEpochDay() || !withinTolerance(c.amount, t.getAmount())) continue;
+            boolean exists = known.stream().anyMatch(s -> s.getType() == t.getType() && withinTolerance(s.getAmount(), c.amount));
+            if (!exists) {
+                RecurringSeries created = seriesRepository.save(toSeries(t.getUserId(), key, labelOf(t), t.getCategory(), t.getType(), c));
+                eventPublisher.publishEvent(new RecurringSeriesChangedEvent(t.getUserId(), created));
+            }
+        }
+    }
+
+    private boolean advance(RecurringSeries s, Transaction t, LocalDate date) {
+        if (!date.isAfter(s.getLastDate())) return false;
+        int interval = (int) (date.toEpochDay() - s.getLastDate().toEpochDay());
+        boolean onSchedule = s.getPeriod().matches(interval)
+                || Math.abs(date.toEpochDay() - s.getNextExpectedDate().toEpochDay()) <= s.getPeriod().getDays() / 10;
+        if (!onSchedule) return false;
+
+        int n = s.getOccurrences();
+        s.setAmount((s.getAmount() * n + t.getAmount()) / (n + 1));
+        s.setOccurrences(n + 1);
+        // one more interval inside the band
+        s.setConfidence((s.getConfidence() * (n - 1) + 1.0) / n);
+        s.setLastDate(date);
+        s.setNextExpectedDate(s.getPeriod().next(date));
+        s.setLabel(labelOf(t));
+        seriesRepository.save(s);
+        eventPublisher.publishEvent(new RecurringSeriesChangedEvent(t.getUserId(), s));
+        return true;
+    }
+
+    private ReentrantLock userLock(Long userId) {
+        return userLocks[Long.hashCode(userId) & (USER_LOCK_STRIPES - 1)];
+    }
+
+    private Tail appendToTail(Transaction t, String key, LocalDate date) {
+        Map<String, Tail> userTails = tailStats.record(tails.get(t.getUserId()));
+        if (userTails == null) return null;
+        synchronized (userTails) {
+            Tail tail = userTails.computeIfAbsent(key + '\u0000' + t.getType(), k -> new Tail());
+            tail.add((int) date.toEpochDay(), t.getAmount());
+            return tail.copy();
+        }
+    }
+
+    private Columns load(Long userId) {
+        Columns columns = new Columns();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("select type, amount_minor, description, category, transaction_date "
+                    + "from transactions where user_id = ? order by transaction_date");
+            ps.setLong(1, userId);
+            ps.setFetchSize(5000);
+            return ps;
+        }, rs -> {
+            TransactionType type = TransactionType.valueOf(rs.getString(1));
+            String description = rs.getString(3);
+            String category = rs.getString(4);
+            columns.add(type, Money.toUnits(rs.getLong(2)), description, category,
+                    (int) rs.getTimestamp(5).toLocalDateTime().toLocalDate().toEpochDay());
+        });
+        return columns;
+    }
+
+    private RecurringSeries toSeries(Long userId, String key, String label, String category,
+                                     TransactionType type, RecurringDetector.Candidate c) {
+        LocalDate last = LocalDate.ofEpochDay(c.lastDay);
+        RecurringSeries s = new RecurringSeries();
+        s.setUserId(userId);
+        s.setSeriesKey(key);
+        s.setLabel(label);
+        s.setCategory(category);
+        s.setType(type);
+        s.setPeriod(c.period);
+        s.setAmount(c.amount);
+        s.setOccurrences(c.occurrences);
+        s.setFirstDate(LocalDate.ofEpochDay(c.firstDay));
+        s.setLastDate(last);
+        s.setNextExpectedDate(c.period.next(last));
+        s.setConfidence(c.confidence);
+        return s;
+    }
+
+    private boolean withinTolerance(double reference, double amount) {
+        return Math.abs(amount - reference) <= amountTolerance * Math.abs(reference);
+    }
+
+    private static String labelOf(Transaction t) {
+        return t.getDescription() != null && !t.getDescription().isBlank() ? t.getDescription().trim() : t.getCategory();
+    }
+
+    /**
+     * Grouping key for a description: lower-cased letters only, so "NETFLIX.COM 8841" and
+     * "Netflix.com 9910" fall together. Transactions without a description group by category.
+     */
+    public static String normalize(String description, String category) {
+        StringBuilder sb = new StringBuilder();
+        if (description != null) {
+            boolean space = false;
+            for (int i = 0; i < description.length(); i++) {
+                char c = description.charAt(i);
+                if (Character.isLetter(c)) {
+                    if (space && sb.length() > 0) sb.append(' ');
+                    sb.append(Character.toLowerCase(c));
+                    space = false;
+                } else if (Character.isWhitespace(c)) {
+                    space = true;
+                }
+            }
+        }
+        if (sb.length() == 0) {
+            return "#" + (category == null ? "" : category.trim().toLowerCase(Locale.ROOT));
+        }
+        return sb.length() > 200 ? sb.substring(0, 200) : sb.toString();
+    }
+
+    /** A series stays active until it has missed more than one expected occurrence. */
+    public static boolean isActive(RecurringSeries s, LocalDate today) {
+        return !today.isAfter(s.getPeriod().next(s.getNextExpectedDate()));
+    }
+
+    private RecurringSeriesResponse mapToResponse(RecurringSeries s) {
+        boolean active = isActive(s, LocalDate.now());
+        return new RecurringSeriesResponse(
+                s.getId(),
+                s.getLabel(),
+                s.getCategory(),
+                s.getType(),
+                s.getPeriod(),
+                s.getAmount(),
+                s.getOccurrences(),
+                s.getLastDate(),
+                s.getNextExpectedDate(),
+                s.getConfidence(),
+                active
+        );
+    }
+
+    /** One user's history as primitive columns, plus the per-group tails for incremental use. */
+    private final class Columns {
+        int size;
+        int[] group = new int[1024];
+        int[] day = new int[1024];
+        double[] amount = new double[1024];
+        final Map<String, Integer> groupIndex = new HashMap<>();
+        final List<String> keys = new ArrayList<>();
+        final List<String> labels = new ArrayList<>();
+        final List<String> categories = new ArrayList<>();
+        final List<TransactionType> types = new ArrayList<>();
+        final List<Tail> tails = new ArrayList<>();
+
+        void add(TransactionType type, double value, String description, String category, int epochDay) {
+            String key = normalize(description, category);
+            String groupKey = key + '\u0000' + type;
+            Integer g = groupIndex.get(groupKey);
+            if (g == null) {
+                g = keys.size();
+                groupIndex.put(groupKey, g);
+                keys.add(key);
+                labels.add(null);
+                categories.add(null);
+                types.add(type);
+                tails.add(new Tail());
+            }
+            // rows arrive in date order, so the last one seen names the group
+            labels.set(g, description != null && !description.isBlank() ? description.trim() : category);
+            categories.set(g, category);
+            tails.get(g).add(epochDay, value);
+
+            if (size == group.length) {
+                group = Arrays.copyOf(group, size * 2);
+                day = Arrays.copyOf(day, size * 2);
+                amount = Arrays.copyOf(amount, size * 2);
+            }
+            group[size] = g;
+            day[size] = epochDay;
+            amount[size] = value;
+            size++;
+        }
+
+        Map<String, Tail> tailsByKey() {
+            Map<String, Tail> byKey = new HashMap<>(groupIndex.size() * 2);
+            groupIndex.forEach((groupKey, g) -> byKey.put(groupKey, tails.get(g)));
+            return byKey;
+        }
+    }
+
+    /** Ring of the most recent occurrences of one description group. */
+    private static final class Tail {
+        final int[] days = new int[TAIL];
+        final double[] amounts = new double[TAIL];
+        int count;
+
+        void add(int epochDay, double value) {
+            days[count % TAIL] = epochDay;
+            amounts[count % TAIL] = value;
+            count++;
+        }
+
+        Tail copy() {
+            Tail copy = new Tail();
+            System.arraycopy(days, 0, copy.days, 0, TAIL);
+            System.arraycopy(amounts, 0, copy.amounts, 0, TAIL);
+            copy.count = count;
+            return copy;
+        }
+
+        List<RecurringDetector.Candidate> detect(RecurringDetector detector) {
+            int n = Math.min(count, TAIL);
+            int[] rows = new int[n];
+            for (int i = 0; i < n; i++) rows[i] = i;
+            return detector.detectGroup(0, rows, 0, n, days, amounts);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        tailStats.bindTo(registry);
+    }
+}
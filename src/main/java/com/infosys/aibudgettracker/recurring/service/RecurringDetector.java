@@ -0,0 +1,166 @@
+package com.infosys.aibudgettracker.recurring.service;
+
+import com.infosys.aibudgettracker.recurring.model.RecurringPeriod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds regular series in columnar transaction data.
+ *
+ * Rows are bucketed by description group with a counting sort, each group is split into amount
+ * clusters (amounts within {@code tolerance} of the cluster's smallest), and each cluster with
+ * enough distinct days is tested against the {@link RecurringPeriod} bands: the median interval
+ * picks the period and the share of intervals inside its band is the confidence.
+ * Everything runs on primitive arrays; cost is O(n log n) in the largest group.
+ */
+final class RecurringDetector {
+
+    // low bits of the packed amount/row sort key
+    private static final int ROW_BITS = 21;
+
+    private final double tolerance;
+    private final int minOccurrences;
+    private final double minConfidence;
+
+    RecurringDetector(double tolerance, int minOccurrences, double minConfidence) {
+        this.tolerance = tolerance;
+        this.minOccurrences = minOccurrences;
+        this.minConfidence = minConfidence;
+    }
+
+    /**
+     * @param n      number of rows
+     * @param group  description group of each row, in {@code [0, groups)}
+     * @param day    epoch day of each row; rows must be in date order
+     * @param amount amount of each row
+     */
+    List<Candidate> detect(int n, int[] group, int groups, int[] day, double[] amount) {
+        int[] start = new int[groups + 1];
+        for (int i = 0; i < n; i++) start[group[i] + 1]++;
+        for (int g = 0; g < groups; g++) start[g + 1] += start[g];
+        int[] order = new int[n];
+        int[] fill = Arrays.copyOf(start, groups);
+        for (int i = 0; i < n; i++) order[fill[group[i]]++] = i;
+
+        List<Candidate> out = new ArrayList<>();
+        Scratch scratch = new Scratch();
+        for (int g = 0; g < groups; g++) {
+            if (start[g + 1] - start[g] >= minOccurrences) {
+                detectGroup(g, order, start[g], start[g + 1], day, amount, scratch, out);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Same test for a single group given as {@code rows[from, to)}, used for the short per-group
+     * tails kept for incremental detection.
+     */
+    List<Candidate> detectGroup(int g, int[] rows, int from, int to, int[] day, double[] amount) {
+        List<Candidate> out = new ArrayList<>();
+        if (to - from >= minOccurrences) detectGroup(g, rows, from, to, day, amount, new Scratch(), out);
+        return out;
+    }
+
+    private void detectGroup(int g, int[] rows, int from, int to, int[] day, double[] amount,
+                             Scratch s, List<Candidate> out) {
+        int size = to - from;
+        if (size >= 1 << ROW_BITS) return; // a single description this large is not a bill
+        long[] keys = s.keys(size);
+        for (int i = 0; i < size; i++) {
+            long cents = Math.max(0L, Math.round(amount[rows[from + i]] * 100.0));
+            keys[i] = (cents << ROW_BITS) | i;
+        }
+        Arrays.sort(keys, 0, size);
+
+        int clusterStart = 0;
+        for (int i = 1; i <= size; i++) {
+            boolean close = i < size && (keys[i] >>> ROW_BITS) <= (keys[clusterStart] >>> ROW_BITS) * (1.0 + tolerance);
+            if (close) continue;
+            if (i - clusterStart >= minOccurrences) {
+                testCluster(g, rows, from, keys, clusterStart, i, day, amount, s, out);
+            }
+            clusterStart = i;
+        }
+    }
+
+    private void testCluster(int g, int[] rows, int from, long[] keys, int lo, int hi,
+                             int[] day, double[] amount, Scratch s, List<Candidate> out) {
+        int size = hi - lo;
+        int[] days = s.days(size);
+        double sum = 0.0;
+        for (int i = lo; i < hi; i++) {
+            int row = rows[from + (int) (keys[i] & ((1L << ROW_BITS) - 1))];
+            days[i - lo] = day[row];
+            sum += amount[row];
+        }
+        Arrays.sort(days, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == 0 || days[i] != days[distinct - 1]) days[distinct++] = days[i];
+        }
+        if (distinct < minOccurrences) return;
+
+        int intervals = distinct - 1;
+        int[] gaps = s.gaps(intervals);
+        for (int i = 0; i < intervals; i++) gaps[i] = days[i + 1] - days[i];
+        int[] sorted = Arrays.copyOf(gaps, intervals);
+        Arrays.sort(sorted);
+        RecurringPeriod period = RecurringPeriod.of(sorted[intervals / 2]);
+        if (period == null) return;
+
+        int inBand = 0;
+        for (int i = 0; i < intervals; i++) {
+            if (period.matches(gaps[i])) inBand++;
+        }
+        double confidence = (double) inBand / intervals;
+        if (confidence < minConfidence) return;
+
+        out.add(new Candidate(g, period, sum / size, distinct, days[0], days[distinct - 1], confidence));
+    }
+
+    static final class Candidate {
+        final int group;
+        final RecurringPeriod period;
+        final double amount;
+        final int occurrences;
+        final int firstDay;
+        final int lastDay;
+        final double confidence;
+
+        Candidate(int group, RecurringPeriod period, double amount, int occurrences,
+                  int firstDay, int lastDay, double confidence) {
+            this.group = group;
+            this.period = period;
+            this.amount = amount;
+            this.occurrences = occurrences;
+            this.firstDay = firstDay;
+            this.lastDay = lastDay;
+            this.confidence = confidence;
+        }
+    }
+
+    /** Buffers reused across the groups of one run. */
+    private static final class Scratch {
+        private long[] keys = new long[64];
+        private int[] days = new int[64];
+        private int[] gaps = new int[64];
+
+        long[] keys(int size) {
+            if (keys.length < size) keys = new long[Math.max(size, keys.length * 2)];
+            return keys;
+        }
+
+        int[] days(int size) {
+            if (days.length < size) days = new int[Math.max(size, days.length * 2)];
+            return days;
+        }
+
+        int[] gaps(int size) {
+            if (gaps.length < size) gaps = new int[Math.max(size, gaps.length * 2)];
+            return gaps;
+        }
+    }
+}
@@ -2,11 +2,15 @@ package com.infosys.aibudgettracker.savingsgoal.controller;
 
 import com.infosys.aibudgettracker.authservice.model.User;
 import com.infosys.aibudgettracker.authservice.repository.UserRepository;
+import com.infosys.aibudgettracker.savingsgoal.dto.SavingsContributionResponse;
+import com.infosys.aibudgettracker.savingsgoal.dto.SavingsGoalForecast;
 import com.infosys.aibudgettracker.savingsgoal.dto.SavingsGoalProgress;
 import com.infosys.aibudgettracker.savingsgoal.dto.SavingsGoalRequest;
 import com.infosys.aibudgettracker.savingsgoal.dto.SavingsGoalResponse;
+import com.infosys.aibudgettracker.savingsgoal.service.SavingsForecastService;
 import com.infosys.aibudgettracker.savingsgoal.service.SavingsGoalService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -23,6 +27,9 @@ public class SavingsGoalController {
     @Autowired
     private SavingsGoalService savingsGoalService;
     
+    @Autowired
+    private SavingsForecastService savingsForecastService;
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -65,6 +72,24 @@ public class SavingsGoalController {
         }
     }
     
+    @GetMapping("/forecast")
+    public ResponseEntity<?> getSavingsGoalForecast(
+            @RequestParam(required = false, defaultValue = "10000") int paths,
+            Authentication authentication) {
+        try {
+            if (paths < 100 || paths > 100000) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("paths must be between 100 and 100000");
+            }
+            String username = authentication.getName();
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            List<SavingsGoalForecast> forecast = savingsForecastService.forecast(user.getId(), paths);
+            return ResponseEntity.ok(forecast);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<?> updateSavingsGoal(
             @PathVariable Long id,
@@ -76,6 +101,9 @@ public class SavingsGoalController {
                     .orElseThrow(() -> new RuntimeException("User not found"));
             SavingsGoalResponse response = savingsGoalService.updateSavingsGoal(id, user.getId(), request);
             return ResponseEntity.ok(response);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Savings goal was changed by another request, please reload and try again");
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
@@ -115,4 +143,17 @@ public class SavingsGoalController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
+    
+    @GetMapping("/{id}/contributions")
+    public ResponseEntity<?> getContributions(@PathVariable Long id, Authentication authentication) {
+        try {
+            String username = authentication.getName();
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            List<SavingsContributionResponse> contributions = savingsGoalService.getContributions(id, user.getId());
+            return ResponseEntity.ok(contributions);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package com.infosys.aibudgettracker.savingsgoal.dto;
+
+import com.infosys.aibudgettracker.savingsgoal.model.ContributionSource;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class SavingsContributionResponse {
+    private Long id;
+    private Long goalId;
+    private Double amount;
+    private ContributionSource source;
+    private LocalDateTime createdAt;
+}
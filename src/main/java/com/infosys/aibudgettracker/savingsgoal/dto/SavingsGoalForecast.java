@@ -0,0 +1,21 @@
+package com.infosys.aibudgettracker.savingsgoal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class SavingsGoalForecast {
+    private Long id;
+    private String name;
+    private Double targetAmount;
+    private Double currentAmount;
+    private LocalDate targetDate;
+    // share of simulated paths reaching the target by targetDate, null when there is no target date
+    private Double probabilityByTargetDate;
+    // null when fewer than that share of paths reach the target within the simulated horizon
+    private LocalDate p10CompletionDate;
+    private LocalDate p50CompletionDate;
+    private LocalDate p90CompletionDate;
+}
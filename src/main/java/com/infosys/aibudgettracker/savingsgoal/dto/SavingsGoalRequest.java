@@ -9,4 +9,7 @@ public class SavingsGoalRequest {
     private Double targetAmount;
     private Double currentAmount;
     private LocalDate targetDate;
+    private Integer priority;
+    // version the client last saw; when present a stale edit is rejected
+    private Long version;
 }
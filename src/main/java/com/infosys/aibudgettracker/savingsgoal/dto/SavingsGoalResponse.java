@@ -13,7 +13,9 @@ public class SavingsGoalResponse {
     private Double targetAmount;
     private Double currentAmount;
     private LocalDate targetDate;
+    private Integer priority;
     private Long userId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
@@ -0,0 +1,14 @@
+package com.infosys.aibudgettracker.savingsgoal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SweepSummary {
+    private String month;
+    private int usersSwept;
+    private int usersSkipped;
+    private double totalAllocated;
+    private long elapsedMs;
+}
@@ -0,0 +1,6 @@
+package com.infosys.aibudgettracker.savingsgoal.model;
+
+public enum ContributionSource {
+    // ADJUSTMENT is an opening balance or an edit of the current amount, and may be negative
+    MANUAL, SWEEP, ADJUSTMENT
+}
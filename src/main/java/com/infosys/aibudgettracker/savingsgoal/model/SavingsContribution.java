@@ -0,0 +1,54 @@
+package com.infosys.aibudgettracker.savingsgoal.model;
+
+import com.infosys.aibudgettracker.money.Money;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only ledger entry for money added to a savings goal. Rows are never updated;
+ * the goal's current amount is kept in step with an atomic increment in the same transaction.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "savings_goal_contributions", indexes = @Index(columnList = "goal_id"))
+public class SavingsContribution {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long goalId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    // exact minor units; getAmount/setAmount convert for the API
+    @Column(name = "amount_minor", nullable = false)
+    private Long amountMinor;
+
+    // null on rows written before sweeps existed, which were all manual
+    @Enumerated(EnumType.STRING)
+    private ContributionSource source;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public Double getAmount() {
+        return Money.toUnits(amountMinor);
+    }
+
+    public void setAmount(Double amount) {
+        this.amountMinor = Money.toMinor(amount);
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (source == null) {
+            source = ContributionSource.MANUAL;
+        }
+    }
+}
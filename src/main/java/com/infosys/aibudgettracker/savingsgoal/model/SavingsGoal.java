@@ -1,5 +1,6 @@
 package com.infosys.aibudgettracker.savingsgoal.model;
 
+import com.infosys.aibudgettracker.money.Money;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -21,25 +22,49 @@ public class SavingsGoal {
     @Column(nullable = false)
     private String name;
     
-    @Column(nullable = false)
-    private Double targetAmount;
+    // amounts in exact minor units; the Double accessors below convert for the API
+    @Column(name = "target_amount_minor", nullable = false)
+    private Long targetAmountMinor;
     
-    @Column(nullable = false)
-    private Double currentAmount;
+    @Column(name = "current_amount_minor", nullable = false)
+    private Long currentAmountMinor;
     
     private LocalDate targetDate;
     
+    // used by the PRIORITY sweep rule, lower comes first
+    private Integer priority;
+    
     @Column(nullable = false)
     private LocalDateTime createdAt;
     
     private LocalDateTime updatedAt;
     
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+    
+    public Double getTargetAmount() {
+        return Money.toUnits(targetAmountMinor);
+    }
+    
+    public void setTargetAmount(Double targetAmount) {
+        this.targetAmountMinor = Money.toMinor(targetAmount);
+    }
+    
+    public Double getCurrentAmount() {
+        return Money.toUnits(currentAmountMinor);
+    }
+    
+    public void setCurrentAmount(Double currentAmount) {
+        this.currentAmountMinor = Money.toMinor(currentAmount);
+    }
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
-        if (currentAmount == null) {
-            currentAmount = 0.0;
+        if (currentAmountMinor == null) {
+            currentAmountMinor = 0L;
         }
     }
     
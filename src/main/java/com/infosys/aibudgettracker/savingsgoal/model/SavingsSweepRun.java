@@ -0,0 +1,41 @@
+package com.infosys.aibudgettracker.savingsgoal.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * One row per (user, month) that has been swept. The unique constraint is what makes the
+ * sweep idempotent: a second run for the same month cannot insert its marker and rolls back.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "savings_sweep_runs", uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "sweep_month"}))
+public class SavingsSweepRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    // yyyy-MM
+    @Column(nullable = false, length = 7)
+    private String sweepMonth;
+
+    // amounts in exact minor units
+    @Column(name = "surplus_minor", nullable = false)
+    private Long surplusMinor;
+
+    @Column(name = "allocated_minor", nullable = false)
+    private Long allocatedMinor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SweepAllocationRule rule;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
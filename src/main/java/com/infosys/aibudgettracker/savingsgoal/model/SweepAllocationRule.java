@@ -0,0 +1,14 @@
+package com.infosys.aibudgettracker.savingsgoal.model;
+
+/**
+ * How a month's surplus is split across a user's open savings goals.
+ * No goal ever receives more than it still needs; whatever is left stays unallocated.
+ */
+public enum SweepAllocationRule {
+    // in proportion to what each goal still needs
+    PROPORTIONAL,
+    // fill goals one by one, nearest target date first
+    EARLIEST_DEADLINE,
+    // fill goals one by one, lowest priority number first, ties broken by target date
+    PRIORITY
+}
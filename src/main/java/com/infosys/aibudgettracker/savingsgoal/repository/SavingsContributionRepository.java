@@ -0,0 +1,20 @@
+package com.infosys.aibudgettracker.savingsgoal.repository;
+
+import com.infosys.aibudgettracker.savingsgoal.model.SavingsContribution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SavingsContributionRepository extends JpaRepository<SavingsContribution, Long> {
+    List<SavingsContribution> findByGoalIdOrderByCreatedAtDesc(Long goalId);
+    long countByGoalId(Long goalId);
+
+    @Modifying
+    @Query("delete from SavingsContribution c where c.goalId = :goalId")
+    void deleteByGoalId(@Param("goalId") Long goalId);
+}
@@ -1,12 +1,35 @@
 package com.infosys.aibudgettracker.savingsgoal.repository;
 
 import com.infosys.aibudgettracker.savingsgoal.model.SavingsGoal;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface SavingsGoalRepository extends JpaRepository<SavingsGoal, Long> {
     List<SavingsGoal> findByUserId(Long userId);
+
+    // locks the rows for the rest of the transaction; ordered so concurrent lockers queue instead of deadlocking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select g from SavingsGoal g where g.userId in :userIds order by g.id")
+    List<SavingsGoal> lockByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Query("select distinct g.userId from SavingsGoal g order by g.userId")
+    List<Long> findDistinctUserIds();
+
+    // Single-statement increment so concurrent contributions never read-modify-write the row.
+    // The version is bumped too, so an edit based on a stale copy fails instead of overwriting it.
+    @Modifying(clearAutomatically = true)
+    @Query("update SavingsGoal g set g.currentAmountMinor = g.currentAmountMinor + :amountMinor, g.version = g.version + 1, "
+            + "g.updatedAt = :now where g.id = :goalId and g.userId = :userId")
+    int addToCurrentAmount(@Param("goalId") Long goalId, @Param("userId") Long userId,
+                           @Param("amountMinor") Long amountMinor, @Param("now") LocalDateTime now);
 }
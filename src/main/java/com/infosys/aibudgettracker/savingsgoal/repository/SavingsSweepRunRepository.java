@@ -0,0 +1,16 @@
+package com.infosys.aibudgettracker.savingsgoal.repository;
+
+import com.infosys.aibudgettracker.savingsgoal.model.SavingsSweepRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SavingsSweepRunRepository extends JpaRepository<SavingsSweepRun, Long> {
+    @Query("select r.userId from SavingsSweepRun r where r.userId in :userIds and r.sweepMonth = :sweepMonth")
+    List<Long> findSweptUserIds(@Param("userIds") Collection<Long> userIds, @Param("sweepMonth") String sweepMonth);
+}
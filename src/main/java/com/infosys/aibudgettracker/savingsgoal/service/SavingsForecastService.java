@@ -0,0 +1,185 @@
+package com.infosys.aibudgettracker.savingsgoal.service;
+
+import com.infosys.aibudgettracker.money.Money;
+import com.infosys.aibudgettracker.savingsgoal.dto.SavingsGoalForecast;
+import com.infosys.aibudgettracker.savingsgoal.model.SavingsGoal;
+import com.infosys.aibudgettracker.savingsgoal.repository.SavingsGoalRepository;
+import com.infosys.aibudgettracker.transaction.dto.MonthlyTotal;
+import com.infosys.aibudgettracker.transaction.model.Transaction;
+import com.infosys.aibudgettracker.transaction.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Monte-Carlo forecast of when each savings goal will be reached.
+ *
+ * Every simulated path draws one historical month per future month (bootstrap over the user's
+ * monthly income minus expenses) and accumulates the result. Goals are evaluated independently,
+ * as if each one received the whole monthly net savings.
+ */
+@Service
+public class SavingsForecastService {
+
+    // paths per parallel task; small enough to balance across cores, large enough to amortize the split
+    private static final int PATHS_PER_CHUNK = 512;
+
+    @Autowired
+    private SavingsGoalRepository savingsGoalRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Value("${app.savings.forecast.history-months:24}")
+    private int historyMonths;
+
+    @Value("${app.savings.forecast.max-horizon-months:240}")
+    private int maxHorizonMonths;
+
+    public List<SavingsGoalForecast> forecast(Long userId, int paths) {
+        List<SavingsGoal> goals = savingsGoalRepository.findByUserId(userId);
+        if (goals.isEmpty()) return new ArrayList<>();
+
+        double[] monthlyNet = loadMonthlyNet(userId);
+        LocalDate today = LocalDate.now();
+
+        int goalCount = goals.size();
+        double[] remaining = new double[goalCount];
+        int horizon = 1;
+        for (int g = 0; g < goalCount; g++) {
+            SavingsGoal goal = goals.get(g);
+            remaining[g] = goal.getTargetAmount() - goal.getCurrentAmount();
+            if (goal.getTargetDate() != null) {
+                horizon = Math.max(horizon, monthsUntil(today, goal.getTargetDate()));
+            }
+        }
+        // look well past the latest target date so late completion dates still get a percentile
+        horizon = Math.min(Math.max(horizon * 2, 60), maxHorizonMonths);
+
+        int[] hitMonths = simulate(monthlyNet, remaining, paths, horizon, new SplittableRandom());
+
+        List<SavingsGoalForecast> result = new ArrayList<>(goalCount);
+        int[] histogram = new int[horizon + 2];
+        for (int g = 0; g < goalCount; g++) {
+            SavingsGoal goal = goals.get(g);
+            Arrays.fill(histogram, 0);
+            int base = g * paths;
+            for (int p = 0; p < paths; p++) {
+                histogram[hitMonths[base + p]]++;
+            }
+
+            Double probability = null;
+            if (goal.getTargetDate() != null) {
+                int deadline = Math.min(monthsUntil(today, goal.getTargetDate()), horizon);
+                int reached = 0;
+                for (int m = 0; m <= deadline; m++) reached += histogram[m];
+                probability = (double) reached / paths;
+            }
+
+            result.add(new SavingsGoalForecast(
+                    goal.getId(),
+                    goal.getName(),
+                    goal.getTargetAmount(),
+                    goal.getCurrentAmount(),
+                    goal.getTargetDate(),
+                    probability,
+                    percentileDate(histogram, paths, horizon, 0.10, today),
+                    percentileDate(histogram, paths, horizon, 0.50, today),
+                    percentileDate(histogram, paths, horizon, 0.90, today)
+            ));
+        }
+        return result;
+    }
+
+    /**
+     * Runs the simulation over primitive arrays, one parallel task per chunk of paths. Each chunk
+     * gets its own generator split from {@code rng} up front, so no generator is shared between threads.
+     *
+     * @return month (1-based) in which each goal is first reached on each path, laid out as
+     *         {@code [goal * paths + path]}; {@code horizon + 1} when it is not reached at all,
+     *         0 when the goal is already met
+     */
+    static int[] simulate(double[] monthlyNet, double[] remaining, int paths, int horizon, SplittableRandom rng) {
+        int goalCount = remaining.length;
+        int[] hitMonths = new int[goalCount * paths];
+        int chunks = (paths + PATHS_PER_CHUNK - 1) / PATHS_PER_CHUNK;
+        SplittableRandom[] generators = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            generators[c] = rng.split();
+        }
+
+        int samples = monthlyNet.length;
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            SplittableRandom random = generators[c];
+            int from = c * PATHS_PER_CHUNK;
+            int to = Math.min(from + PATHS_PER_CHUNK, paths);
+            for (int p = from; p < to; p++) {
+                int open = 0;
+                for (int g = 0; g < goalCount; g++) {
+                    if (remaining[g] <= 0) {
+                        hitMonths[g * paths + p] = 0;
+                    } else {
+                        hitMonths[g * paths + p] = horizon + 1;
+                        open++;
+                    }
+                }
+                double saved = 0.0;
+                for (int m = 1; m <= horizon && open > 0; m++) {
+                    saved += samples == 0 ? 0.0 : monthlyNet[random.nextInt(samples)];
+                    for (int g = 0; g < goalCount; g++) {
+                        int slot = g * paths + p;
+                        if (hitMonths[slot] == horizon + 1 && saved >= remaining[g]) {
+                            hitMonths[slot] = m;
+                            open--;
+                        }
+                    }
+                }
+            }
+        });
+        return hitMonths;
+    }
+
+    private double[] loadMonthlyNet(Long userId) {
+        // only complete months, the current one would bias the sample downwards
+        YearMonth end = YearMonth.now().minusMonths(1);
+        YearMonth start = end.minusMonths(historyMonths - 1);
+        LocalDateTime startDate = start.atDay(1).atStartOfDay();
+        LocalDateTime endDate = end.atEndOfMonth().atTime(23, 59, 59);
+
+        double[] net = new double[historyMonths];
+        int firstActive = historyMonths;
+        for (MonthlyTotal row : transactionRepository.sumByMonthAndType(userId, startDate, endDate)) {
+            int idx = (int) start.until(YearMonth.of(row.getYear(), row.getMonth()), ChronoUnit.MONTHS);
+            if (idx < 0 || idx >= historyMonths) continue;
+            double total = row.getTotal() == null ? 0.0 : Money.toUnits(row.getTotal());
+            net[idx] += row.getType() == Transaction.TransactionType.INCOME ? total : -total;
+            firstActive = Math.min(firstActive, idx);
+        }
+        // months before the user started tracking are not evidence of zero savings
+        return Arrays.copyOfRange(net, Math.min(firstActive, historyMonths), historyMonths);
+    }
+
+    private static LocalDate percentileDate(int[] histogram, int paths, int horizon, double q, LocalDate today) {
+        int rank = (int) Math.ceil(q * paths);
+        int seen = 0;
+        for (int m = 0; m <= horizon; m++) {
+            seen += histogram[m];
+            if (seen >= rank) return today.plusMonths(m);
+        }
+        return null;
+    }
+
+    private static int monthsUntil(LocalDate today, LocalDate target) {
+        return (int) Math.max(0, ChronoUnit.MONTHS.between(today, target));
+    }
+}
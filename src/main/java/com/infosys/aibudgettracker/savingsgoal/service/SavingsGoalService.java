@@ -1,14 +1,23 @@
 package com.infosys.aibudgettracker.savingsgoal.service;
 
+import com.infosys.aibudgettracker.dataversion.DataVersions;
+import com.infosys.aibudgettracker.money.Money;
+import com.infosys.aibudgettracker.savingsgoal.dto.SavingsContributionResponse;
 import com.infosys.aibudgettracker.savingsgoal.dto.SavingsGoalProgress;
 import com.infosys.aibudgettracker.savingsgoal.dto.SavingsGoalRequest;
 import com.infosys.aibudgettracker.savingsgoal.dto.SavingsGoalResponse;
+import com.infosys.aibudgettracker.savingsgoal.model.ContributionSource;
+import com.infosys.aibudgettracker.savingsgoal.model.SavingsContribution;
 import com.infosys.aibudgettracker.savingsgoal.model.SavingsGoal;
+import com.infosys.aibudgettracker.savingsgoal.repository.SavingsContributionRepository;
 import com.infosys.aibudgettracker.savingsgoal.repository.SavingsGoalRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -19,6 +28,13 @@ public class SavingsGoalService {
     @Autowired
     private SavingsGoalRepository savingsGoalRepository;
     
+    @Autowired
+    private SavingsContributionRepository contributionRepository;
+    
+    @Autowired
+    private DataVersions dataVersions;
+    
+    @Transactional
     public SavingsGoalResponse createSavingsGoal(Long userId, SavingsGoalRequest request) {
         SavingsGoal goal = new SavingsGoal();
         goal.setUserId(userId);
@@ -26,8 +42,11 @@ public class SavingsGoalService {
         goal.setTargetAmount(request.getTargetAmount());
         goal.setCurrentAmount(request.getCurrentAmount() != null ? request.getCurrentAmount() : 0.0);
         goal.setTargetDate(request.getTargetDate());
+        goal.setPriority(request.getPriority());
         
         SavingsGoal savedGoal = savingsGoalRepository.save(goal);
+        recordAdjustment(savedGoal, savedGoal.getCurrentAmountMinor());
+        dataVersions.bump(userId);
         return mapToResponse(savedGoal);
     }
     
@@ -45,6 +64,7 @@ public class SavingsGoalService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional
     public SavingsGoalResponse updateSavingsGoal(Long goalId, Long userId, SavingsGoalRequest request) {
         SavingsGoal goal = savingsGoalRepository.findById(goalId)
                 .orElseThrow(() -> new RuntimeException("Savings goal not found"));
@@ -53,17 +73,28 @@ public class SavingsGoalService {
             throw new RuntimeException("Unauthorized access to savings goal");
         }
         
+        if (request.getVersion() != null && !request.getVersion().equals(goal.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(SavingsGoal.class, goalId);
+        }
+        
+        long previousMinor = goal.getCurrentAmountMinor();
         goal.setName(request.getName());
         goal.setTargetAmount(request.getTargetAmount());
         if (request.getCurrentAmount() != null) {
             goal.setCurrentAmount(request.getCurrentAmount());
         }
         goal.setTargetDate(request.getTargetDate());
+        goal.setPriority(request.getPriority());
         
-        SavingsGoal updatedGoal = savingsGoalRepository.save(goal);
+        // the versioned save fails if a contribution landed since the goal was read, so the
+        // difference recorded here is exactly what the edit changed
+        SavingsGoal updatedGoal = savingsGoalRepository.saveAndFlush(goal);
+        recordAdjustment(updatedGoal, updatedGoal.getCurrentAmountMinor() - previousMinor);
+        dataVersions.bump(userId);
         return mapToResponse(updatedGoal);
     }
     
+    @Transactional
     public void deleteSavingsGoal(Long goalId, Long userId) {
         SavingsGoal goal = savingsGoalRepository.findById(goalId)
                 .orElseThrow(() -> new RuntimeException("Savings goal not found"));
@@ -72,10 +103,33 @@ public class SavingsGoalService {
             throw new RuntimeException("Unauthorized access to savings goal");
         }
         
+        contributionRepository.deleteByGoalId(goalId);
         savingsGoalRepository.delete(goal);
+        dataVersions.bump(userId);
     }
     
+    @Transactional
     public SavingsGoalResponse addToSavingsGoal(Long goalId, Long userId, Double amount) {
+        int updated = savingsGoalRepository.addToCurrentAmount(goalId, userId, Money.toMinor(amount), LocalDateTime.now());
+        if (updated == 0) {
+            savingsGoalRepository.findById(goalId)
+                    .orElseThrow(() -> new RuntimeException("Savings goal not found"));
+            throw new RuntimeException("Unauthorized access to savings goal");
+        }
+        
+        SavingsContribution contribution = new SavingsContribution();
+        contribution.setGoalId(goalId);
+        contribution.setUserId(userId);
+        contribution.setAmount(amount);
+        contributionRepository.save(contribution);
+        dataVersions.bump(userId);
+        
+        SavingsGoal updatedGoal = savingsGoalRepository.findById(goalId)
+                .orElseThrow(() -> new RuntimeException("Savings goal not found"));
+        return mapToResponse(updatedGoal);
+    }
+    
+    public List<SavingsContributionResponse> getContributions(Long goalId, Long userId) {
         SavingsGoal goal = savingsGoalRepository.findById(goalId)
                 .orElseThrow(() -> new RuntimeException("Savings goal not found"));
         
@@ -83,10 +137,23 @@ public class SavingsGoalService {
             throw new RuntimeException("Unauthorized access to savings goal");
         }
         
-        goal.setCurrentAmount(goal.getCurrentAmount() + amount);
-        
-        SavingsGoal updatedGoal = savingsGoalRepository.save(goal);
-        return mapToResponse(updatedGoal);
+        return contributionRepository.findByGoalIdOrderByCreatedAtDesc(goalId)
+                .stream()
+                .map(c -> new SavingsContributionResponse(
+                        c.getId(), c.getGoalId(), c.getAmount(),
+                        c.getSource() != null ? c.getSource() : ContributionSource.MANUAL, c.getCreatedAt()))
+                .collect(Collectors.toList());
+    }
+    
+    // keeps the ledger summing to the current amount when it is set rather than added to
+    private void recordAdjustment(SavingsGoal goal, long amountMinor) {
+        if (amountMinor == 0) return;
+        SavingsContribution contribution = new SavingsContribution();
+        contribution.setGoalId(goal.getId());
+        contribution.setUserId(goal.getUserId());
+        contribution.setAmountMinor(amountMinor);
+        contribution.setSource(ContributionSource.ADJUSTMENT);
+        contributionRepository.save(contribution);
     }
     
     private SavingsGoalResponse mapToResponse(SavingsGoal goal) {
@@ -96,9 +163,11 @@ public class SavingsGoalService {
                 goal.getTargetAmount(),
                 goal.getCurrentAmount(),
                 goal.getTargetDate(),
+                goal.getPriority(),
                 goal.getUserId(),
                 goal.getCreatedAt(),
-                goal.getUpdatedAt()
+                goal.getUpdatedAt(),
+                goal.getVersion()
         );
     }
     
@@ -0,0 +1,302 @@
+package com.infosys.aibudgettracker.savingsgoal.service;
+
+import com.infosys.aibudgettracker.dataversion.DataVersions;
+import com.infosys.aibudgettracker.money.Money;
+import com.infosys.aibudgettracker.savingsgoal.dto.SweepSummary;
+import com.infosys.aibudgettracker.savingsgoal.model.ContributionSource;
+import com.infosys.aibudgettracker.savingsgoal.model.SavingsGoal;
+import com.infosys.aibudgettracker.savingsgoal.model.SweepAllocationRule;
+import com.infosys.aibudgettracker.savingsgoal.repository.SavingsGoalRepository;
+import com.infosys.aibudgettracker.savingsgoal.repository.SavingsSweepRunRepository;
+import com.infosys.aibudgettracker.transaction.dto.UserTypeTotal;
+import com.infosys.aibudgettracker.transaction.model.Transaction;
+import com.infosys.aibudgettracker.transaction.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves each user's monthly surplus (income minus expenses) into their savings goals.
+ *
+ * Users are split into partitions processed in parallel; within a partition users are handled in
+ * batches that share one query per table and one transaction of JDBC batch writes. A
+ * (user, month) marker row in savings_sweep_runs makes re-running a month a no-op.
+ */
+@Service
+public class SavingsSweepService {
+
+    private static final Logger log = LoggerFactory.getLogger(SavingsSweepService.class);
+
+    @Autowired
+    private SavingsGoalRepository savingsGoalRepository;
+
+    @Autowired
+    private SavingsSweepRunRepository sweepRunRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataVersions dataVersions;
+
+    @Value("${app.savings.sweep.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.savings.sweep.rule:PROPORTIONAL}")
+    private SweepAllocationRule rule;
+
+    @Value("${app.savings.sweep.partitions:4}")
+    private int partitions;
+
+    @Value("${app.savings.sweep.batch-size:200}")
+    private int batchSize;
+
+    // 01:30 on the first day of every month, sweeping the month that just ended
+    @Scheduled(cron = "${app.savings.sweep.cron:0 30 1 1 * *}")
+    public void sweepPreviousMonth() {
+        if (!enabled) return;
+        sweepMonth(YearMonth.now().minusMonths(1));
+    }
+
+    // only finished months: a sweep writes the month's run marker, so sweeping partial data would block the real one
+    public SweepSummary sweepMonth(YearMonth month) {
+        if (!month.isBefore(YearMonth.now())) {
+            throw new IllegalArgumentException("Only months that have ended can be swept, got " + month);
+        }
+        long started = System.currentTimeMillis();
+        List<Long> userIds = savingsGoalRepository.findDistinctUserIds();
+
+        AtomicInteger swept = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        LongAdder allocated = new LongAdder();
+
+        int partitionCount = Math.max(1, Math.min(partitions, userIds.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(partitionCount);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < partitionCount; p++) {
+                List<Long> partition = new ArrayList<>();
+                for (int i = p; i < userIds.size(); i += partitionCount) {
+                    partition.add(userIds.get(i));
+                }
+                futures.add(executor.submit(() -> {
+                    for (int from = 0; from < partition.size(); from += batchSize) {
+                        List<Long> batch = partition.subList(from, Math.min(from + batchSize, partition.size()));
+                        sweepBatch(batch, month, swept, skipped, allocated);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Savings sweep failed for " + month + ": " + e.getMessage(), e);
+        } finally {
+            executor.shutdown();
+        }
+
+        SweepSummary summary = new SweepSummary(month.toString(), swept.get(), skipped.get(),
+                Money.toUnits(allocated.sum()), System.currentTimeMillis() - started);
+        log.info("Savings sweep for {}: {} users swept, {} skipped, {} allocated in {} ms",
+                summary.getMonth(), summary.getUsersSwept(), summary.getUsersSkipped(),
+                Money.ofMinor(allocated.sum()), summary.getElapsedMs());
+        return summary;
+    }
+
+    private void sweepBatch(List<Long> batch, YearMonth month,
+                            AtomicInteger swept, AtomicInteger skipped, LongAdder allocated) {
+        String sweepMonth = month.toString();
+        Set<Long> done = new HashSet<>(sweepRunRepository.findSweptUserIds(batch, sweepMonth));
+        List<Long> pending = new ArrayList<>();
+        for (Long id : batch) {
+            if (!done.contains(id)) pending.add(id);
+        }
+        skipped.addAndGet(batch.size() - pending.size());
+        if (pending.isEmpty()) return;
+
+        Map<Long, Long> surplus = new HashMap<>();
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.atEndOfMonth().atTime(23, 59, 59);
+        for (UserTypeTotal row : transactionRepository.sumByUserAndType(pending, start, end)) {
+            long total = row.getTotal() == null ? 0L : row.getTotal();
+            surplus.merge(row.getUserId(), row.getType() == Transaction.TransactionType.INCOME ? total : -total, Math::addExact);
+        }
+
+        try {
+            record(write(pending, surplus, sweepMonth), swept, allocated);
+        } catch (DataIntegrityViolationException e) {
+            // another run claimed some of these users in the meantime; retry one by one so the rest still go through
+            for (Long userId : pending) {
+                try {
+                    record(write(List.of(userId), surplus, sweepMonth), swept, allocated);
+                } catch (DataIntegrityViolationException dup) {
+                    skipped.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Allocates and writes the sweep for {@code userIds} in one transaction. The goals are read
+     * with a row lock inside it, so no contribution can move a goal's amount between the
+     * allocation and the increment, and no goal is filled past its target.
+     */
+    private List<UserSweep> write(List<Long> userIds, Map<Long, Long> surplus, String sweepMonth) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<UserSweep> sweeps = new TransactionTemplate(transactionManager).execute(status -> {
+            Map<Long, List<SavingsGoal>> goalsByUser = new HashMap<>();
+            for (SavingsGoal goal : savingsGoalRepository.lockByUserIdIn(userIds)) {
+                goalsByUser.computeIfAbsent(goal.getUserId(), k -> new ArrayList<>()).add(goal);
+            }
+
+            List<UserSweep> result = new ArrayList<>();
+            List<Object[]> runs = new ArrayList<>();
+            List<Object[]> contributions = new ArrayList<>();
+            List<Object[]> increments = new ArrayList<>();
+            for (Long userId : userIds) {
+                long userSurplus = surplus.getOrDefault(userId, 0L);
+                List<SavingsGoal> goals = goalsByUser.getOrDefault(userId, List.of());
+                UserSweep sweep = new UserSweep(userId, userSurplus, goals, allocate(goals, userSurplus, rule));
+                result.add(sweep);
+                runs.add(new Object[]{sweep.userId, sweepMonth, sweep.surplusMinor, sweep.total(), rule.name(), now});
+                for (int i = 0; i < sweep.goals.size(); i++) {
+                    long amount = sweep.amounts[i];
+                    if (amount <= 0) continue;
+                    Long goalId = sweep.goals.get(i).getId();
+                    contributions.add(new Object[]{goalId, sweep.userId, amount, ContributionSource.SWEEP.name(), now});
+                    increments.add(new Object[]{amount, now, goalId});
+                }
+            }
+
+            // the marker goes first so a duplicate run fails before touching any goal
+            jdbcTemplate.batchUpdate("insert into savings_sweep_runs (user_id, sweep_month, surplus_minor, allocated_minor, rule, created_at) "
+                    + "values (?, ?, ?, ?, ?, ?)", runs);
+            jdbcTemplate.batchUpdate("insert into savings_goal_contributions (goal_id, user_id, amount_minor, source, created_at) "
+                    + "values (?, ?, ?, ?, ?)", contributions);
+            jdbcTemplate.batchUpdate("update savings_goals set current_amount_minor = current_amount_minor + ?, version = version + 1, "
+                    + "updated_at = ? where id = ?", increments);
+            return result;
+        });
+        for (UserSweep sweep : sweeps) dataVersions.bump(sweep.userId);
+        return sweeps;
+    }
+
+    private static void record(List<UserSweep> sweeps, AtomicInteger swept, LongAdder allocated) {
+        for (UserSweep sweep : sweeps) {
+            swept.incrementAndGet();
+            allocated.add(sweep.total());
+        }
+    }
+
+    /**
+     * Splits {@code surplusMinor} over {@code goals} by {@code rule}, never past what a goal still
+     * needs. Works in exact minor units: proportional shares are rounded down and the few units
+     * left over go to the goal with the most room, so the whole surplus (or whole need) is used.
+     *
+     * @return minor units per goal, in the order of {@code goals}
+     */
+    static long[] allocate(List<SavingsGoal> goals, long surplusMinor, SweepAllocationRule rule) {
+        int n = goals.size();
+        long[] amounts = new long[n];
+        if (surplusMinor <= 0 || n == 0) return amounts;
+
+        long[] needed = new long[n];
+        long totalNeeded = 0;
+        for (int i = 0; i < n; i++) {
+            SavingsGoal g = goals.get(i);
+            needed[i] = Math.max(0L, g.getTargetAmountMinor() - g.getCurrentAmountMinor());
+            totalNeeded = Math.addExact(totalNeeded, needed[i]);
+        }
+        if (totalNeeded <= 0) return amounts;
+
+        if (rule == SweepAllocationRule.PROPORTIONAL) {
+            if (surplusMinor >= totalNeeded) return needed;
+            BigInteger surplus = BigInteger.valueOf(surplusMinor);
+            BigInteger total = BigInteger.valueOf(totalNeeded);
+            long left = surplusMinor;
+            for (int i = 0; i < n; i++) {
+                amounts[i] = BigInteger.valueOf(needed[i]).multiply(surplus).divide(total).longValueExact();
+                left -= amounts[i];
+            }
+            // fewer than n units remain; the goal with the most room takes them (the next one only
+            // if it fills up), and since the surplus is below the total need there is room for all
+            while (left > 0) {
+                int roomiest = 0;
+                for (int i = 1; i < n; i++) {
+                    if (needed[i] - amounts[i] > needed[roomiest] - amounts[roomiest]) roomiest = i;
+                }
+                long extra = Math.min(left, needed[roomiest] - amounts[roomiest]);
+                amounts[roomiest] += extra;
+                left -= extra;
+            }
+            return amounts;
+        }
+
+        Comparator<Integer> order = Comparator.comparing(
+                (Integer i) -> goals.get(i).getTargetDate(), Comparator.nullsLast(Comparator.<LocalDate>naturalOrder()));
+        if (rule == SweepAllocationRule.PRIORITY) {
+            order = Comparator.comparing((Integer i) -> goals.get(i).getPriority(),
+                    Comparator.nullsLast(Comparator.<Integer>naturalOrder())).thenComparing(order);
+        }
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < n; i++) indices.add(i);
+        indices.sort(order);
+
+        long left = surplusMinor;
+        for (int i : indices) {
+            if (left <= 0) break;
+            amounts[i] = Math.min(left, needed[i]);
+            left -= amounts[i];
+        }
+        return amounts;
+    }
+
+    private static final class UserSweep {
+        private final Long userId;
+        private final long surplusMinor;
+        private final List<SavingsGoal> goals;
+        private final long[] amounts;
+
+        private UserSweep(Long userId, long surplusMinor, List<SavingsGoal> goals, long[] amounts) {
+            this.userId = userId;
+            this.surplusMinor = surplusMinor;
+            this.goals = goals;
+            this.amounts = amounts;
+        }
+
+        private long total() {
+            return Money.sum(amounts, 0, amounts.length);
+        }
+    }
+}
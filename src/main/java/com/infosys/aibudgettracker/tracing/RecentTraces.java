@@ -0,0 +1,158 @@
+package com.infosys.aibudgettracker.tracing;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Span exporter that needs no collector: finished spans wait per trace until the trace's local
+ * root span ends, and the assembled trace joins a ring of the most recent ones, which
+ * {@link TracesEndpoint} reads. Children end (and are exported) before their root, so a trace
+ * is complete when the root arrives; spans that end after it are dropped.
+ *
+ * Traces are capped at {@code app.tracing.max-spans-per-trace} spans, so a bulk insert does not
+ * hold thousands of statement spans; the rest are only counted.
+ */
+@Component
+public class RecentTraces implements SpanExporter {
+
+    private final int capacity;
+    private final int maxSpansPerTrace;
+
+    // spans of traces whose root has not ended yet, bounded in case a root never does
+    private final Map<String, Pending> pending;
+    private final Deque<TraceSummary> recent = new ArrayDeque<>();
+
+    public RecentTraces(@Value("${app.tracing.recent-traces:500}") int capacity,
+                        @Value("${app.tracing.max-spans-per-trace:200}") int maxSpansPerTrace) {
+        this.capacity = capacity;
+        this.maxSpansPerTrace = maxSpansPerTrace;
+        this.pending = Collections.synchronizedMap(new LinkedHashMap<String, Pending>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Pending> eldest) {
+                return size() > capacity * 4;
+            }
+        });
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        for (SpanData span : spans) {
+            SpanContext parent = span.getParentSpanContext();
+            if (parent.isValid() && !parent.isRemote()) {
+                Pending trace;
+                synchronized (pending) {
+                    trace = pending.computeIfAbsent(span.getTraceId(), id -> new Pending());
+                }
+                trace.add(span, maxSpansPerTrace);
+            } else {
+                Pending trace = pending.remove(span.getTraceId());
+                if (trace == null) trace = new Pending();
+                add(summarize(span, trace));
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /** The slowest of the recent traces, slowest first. */
+    public List<TraceSummary> slowest(int limit) {
+        List<TraceSummary> traces;
+        synchronized (recent) {
+            traces = new ArrayList<>(recent);
+        }
+        traces.sort(Comparator.comparingDouble(TraceSummary::getDurationMs).reversed());
+        return traces.subList(0, Math.min(limit, traces.size()));
+    }
+
+    public Optional<TraceSummary> find(String traceId) {
+        synchronized (recent) {
+            return recent.stream().filter(t -> t.getTraceId().equals(traceId)).findFirst();
+        }
+    }
+
+    private void add(TraceSummary trace) {
+        synchronized (recent) {
+            if (recent.size() >= capacity) recent.removeFirst();
+            recent.addLast(trace);
+        }
+    }
+
+    private static TraceSummary summarize(SpanData root, Pending trace) {
+        List<SpanData> spans;
+        int dropped;
+        synchronized (trace) {
+            spans = new ArrayList<>(trace.spans);
+            dropped = trace.dropped;
+        }
+        spans.add(root);
+        spans.sort(Comparator.comparingLong(SpanData::getStartEpochNanos));
+
+        Map<String, SpanData> byId = new HashMap<>();
+        for (SpanData s : spans) byId.put(s.getSpanId(), s);
+        Map<String, Integer> depths = new HashMap<>();
+        long start = root.getStartEpochNanos();
+        List<SpanSummary> summaries = new ArrayList<>(spans.size());
+        for (SpanData s : spans) {
+            Map<String, String> attributes = new TreeMap<>();
+            s.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+            summaries.add(new SpanSummary(s.getName(), s.getSpanId(), s == root ? null : s.getParentSpanId(),
+                    depth(s, byId, depths), millis(s.getStartEpochNanos() - start),
+                    millis(s.getEndEpochNanos() - s.getStartEpochNanos()),
+                    s.getStatus().getStatusCode() == StatusCode.ERROR, attributes));
+        }
+        return new TraceSummary(root.getTraceId(), root.getName(), Instant.ofEpochSecond(0, start),
+                millis(root.getEndEpochNanos() - start), dropped, summaries);
+    }
+
+    private static int depth(SpanData span, Map<String, SpanData> byId, Map<String, Integer> depths) {
+        Integer known = depths.get(span.getSpanId());
+        if (known != null) return known;
+        SpanData parent = byId.get(span.getParentSpanId());
+        // a parent that was dropped or is remote leaves the span at the top
+        int depth = parent == null || parent == span ? 0 : depth(parent, byId, depths) + 1;
+        depths.put(span.getSpanId(), depth);
+        return depth;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private static final class Pending {
+        final List<SpanData> spans = new ArrayList<>();
+        int dropped;
+
+        synchronized void add(SpanData span, int max) {
+            if (spans.size() < max) spans.add(span);
+            else dropped++;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.infosys.aibudgettracker.tracing;
+
+import java.util.Map;
+
+/** One span of a {@link TraceSummary}, timed relative to the start of its trace. */
+public class SpanSummary {
+
+    private final String name;
+    private final String spanId;
+    private final String parentSpanId;
+    private final int depth;
+    private final double offsetMs;
+    private final double durationMs;
+    private final boolean error;
+    private final Map<String, String> attributes;
+
+    public SpanSummary(String name, String spanId, String parentSpanId, int depth, double offsetMs,
+                       double durationMs, boolean error, Map<String, String> attributes) {
+        this.name = name;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.depth = depth;
+        this.offsetMs = offsetMs;
+        this.durationMs = durationMs;
+        this.error = error;
+        this.attributes = attributes;
+    }
+
+    public String getName() { return name; }
+    public String getSpanId() { return spanId; }
+    public String getParentSpanId() { return parentSpanId; }
+    public int getDepth() { return depth; }
+    public double getOffsetMs() { return offsetMs; }
+    public double getDurationMs() { return durationMs; }
+    public boolean isError() { return error; }
+    public Map<String, String> getAttributes() { return attributes; }
+}
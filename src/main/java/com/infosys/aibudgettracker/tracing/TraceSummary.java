@@ -0,0 +1,32 @@
+package com.infosys.aibudgettracker.tracing;
+
+import java.time.Instant;
+import java.util.List;
+
+/** A finished trace as kept by {@link RecentTraces}: its root span plus every span under it, in start order. */
+public class TraceSummary {
+
+    private final String traceId;
+    private final String name;
+    private final Instant start;
+    private final double durationMs;
+    private final int droppedSpans;
+    private final List<SpanSummary> spans;
+
+    public TraceSummary(String traceId, String name, Instant start, double durationMs, int droppedSpans,
+                        List<SpanSummary> spans) {
+        this.traceId = traceId;
+        this.name = name;
+        this.start = start;
+        this.durationMs = durationMs;
+        this.droppedSpans = droppedSpans;
+        this.spans = spans;
+    }
+
+    public String getTraceId() { return traceId; }
+    public String getName() { return name; }
+    public Instant getStart() { return start; }
+    public double getDurationMs() { return durationMs; }
+    public int getDroppedSpans() { return droppedSpans; }
+    public List<SpanSummary> getSpans() { return spans; }
+}
@@ -0,0 +1,32 @@
+package com.infosys.aibudgettracker.tracing;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/traces?limit=10} lists the slowest of the recently finished traces with all
+ * their spans; {@code /actuator/traces/{traceId}} shows one of them, e.g. the id from a log line.
+ */
+@Component
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    @Autowired
+    private RecentTraces recentTraces;
+
+    @ReadOperation
+    public List<TraceSummary> slowest(@Nullable Integer limit) {
+        return recentTraces.slowest(limit != null ? Math.max(0, limit) : 10);
+    }
+
+    @ReadOperation
+    public TraceSummary trace(@Selector String traceId) {
+        return recentTraces.find(traceId).orElse(null);
+    }
+}
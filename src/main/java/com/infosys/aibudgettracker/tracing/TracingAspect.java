@@ -0,0 +1,67 @@
+package com.infosys.aibudgettracker.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * A span for every controller, service and repository call made inside a trace, named
+ * {@code Class.method} and tagged with its {@code layer}. Calls with no trace around them
+ * (startup, unobserved background work) are left alone rather than starting traces of their own.
+ *
+ * Like the metrics aspect, calls a bean makes on itself bypass the proxy and get no span.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+
+    @Autowired
+    private Tracer tracer;
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *) && execution(public * *(..))")
+    public Object controller(ProceedingJoinPoint pjp) throws Throwable {
+        return trace(pjp, "controller", pjp.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("within(@org.springframework.stereotype.Service *) && execution(public * *(..))")
+    public Object service(ProceedingJoinPoint pjp) throws Throwable {
+        return trace(pjp, "service", pjp.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object repository(ProceedingJoinPoint pjp) throws Throwable {
+        return trace(pjp, "repository", repositoryName(pjp));
+    }
+
+    private Object trace(ProceedingJoinPoint pjp, String layer, String owner) throws Throwable {
+        if (tracer.currentSpan() == null) return pjp.proceed();
+        Span span = tracer.nextSpan()
+                .name(owner + "." + pjp.getSignature().getName())
+                .tag("layer", layer)
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return pjp.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /** Our repository interface, since inherited methods are declared on {@code CrudRepository} and friends. */
+    private static String repositoryName(ProceedingJoinPoint pjp) {
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(pjp.getThis())) {
+            if (Repository.class.isAssignableFrom(type) && type.getName().startsWith("com.infosys.")) {
+                return type.getSimpleName();
+            }
+        }
+        return pjp.getSignature().getDeclaringType().getSimpleName();
+    }
+}
@@ -6,6 +6,7 @@ import com.infosys.aibudgettracker.transaction.dto.TransactionRequest;
 import com.infosys.aibudgettracker.transaction.dto.TransactionResponse;
 import com.infosys.aibudgettracker.transaction.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -23,6 +24,9 @@ public class TransactionController {
     
     @Autowired
     private UserRepository userRepository;
+
+    @Value("${app.transactions.bulk-max:1000}")
+    private int bulkMax;
     
     @PostMapping
     public ResponseEntity<?> createTransaction(@RequestBody TransactionRequest request, Authentication authentication) {
@@ -37,6 +41,25 @@ public class TransactionController {
         }
     }
     
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createTransactions(
+            @RequestBody List<TransactionRequest> requests,
+            @RequestParam(defaultValue = "false") boolean autoCategorize,
+            Authentication authentication) {
+        try {
+            if (requests.size() > bulkMax) {
+                throw new RuntimeException("At most " + bulkMax + " transactions can be imported at once");
+            }
+            String username = authentication.getName();
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            List<TransactionResponse> responses = transactionService.createTransactions(user.getId(), requests, autoCategorize);
+            return ResponseEntity.ok(responses);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+    
     @GetMapping
     public ResponseEntity<?> getUserTransactions(Authentication authentication) {
         try {
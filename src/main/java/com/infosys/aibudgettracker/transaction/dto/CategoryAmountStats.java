@@ -0,0 +1,14 @@
+package com.infosys.aibudgettracker.transaction.dto;
+
+/**
+ * Projection of count, sum and sum of squares of amounts per user and category, enough to seed
+ * running mean/variance statistics in one pass over the table.
+ */
+public interface CategoryAmountStats {
+    Long getUserId();
+    String getCategory();
+    Long getCount();
+    // in Money minor units, and minor units squared
+    Long getTotal();
+    Double getSumSquares();
+}
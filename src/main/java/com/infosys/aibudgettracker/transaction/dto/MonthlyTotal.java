@@ -0,0 +1,15 @@
+package com.infosys.aibudgettracker.transaction.dto;
+
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+
+/**
+ * Projection of one (month, type) bucket summed in the database, so callers that only need
+ * monthly totals never load transaction entities.
+ */
+public interface MonthlyTotal {
+    Integer getYear();
+    Integer getMonth();
+    TransactionType getType();
+    // in Money minor units
+    Long getTotal();
+}
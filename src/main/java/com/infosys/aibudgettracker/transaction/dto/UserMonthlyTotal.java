@@ -0,0 +1,15 @@
+package com.infosys.aibudgettracker.transaction.dto;
+
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+
+/**
+ * Projection of one (user, month, type) bucket summed in the database for batch jobs.
+ */
+public interface UserMonthlyTotal {
+    Long getUserId();
+    Integer getYear();
+    Integer getMonth();
+    TransactionType getType();
+    // in Money minor units
+    Long getTotal();
+}
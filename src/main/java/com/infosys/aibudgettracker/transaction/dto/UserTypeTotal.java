@@ -0,0 +1,13 @@
+package com.infosys.aibudgettracker.transaction.dto;
+
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+
+/**
+ * Projection of a per-user, per-type sum computed in the database for a batch of users.
+ */
+public interface UserTypeTotal {
+    Long getUserId();
+    TransactionType getType();
+    // in Money minor units
+    Long getTotal();
+}
@@ -0,0 +1,34 @@
+package com.infosys.aibudgettracker.transaction.event;
+
+import com.infosys.aibudgettracker.transaction.model.Transaction;
+
+/**
+ * Published by TransactionService after a transaction has been written, so derived per-user
+ * state can be maintained incrementally instead of being rebuilt from history.
+ *
+ * {@code previous} is a detached copy of the row before the change (null on create) and
+ * {@code current} the row after it (null on delete).
+ */
+public class TransactionChangedEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final ChangeType changeType;
+    private final Long userId;
+    private final Transaction previous;
+    private final Transaction current;
+
+    public TransactionChangedEvent(ChangeType changeType, Long userId, Transaction previous, Transaction current) {
+        this.changeType = changeType;
+        this.userId = userId;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public ChangeType getChangeType() { return changeType; }
+    public Long getUserId() { return userId; }
+    public Transaction getPrevious() { return previous; }
+    public Transaction getCurrent() { return current; }
+}
@@ -0,0 +1,57 @@
+package com.infosys.aibudgettracker.transaction.event;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Transaction writes that have published their {@link TransactionChangedEvent} but whose
+ * database transaction has not completed yet.
+ *
+ * A per-user cache built from the transactions table while such a write is open may or may not
+ * have read its row, so when the write's after-commit event arrives the cache cannot tell whether
+ * it is news. A cache takes {@link #openFor} when it registers what it built and treats the
+ * events in it as in doubt, e.g. by rebuilding instead of applying them; any later event is for
+ * a write that opened after the build had read the table. Events published outside a
+ * transaction are not tracked, since their row is committed before anyone hears of it.
+ */
+@Component
+public class TransactionWrites {
+
+    private final Map<Long, Set<TransactionChangedEvent>> open = new HashMap<>();
+
+    @EventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        Long userId = event.getUserId();
+        synchronized (open) {
+            open.computeIfAbsent(userId, id -> Collections.newSetFromMap(new IdentityHashMap<>())).add(event);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (open) {
+                    Set<TransactionChangedEvent> events = open.get(userId);
+                    if (events != null && events.remove(event) && events.isEmpty()) open.remove(userId);
+                }
+            }
+        });
+    }
+
+    /** The user's writes that are open right now; a copy the caller may modify. */
+    public Set<TransactionChangedEvent> openFor(Long userId) {
+        Set<TransactionChangedEvent> copy = Collections.newSetFromMap(new IdentityHashMap<>());
+        synchronized (open) {
+            Set<TransactionChangedEvent> events = open.get(userId);
+            if (events != null) copy.addAll(events);
+        }
+        return copy;
+    }
+}
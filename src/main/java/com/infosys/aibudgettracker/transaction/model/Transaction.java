@@ -1,5 +1,6 @@
 package com.infosys.aibudgettracker.transaction.model;
 
+import com.infosys.aibudgettracker.money.Money;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -21,8 +22,9 @@ public class Transaction {
     @Column(nullable = false)
     private TransactionType type;
     
-    @Column(nullable = false)
-    private Double amount;
+    // exact minor units; getAmount/setAmount convert for the API
+    @Column(name = "amount_minor", nullable = false)
+    private Long amountMinor;
     
     @Column(nullable = false)
     private String category;
@@ -40,6 +42,14 @@ public class Transaction {
         INCOME, EXPENSE
     }
     
+    public Double getAmount() {
+        return Money.toUnits(amountMinor);
+    }
+    
+    public void setAmount(Double amount) {
+        this.amountMinor = Money.toMinor(amount);
+    }
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
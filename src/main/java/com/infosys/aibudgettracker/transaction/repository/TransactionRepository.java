@@ -1,11 +1,19 @@
 package com.infosys.aibudgettracker.transaction.repository;
 
+import com.infosys.aibudgettracker.transaction.dto.CategoryAmountStats;
+import com.infosys.aibudgettracker.transaction.dto.MonthlyTotal;
+import com.infosys.aibudgettracker.transaction.dto.UserMonthlyTotal;
+import com.infosys.aibudgettracker.transaction.dto.UserTypeTotal;
 import com.infosys.aibudgettracker.transaction.model.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -13,4 +21,36 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     List<Transaction> findByUserIdAndType(Long userId, Transaction.TransactionType type);
     List<Transaction> findByUserIdAndTransactionDateBetween(Long userId, LocalDateTime start, LocalDateTime end);
     List<Transaction> findByUserIdOrderByTransactionDateDesc(Long userId);
+
+    @Query("select year(t.transactionDate) as year, month(t.transactionDate) as month, t.type as type, "
+            + "sum(t.amountMinor) as total from Transaction t "
+            + "where t.userId = :userId and t.transactionDate between :start and :end "
+            + "group by year(t.transactionDate), month(t.transactionDate), t.type")
+    List<MonthlyTotal> sumByMonthAndType(@Param("userId") Long userId,
+                                         @Param("start") LocalDateTime start,
+                                         @Param("end") LocalDateTime end);
+
+    @Query("select t.userId as userId, t.type as type, sum(t.amountMinor) as total from Transaction t "
+            + "where t.userId in :userIds and t.transactionDate between :start and :end "
+            + "group by t.userId, t.type")
+    List<UserTypeTotal> sumByUserAndType(@Param("userIds") Collection<Long> userIds,
+                                         @Param("start") LocalDateTime start,
+                                         @Param("end") LocalDateTime end);
+
+    @Query("select distinct t.userId from Transaction t where t.transactionDate >= :since order by t.userId")
+    List<Long> findActiveUserIds(@Param("since") LocalDateTime since);
+
+    // Streamed so a batch job can fold rows as they arrive; callers must consume it inside a transaction
+    @Query("select t.userId as userId, year(t.transactionDate) as year, month(t.transactionDate) as month, "
+            + "t.type as type, sum(t.amountMinor) as total from Transaction t "
+            + "where t.userId in :userIds and t.transactionDate between :start and :end "
+            + "group by t.userId, year(t.transactionDate), month(t.transactionDate), t.type")
+    Stream<UserMonthlyTotal> streamMonthlyTotals(@Param("userIds") Collection<Long> userIds,
+                                                 @Param("start") LocalDateTime start,
+                                                 @Param("end") LocalDateTime end);
+
+    @Query("select t.userId as userId, t.category as category, count(t) as count, sum(t.amountMinor) as total, "
+            + "sum(cast(t.amountMinor as Double) * t.amountMinor) as sumSquares from Transaction t "
+            + "where t.type = :type group by t.userId, t.category")
+    List<CategoryAmountStats> amountStatsByUserAndCategory(@Param("type") Transaction.TransactionType type);
 }
@@ -1,21 +1,41 @@
 package com.infosys.aibudgettracker.transaction.service;
 
+import com.infosys.aibudgettracker.categorization.service.CategorizationService;
+import com.infosys.aibudgettracker.dataversion.DataVersions;
 import com.infosys.aibudgettracker.transaction.dto.TransactionRequest;
 import com.infosys.aibudgettracker.transaction.dto.TransactionResponse;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent.ChangeType;
 import com.infosys.aibudgettracker.transaction.model.Transaction;
 import com.infosys.aibudgettracker.transaction.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class TransactionService {
+
+    // used by bulk imports when auto-categorization finds nothing to go on
+    private static final String FALLBACK_CATEGORY = "Other";
     
     @Autowired
     private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CategorizationService categorizationService;
+
+    @Autowired
+    private DataVersions dataVersions;
     
+    @Transactional
     public TransactionResponse createTransaction(Long userId, TransactionRequest request) {
         Transaction transaction = new Transaction();
         transaction.setUserId(userId);
@@ -26,9 +46,49 @@ public class TransactionService {
         transaction.setTransactionDate(request.getTransactionDate());
         
         Transaction savedTransaction = transactionRepository.save(transaction);
+        dataVersions.bump(userId);
+        eventPublisher.publishEvent(new TransactionChangedEvent(ChangeType.CREATED, userId, null, savedTransaction));
         return mapToResponse(savedTransaction);
     }
     
+    /**
+     * Saves many transactions in one batch, e.g. from a bank statement import. Either all of
+     * them are saved or, if any row is rejected, none.
+     *
+     * @param autoCategorize fill in a suggested category for rows that arrive without one
+     */
+    @Transactional
+    public List<TransactionResponse> createTransactions(Long userId, List<TransactionRequest> requests, boolean autoCategorize) {
+        List<Transaction> transactions = new ArrayList<>(requests.size());
+        for (TransactionRequest request : requests) {
+            String category = request.getCategory();
+            if (category == null || category.isBlank()) {
+                if (!autoCategorize) {
+                    throw new RuntimeException("Category is required unless autoCategorize is set");
+                }
+                category = categorizationService.suggestCategory(userId, request.getDescription(),
+                        request.getAmount(), request.getType(), FALLBACK_CATEGORY);
+            }
+            Transaction transaction = new Transaction();
+            transaction.setUserId(userId);
+            transaction.setType(request.getType());
+            transaction.setAmount(request.getAmount());
+            transaction.setCategory(category);
+            transaction.setDescription(request.getDescription());
+            transaction.setTransactionDate(request.getTransactionDate());
+            transactions.add(transaction);
+        }
+
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        dataVersions.bump(userId);
+        List<TransactionResponse> responses = new ArrayList<>(saved.size());
+        for (Transaction transaction : saved) {
+            eventPublisher.publishEvent(new TransactionChangedEvent(ChangeType.CREATED, userId, null, transaction));
+            responses.add(mapToResponse(transaction));
+        }
+        return responses;
+    }
+    
     public List<TransactionResponse> getUserTransactions(Long userId) {
         return transactionRepository.findByUserIdOrderByTransactionDateDesc(userId)
                 .stream()
@@ -36,6 +96,7 @@ public class TransactionService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional
     public TransactionResponse updateTransaction(Long transactionId, Long userId, TransactionRequest request) {
         Transaction transaction = transactionRepository.findById(transactionId)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
@@ -43,7 +104,8 @@ public class TransactionService {
         if (!transaction.getUserId().equals(userId)) {
             throw new RuntimeException("Unauthorized access to transaction");
         }
-        
+
+        Transaction previous = copyOf(transaction);
         transaction.setType(request.getType());
         transaction.setAmount(request.getAmount());
         transaction.setCategory(request.getCategory());
@@ -51,9 +113,12 @@ public class TransactionService {
         transaction.setTransactionDate(request.getTransactionDate());
         
         Transaction updatedTransaction = transactionRepository.save(transaction);
+        dataVersions.bump(userId);
+        eventPublisher.publishEvent(new TransactionChangedEvent(ChangeType.UPDATED, userId, previous, updatedTransaction));
         return mapToResponse(updatedTransaction);
     }
     
+    @Transactional
     public void deleteTransaction(Long transactionId, Long userId) {
         Transaction transaction = transactionRepository.findById(transactionId)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
@@ -63,6 +128,21 @@ public class TransactionService {
         }
         
         transactionRepository.delete(transaction);
+        dataVersions.bump(userId);
+        eventPublisher.publishEvent(new TransactionChangedEvent(ChangeType.DELETED, userId, transaction, null));
+    }
+
+    private static Transaction copyOf(Transaction source) {
+        Transaction copy = new Transaction();
+        copy.setId(source.getId());
+        copy.setUserId(source.getUserId());
+        copy.setType(source.getType());
+        copy.setAmount(source.getAmount());
+        copy.setCategory(source.getCategory());
+        copy.setDescription(source.getDescription());
+        copy.setTransactionDate(source.getTransactionDate());
+        copy.setCreatedAt(source.getCreatedAt());
+        return copy;
     }
     
     private TransactionResponse mapToResponse(Transaction transaction) {
@@ -0,0 +1,128 @@
+package com.infosys.aibudgettracker.seed;
+
+import com.infosys.aibudgettracker.AibudgettrackerApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills a database with a deterministic synthetic dataset (see {@link SyntheticDataset}) for load
+ * tests and benchmarks, from a few thousand rows up to tens of millions of transactions.
+ *
+ * <pre>
+ * mvn -Pseed test-compile exec:java -Dseed.args="--embedded=target/seed-db --users=20000 --transactions=10000000"
+ * mvn -Pseed test-compile exec:java -Dseed.args="--url=jdbc:mysql://localhost:3306/user_auth_db?rewriteBatchedStatements=true --username=root --password=..."
+ * mvn -Pseed test-compile exec:java -Dseed.args="--csv=target/seed-csv --users=20000 --transactions=10000000"
+ * </pre>
+ *
+ * Options: {@code --users}, {@code --transactions}, {@code --years}, {@code --seed}, {@code --end=yyyy-MM-dd}
+ * (last day of history, default today), {@code --prefix} (usernames are {@code <prefix>_<n>}, password
+ * {@code password}), {@code --forum-posts-per-user}, {@code --budgets=false}, {@code --goals=false} and
+ * {@code --batch-size}.
+ *
+ * Without {@code --csv} the application context is started without the web server and background
+ * jobs, against the configured datasource, {@code --url}/{@code --username}/{@code --password}, or an
+ * H2 file database at {@code --embedded=<path>}, so Hibernate creates any missing tables first. Rows
+ * are appended after the existing ids. {@code --csv} writes files for MySQL {@code LOAD DATA} instead
+ * and needs no database. Progress and the summary are logged, so a test or load test that seeds
+ * through {@link #seed} reports through its own logging.
+ *
+ * The seeder lives under src/seed/java, which the build adds as a test source root: it is on the
+ * test classpath for QueryBudgetTest and the load test, and never in the application jar.
+ */
+public class DatasetSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetSeeder.class);
+
+    public static void main(String[] args) {
+        Map<String, String> options = parseArgs(args);
+        if (options.containsKey("csv")) {
+            run(new CsvSink(Path.of(options.get("csv"))), new SeedOptions(options));
+            return;
+        }
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AibudgettrackerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(springArguments(options))) {
+            seed(context.getBean(JdbcTemplate.class), options);
+        }
+    }
+
+    /**
+     * Seeds through an existing connection, e.g. the database of an application a load test has
+     * started. {@code options} are the command-line options without the leading dashes.
+     */
+    public static void seed(JdbcTemplate jdbcTemplate, Map<String, String> options) {
+        SeedOptions seed = new SeedOptions(options);
+        Integer existing = jdbcTemplate.queryForObject("select count(*) from users where username = ?",
+                Integer.class, seed.prefix + "_1");
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("Users with prefix '" + seed.prefix + "' already exist; pass a different --prefix");
+        }
+        run(new JdbcBatchSink(jdbcTemplate, Integer.parseInt(options.getOrDefault("batch-size", "1000"))), seed);
+    }
+
+    private static void run(RowSink sink, SeedOptions seed) {
+        long start = System.nanoTime();
+        long[] lastReport = {0};
+        SyntheticDataset.Progress progress = written -> {
+            if (written - lastReport[0] < 1_000_000) return;
+            lastReport[0] = written;
+            double seconds = (System.nanoTime() - start) / 1e9;
+            log.info(String.format("%,d transactions, %.0f rows/s", written, written / seconds));
+        };
+
+        try (RowSink s = sink) {
+            new SyntheticDataset(seed).generate(s, progress);
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long total = 0;
+        StringBuilder summary = new StringBuilder();
+        for (SeedTable table : SeedTable.values()) {
+            long count = sink.count(table);
+            total += count;
+            summary.append(String.format("  %-28s %,14d%n", table.tableName, count));
+        }
+        log.info(String.format("Seeded %,d rows in %.1f s (%.0f rows/s), seed=%d%n%s", total, seconds, total / seconds,
+                seed.seed, summary));
+    }
+
+    /** Overrides as command-line arguments, so they take precedence over application.properties. */
+    private static String[] springArguments(Map<String, String> options) {
+        List<String> properties = new ArrayList<>(List.of(
+                "app.snapshots.enabled=false",
+                "app.predictions.batch.enabled=false",
+                "app.savings.sweep.enabled=false",
+                "spring.jpa.show-sql=false"));
+        if (options.containsKey("embedded")) {
+            properties.add("spring.datasource.url=jdbc:h2:file:" + Path.of(options.get("embedded")).toAbsolutePath()
+                    + ";MODE=MySQL;NON_KEYWORDS=YEAR,MONTH,VALUE");
+            properties.add("spring.datasource.username=sa");
+            properties.add("spring.datasource.password=");
+        }
+        if (options.containsKey("url")) properties.add("spring.datasource.url=" + options.get("url"));
+        if (options.containsKey("username")) properties.add("spring.datasource.username=" + options.get("username"));
+        if (options.containsKey("password")) properties.add("spring.datasource.password=" + options.get("password"));
+        return properties.stream().map(p -> "--" + p).toArray(String[]::new);
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int eq = arg.indexOf('=');
+            if (eq > 0) options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            else options.put(arg.substring(2), "true");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,66 @@
+package com.infosys.aibudgettracker.seed;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes rows with JDBC batch inserts, one buffer per table. On MySQL add
+ * {@code rewriteBatchedStatements=true} to the URL so each batch becomes multi-row inserts.
+ */
+class JdbcBatchSink implements RowSink {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Map<SeedTable, List<Object[]>> buffers = new EnumMap<>(SeedTable.class);
+    private final Map<SeedTable, String> sql = new EnumMap<>(SeedTable.class);
+    private final long[] counts = new long[SeedTable.values().length];
+
+    JdbcBatchSink(JdbcTemplate jdbcTemplate, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        for (SeedTable table : SeedTable.values()) {
+            buffers.put(table, new ArrayList<>(batchSize));
+            sql.put(table, table.insertSql());
+        }
+    }
+
+    @Override
+    public long nextId(SeedTable table) {
+        Long max = jdbcTemplate.queryForObject("select max(id) from " + table.tableName, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    @Override
+    public void row(SeedTable table, Object... values) {
+        List<Object[]> buffer = buffers.get(table);
+        buffer.add(values);
+        counts[table.ordinal()]++;
+        if (buffer.size() >= batchSize) flush(table);
+    }
+
+    @Override
+    public void flush() {
+        for (SeedTable table : SeedTable.values()) flush(table);
+    }
+
+    private void flush(SeedTable table) {
+        List<Object[]> buffer = buffers.get(table);
+        if (buffer.isEmpty()) return;
+        jdbcTemplate.batchUpdate(sql.get(table), buffer);
+        buffer.clear();
+    }
+
+    @Override
+    public long count(SeedTable table) {
+        return counts[table.ordinal()];
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+}
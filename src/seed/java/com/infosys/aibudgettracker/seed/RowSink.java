@@ -0,0 +1,21 @@
+package com.infosys.aibudgettracker.seed;
+
+/**
+ * Destination for generated rows. Values follow {@link SeedTable#columns}; timestamps are
+ * {@link java.sql.Timestamp}, dates {@link java.sql.Date}.
+ */
+interface RowSink extends AutoCloseable {
+
+    /** First free id in {@code table}. */
+    long nextId(SeedTable table);
+
+    void row(SeedTable table, Object... values);
+
+    /** Writes everything buffered, so later rows may reference it. */
+    void flush();
+
+    long count(SeedTable table);
+
+    @Override
+    void close();
+}
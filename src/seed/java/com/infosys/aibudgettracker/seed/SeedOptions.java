@@ -0,0 +1,33 @@
+package com.infosys.aibudgettracker.seed;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/** Generator settings parsed from {@code --key=value} arguments. */
+final class SeedOptions {
+
+    final int users;
+    final long transactions;
+    final int years;
+    final long seed;
+    final LocalDate end;
+    final String prefix;
+    final double postsPerUser;
+    final boolean budgets;
+    final boolean goals;
+
+    SeedOptions(Map<String, String> options) {
+        this.users = Integer.parseInt(options.getOrDefault("users", "1000"));
+        this.transactions = Long.parseLong(options.getOrDefault("transactions", "200000"));
+        this.years = Integer.parseInt(options.getOrDefault("years", "3"));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.end = options.containsKey("end") ? LocalDate.parse(options.get("end")) : LocalDate.now();
+        this.prefix = options.getOrDefault("prefix", "seed");
+        this.postsPerUser = Double.parseDouble(options.getOrDefault("forum-posts-per-user", "0.02"));
+        this.budgets = !"false".equals(options.get("budgets"));
+        this.goals = !"false".equals(options.get("goals"));
+        if (users <= 0 || years <= 0 || transactions < 0) {
+            throw new IllegalArgumentException("users and years must be positive, transactions non-negative");
+        }
+    }
+}
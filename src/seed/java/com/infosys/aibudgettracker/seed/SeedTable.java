@@ -0,0 +1,41 @@
+package com.infosys.aibudgettracker.seed;
+
+import java.util.Set;
+
+/**
+ * Tables the seeder writes, in dependency order, with the columns it fills. Ids are always
+ * assigned by the seeder so rows can reference each other without reading keys back.
+ */
+enum SeedTable {
+    USERS("users", "id", "username", "email", "password", "role", "monthly_income", "savings",
+            "target_expenses", "first_name", "last_name", "banned", "admin_approved"),
+    TRANSACTIONS("transactions", "id", "user_id", "type", "amount_minor", "category", "description",
+            "transaction_date", "created_at"),
+    BUDGETS("budgets", "id", "user_id", "category", "amount_minor", "month", "year", "created_at", "updated_at"),
+    SAVINGS_GOALS("savings_goals", "id", "user_id", "name", "target_amount_minor", "current_amount_minor",
+            "target_date", "priority", "created_at", "updated_at", "version"),
+    SAVINGS_GOAL_CONTRIBUTIONS("savings_goal_contributions", "id", "goal_id", "user_id", "amount_minor", "source",
+            "created_at"),
+    FORUM_POSTS("forum_posts", "id", "user_id", "content", "created_at", "updated_at"),
+    FORUM_COMMENTS("forum_comments", "id", "post_id", "user_id", "content", "created_at", "updated_at"),
+    FORUM_POST_LIKES("forum_post_likes", "id", "post_id", "user_id"),
+    FORUM_COMMENT_LIKES("forum_comment_likes", "id", "comment_id", "user_id");
+
+    // stored as bit(1) on MySQL, which bulk loads cannot fill from text directly
+    static final Set<String> BOOLEAN_COLUMNS = Set.of("banned", "admin_approved");
+
+    final String tableName;
+    final String[] columns;
+
+    SeedTable(String tableName, String... columns) {
+        this.tableName = tableName;
+        this.columns = columns;
+    }
+
+    String insertSql() {
+        StringBuilder sql = new StringBuilder("insert into ").append(tableName).append(" (")
+                .append(String.join(", ", columns)).append(") values (");
+        for (int i = 0; i < columns.length; i++) sql.append(i == 0 ? "?" : ", ?");
+        return sql.append(')').toString();
+    }
+}
@@ -0,0 +1,308 @@
+package com.infosys.aibudgettracker.seed;
+
+import com.infosys.aibudgettracker.money.Money;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic users, ledgers, budgets, savings goals and forum threads.
+ *
+ * Each user draws from its own generator derived from the seed and the user's index, so the
+ * same options always produce the same rows. Transaction volume per user is log-normal (a few
+ * heavy users, a long tail of light ones) and scaled so the total lands near the requested
+ * count. Every active month has a salary, rent, a few fixed subscriptions and a utility bill;
+ * the rest is discretionary spend spread over days weighted by season (festive October to
+ * December high, January low) and weekday (weekends high), with per-user category preferences
+ * and merchant descriptions so categorization and recurring detection have something to find.
+ */
+final class SyntheticDataset {
+
+    /** BCrypt of {@code password}, fixed so the output is identical for a given seed. */
+    static final String PASSWORD_HASH = "$2a$10$EqAHiYoE0GcqmU9vCUaAnOxIbzv.NczgZtxjeymDJ3z.PIrHJNqNG";
+
+    private static final double[] MONTH_FACTOR = {0.85, 0.9, 0.95, 1.0, 1.0, 1.05, 1.0, 1.05, 1.0, 1.15, 1.2, 1.3};
+
+    private static final String[] CATEGORIES = {"Food", "Shopping", "Travel", "Entertainment", "Healthcare", "Other"};
+    private static final double[] CATEGORY_WEIGHT = {0.42, 0.2, 0.14, 0.12, 0.05, 0.07};
+    private static final double[] CATEGORY_MEDIAN = {350, 1200, 600, 500, 900, 400};
+    private static final String[][] MERCHANTS = {
+            {"Swiggy order", "Zomato order", "BigBasket groceries", "Cafe Coffee Day", "Dominos", "Local kirana store"},
+            {"Amazon purchase", "Flipkart order", "Myntra order", "Decathlon", "Croma electronics"},
+            {"Uber ride", "Ola ride", "IRCTC ticket", "IndiGo flight", "Petrol pump", "Metro card recharge"},
+            {"BookMyShow tickets", "PVR cinemas", "Steam games", "Concert tickets"},
+            {"Apollo pharmacy", "Doctor consultation", "Lab tests"},
+            {"ATM withdrawal", "Gift", "Donation", "Stationery"},
+    };
+    private static final String[][] SUBSCRIPTIONS = {
+            {"Netflix subscription", "Entertainment", "649"},
+            {"Spotify premium", "Entertainment", "119"},
+            {"Jio Fiber broadband", "Utilities", "999"},
+            {"Gym membership", "Healthcare", "1500"},
+            {"Google One storage", "Other", "130"},
+            {"Mobile postpaid plan", "Utilities", "399"},
+    };
+    private static final String[] GOAL_NAMES = {"Emergency fund", "Vacation", "New laptop", "Car down payment",
+            "Wedding", "Home renovation"};
+    private static final String[] FIRST_NAMES = {"Aarav", "Diya", "Vivaan", "Ananya", "Arjun", "Isha", "Kabir",
+            "Meera", "Rohan", "Saanvi", "Vikram", "Zara"};
+    private static final String[] LAST_NAMES = {"Sharma", "Patel", "Iyer", "Reddy", "Nair", "Gupta", "Das", "Khan"};
+    private static final String[] POST_TOPICS = {"How do you budget for irregular expenses?",
+            "Is a 50/30/20 split realistic on a single income?", "Best way to build an emergency fund fast?",
+            "Tracking cash spending without losing receipts", "Do subscriptions quietly eat your budget?",
+            "Saving for a wedding in two years - tips?", "How much do you keep in a savings account vs FDs?"};
+    private static final String[] REPLIES = {"Same here, this helped me a lot.", "I automate a transfer on payday.",
+            "Try reviewing subscriptions every quarter.", "Envelope budgeting worked for me.",
+            "Track everything for a month first, then set limits.", "Thanks for sharing!"};
+
+    private final SeedOptions options;
+    private final LocalDate end;
+    private final LocalDate start;
+    private final int days;
+    // cumulative seasonal weight per day of the window, for sampling discretionary dates
+    private final double[] dayWeights;
+
+    SyntheticDataset(SeedOptions options) {
+        this.options = options;
+        this.end = options.end;
+        this.start = YearMonth.from(end).minusMonths(options.years * 12L - 1).atDay(1);
+        this.days = (int) (end.toEpochDay() - start.toEpochDay()) + 1;
+        this.dayWeights = new double[days];
+        double total = 0;
+        for (int d = 0; d < days; d++) {
+            LocalDate date = start.plusDays(d);
+            DayOfWeek dow = date.getDayOfWeek();
+            double weekday = dow == DayOfWeek.SATURDAY ? 1.3 : dow == DayOfWeek.SUNDAY ? 1.2 : dow == DayOfWeek.FRIDAY ? 1.1 : 1.0;
+            total += MONTH_FACTOR[date.getMonthValue() - 1] * weekday;
+            dayWeights[d] = total;
+        }
+    }
+
+    void generate(RowSink sink, Progress progress) {
+        long firstUserId = sink.nextId(SeedTable.USERS);
+        long[] ids = new long[SeedTable.values().length];
+        for (SeedTable table : SeedTable.values()) ids[table.ordinal()] = sink.nextId(table);
+
+        int users = options.users;
+        double[] weight = new double[users];
+        double totalWeight = 0;
+        for (int u = 0; u < users; u++) {
+            weight[u] = Math.exp(1.1 * random(u, 1).nextGaussian());
+            totalWeight += weight[u];
+        }
+
+        for (int u = 0; u < users; u++) {
+            writeUser(sink, random(u, 2), firstUserId + u, u);
+        }
+        sink.flush();
+        ids[SeedTable.USERS.ordinal()] += users;
+
+        for (int u = 0; u < users; u++) {
+            long target = Math.round(options.transactions * weight[u] / totalWeight);
+            writeLedger(sink, random(u, 3), firstUserId + u, salary(u), target, ids);
+            progress.report(sink.count(SeedTable.TRANSACTIONS));
+        }
+        sink.flush();
+
+        writeForum(sink, new SplittableRandom(options.seed * 31 + 7), firstUserId, ids);
+        sink.flush();
+    }
+
+    private SplittableRandom random(int user, int stream) {
+        return new SplittableRandom(options.seed * 0x9E3779B97F4A7C15L + user * 0xBF58476D1CE4E5B9L + stream);
+    }
+
+    private void writeUser(RowSink sink, SplittableRandom rng, long id, int index) {
+        String username = options.prefix + "_" + (index + 1);
+        double income = salary(index);
+        sink.row(SeedTable.USERS, id, username, username + "@example.com", PASSWORD_HASH, "USER",
+                income, (double) rng.nextInt(500_000), Math.round(income * 0.6 / 100) * 100.0,
+                FIRST_NAMES[rng.nextInt(FIRST_NAMES.length)], LAST_NAMES[rng.nextInt(LAST_NAMES.length)],
+                false, true);
+    }
+
+    /** Monthly take-home pay, shared by the profile and the salary credits. */
+    private double salary(int user) {
+        return Math.max(15_000, Math.round(55_000 * Math.exp(0.5 * random(user, 4).nextGaussian()) / 100) * 100.0);
+    }
+
+    private void writeLedger(RowSink sink, SplittableRandom rng, long userId, double salary, long target, long[] ids) {
+        int months = options.years * 12;
+        // four in ten users joined partway through the window
+        int firstMonth = rng.nextInt(10) < 4 ? rng.nextInt(Math.max(1, months / 2)) : 0;
+        int activeMonths = months - firstMonth;
+        YearMonth first = YearMonth.from(start).plusMonths(firstMonth);
+
+        double scale = Math.pow(salary / 55_000, 0.7);
+        double rent = Math.round(salary * (0.25 + rng.nextDouble() * 0.1) / 100) * 100.0;
+        int[] subscriptions = pick(rng, SUBSCRIPTIONS.length, 1 + rng.nextInt(4));
+        int payday = 1 + rng.nextInt(3);
+        int rentDay = 3 + rng.nextInt(3);
+
+        long fixed = 0;
+        for (int m = 0; m < activeMonths; m++) {
+            YearMonth month = first.plusMonths(m);
+            int year = m / 12;
+            double pay = Math.round(salary * Math.pow(1.05, year) / 100) * 100.0;
+            fixed += transaction(sink, ids, userId, "INCOME", pay, "Salary", "Salary credit", month, payday, rng);
+            fixed += transaction(sink, ids, userId, "EXPENSE", rent, "Rent", "Monthly rent", month, rentDay, rng);
+            for (int s : subscriptions) {
+                fixed += transaction(sink, ids, userId, "EXPENSE", Double.parseDouble(SUBSCRIPTIONS[s][2]),
+                        SUBSCRIPTIONS[s][1], SUBSCRIPTIONS[s][0], month, 5 + s * 3, rng);
+            }
+            // electricity runs higher through the summer
+            double summer = month.getMonthValue() >= 4 && month.getMonthValue() <= 6 ? 1.4 : 1.0;
+            double bill = Math.round(1800 * scale * summer * (0.75 + rng.nextDouble() * 0.5));
+            fixed += transaction(sink, ids, userId, "EXPENSE", bill, "Utilities", "Electricity bill", month, 12, rng);
+        }
+
+        // per-user taste: the base category mix, perturbed
+        double[] preference = new double[CATEGORIES.length];
+        double totalPreference = 0;
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            preference[c] = CATEGORY_WEIGHT[c] * (0.4 + rng.nextDouble() * 1.2);
+            totalPreference += preference[c];
+        }
+        for (int c = 1; c < CATEGORIES.length; c++) preference[c] += preference[c - 1];
+
+        int fromDay = (int) (first.atDay(1).toEpochDay() - start.toEpochDay());
+        double low = fromDay == 0 ? 0 : dayWeights[fromDay - 1];
+        double high = dayWeights[days - 1];
+        long discretionary = Math.max(0, target - fixed);
+        for (long i = 0; i < discretionary; i++) {
+            int day = Arrays.binarySearch(dayWeights, low + rng.nextDouble() * (high - low));
+            day = day < 0 ? -day - 1 : day;
+            int c = Arrays.binarySearch(preference, rng.nextDouble() * totalPreference);
+            c = Math.min(CATEGORIES.length - 1, c < 0 ? -c - 1 : c);
+            double amount = Math.max(10, CATEGORY_MEDIAN[c] * scale * Math.exp(0.8 * rng.nextGaussian()));
+            LocalDateTime when = start.plusDays(day).atTime(8 + rng.nextInt(15), rng.nextInt(60));
+            writeTransaction(sink, ids, userId, "EXPENSE", Math.round(amount * 100) / 100.0, CATEGORIES[c],
+                    MERCHANTS[c][rng.nextInt(MERCHANTS[c].length)], when);
+        }
+
+        if (options.budgets) {
+            double monthlyDiscretionary = (double) discretionary / activeMonths;
+            for (int m = Math.max(0, activeMonths - 12); m < activeMonths; m++) {
+                YearMonth month = first.plusMonths(m);
+                for (int c : pick(rng, CATEGORIES.length, 3 + rng.nextInt(3))) {
+                    double share = (preference[c] - (c == 0 ? 0 : preference[c - 1])) / totalPreference;
+                    double expected = monthlyDiscretionary * share * CATEGORY_MEDIAN[c] * scale * 1.38;
+                    double amount = Math.max(500, Math.round(expected * (0.8 + rng.nextDouble() * 0.5) / 100) * 100.0);
+                    Timestamp created = Timestamp.valueOf(month.atDay(1).atTime(9, 0));
+                    sink.row(SeedTable.BUDGETS, ids[SeedTable.BUDGETS.ordinal()]++, userId, CATEGORIES[c],
+                            Money.toMinor(amount), month.getMonthValue(), month.getYear(), created, created);
+                }
+            }
+        }
+
+        if (options.goals) {
+            writeGoals(sink, rng, userId, first, activeMonths, salary, ids);
+        }
+    }
+
+    private int transaction(RowSink sink, long[] ids, long userId, String type, double amount, String category,
+                            String description, YearMonth month, int day, SplittableRandom rng) {
+        LocalDate date = month.atDay(Math.min(day, month.lengthOfMonth()));
+        if (date.isAfter(end)) return 0;
+        writeTransaction(sink, ids, userId, type, amount, category, description, date.atTime(9 + rng.nextInt(4), rng.nextInt(60)));
+        return 1;
+    }
+
+    private void writeTransaction(RowSink sink, long[] ids, long userId, String type, double amount,
+                                  String category, String description, LocalDateTime when) {
+        Timestamp at = Timestamp.valueOf(when);
+        sink.row(SeedTable.TRANSACTIONS, ids[SeedTable.TRANSACTIONS.ordinal()]++, userId, type,
+                Money.toMinor(amount), category, description, at, at);
+    }
+
+    private void writeGoals(RowSink sink, SplittableRandom rng, long userId, YearMonth first, int activeMonths,
+                            double salary, long[] ids) {
+        int goals = rng.nextInt(4);
+        for (int name : pick(rng, GOAL_NAMES.length, goals)) {
+            long goalId = ids[SeedTable.SAVINGS_GOALS.ordinal()]++;
+            long target = Money.toMinor(Math.round(salary * (0.5 + rng.nextDouble() * 8) / 1000) * 1000.0);
+            int createdMonth = rng.nextInt(activeMonths);
+            YearMonth created = first.plusMonths(createdMonth);
+            long current = 0;
+            for (YearMonth m = created; !m.atDay(1).isAfter(end) && current < target; m = m.plusMonths(1)) {
+                if (rng.nextInt(10) >= 7) continue;
+                long amount = Math.min(target - current, Money.toMinor(Math.round(target * (0.01 + rng.nextDouble() * 0.04)) / 100.0));
+                LocalDate day = m.atDay(Math.min(m.lengthOfMonth(), 2 + rng.nextInt(5)));
+                if (day.isAfter(end)) break;
+                current += amount;
+                sink.row(SeedTable.SAVINGS_GOAL_CONTRIBUTIONS, ids[SeedTable.SAVINGS_GOAL_CONTRIBUTIONS.ordinal()]++,
+                        goalId, userId, amount, rng.nextInt(4) == 0 ? "SWEEP" : "MANUAL", Timestamp.valueOf(day.atTime(20, 0)));
+            }
+            LocalDate targetDate = rng.nextInt(10) < 3 ? null : end.plusMonths(3 + rng.nextInt(34));
+            Timestamp createdAt = Timestamp.valueOf(created.atDay(1).atTime(10, 0));
+            sink.row(SeedTable.SAVINGS_GOALS, goalId, userId, GOAL_NAMES[name], target, current,
+                    targetDate == null ? null : Date.valueOf(targetDate), 1 + rng.nextInt(3), createdAt, createdAt, 0L);
+        }
+    }
+
+    private void writeForum(RowSink sink, SplittableRandom rng, long firstUserId, long[] ids) {
+        int users = options.users;
+        int posts = (int) Math.round(users * options.postsPerUser);
+        long firstPost = ids[SeedTable.FORUM_POSTS.ordinal()];
+        int[] commentsPerPost = new int[posts];
+        for (int p = 0; p < posts; p++) {
+            // squared uniform skews authorship towards the first (heaviest) users
+            long author = firstUserId + (long) (users * Math.pow(rng.nextDouble(), 2));
+            Timestamp at = Timestamp.valueOf(end.minusDays(rng.nextInt(365)).atTime(8 + rng.nextInt(14), rng.nextInt(60)));
+            sink.row(SeedTable.FORUM_POSTS, ids[SeedTable.FORUM_POSTS.ordinal()]++, author,
+                    POST_TOPICS[rng.nextInt(POST_TOPICS.length)], at, null);
+            commentsPerPost[p] = geometric(rng, 4, 200);
+        }
+        sink.flush();
+
+        long firstComment = ids[SeedTable.FORUM_COMMENTS.ordinal()];
+        for (int p = 0; p < posts; p++) {
+            for (int c = 0; c < commentsPerPost[p]; c++) {
+                Timestamp at = Timestamp.valueOf(end.minusDays(rng.nextInt(365)).atTime(8 + rng.nextInt(14), rng.nextInt(60)));
+                sink.row(SeedTable.FORUM_COMMENTS, ids[SeedTable.FORUM_COMMENTS.ordinal()]++, firstPost + p,
+                        firstUserId + rng.nextInt(users), REPLIES[rng.nextInt(REPLIES.length)], at, null);
+            }
+        }
+        sink.flush();
+
+        for (int p = 0; p < posts; p++) {
+            for (int u : pick(rng, users, Math.min(users, geometric(rng, 6, 500)))) {
+                sink.row(SeedTable.FORUM_POST_LIKES, ids[SeedTable.FORUM_POST_LIKES.ordinal()]++, firstPost + p, firstUserId + u);
+            }
+        }
+        long comments = ids[SeedTable.FORUM_COMMENTS.ordinal()] - firstComment;
+        for (long c = 0; c < comments; c++) {
+            for (int u : pick(rng, users, Math.min(users, rng.nextInt(4)))) {
+                sink.row(SeedTable.FORUM_COMMENT_LIKES, ids[SeedTable.FORUM_COMMENT_LIKES.ordinal()]++, firstComment + c, firstUserId + u);
+            }
+        }
+    }
+
+    private static int geometric(SplittableRandom rng, double mean, int cap) {
+        return (int) Math.min(cap, Math.floor(Math.log(1 - rng.nextDouble()) / Math.log(1 - 1 / (mean + 1))));
+    }
+
+    /** {@code k} distinct values from {@code [0, n)}. */
+    private static int[] pick(SplittableRandom rng, int n, int k) {
+        Set<Integer> chosen = new HashSet<>();
+        int[] out = new int[Math.min(k, n)];
+        for (int i = 0; i < out.length; ) {
+            int v = rng.nextInt(n);
+            if (chosen.add(v)) out[i++] = v;
+        }
+        return out;
+    }
+
+    /** Callback for progress output while the ledger is written. */
+    interface Progress {
+        void report(long transactionsWritten);
+    }
+}
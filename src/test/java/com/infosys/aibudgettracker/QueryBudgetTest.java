@@ -0,0 +1,298 @@
+package com.infosys.aibudgettracker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infosys.aibudgettracker.seed.DatasetSeeder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Calls every endpoint against a small and a large seeded dataset and checks the SQL each call
+ * runs (the {@code X-SQL-Count} header) against a fixed budget, and that it does not grow with
+ * the data. A per-row query added anywhere (an N+1) breaks one of the two.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querybudget;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,MONTH,VALUE",
+        "app.predictions.batch.enabled=false",
+        "app.savings.sweep.enabled=false",
+        // queued anomalies are then always written by the read, not by the timer at random
+        "app.anomaly.flush-interval-ms=3600000"
+})
+class QueryBudgetTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void statementCountsStayWithinBudgetAndDoNotGrowWithData() {
+        Map<String, Integer> small = run(seed("small", 10, 2_000, 0.3));
+        Map<String, Integer> large = run(seed("large", 40, 40_000, 0.5));
+
+        List<String> failures = new ArrayList<>();
+        for (Call call : calls()) {
+            Integer s = small.get(call.name);
+            Integer l = large.get(call.name);
+            if (l > call.budget || s > call.budget) {
+                failures.add(call.name + " ran " + Math.max(s, l) + " statements, budget " + call.budget);
+            }
+            if (call.fixed && l > s) {
+                failures.add(call.name + " grew from " + s + " to " + l + " statements with more data");
+            }
+        }
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    private Scale seed(String prefix, int users, int transactions, double postsPerUser) {
+        DatasetSeeder.seed(jdbcTemplate, Map.of(
+                "prefix", prefix,
+                "users", Integer.toString(users),
+                "transactions", Integer.toString(transactions),
+                "years", "2",
+                "forum-posts-per-user", Double.toString(postsPerUser)));
+        Scale scale = new Scale(prefix);
+        // the heaviest seeded user, made owner so the admin endpoints answer
+        jdbcTemplate.update("update users set role = 'OWNER' where username = ?", prefix + "_1");
+        scale.ids.put("user", id("select id from users where username = ?", prefix + "_1"));
+        scale.ids.put("other", id("select id from users where username = ?", prefix + "_2"));
+        scale.ids.put("post", id("select max(p.id) from forum_posts p join users u on u.id = p.user_id where u.username like ?", prefix + "\\_%"));
+        return scale;
+    }
+
+    private String id(String sql, Object arg) {
+        Long id = jdbcTemplate.queryForObject(sql, Long.class, arg);
+        assertNotNull(id, sql);
+        return id.toString();
+    }
+
+    private Map<String, Integer> run(Scale scale) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        String etag = null;
+        for (Call call : calls()) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            if (scale.token != null) headers.setBearerAuth(scale.token);
+            if (call.revalidate) headers.setIfNoneMatch(etag);
+            Object body = call.body == null ? null : call.body.apply(scale);
+            ResponseEntity<String> response = rest.exchange(call.path.apply(scale), call.method,
+                    new HttpEntity<>(body, headers), String.class);
+            if (call.revalidate) {
+                assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode(), call.name);
+            } else {
+                assertTrue(response.getStatusCode().is2xxSuccessful(),
+                        call.name + " answered " + response.getStatusCode() + ": " + response.getBody());
+            }
+            etag = response.getHeaders().getETag();
+            String count = response.getHeaders().getFirst("X-SQL-Count");
+            assertNotNull(count, call.name + " has no X-SQL-Count header");
+            counts.put(call.name, Integer.parseInt(count));
+            if (call.capture != null) scale.capture(call.capture, response.getBody());
+        }
+        return counts;
+    }
+
+    /**
+     * Every endpoint in the order it is called; ids created by one call are used by the next.
+     * {@code fixed} is false only for the admin batch jobs, which work through every user.
+     */
+    private static List<Call> calls() {
+        YearMonth month = YearMonth.now();
+        String today = LocalDate.now().toString();
+        List<Call> calls = new ArrayList<>();
+        calls.add(new Call("POST /api/auth/signup", 2, HttpMethod.POST, s -> "/api/auth/signup",
+                s -> Map.of("username", s.prefix + "_new", "email", s.prefix + "_new@example.com", "password", "password")));
+        calls.add(new Call("POST /api/auth/login", 1, HttpMethod.POST, s -> "/api/auth/login",
+                s -> Map.of("username", s.prefix + "_1", "password", "password")).capture("token"));
+
+        calls.add(new Call("GET /api/profile", 2, HttpMethod.GET, s -> "/api/profile", null));
+        calls.add(new Call("PUT /api/profile", 3, HttpMethod.PUT, s -> "/api/profile",
+                s -> Map.of("firstName", "Asha", "lastName", "Rao", "monthlyIncome", 90000.0)));
+
+        calls.add(new Call("GET /api/categories", 4, HttpMethod.GET, s -> "/api/categories", null));
+        calls.add(new Call("POST /api/categories", 5, HttpMethod.POST, s -> "/api/categories",
+                s -> Map.of("name", "Pets")).capture("category"));
+        calls.add(new Call("PUT /api/categories/{id}", 6, HttpMethod.PUT, s -> "/api/categories/" + s.ids.get("category"),
+                s -> Map.of("name", "Pet care")));
+        calls.add(new Call("DELETE /api/categories/{id}", 5, HttpMethod.DELETE, s -> "/api/categories/" + s.ids.get("category"), null));
+
+        calls.add(new Call("POST /api/transactions", 4, HttpMethod.POST, s -> "/api/transactions",
+                s -> transaction("Grocery run", 1250.0)).capture("transaction"));
+        calls.add(new Call("POST /api/transactions/bulk", 6, HttpMethod.POST, s -> "/api/transactions/bulk?autoCategorize=true",
+                s -> List.of(transaction("Coffee", 180.0), transaction("Cab to office", 320.0), transaction("Movie night", 700.0))));
+        calls.add(new Call("GET /api/transactions", 3, HttpMethod.GET, s -> "/api/transactions", null));
+        calls.add(new Call("GET /api/transactions, unchanged", 1, HttpMethod.GET, s -> "/api/transactions", null).revalidate());
+        calls.add(new Call("PUT /api/transactions/{id}", 5, HttpMethod.PUT, s -> "/api/transactions/" + s.ids.get("transaction"),
+                s -> transaction("Grocery run", 1400.0)));
+        calls.add(new Call("DELETE /api/transactions/{id}", 5, HttpMethod.DELETE, s -> "/api/transactions/" + s.ids.get("transaction"), null));
+
+        calls.add(new Call("GET /api/analytics", 3, HttpMethod.GET,
+                s -> "/api/analytics?year=" + month.getYear() + "&month=" + month.getMonthValue(), null));
+        calls.add(new Call("GET /api/analytics?categoryLevel", 4, HttpMethod.GET,
+                s -> "/api/analytics?year=" + month.getYear() + "&month=" + month.getMonthValue() + "&categoryLevel=0", null));
+        calls.add(new Call("GET /api/analytics/predict-next-month", 4, HttpMethod.GET, s -> "/api/analytics/predict-next-month", null));
+        calls.add(new Call("GET /api/analytics/predict-next-month/categories", 3, HttpMethod.GET,
+                s -> "/api/analytics/predict-next-month/categories", null));
+        calls.add(new Call("GET /api/analytics/range", 3, HttpMethod.GET,
+                s -> "/api/analytics/range?startDate=" + month.minusMonths(6).atDay(1) + "&endDate=" + today, null));
+        calls.add(new Call("GET /api/analytics/rolling", 2, HttpMethod.GET, s -> "/api/analytics/rolling?window=30&points=12", null));
+        calls.add(new Call("GET /api/dashboard", 6, HttpMethod.GET,
+                s -> "/api/dashboard?year=" + month.getYear() + "&month=" + month.getMonthValue(), null));
+        calls.add(new Call("GET /api/dashboard, unchanged", 1, HttpMethod.GET,
+                s -> "/api/dashboard?year=" + month.getYear() + "&month=" + month.getMonthValue(), null).revalidate());
+        // includes the batch that flushes anomalies queued by the transaction writes above
+        calls.add(new Call("GET /api/anomalies", 4, HttpMethod.GET, s -> "/api/anomalies", null));
+        calls.add(new Call("GET /api/recurring", 3, HttpMethod.GET, s -> "/api/recurring", null));
+        calls.add(new Call("POST /api/recurring/detect", 8, HttpMethod.POST, s -> "/api/recurring/detect", null));
+        calls.add(new Call("GET /api/cashflow/projection", 5, HttpMethod.GET, s -> "/api/cashflow/projection", null));
+        calls.add(new Call("GET /api/categorization/suggest", 3, HttpMethod.GET,
+                s -> "/api/categorization/suggest?description=Netflix subscription&amount=649", null));
+
+        calls.add(new Call("POST /api/budgets", 4, HttpMethod.POST, s -> "/api/budgets",
+                s -> Map.of("category", "Pets", "amount", 3000.0, "month", month.getMonthValue(), "year", month.getYear())).capture("budget"));
+        calls.add(new Call("GET /api/budgets", 3, HttpMethod.GET,
+                s -> "/api/budgets?month=" + month.getMonthValue() + "&year=" + month.getYear(), null));
+        calls.add(new Call("PUT /api/budgets/{id}", 4, HttpMethod.PUT, s -> "/api/budgets/" + s.ids.get("budget"),
+                s -> Map.of("category", "Pets", "amount", 3500.0, "month", month.getMonthValue(), "year", month.getYear())));
+        calls.add(new Call("GET /api/budgets/progress", 4, HttpMethod.GET,
+                s -> "/api/budgets/progress?month=" + month.getMonthValue() + "&year=" + month.getYear(), null));
+        calls.add(new Call("DELETE /api/budgets/{id}", 4, HttpMethod.DELETE, s -> "/api/budgets/" + s.ids.get("budget"), null));
+
+        calls.add(new Call("POST /api/savings-goals", 3, HttpMethod.POST, s -> "/api/savings-goals",
+                s -> Map.of("name", "Bike", "targetAmount", 60000.0, "currentAmount", 0.0, "targetDate", month.plusMonths(10).atDay(1).toString()))
+                .capture("goal"));
+        calls.add(new Call("GET /api/savings-goals", 3, HttpMethod.GET, s -> "/api/savings-goals", null));
+        calls.add(new Call("GET /api/savings-goals/progress", 3, HttpMethod.GET, s -> "/api/savings-goals/progress", null));
+        calls.add(new Call("GET /api/savings-goals/forecast", 4, HttpMethod.GET, s -> "/api/savings-goals/forecast?paths=500", null));
+        calls.add(new Call("PUT /api/savings-goals/{id}", 4, HttpMethod.PUT, s -> "/api/savings-goals/" + s.ids.get("goal"),
+                s -> Map.of("name", "Road bike", "targetAmount", 75000.0)));
+        calls.add(new Call("POST /api/savings-goals/{id}/add", 5, HttpMethod.POST, s -> "/api/savings-goals/" + s.ids.get("goal") + "/add",
+                s -> Map.of("amount", 500.0)));
+        calls.add(new Call("GET /api/savings-goals/{id}/contributions", 4, HttpMethod.GET,
+                s -> "/api/savings-goals/" + s.ids.get("goal") + "/contributions", null));
+        calls.add(new Call("DELETE /api/savings-goals/{id}", 5, HttpMethod.DELETE, s -> "/api/savings-goals/" + s.ids.get("goal"), null));
+
+        calls.add(new Call("GET /api/forum/posts", 8, HttpMethod.GET, s -> "/api/forum/posts?size=10", null));
+        calls.add(new Call("POST /api/forum/posts", 7, HttpMethod.POST, s -> "/api/forum/posts",
+                s -> Map.of("content", "How do you budget for annual insurance?")).capture("ownPost"));
+        calls.add(new Call("PUT /api/forum/posts/{id}", 8, HttpMethod.PUT, s -> "/api/forum/posts/" + s.ids.get("ownPost"),
+                s -> Map.of("content", "How do you budget for annual premiums?")));
+        calls.add(new Call("POST /api/forum/posts/{id}/like", 5, HttpMethod.POST, s -> "/api/forum/posts/" + s.ids.get("post") + "/like", null));
+        calls.add(new Call("POST /api/forum/posts/{id}/comments", 4, HttpMethod.POST, s -> "/api/forum/posts/" + s.ids.get("post") + "/comments",
+                s -> Map.of("content", "Monthly sinking fund works for me")).capture("comment"));
+        calls.add(new Call("POST /api/forum/comments/{id}/like", 5, HttpMethod.POST, s -> "/api/forum/comments/" + s.ids.get("comment") + "/like", null));
+        calls.add(new Call("PUT /api/forum/comments/{id}", 4, HttpMethod.PUT, s -> "/api/forum/comments/" + s.ids.get("comment"),
+                s -> Map.of("content", "A monthly sinking fund works for me")));
+        calls.add(new Call("DELETE /api/forum/comments/{id}", 5, HttpMethod.DELETE, s -> "/api/forum/comments/" + s.ids.get("comment"), null));
+        calls.add(new Call("DELETE /api/forum/posts/{id}", 8, HttpMethod.DELETE, s -> "/api/forum/posts/" + s.ids.get("ownPost"), null));
+
+        calls.add(new Call("GET /api/admin/users", 3, HttpMethod.GET, s -> "/api/admin/users", null));
+        calls.add(new Call("POST /api/admin/users/{id}/ban", 4, HttpMethod.POST, s -> "/api/admin/users/" + s.ids.get("other") + "/ban", null));
+        calls.add(new Call("POST /api/admin/users/{id}/unban", 4, HttpMethod.POST, s -> "/api/admin/users/" + s.ids.get("other") + "/unban", null));
+        calls.add(new Call("GET /api/admin/admin-requests", 3, HttpMethod.GET, s -> "/api/admin/admin-requests", null));
+        calls.add(new Call("POST /api/admin/admin-requests/{id}/approve", 4, HttpMethod.POST,
+                s -> "/api/admin/admin-requests/" + s.ids.get("other") + "/approve", null));
+        calls.add(new Call("POST /api/admin/admin-requests/{id}/revoke", 4, HttpMethod.POST,
+                s -> "/api/admin/admin-requests/" + s.ids.get("other") + "/revoke", null));
+        calls.add(new Call("POST /api/admin/predictions/run", 2, HttpMethod.POST,
+                s -> "/api/admin/predictions/run?force=true&userIds=" + s.ids.get("user"), null));
+        calls.add(new Call("POST /api/admin/savings-sweep", 3, HttpMethod.POST,
+                s -> "/api/admin/savings-sweep?month=" + month.minusMonths(1), null).batch());
+        return calls;
+    }
+
+    private static Map<String, Object> transaction(String description, double amount) {
+        return Map.of("type", "EXPENSE", "amount", amount, "category", "Groceries", "description", description,
+                "transactionDate", LocalDate.now().atTime(12, 0).toString());
+    }
+
+    private final class Scale {
+        final String prefix;
+        final Map<String, String> ids = new HashMap<>();
+        String token;
+
+        Scale(String prefix) {
+            this.prefix = prefix;
+        }
+
+        void capture(String key, String body) {
+            try {
+                if ("token".equals(key)) {
+                    token = JSON.readTree(body).get("token").asText();
+                    return;
+                }
+                if ("comment".equals(key)) {
+                    // comments are answered without a body, so the new one's id is read back
+                    ids.put(key, id("select max(id) from forum_comments where post_id = ?", Long.valueOf(ids.get("post"))));
+                    return;
+                }
+                ids.put(key, JSON.readTree(body).get("id").asText());
+            } catch (Exception e) {
+                throw new AssertionError("Could not read " + key + " from " + body, e);
+            }
+        }
+    }
+
+    private static final class Call {
+        final String name;
+        final int budget;
+        final HttpMethod method;
+        final Function<Scale, String> path;
+        final Function<Scale, Object> body;
+        String capture;
+        boolean fixed = true;
+        boolean revalidate;
+
+        Call(String name, int budget, HttpMethod method, Function<Scale, String> path, Function<Scale, Object> body) {
+            this.name = name;
+            this.budget = budget;
+            this.method = method;
+            this.path = path;
+            this.body = body;
+        }
+
+        Call capture(String key) {
+            this.capture = key;
+            return this;
+        }
+
+        Call batch() {
+            this.fixed = false;
+            return this;
+        }
+
+        /** Sends the previous call's ETag as If-None-Match and expects 304. */
+        Call revalidate() {
+            this.revalidate = true;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.infosys.aibudgettracker.analytics.columnar;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Each kernel against the stream pipeline over transaction rows it replaced, on random rows
+ * plus rows placed on and just outside the range and bucket edges.
+ */
+class ColumnKernelsTest {
+
+    private static final String[] CATEGORIES = {"Food", "Rent", "Travel", "food", "Salary"};
+    private static final YearMonth FIRST = YearMonth.of(2027, 1);
+    private static final int MONTHS = 12;
+    private static final LocalDate FROM = LocalDate.of(2027, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2027, 3, 31);
+
+    private final List<Row> rows = rows();
+    private final TransactionColumns columns = columnsOf(rows);
+    private final DayBuckets buckets = DayBuckets.months(FIRST, MONTHS);
+
+    @Test
+    void sumMatchesFilteringAndSumming() {
+        for (byte type : new byte[]{TransactionColumns.INCOME, TransactionColumns.EXPENSE}) {
+            long expected = inRange(type).mapToLong(r -> r.amount).sum();
+            assertEquals(expected, ColumnKernels.sum(columns, type, day(FROM), day(TO)));
+        }
+    }
+
+    @Test
+    void filterSelectsTheSameRowsInOrder() {
+        int[] out = new int[columns.size()];
+        int n = ColumnKernels.filter(columns, TransactionColumns.EXPENSE, day(FROM), day(TO), out);
+
+        int[] expected = inRange(TransactionColumns.EXPENSE).mapToInt(r -> r.index).toArray();
+        assertArrayEquals(expected, Arrays.copyOf(out, n));
+    }
+
+    @Test
+    void sumByCategoryMatchesGroupingByCategory() {
+        long[] out = new long[columns.categoryCount()];
+        ColumnKernels.sumByCategory(columns, TransactionColumns.EXPENSE, day(FROM), day(TO), out);
+
+        Map<String, Long> expected = inRange(TransactionColumns.EXPENSE)
+                .collect(Collectors.groupingBy(r -> r.category, Collectors.summingLong(r -> r.amount)));
+        for (int c = 0; c < out.length; c++) {
+            assertEquals(expected.getOrDefault(columns.categoryName(c), 0L), out[c], columns.categoryName(c));
+        }
+    }
+
+    @Test
+    void sumByBucketAndTypeMatchesGroupingByMonth() {
+        long[] income = new long[MONTHS];
+        long[] expense = new long[MONTHS];
+        ColumnKernels.sumByBucketAndType(columns, buckets, income, expense);
+
+        assertArrayEquals(byMonth(TransactionColumns.INCOME), income);
+        assertArrayEquals(byMonth(TransactionColumns.EXPENSE), expense);
+    }
+
+    @Test
+    void sumByBucketMatchesGroupingByMonth() {
+        long[] out = new long[MONTHS];
+        ColumnKernels.sumByBucket(columns, TransactionColumns.EXPENSE, buckets, out);
+
+        assertArrayEquals(byMonth(TransactionColumns.EXPENSE), out);
+    }
+
+    @Test
+    void sumByCategoryAndBucketMatchesGroupingByCategoryAndMonth() {
+        long[] out = new long[columns.categoryCount() * MONTHS];
+        ColumnKernels.sumByCategoryAndBucket(columns, TransactionColumns.EXPENSE, buckets, out);
+
+        for (int c = 0; c < columns.categoryCount(); c++) {
+            String name = columns.categoryName(c);
+            long[] expected = new long[MONTHS];
+            rows.stream()
+                    .filter(r -> r.type == TransactionColumns.EXPENSE && r.category.equals(name))
+                    .collect(Collectors.groupingBy(r -> YearMonth.from(r.date), Collectors.summingLong(r -> r.amount)))
+                    .forEach((month, total) -> {
+                        int m = (int) FIRST.until(month, ChronoUnit.MONTHS);
+                        if (m >= 0 && m < MONTHS) expected[m] = total;
+                    });
+            assertArrayEquals(expected, Arrays.copyOfRange(out, c * MONTHS, (c + 1) * MONTHS), name);
+        }
+    }
+
+    @Test
+    void emptyColumnsSumToZero() {
+        TransactionColumns empty = new TransactionColumns(0);
+        long[] income = new long[MONTHS];
+        long[] expense = new long[MONTHS];
+        long[] byCategoryAndBucket = new long[0];
+
+        assertEquals(0, ColumnKernels.sum(empty, TransactionColumns.EXPENSE, day(FROM), day(TO)));
+        assertEquals(0, ColumnKernels.filter(empty, TransactionColumns.EXPENSE, day(FROM), day(TO), new int[0]));
+        ColumnKernels.sumByCategory(empty, TransactionColumns.EXPENSE, day(FROM), day(TO), new long[0]);
+        ColumnKernels.sumByBucketAndType(empty, buckets, income, expense);
+        ColumnKernels.sumByCategoryAndBucket(empty, TransactionColumns.EXPENSE, buckets, byCategoryAndBucket);
+
+        assertArrayEquals(new long[MONTHS], income);
+        assertArrayEquals(new long[MONTHS], expense);
+    }
+
+    @Test
+    void rangeIncludesBothEndDays() {
+        TransactionColumns edges = new TransactionColumns(4);
+        edges.add(1, day(FROM.minusDays(1)), TransactionColumns.EXPENSE, "Food");
+        edges.add(10, day(FROM), TransactionColumns.EXPENSE, "Food");
+        edges.add(100, day(TO), TransactionColumns.EXPENSE, "Food");
+        edges.add(1_000, day(TO.plusDays(1)), TransactionColumns.EXPENSE, "Food");
+
+        assertEquals(110, ColumnKernels.sum(edges, TransactionColumns.EXPENSE, day(FROM), day(TO)));
+        assertEquals(10, ColumnKernels.sum(edges, TransactionColumns.EXPENSE, day(FROM), day(FROM)));
+        assertEquals(0, ColumnKernels.sum(edges, TransactionColumns.EXPENSE, day(TO), day(FROM)));
+    }
+
+    @Test
+    void overflowingTotalThrows() {
+        TransactionColumns huge = new TransactionColumns(2);
+        huge.add(Long.MAX_VALUE, day(FROM), TransactionColumns.EXPENSE, "Rent");
+        huge.add(1, day(FROM), TransactionColumns.EXPENSE, "Rent");
+
+        assertThrows(ArithmeticException.class, () -> ColumnKernels.sum(huge, TransactionColumns.EXPENSE, day(FROM), day(TO)));
+    }
+
+    private Stream<Row> inRange(byte type) {
+        return rows.stream().filter(r -> r.type == type && !r.date.isBefore(FROM) && !r.date.isAfter(TO));
+    }
+
+    private long[] byMonth(byte type) {
+        long[] totals = new long[MONTHS];
+        rows.stream()
+                .filter(r -> r.type == type && YearMonth.from(r.date).getYear() == FIRST.getYear())
+                .forEach(r -> totals[r.date.getMonthValue() - 1] += r.amount);
+        return totals;
+    }
+
+    private static List<Row> rows() {
+        SplittableRandom rng = new SplittableRandom(3);
+        LocalDate start = FIRST.minusMonths(1).atDay(1);
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            boolean income = rng.nextInt(8) == 0;
+            String category = income ? "Salary" : CATEGORIES[rng.nextInt(CATEGORIES.length - 1)];
+            rows.add(new Row(rows.size(), 1 + rng.nextInt(5_000_000), start.plusDays(rng.nextInt(430)),
+                    income ? TransactionColumns.INCOME : TransactionColumns.EXPENSE, category));
+        }
+        // on and just outside every edge the tests use
+        for (LocalDate d : new LocalDate[]{FROM.minusDays(1), FROM, TO, TO.plusDays(1),
+                FIRST.atDay(1).minusDays(1), FIRST.atDay(1), FIRST.plusMonths(MONTHS - 1).atEndOfMonth(),
+                FIRST.plusMonths(MONTHS).atDay(1)}) {
+            rows.add(new Row(rows.size(), 777, d, TransactionColumns.EXPENSE, "Rent"));
+            rows.add(new Row(rows.size(), 555, d, TransactionColumns.INCOME, "Salary"));
+        }
+        return rows;
+    }
+
+    private static TransactionColumns columnsOf(List<Row> rows) {
+        TransactionColumns columns = new TransactionColumns(16);
+        for (Row r : rows) columns.add(r.amount, day(r.date), r.type, r.category);
+        return columns;
+    }
+
+    private static int day(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+
+    private static final class Row {
+        final int index;
+        final long amount;
+        final LocalDate date;
+        final byte type;
+        final String category;
+
+        Row(int index, long amount, LocalDate date, byte type, String category) {
+            this.index = index;
+            this.amount = amount;
+            this.date = date;
+            this.type = type;
+            this.category = category;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.infosys.aibudgettracker.analytics.columnar;
+
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent.ChangeType;
+import com.infosys.aibudgettracker.transaction.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ColumnSnapshotStoreTest {
+
+    private static final Long USER = 1L;
+
+    @TempDir
+    Path dir;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private ColumnSnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ColumnSnapshotStore(true, dir.toString(), 0, 1, 1, 10);
+        ReflectionTestUtils.setField(store, "jdbcTemplate", jdbcTemplate);
+        // every file on disk matches the database
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), any(Object[].class))).thenReturn(Boolean.TRUE);
+    }
+
+    @Test
+    void undeletableFileDoesNotFailTheWriteAndIsNotMapped() throws IOException {
+        // a non-empty directory in place of the file cannot be deleted, whoever runs the test
+        Path file = dir.resolve("user-1.col");
+        Files.createDirectories(file);
+        Files.write(file.resolve("held"), new byte[1]);
+
+        assertDoesNotThrow(() -> store.onTransactionChanged(
+                new TransactionChangedEvent(ChangeType.UPDATED, USER, row(3L), row(3L))));
+
+        // the OS lets go of it later, leaving a readable but stale snapshot behind
+        Files.delete(file.resolve("held"));
+        Files.delete(file);
+        ColumnSnapshot.write(file, new TransactionColumns(1), 2L);
+        assertNull(store.find(USER));
+        verify(jdbcTemplate, never()).query(anyString(), any(ResultSetExtractor.class), any(Object[].class));
+
+        // until it is rewritten
+        store.write(USER);
+        verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        assertNotNull(store.find(USER));
+    }
+
+    private static Transaction row(Long id) {
+        Transaction t = new Transaction();
+        t.setId(id);
+        t.setUserId(USER);
+        t.setType(Transaction.TransactionType.EXPENSE);
+        t.setAmount(10.0);
+        return t;
+    }
+}
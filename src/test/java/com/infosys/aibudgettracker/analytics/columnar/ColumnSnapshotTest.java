@@ -0,0 +1,115 @@
+package com.infosys.aibudgettracker.analytics.columnar;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writtenColumnsReadBackWithTheirHeader() throws IOException {
+        ColumnSnapshot snapshot = ColumnSnapshot.open(write(ledger(), 42));
+
+        assertEquals(42, snapshot.watermark());
+        assertEquals(6, snapshot.rows());
+        assertEquals(1_000 + 250 + 400 + 90_000 + 125 + 3_000, snapshot.amountSum());
+
+        TransactionColumns all = snapshot.read(0, Integer.MAX_VALUE - 1, 0);
+        assertEquals(6, all.size());
+        assertArrayEquals(new long[]{1_000, 250, 400, 90_000, 125, 3_000}, slice(all.amount, all.size()));
+        assertArrayEquals(new int[]{100, 101, 101, 105, 105, 110}, slice(all.day, all.size()));
+        assertEquals("Food", all.categoryName(all.category[1]));
+        assertNull(all.categoryName(all.category[3]));
+        assertEquals(TransactionColumns.INCOME, all.type[3]);
+    }
+
+    @Test
+    void rangeReadsStartAtTheFirstRowOnOrAfterTheDay() throws IOException {
+        ColumnSnapshot snapshot = ColumnSnapshot.open(write(ledger(), 42));
+
+        assertArrayEquals(new int[]{101, 101, 105, 105}, days(snapshot.read(101, 105, 0)));
+        assertArrayEquals(new int[]{105, 105, 110}, days(snapshot.read(102, 200, 0)));
+        assertArrayEquals(new int[]{100}, days(snapshot.read(0, 100, 0)));
+        assertArrayEquals(new int[0], days(snapshot.read(106, 109, 0)));
+        assertArrayEquals(new int[0], days(snapshot.read(111, 500, 0)));
+    }
+
+    @Test
+    void readLeavesRoomForTheDeltaAndKeepsCategoryIds() throws IOException {
+        ColumnSnapshot snapshot = ColumnSnapshot.open(write(ledger(), 42));
+
+        TransactionColumns columns = snapshot.read(101, 101, 64);
+        columns.add(700, 120, TransactionColumns.EXPENSE, "Food");
+
+        assertEquals(3, columns.size());
+        assertEquals(columns.category[0], columns.category[2]);
+        assertEquals(4, columns.categoryCount());
+    }
+
+    @Test
+    void emptyCategoryNameIsNotReadBackAsMissing() throws IOException {
+        TransactionColumns c = new TransactionColumns(2);
+        c.add(100, 100, TransactionColumns.EXPENSE, "");
+        c.add(200, 101, TransactionColumns.EXPENSE, null);
+        c.add(300, 102, TransactionColumns.EXPENSE, "Café");
+
+        TransactionColumns read = ColumnSnapshot.open(write(c, 7)).read(0, 1_000, 0);
+
+        assertEquals("", read.categoryName(read.category[0]));
+        assertNull(read.categoryName(read.category[1]));
+        assertEquals("Café", read.categoryName(read.category[2]));
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Path file = dir.resolve("user-1.col");
+        Files.write(file, new byte[64]);
+
+        assertThrows(IllegalStateException.class, () -> ColumnSnapshot.open(file));
+    }
+
+    // day-sorted, as the store writes them
+    private static TransactionColumns ledger() {
+        TransactionColumns c = new TransactionColumns(4);
+        c.add(1_000, 100, TransactionColumns.EXPENSE, "Rent");
+        c.add(250, 101, TransactionColumns.EXPENSE, "Food");
+        c.add(400, 101, TransactionColumns.EXPENSE, "Travel");
+        c.add(90_000, 105, TransactionColumns.INCOME, null);
+        c.add(125, 105, TransactionColumns.EXPENSE, "Food");
+        c.add(3_000, 110, TransactionColumns.EXPENSE, "Rent");
+        return c;
+    }
+
+    private Path write(TransactionColumns columns, long watermark) throws IOException {
+        Path file = dir.resolve("user-1.col");
+        ColumnSnapshot.write(file, columns, watermark);
+        return file;
+    }
+
+    private static int[] days(TransactionColumns c) {
+        return slice(c.day, c.size());
+    }
+
+    private static int[] slice(int[] values, int n) {
+        int[] out = new int[n];
+        System.arraycopy(values, 0, out, 0, n);
+        return out;
+    }
+
+    private static long[] slice(long[] values, int n) {
+        long[] out = new long[n];
+        System.arraycopy(values, 0, out, 0, n);
+        return out;
+    }
+}
@@ -0,0 +1,53 @@
+package com.infosys.aibudgettracker.analytics.columnar;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DayBucketsTest {
+
+    @Test
+    void everyDayLandsInItsCalendarMonth() {
+        YearMonth first = YearMonth.of(2027, 11);
+        DayBuckets buckets = DayBuckets.months(first, 6);
+
+        assertEquals(6, buckets.count());
+        for (LocalDate d = first.atDay(1); d.isBefore(first.plusMonths(6).atDay(1)); d = d.plusDays(1)) {
+            int expected = (int) first.until(YearMonth.from(d), ChronoUnit.MONTHS);
+            assertEquals(expected, buckets.bucketOf((int) d.toEpochDay()), d.toString());
+        }
+    }
+
+    @Test
+    void boundsFollowMonthLengthsIncludingLeapFebruary() {
+        DayBuckets buckets = DayBuckets.months(YearMonth.of(2028, 1), 3);
+
+        assertEquals(LocalDate.of(2028, 2, 1).toEpochDay(), buckets.startDay(1));
+        assertEquals(LocalDate.of(2028, 2, 29).toEpochDay(), buckets.endDay(1));
+        assertEquals(LocalDate.of(2028, 3, 31).toEpochDay(), buckets.endDay(2));
+    }
+
+    @Test
+    void daysOutsideAllBucketsAreMinusOne() {
+        DayBuckets buckets = DayBuckets.months(YearMonth.of(2027, 1), 2);
+
+        assertEquals(-1, buckets.bucketOf((int) LocalDate.of(2026, 12, 31).toEpochDay()));
+        assertEquals(0, buckets.bucketOf((int) LocalDate.of(2027, 1, 1).toEpochDay()));
+        assertEquals(1, buckets.bucketOf((int) LocalDate.of(2027, 2, 28).toEpochDay()));
+        assertEquals(-1, buckets.bucketOf((int) LocalDate.of(2027, 3, 1).toEpochDay()));
+        assertEquals(-1, buckets.bucketOf(Integer.MIN_VALUE));
+        assertEquals(-1, buckets.bucketOf(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void noMonthsHoldsNoDays() {
+        DayBuckets buckets = DayBuckets.months(YearMonth.of(2027, 1), 0);
+
+        assertEquals(0, buckets.count());
+        assertEquals(-1, buckets.bucketOf((int) LocalDate.of(2027, 1, 1).toEpochDay()));
+    }
+}
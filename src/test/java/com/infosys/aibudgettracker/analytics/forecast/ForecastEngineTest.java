@@ -0,0 +1,94 @@
+package com.infosys.aibudgettracker.analytics.forecast;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ForecastEngineTest {
+
+    private final LinearTrendModel linear = new LinearTrendModel();
+    private final ExponentialSmoothingModel smoothing = new ExponentialSmoothingModel();
+    private final HoltWintersModel holtWinters = new HoltWintersModel();
+    private final ForecastEngine engine = new ForecastEngine(List.of(linear, smoothing, holtWinters));
+    private final double[] scratch = engine.newScratch();
+
+    @Test
+    void linearTrendExtrapolatesAStraightLine() {
+        double[] y = line(10, 200, 15);
+
+        assertEquals(350.0, linear.forecast(y, 10, scratch), 1e-9);
+        assertEquals(200.0, linear.forecast(new double[]{200}, 1, scratch), 1e-9);
+    }
+
+    @Test
+    void exponentialSmoothingSettlesOnALevelShift() {
+        double[] y = new double[20];
+        for (int i = 0; i < y.length; i++) y[i] = i < 10 ? 100 : 300;
+
+        // the grid's largest alpha tracks the shift best and is within 0.1^10 of the new level
+        assertEquals(300.0, smoothing.forecast(y, y.length, scratch), 1e-6);
+        assertEquals(100.0, smoothing.forecast(y, 10, scratch), 1e-9);
+    }
+
+    @Test
+    void holtWintersFollowsTrendAndSeason() {
+        double[] y = seasonal(36);
+
+        assertEquals(expected(36), holtWinters.forecast(y, 36, scratch), 1e-6);
+        assertEquals(expected(13), holtWinters.forecast(y, 13, scratch), 1e-6);
+    }
+
+    @Test
+    void engineChoosesHoltWintersForASeasonalSeries() {
+        double[] y = seasonal(36);
+
+        SeriesForecast forecast = engine.forecast(y, 36, scratch);
+
+        assertEquals("holt-winters", forecast.getModel());
+        assertEquals(expected(36), forecast.getValue(), 1e-6);
+    }
+
+    @Test
+    void holtWintersTakesPartFromSixteenPoints() {
+        assertEquals("linear", engine.forecast(seasonal(15), 15, scratch).getModel());
+        assertEquals("holt-winters", engine.forecast(seasonal(16), 16, scratch).getModel());
+    }
+
+    @Test
+    void engineChoosesLinearForATrendAndForecastsSeveralStepsAhead() {
+        double[] y = line(12, 500, -10);
+        double[] room = line(13, 500, -10);
+
+        assertEquals("linear", engine.forecast(y, 12, scratch).getModel());
+        assertEquals(380.0, engine.forecast(y, 12, scratch).getValue(), 1e-9);
+        assertEquals(370.0, engine.forecast(room, 12, 2, scratch).getValue(), 1e-9);
+    }
+
+    @Test
+    void forecastsAreNeverNegative() {
+        double[] y = line(8, 70, -10);
+
+        assertEquals(0.0, engine.forecast(y, 8, scratch).getValue());
+        assertEquals("none", engine.forecast(y, 0, scratch).getModel());
+    }
+
+    private static double[] line(int n, double intercept, double slope) {
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) y[i] = intercept + slope * i;
+        return y;
+    }
+
+    // a steady trend plus a strong December peak and a summer dip
+    private static double[] seasonal(int n) {
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) y[i] = expected(i);
+        return y;
+    }
+
+    private static double expected(int t) {
+        int month = t % 12;
+        return 1000 + 5 * t + (month == 11 ? 600 : 0) - (month == 6 || month == 7 ? 250 : 0);
+    }
+}
@@ -0,0 +1,50 @@
+package com.infosys.aibudgettracker.analytics.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DaySumIndexTest {
+
+    private static final long TODAY = LocalDate.of(2026, 10, 19).toEpochDay();
+
+    @Test
+    void rangeSumsSurviveGrowingOnBothSides() {
+        DaySumIndex index = new DaySumIndex(TODAY - 10, TODAY);
+        index.add(TODAY - 5, true, 1_000);
+        index.add(TODAY, false, 50_000);
+        index.add(TODAY + 400, true, 2_500);
+        index.add(TODAY - 3_000, true, 700);
+
+        assertEquals(1_000, index.expense(TODAY - 10, TODAY));
+        assertEquals(4_200, index.expense(TODAY - 3_000, TODAY + 400));
+        assertEquals(3_500, index.expense(TODAY - 5, TODAY + 400));
+        assertEquals(50_000, index.income(TODAY, TODAY));
+        assertEquals(0, index.income(TODAY + 1, TODAY + 400));
+    }
+
+    @Test
+    void removingAnAmountRestoresTheTotals() {
+        DaySumIndex index = new DaySumIndex(TODAY, TODAY);
+        index.add(TODAY - 1, true, 1_234);
+        index.add(TODAY - 1, true, -1_234);
+
+        assertEquals(0, index.expense(TODAY - 100, TODAY + 100));
+    }
+
+    @Test
+    void daysOutsideTheSupportedYearsLandOnTheBoundary() {
+        DaySumIndex index = new DaySumIndex(TODAY, TODAY);
+        index.add(LocalDate.of(99_999, 1, 1).toEpochDay(), true, 300);
+        index.add(LocalDate.of(1, 1, 1).toEpochDay(), true, 40);
+        index.add(Long.MAX_VALUE, false, 5);
+
+        assertEquals(300, index.expense(DaySumIndex.MAX_DAY, DaySumIndex.MAX_DAY));
+        assertEquals(40, index.expense(DaySumIndex.MIN_DAY, DaySumIndex.MIN_DAY));
+        assertEquals(340, index.expense(Long.MIN_VALUE / 2, Long.MAX_VALUE / 2));
+        assertEquals(5, index.income(TODAY, Long.MAX_VALUE));
+        assertEquals(0, index.expense(TODAY - 10, TODAY + 10));
+    }
+}
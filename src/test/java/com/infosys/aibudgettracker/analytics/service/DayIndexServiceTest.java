@@ -0,0 +1,114 @@
+package com.infosys.aibudgettracker.analytics.service;
+
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent.ChangeType;
+import com.infosys.aibudgettracker.transaction.event.TransactionWrites;
+import com.infosys.aibudgettracker.transaction.model.Transaction;
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DayIndexServiceTest {
+
+    private static final Long USER = 1L;
+
+    private final LocalDate today = LocalDate.now();
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionWrites transactionWrites = new TransactionWrites();
+    private final DayIndexService service = new DayIndexService(10);
+    // what the grouped per-day query returns
+    private final List<Transaction> table = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "transactionWrites", transactionWrites);
+        table.add(transaction(1L, 50.0, today.minusDays(3)));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Transaction t : table) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getDate(1)).thenReturn(Date.valueOf(t.getTransactionDate().toLocalDate()));
+                when(rs.getString(2)).thenReturn(t.getType().name());
+                when(rs.getLong(3)).thenReturn(t.getAmountMinor());
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    void committedChangesAreAppliedToTheIndex() {
+        assertEquals(50.0, expenseThisWeek());
+        Transaction t = transaction(2L, 20.25, today);
+
+        service.onTransactionChanged(new TransactionChangedEvent(ChangeType.CREATED, USER, null, t));
+        assertEquals(70.25, expenseThisWeek());
+
+        service.onTransactionChanged(new TransactionChangedEvent(ChangeType.DELETED, USER, t, null));
+        assertEquals(50.0, expenseThisWeek());
+        verifyBuilds(1);
+    }
+
+    @Test
+    void writeOpenDuringBuildIsCountedOnce() {
+        Transaction t = transaction(2L, 20.25, today);
+        TransactionChangedEvent event = new TransactionChangedEvent(ChangeType.CREATED, USER, null, t);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // published inside the writer's transaction, which commits before the build's query
+            transactionWrites.onTransactionChanged(event);
+            table.add(t);
+            assertEquals(70.25, expenseThisWeek());
+
+            // the after-commit event of a row the query already summed
+            service.onTransactionChanged(event);
+            for (TransactionSynchronization s : TransactionSynchronizationManager.getSynchronizations()) {
+                s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(70.25, expenseThisWeek());
+        verifyBuilds(2);
+    }
+
+    private double expenseThisWeek() {
+        return service.getRangeTotal(USER, today.minusDays(6), today).getTotalExpense();
+    }
+
+    private void verifyBuilds(int times) {
+        verify(jdbcTemplate, times(times)).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    private static Transaction transaction(Long id, double amount, LocalDate date) {
+        Transaction t = new Transaction();
+        t.setId(id);
+        t.setUserId(USER);
+        t.setType(TransactionType.EXPENSE);
+        t.setAmount(amount);
+        t.setTransactionDate(date.atTime(9, 0));
+        return t;
+    }
+}
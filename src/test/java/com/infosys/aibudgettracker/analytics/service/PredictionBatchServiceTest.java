@@ -0,0 +1,140 @@
+package com.infosys.aibudgettracker.analytics.service;
+
+import com.infosys.aibudgettracker.analytics.forecast.ForecastEngine;
+import com.infosys.aibudgettracker.analytics.model.ExpensePrediction;
+import com.infosys.aibudgettracker.analytics.repository.ExpensePredictionRepository;
+import com.infosys.aibudgettracker.dataversion.DataVersions;
+import com.infosys.aibudgettracker.transaction.dto.UserMonthlyTotal;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent.ChangeType;
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+import com.infosys.aibudgettracker.transaction.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PredictionBatchServiceTest {
+
+    private final TransactionRepository transactions = mock(TransactionRepository.class);
+    private final ExpensePredictionRepository predictions = mock(ExpensePredictionRepository.class);
+    private final AIPredictionService aiPredictionService = mock(AIPredictionService.class);
+    private final DataVersions dataVersions = mock(DataVersions.class);
+    private final PredictionBatchService service = new PredictionBatchService();
+
+    @BeforeEach
+    void setUp() {
+        ForecastEngine forecastEngine = mock(ForecastEngine.class);
+        when(forecastEngine.newScratch()).thenReturn(new double[16]);
+        when(aiPredictionService.predictFromMonthlyTotals(any(), any(), any()))
+                .thenReturn(new AIPredictionService.AIPredictionResult(1_000.0, "mean", List.of(), List.of()));
+        when(predictions.findByUserIdInAndBaseMonthAndHistoryMonths(anyCollection(), anyString(), anyInt())).thenReturn(List.of());
+        when(transactions.streamMonthlyTotals(anyCollection(), any(), any())).thenAnswer(i -> totals());
+
+        ReflectionTestUtils.setField(service, "transactionRepository", transactions);
+        ReflectionTestUtils.setField(service, "predictionRepository", predictions);
+        ReflectionTestUtils.setField(service, "aiPredictionService", aiPredictionService);
+        ReflectionTestUtils.setField(service, "forecastEngine", forecastEngine);
+        ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "dataVersions", dataVersions);
+        ReflectionTestUtils.setField(service, "historyMonths", 3);
+        ReflectionTestUtils.setField(service, "parallelism", 1);
+        ReflectionTestUtils.setField(service, "chunkSize", 500);
+    }
+
+    @Test
+    void scoresEveryUserAndBumpsTheirVersions() {
+        assertEquals(2, service.run(List.of(1L, 2L), true));
+
+        assertEquals(List.of(1L, 2L), savedUsers());
+        verify(dataVersions).bump(1L);
+        verify(dataVersions).bump(2L);
+    }
+
+    @Test
+    void userWrittenDuringTheReadIsNotSaved() {
+        when(transactions.streamMonthlyTotals(anyCollection(), any(), any())).thenAnswer(i -> {
+            // committed while the chunk reads, with nothing yet saved for its delete to remove
+            service.onTransactionChanged(new TransactionChangedEvent(ChangeType.CREATED, 1L, null, null));
+            return totals();
+        });
+
+        assertEquals(1, service.run(List.of(1L, 2L), true));
+
+        assertEquals(List.of(2L), savedUsers());
+        verify(predictions, times(1)).deleteByUserId(1L);
+    }
+
+    @Test
+    void rowSavedWhileAWriteIsOpenIsDeletedAgain() {
+        when(predictions.saveAll(anyList())).thenAnswer(i -> {
+            // a write has deleted the rows but not committed yet when the save lands
+            TransactionSynchronizationManager.initSynchronization();
+            service.onTransactionChanged(new TransactionChangedEvent(ChangeType.CREATED, 1L, null, null));
+            return i.getArgument(0);
+        });
+
+        int scored = service.run(List.of(1L, 2L), true);
+
+        assertEquals(1, scored);
+        verify(predictions, times(2)).deleteByUserId(1L);
+        verify(predictions, never()).deleteByUserId(2L);
+    }
+
+    @Test
+    void writesThatCompletedBeforeTheRunDoNotSkipAnyone() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.onTransactionChanged(new TransactionChangedEvent(ChangeType.CREATED, 1L, null, null));
+            for (TransactionSynchronization s : TransactionSynchronizationManager.getSynchronizations()) {
+                s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(2, service.run(List.of(1L, 2L), true));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> savedUsers() {
+        ArgumentCaptor<List<ExpensePrediction>> rows = ArgumentCaptor.forClass(List.class);
+        verify(predictions).saveAll(rows.capture());
+        return rows.getValue().stream().map(ExpensePrediction::getUserId).sorted().collect(Collectors.toList());
+    }
+
+    private static Stream<UserMonthlyTotal> totals() {
+        YearMonth month = YearMonth.now().minusMonths(1);
+        return Stream.of(total(1L, month, 50_000L), total(2L, month, 75_000L));
+    }
+
+    private static UserMonthlyTotal total(Long userId, YearMonth month, long minor) {
+        UserMonthlyTotal row = mock(UserMonthlyTotal.class);
+        when(row.getUserId()).thenReturn(userId);
+        when(row.getYear()).thenReturn(month.getYear());
+        when(row.getMonth()).thenReturn(month.getMonthValue());
+        when(row.getType()).thenReturn(TransactionType.EXPENSE);
+        when(row.getTotal()).thenReturn(minor);
+        return row;
+    }
+}
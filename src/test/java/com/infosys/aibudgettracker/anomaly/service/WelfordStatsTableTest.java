@@ -0,0 +1,138 @@
+package com.infosys.aibudgettracker.anomaly.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WelfordStatsTableTest {
+
+    private static final double[] AMOUNTS = {120.0, 80.5, 310.0, 95.25, 150.0, 60.0, 2_400.0, 130.0};
+
+    @Test
+    void addedStatsMatchTheDirectFormulas() {
+        WelfordStatsTable table = new WelfordStatsTable();
+        long key = WelfordStatsTable.key(7L, 3);
+        for (double x : AMOUNTS) table.add(key, x);
+
+        assertStats(AMOUNTS, table.get(key));
+    }
+
+    @Test
+    void addReturnsTheStatsFromBeforeTheAmount() {
+        WelfordStatsTable table = new WelfordStatsTable();
+        long key = WelfordStatsTable.key(7L, 3);
+        table.add(key, 100.0);
+
+        WelfordStatsTable.Stats before = table.add(key, 300.0);
+
+        assertEquals(1, before.count);
+        assertEquals(100.0, before.mean, 1e-9);
+    }
+
+    @Test
+    void removingAnAmountRestoresTheEarlierStats() {
+        WelfordStatsTable table = new WelfordStatsTable();
+        long key = WelfordStatsTable.key(7L, 3);
+        for (double x : AMOUNTS) table.add(key, x);
+
+        table.remove(key, 2_400.0);
+        table.remove(key, 120.0);
+
+        assertStats(new double[]{80.5, 310.0, 95.25, 150.0, 60.0, 130.0}, table.get(key));
+    }
+
+    @Test
+    void removingTheLastAmountEmptiesTheEntry() {
+        WelfordStatsTable table = new WelfordStatsTable();
+        long key = WelfordStatsTable.key(7L, 3);
+        table.add(key, 42.0);
+        table.remove(key, 42.0);
+        table.remove(key, 42.0);
+
+        WelfordStatsTable.Stats stats = table.get(key);
+        assertEquals(0, stats.count);
+        assertEquals(0.0, stats.mean);
+        assertEquals(0.0, stats.m2);
+    }
+
+    @Test
+    void keysPackUserAndCategory() {
+        long key = WelfordStatsTable.key(123_456_789L, (1 << 24) - 1);
+
+        assertEquals(123_456_789L, WelfordStatsTable.userOf(key));
+        assertEquals((1 << 24) - 1, WelfordStatsTable.categoryOf(key));
+        assertTrue(WelfordStatsTable.key(1L, 0) != WelfordStatsTable.key(0L, 1));
+    }
+
+    @Test
+    void categoryIdsBeyondTwentyFourBitsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> WelfordStatsTable.key(1L, 1 << 24));
+        assertThrows(IllegalArgumentException.class, () -> WelfordStatsTable.key(1L, -1));
+    }
+
+    @Test
+    void mergingSumsIntoARestoredEntryMatchesAddingEachAmount() {
+        WelfordStatsTable table = new WelfordStatsTable();
+        long key = WelfordStatsTable.key(7L, 3);
+        // the first half as checkpointed, the second as one aggregate row for another spelling
+        table.load(key, 4, mean(120.0, 80.5, 310.0, 95.25), m2(120.0, 80.5, 310.0, 95.25));
+        table.merge(key, 4, 150.0 + 60.0 + 2_400.0 + 130.0,
+                150.0 * 150.0 + 60.0 * 60.0 + 2_400.0 * 2_400.0 + 130.0 * 130.0);
+
+        assertStats(AMOUNTS, table.get(key));
+    }
+
+    @Test
+    void onlyChangedEntriesAreDrainedAndFailedOnesCanBeMarkedAgain() {
+        WelfordStatsTable table = new WelfordStatsTable();
+        long restored = WelfordStatsTable.key(1L, 1);
+        long changed = WelfordStatsTable.key(2L, 1);
+        table.load(restored, 3, 10.0, 2.0);
+        table.add(changed, 5.0);
+
+        assertEquals(List.of(changed), drain(table));
+        assertEquals(List.of(), drain(table));
+
+        table.markDirty(changed);
+        assertEquals(List.of(changed), drain(table));
+    }
+
+    @Test
+    void entriesSurviveGrowingTheStripes() {
+        WelfordStatsTable table = new WelfordStatsTable();
+        for (long user = 1; user <= 5_000; user++) table.add(WelfordStatsTable.key(user, 9), user);
+
+        assertEquals(5_000, table.size());
+        assertEquals(2_500.0, table.get(WelfordStatsTable.key(2_500L, 9)).mean);
+    }
+
+    private static List<Long> drain(WelfordStatsTable table) {
+        List<Long> keys = new ArrayList<>();
+        table.drainDirty(e -> keys.add(e.key));
+        return keys;
+    }
+
+    private static void assertStats(double[] xs, WelfordStatsTable.Stats stats) {
+        assertEquals(xs.length, stats.count);
+        assertEquals(mean(xs), stats.mean, 1e-9);
+        assertEquals(m2(xs), stats.m2, 1e-6);
+    }
+
+    private static double mean(double... xs) {
+        double sum = 0.0;
+        for (double x : xs) sum += x;
+        return sum / xs.length;
+    }
+
+    private static double m2(double... xs) {
+        double mean = mean(xs);
+        double m2 = 0.0;
+        for (double x : xs) m2 += (x - mean) * (x - mean);
+        return m2;
+    }
+}
@@ -0,0 +1,207 @@
+package com.infosys.aibudgettracker.cashflow.service;
+
+import com.infosys.aibudgettracker.cashflow.dto.CashflowDay;
+import com.infosys.aibudgettracker.recurring.event.RecurringSeriesChangedEvent;
+import com.infosys.aibudgettracker.recurring.model.RecurringPeriod;
+import com.infosys.aibudgettracker.recurring.model.RecurringSeries;
+import com.infosys.aibudgettracker.recurring.repository.RecurringSeriesRepository;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent.ChangeType;
+import com.infosys.aibudgettracker.transaction.event.TransactionWrites;
+import com.infosys.aibudgettracker.transaction.model.Transaction;
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+import com.infosys.aibudgettracker.transaction.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CashflowProjectionServiceTest {
+
+    private static final Long USER = 1L;
+
+    private final LocalDate today = LocalDate.now();
+    private final TransactionRepository transactions = mock(TransactionRepository.class);
+    private final RecurringSeriesRepository seriesRepository = mock(RecurringSeriesRepository.class);
+    private final TransactionWrites transactionWrites = new TransactionWrites();
+    private final CashflowProjectionService service = new CashflowProjectionService(10);
+    private final RecurringSeries netflix = new RecurringSeries();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "transactionRepository", transactions);
+        ReflectionTestUtils.setField(service, "seriesRepository", seriesRepository);
+        ReflectionTestUtils.setField(service, "transactionWrites", transactionWrites);
+        ReflectionTestUtils.setField(service, "horizonDays", 90);
+        ReflectionTestUtils.setField(service, "windowDays", 90);
+        ReflectionTestUtils.setField(service, "amountTolerance", 0.10);
+
+        netflix.setId(5L);
+        netflix.setUserId(USER);
+        netflix.setSeriesKey("netflixcom");
+        netflix.setType(TransactionType.EXPENSE);
+        netflix.setPeriod(RecurringPeriod.MONTHLY);
+        netflix.setAmount(649.0);
+        netflix.setLastDate(today.plusDays(10).minusMonths(1));
+        netflix.setNextExpectedDate(today.plusDays(10));
+        when(seriesRepository.findByUserIdOrderByNextExpectedDateAsc(USER)).thenReturn(List.of(netflix));
+        when(transactions.findByUserIdAndTransactionDateBetween(eq(USER), any(), any())).thenReturn(List.of());
+        when(transactions.sumByUserAndType(anyCollection(), any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void futureTransactionSettlesTheOccurrenceItMatches() {
+        double projected = totalExpense();
+        Transaction payment = transaction(7L, "NETFLIX.COM 8841", 655.0, today.plusDays(11));
+
+        service.onTransactionChanged(new TransactionChangedEvent(ChangeType.CREATED, USER, null, payment));
+
+        assertEquals(0.0, expenseOn(today.plusDays(10)));
+        assertEquals(655.0, expenseOn(today.plusDays(11)));
+        assertEquals(projected - 649.0 + 655.0, totalExpense(), 1e-9);
+
+        service.onTransactionChanged(new TransactionChangedEvent(ChangeType.DELETED, USER, payment, null));
+
+        assertEquals(649.0, expenseOn(today.plusDays(10)));
+        assertEquals(projected, totalExpense(), 1e-9);
+    }
+
+    @Test
+    void unrelatedFutureTransactionIsAddedOnTop() {
+        double projected = totalExpense();
+
+        service.onTransactionChanged(new TransactionChangedEvent(ChangeType.CREATED, USER, null,
+                transaction(8L, "Concert tickets", 649.0, today.plusDays(10))));
+
+        assertEquals(1298.0, expenseOn(today.plusDays(10)));
+        assertEquals(projected + 649.0, totalExpense(), 1e-9);
+    }
+
+    @Test
+    void advancedSeriesIsUpdatedInPlace() {
+        double projected = totalExpense();
+        Transaction payment = transaction(7L, "Netflix.com 9910", 649.0, today.plusDays(11));
+        service.onTransactionChanged(new TransactionChangedEvent(ChangeType.CREATED, USER, null, payment));
+
+        // the recurring detector moves the series on past the payment
+        netflix.setLastDate(today.plusDays(11));
+        netflix.setNextExpectedDate(today.plusDays(11).plusMonths(1));
+        service.onRecurringSeriesChanged(new RecurringSeriesChangedEvent(USER, netflix));
+
+        assertEquals(649.0, expenseOn(today.plusDays(11)));
+        assertEquals(649.0, expenseOn(today.plusDays(11).plusMonths(1)));
+        assertEquals(projected, totalExpense(), 1e-9);
+        verify(seriesRepository, times(1)).findByUserIdOrderByNextExpectedDateAsc(USER);
+    }
+
+    @Test
+    void changeCommittedDuringBuildIsNotLost() throws Exception {
+        Transaction late = transaction(9L, "Dentist", 120.0, today.plusDays(20));
+        ReentrantLock userLock = userLock();
+        CountDownLatch applied = new CountDownLatch(1);
+        Thread writer = new Thread(() -> {
+            service.onTransactionChanged(new TransactionChangedEvent(ChangeType.CREATED, USER, null, late));
+            applied.countDown();
+        });
+        // the build has read the future transactions when the write commits and its event fires
+        when(transactions.sumByUserAndType(anyCollection(), any(), any())).thenAnswer(invocation -> {
+            writer.start();
+            while (!userLock.hasQueuedThread(writer)) Thread.onSpinWait();
+            return List.of();
+        });
+
+        service.project(USER, 0.0, 90);
+        doReturn(List.of()).when(transactions).sumByUserAndType(anyCollection(), any(), any());
+
+        // the listener waited for the state to be registered and then patched it
+        applied.await();
+        assertEquals(120.0, expenseOn(today.plusDays(20)));
+    }
+
+    @Test
+    void writeOpenDuringBuildIsCountedOnce() {
+        Transaction late = transaction(9L, "Dentist", 120.0, today.plusDays(20));
+        TransactionChangedEvent event = new TransactionChangedEvent(ChangeType.CREATED, USER, null, late);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // published inside the writer's transaction, which commits before the build reads
+            transactionWrites.onTransactionChanged(event);
+            when(transactions.findByUserIdAndTransactionDateBetween(eq(USER), any(), any())).thenReturn(List.of(late));
+            assertEquals(120.0, expenseOn(today.plusDays(20)));
+
+            // the after-commit event of a row the build already read
+            service.onTransactionChanged(event);
+            for (TransactionSynchronization s : TransactionSynchronizationManager.getSynchronizations()) {
+                s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(120.0, expenseOn(today.plusDays(20)));
+        verify(seriesRepository, times(2)).findByUserIdOrderByNextExpectedDateAsc(USER);
+    }
+
+    @Test
+    void writeOpenedAfterBuildIsApplied() {
+        Transaction late = transaction(9L, "Dentist", 120.0, today.plusDays(20));
+        assertEquals(0.0, expenseOn(today.plusDays(20)));
+
+        TransactionChangedEvent event = new TransactionChangedEvent(ChangeType.CREATED, USER, null, late);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            transactionWrites.onTransactionChanged(event);
+            service.onTransactionChanged(event);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(120.0, expenseOn(today.plusDays(20)));
+        verify(seriesRepository, times(1)).findByUserIdOrderByNextExpectedDateAsc(USER);
+    }
+
+    private ReentrantLock userLock() {
+        ReentrantLock[] locks = (ReentrantLock[]) ReflectionTestUtils.getField(service, "userLocks");
+        return locks[Long.hashCode(USER) & (locks.length - 1)];
+    }
+
+    private double expenseOn(LocalDate date) {
+        return days().stream().filter(d -> d.getDate().equals(date)).findFirst().orElseThrow().getExpense();
+    }
+
+    private double totalExpense() {
+        return days().stream().mapToDouble(CashflowDay::getExpense).sum();
+    }
+
+    private List<CashflowDay> days() {
+        return service.project(USER, 0.0, 90).getDays();
+    }
+
+    private static Transaction transaction(Long id, String description, double amount, LocalDate date) {
+        Transaction t = new Transaction();
+        t.setId(id);
+        t.setUserId(USER);
+        t.setType(TransactionType.EXPENSE);
+        t.setAmount(amount);
+        t.setDescription(description);
+        t.setCategory("Entertainment");
+        t.setTransactionDate(date.atTime(9, 0));
+        return t;
+    }
+}
@@ -0,0 +1,156 @@
+package com.infosys.aibudgettracker.categorization.service;
+
+import com.infosys.aibudgettracker.categorization.dto.CategoryScore;
+import com.infosys.aibudgettracker.categorization.dto.CategorySuggestion;
+import com.infosys.aibudgettracker.category.service.CategoryDictionary;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent;
+import com.infosys.aibudgettracker.transaction.event.TransactionChangedEvent.ChangeType;
+import com.infosys.aibudgettracker.transaction.event.TransactionWrites;
+import com.infosys.aibudgettracker.transaction.model.Transaction;
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CategorizationServiceTest {
+
+    private static final Long USER = 1L;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionWrites transactionWrites = new TransactionWrites();
+    private final CategorizationService service = new CategorizationService(10);
+    private final List<Transaction> table = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "categoryDictionary", new CategoryDictionary());
+        ReflectionTestUtils.setField(service, "transactionWrites", transactionWrites);
+        ReflectionTestUtils.setField(service, "minUserTransactions", 20);
+        ReflectionTestUtils.setField(service, "minLabelUsers", 3);
+
+        // the global model's scan and the shared-category count
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            if (sql.contains("group by")) {
+                Map<String, Set<Long>> users = new HashMap<>();
+                for (Transaction t : table) {
+                    users.computeIfAbsent(t.getCategory().trim().toLowerCase(Locale.ROOT), c -> new HashSet<>()).add(t.getUserId());
+                }
+                for (Map.Entry<String, Set<Long>> e : users.entrySet()) {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getString(1)).thenReturn(e.getKey());
+                    when(rs.getLong(2)).thenReturn((long) e.getValue().size());
+                    handler.processRow(rs);
+                }
+            } else {
+                feed(handler, null);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        // a per-user model's scan
+        doAnswer(invocation -> {
+            feed(invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    void globalModelOnlySuggestsCategoriesSeveralUsersShare() {
+        for (long user = 10; user < 13; user++) {
+            table.add(transaction(user, "Groceries", "TESCO STORES 2231", 42.0));
+        }
+        // one user's private label, with more examples than the shared one
+        for (int i = 0; i < 6; i++) {
+            table.add(transaction(20L, "Divorce lawyer", "TESCO STORES 2231", 42.0));
+        }
+        service.buildGlobalModel();
+
+        CategorySuggestion suggestion = service.suggest(USER, "TESCO STORES 9921", 40.0, TransactionType.EXPENSE);
+
+        assertEquals("global", suggestion.getSource());
+        assertEquals("Groceries", suggestion.getCategory());
+        for (CategoryScore alternative : suggestion.getAlternatives()) {
+            assertFalse(alternative.getCategory().equalsIgnoreCase("Divorce lawyer"));
+        }
+    }
+
+    @Test
+    void writeOpenDuringUserBuildIsCountedOnce() {
+        table.add(transaction(USER, "Rent", "LANDLORD LTD", 900.0));
+        Transaction coffee = transaction(USER, "Coffee", "STARBUCKS 114", 4.5);
+        TransactionChangedEvent event = new TransactionChangedEvent(ChangeType.CREATED, USER, null, coffee);
+        double confidence;
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // published inside the writer's transaction, which commits before the build's query
+            transactionWrites.onTransactionChanged(event);
+            table.add(coffee);
+            confidence = suggestCoffee().getConfidence();
+
+            // the after-commit event of a row the query already trained on
+            service.onTransactionChanged(event);
+            for (TransactionSynchronization s : TransactionSynchronizationManager.getSynchronizations()) {
+                s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        CategorySuggestion suggestion = suggestCoffee();
+        assertEquals("Coffee", suggestion.getCategory());
+        assertEquals(confidence, suggestion.getConfidence(), 1e-12);
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    private CategorySuggestion suggestCoffee() {
+        return service.suggest(USER, "STARBUCKS 207", 5.0, TransactionType.EXPENSE);
+    }
+
+    private void feed(RowCallbackHandler handler, Object userId) throws Exception {
+        for (Transaction t : table) {
+            if (userId != null && !userId.equals(t.getUserId())) continue;
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong(1)).thenReturn(t.getUserId());
+            when(rs.getString(2)).thenReturn(t.getType().name());
+            when(rs.getLong(3)).thenReturn(t.getAmountMinor());
+            when(rs.getString(4)).thenReturn(t.getCategory());
+            when(rs.getString(5)).thenReturn(t.getDescription());
+            handler.processRow(rs);
+        }
+    }
+
+    private static Transaction transaction(Long userId, String category, String description, double amount) {
+        Transaction t = new Transaction();
+        t.setUserId(userId);
+        t.setType(TransactionType.EXPENSE);
+        t.setAmount(amount);
+        t.setCategory(category);
+        t.setDescription(description);
+        return t;
+    }
+}
@@ -0,0 +1,67 @@
+package com.infosys.aibudgettracker.categorization.service;
+
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class HashedFeaturesTest {
+
+    @Test
+    void oneFeaturePerWordPlusAmountAndType() {
+        // "netflix", "com", "subscription"; the digits and the single letter are dropped
+        assertEquals(5, features("NETFLIX.COM subscription 8841 x", 649.0, TransactionType.EXPENSE).length);
+        assertEquals(3, features("NETFLIX.COM", null, TransactionType.EXPENSE).length);
+        assertEquals(2, features(null, 649.0, TransactionType.EXPENSE).length);
+        assertEquals(0, features(null, null, null).length);
+    }
+
+    @Test
+    void tokensIgnoreCaseAndSeparators() {
+        assertArrayEquals(features("netflix.com", 649.0, TransactionType.EXPENSE),
+                features("NETFLIX  COM", 649.0, TransactionType.EXPENSE));
+    }
+
+    @Test
+    void digitsInsideAWordAreKept() {
+        assertNotEquals(features("7eleven", null, null)[0], features("eleven", null, null)[0]);
+        assertEquals(1, features("7eleven 2211", null, null).length);
+    }
+
+    @Test
+    void amountsOfTheSameMagnitudeShareABucket() {
+        int coffee = last(features(null, 180.0, null));
+        assertEquals(coffee, last(features(null, 200.0, null)));
+        assertNotEquals(coffee, last(features(null, 25_000.0, null)));
+        assertEquals(0, features(null, 0.0, null).length);
+    }
+
+    @Test
+    void typeIsItsOwnFeature() {
+        assertNotEquals(last(features("Salary", 50_000.0, TransactionType.INCOME)),
+                last(features("Salary", 50_000.0, TransactionType.EXPENSE)));
+    }
+
+    @Test
+    void neverWritesPastTheBuffer() {
+        String description = "word ".repeat(100);
+        int[] out = new int[HashedFeatures.MAX_FEATURES];
+
+        int n = HashedFeatures.extract(description, 10.0, TransactionType.EXPENSE, out);
+
+        assertEquals(HashedFeatures.MAX_FEATURES, n);
+    }
+
+    private static int[] features(String description, Double amount, TransactionType type) {
+        int[] out = new int[HashedFeatures.MAX_FEATURES];
+        return Arrays.copyOf(out, HashedFeatures.extract(description, amount, type, out));
+    }
+
+    private static int last(int[] features) {
+        return features[features.length - 1];
+    }
+}
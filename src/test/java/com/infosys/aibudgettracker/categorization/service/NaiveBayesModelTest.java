@@ -0,0 +1,110 @@
+package com.infosys.aibudgettracker.categorization.service;
+
+import com.infosys.aibudgettracker.transaction.model.Transaction.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NaiveBayesModelTest {
+
+    private static final int GROCERIES = 1;
+    private static final int ENTERTAINMENT = 2;
+    private static final int TRAVEL = 3;
+
+    @Test
+    void classifiesFromWhatItWasTrainedOn() {
+        NaiveBayesModel model = trained();
+
+        String[] labels = new String[2];
+        double[] probs = new double[2];
+        assertEquals(2, classify(model, "NETFLIX.COM 4411", 649.0, labels, probs));
+        assertEquals("Entertainment", labels[0]);
+        assertEquals(1.0, probs[0] + probs[1], 1e-9);
+    }
+
+    @Test
+    void removingAnExampleUndoesAddingIt() {
+        NaiveBayesModel model = trained();
+        String[] labelsBefore = new String[3];
+        double[] probsBefore = new double[3];
+        int before = classify(model, "Big Bazaar groceries", 900.0, labelsBefore, probsBefore);
+        long docsBefore = model.docs();
+
+        train(model, TRAVEL, "Travel", "IndiGo flight BLR DEL", 6_400.0, 1);
+        train(model, GROCERIES, "Groceries", "Big Bazaar weekly", 1_100.0, 1);
+        train(model, GROCERIES, "Groceries", "Big Bazaar weekly", 1_100.0, -1);
+        train(model, TRAVEL, "Travel", "IndiGo flight BLR DEL", 6_400.0, -1);
+
+        String[] labelsAfter = new String[3];
+        double[] probsAfter = new double[3];
+        assertEquals(before, classify(model, "Big Bazaar groceries", 900.0, labelsAfter, probsAfter));
+        assertEquals(docsBefore, model.docs());
+        // the emptied Travel row is still there but scores nothing
+        assertArrayEquals(Arrays.copyOf(labelsBefore, before), Arrays.copyOf(labelsAfter, before));
+        assertArrayEquals(Arrays.copyOf(probsBefore, before), Arrays.copyOf(probsAfter, before), 1e-12);
+    }
+
+    @Test
+    void removingFromAnUnseenCategoryChangesNothing() {
+        NaiveBayesModel model = trained();
+        long docs = model.docs();
+
+        train(model, TRAVEL, "Travel", "Uber trip", 300.0, -1);
+
+        assertEquals(docs, model.docs());
+        String[] labels = new String[3];
+        assertEquals(2, classify(model, "Uber trip", 300.0, labels, new double[3]));
+    }
+
+    @Test
+    void emptyModelSuggestsNothing() {
+        NaiveBayesModel model = new NaiveBayesModel(1 << 8);
+        train(model, GROCERIES, "Groceries", "Milk", 60.0, 1);
+        train(model, GROCERIES, "Groceries", "Milk", 60.0, -1);
+
+        assertEquals(0, model.docs());
+        assertEquals(0, classify(model, "Milk", 60.0, new String[3], new double[3]));
+    }
+
+    @Test
+    void onlyAllowedCategoriesAreRanked() {
+        NaiveBayesModel model = trained();
+        BitSet groceriesOnly = new BitSet();
+        groceriesOnly.set(GROCERIES);
+
+        String[] labels = new String[3];
+        double[] probs = new double[3];
+        int[] features = new int[HashedFeatures.MAX_FEATURES];
+        int n = HashedFeatures.extract("NETFLIX.COM 4411", 649.0, TransactionType.EXPENSE, features);
+
+        assertEquals(1, model.classify(features, n, groceriesOnly, labels, probs));
+        assertEquals("Groceries", labels[0]);
+        assertEquals(1.0, probs[0], 1e-9);
+        assertEquals(0, model.classify(features, n, new BitSet(), labels, probs));
+    }
+
+    private static NaiveBayesModel trained() {
+        NaiveBayesModel model = new NaiveBayesModel(1 << 8);
+        train(model, GROCERIES, "Groceries", "Big Bazaar groceries", 1_250.0, 1);
+        train(model, GROCERIES, "Groceries", "Reliance Fresh vegetables", 430.0, 1);
+        train(model, ENTERTAINMENT, "Entertainment", "Netflix.com subscription", 649.0, 1);
+        train(model, ENTERTAINMENT, "Entertainment", "Spotify premium", 119.0, 1);
+        return model;
+    }
+
+    private static void train(NaiveBayesModel model, int categoryId, String label, String description, double amount, int delta) {
+        int[] features = new int[HashedFeatures.MAX_FEATURES];
+        int n = HashedFeatures.extract(description, amount, TransactionType.EXPENSE, features);
+        model.update(categoryId, label, features, n, delta);
+    }
+
+    private static int classify(NaiveBayesModel model, String description, double amount, String[] labels, double[] probs) {
+        int[] features = new int[HashedFeatures.MAX_FEATURES];
+        int n = HashedFeatures.extract(description, amount, TransactionType.EXPENSE, features);
+        return model.classify(features, n, labels, probs);
+    }
+}
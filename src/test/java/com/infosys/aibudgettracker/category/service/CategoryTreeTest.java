@@ -0,0 +1,91 @@
+package com.infosys.aibudgettracker.category.service;
+
+import com.infosys.aibudgettracker.category.model.Category;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CategoryTreeTest {
+
+    // Home > Utilities > Electricity, Home > Rent, Food
+    private final CategoryTree tree = CategoryTree.build(List.of(
+            category(3L, "Electricity", 2L),
+            category(1L, "Home", null),
+            category(2L, "Utilities", 1L),
+            category(4L, "Rent", 1L),
+            category(5L, "Food", null)));
+
+    private final Map<String, Double> leafSums = new LinkedHashMap<>(Map.of(
+            "electricity ", 40.0,
+            "RENT", 500.0,
+            "utilities", 10.0,
+            "Food", 120.0,
+            "Travel", 75.0));
+
+    @Test
+    void rollUpAddsEachSumToItsNodeAndEveryAncestor() {
+        double[] totals = tree.rollUp(leafSums);
+
+        assertEquals(550.0, totals[tree.indexOf("Home")]);
+        assertEquals(50.0, totals[tree.indexOf("Utilities")]);
+        assertEquals(40.0, totals[tree.indexOf("Electricity")]);
+        assertEquals(500.0, totals[tree.indexOf("Rent")]);
+        assertEquals(120.0, totals[tree.indexOf("Food")]);
+    }
+
+    @Test
+    void minorUnitRollUpIsExact() {
+        // sums past what a double holds to the paisa still add up exactly
+        Map<String, Long> sums = new LinkedHashMap<>();
+        sums.put("Electricity", 10L * 1_000_001);
+        sums.put(" utilities", 20L * 1_000_001);
+        sums.put("Rent", 9_007_199_254_740_993L);
+        sums.put("Travel", 7_500L);
+
+        long[] totals = tree.rollUpMinor(sums);
+
+        assertEquals(9_007_199_254_740_993L + 30L * 1_000_001, totals[tree.indexOf("Home")]);
+        assertEquals(30L * 1_000_001, totals[tree.indexOf("Utilities")]);
+        assertEquals(0L, totals[tree.indexOf("Food")]);
+    }
+
+    @Test
+    void aggregateAtLevelRegroupsUnderTheAncestorAtThatDepth() {
+        assertEquals(Map.of("Home", 550.0, "Food", 120.0, "Travel", 75.0), tree.aggregateAtLevel(leafSums, 0));
+        assertEquals(Map.of("Utilities", 50.0, "Rent", 500.0, "Food", 120.0, "Travel", 75.0),
+                tree.aggregateAtLevel(leafSums, 1));
+        assertEquals(Map.of("Electricity", 40.0, "Utilities", 10.0, "Rent", 500.0, "Food", 120.0, "Travel", 75.0),
+                tree.aggregateAtLevel(leafSums, 5));
+    }
+
+    @Test
+    void levelsFollowTheParentChain() {
+        assertEquals(0, tree.levelOf(tree.indexOf("home")));
+        assertEquals(1, tree.levelOf(tree.indexOf("UTILITIES")));
+        assertEquals(2, tree.levelOf(tree.indexOf("Electricity")));
+        assertEquals(-1, tree.indexOf("Travel"));
+    }
+
+    @Test
+    void parentCycleIsCutInsteadOfLooping() {
+        CategoryTree cyclic = CategoryTree.build(List.of(category(1L, "A", 2L), category(2L, "B", 1L)));
+
+        double[] totals = cyclic.rollUp(Map.of("A", 1.0, "B", 2.0));
+
+        // A is reached first, so its walk ends at B, which becomes the root
+        assertEquals(1.0, totals[cyclic.indexOf("A")]);
+        assertEquals(3.0, totals[cyclic.indexOf("B")]);
+    }
+
+    private static Category category(Long id, String name, Long parentId) {
+        Category c = new Category();
+        c.setId(id);
+        c.setName(name);
+        c.setParentId(parentId);
+        return c;
+    }
+}
@@ -0,0 +1,100 @@
+package com.infosys.aibudgettracker.money;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the conversion against tables in their pre-conversion shape. The application tests
+ * never exercise it, since create-drop builds the new schema directly.
+ */
+class MoneyColumnMigrationTest {
+
+    private static final double[] AMOUNTS = {1.005, 19.99, -0.285, 0.1, 1_234_567.891, 0.0};
+
+    private final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:moneymigration;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    private final MoneyColumnMigration migration = new MoneyColumnMigration();
+
+    @BeforeEach
+    void legacySchema() {
+        jdbc.execute("drop all objects");
+        jdbc.execute("create table transactions (id bigint auto_increment primary key, amount double not null)");
+        jdbc.execute("create table savings_sweep_runs (id bigint auto_increment primary key, "
+                + "surplus double not null, allocated double not null)");
+        for (double amount : AMOUNTS) {
+            jdbc.update("insert into transactions (amount) values (?)", amount);
+            jdbc.update("insert into savings_sweep_runs (surplus, allocated) values (?, ?)", amount, Math.abs(amount));
+        }
+        ReflectionTestUtils.setField(migration, "dataSource", dataSource);
+    }
+
+    @Test
+    void backfillsMinorUnitsRoundedLikeMoney() throws SQLException {
+        migration.migrate();
+
+        List<Long> minor = jdbc.queryForList("select amount_minor from transactions order by id", Long.class);
+        List<Long> surplus = jdbc.queryForList("select surplus_minor from savings_sweep_runs order by id", Long.class);
+        List<Long> allocated = jdbc.queryForList("select allocated_minor from savings_sweep_runs order by id", Long.class);
+        for (int i = 0; i < AMOUNTS.length; i++) {
+            assertEquals(Money.toMinor(AMOUNTS[i]), minor.get(i), "amount " + AMOUNTS[i]);
+            assertEquals(Money.toMinor(AMOUNTS[i]), surplus.get(i), "surplus " + AMOUNTS[i]);
+            assertEquals(Money.toMinor(Math.abs(AMOUNTS[i])), allocated.get(i), "allocated " + AMOUNTS[i]);
+        }
+        assertFalse(nullable("TRANSACTIONS", "AMOUNT_MINOR"));
+        assertTrue(nullable("TRANSACTIONS", "AMOUNT"));
+        assertFalse(nullable("SAVINGS_SWEEP_RUNS", "ALLOCATED_MINOR"));
+        assertTrue(nullable("SAVINGS_SWEEP_RUNS", "SURPLUS"));
+    }
+
+    @Test
+    void convertsInChunksAndCanBeRerun() {
+        jdbc.update("insert into transactions (amount) select x / 100.0 from system_range(1, 25000)");
+
+        migration.migrate();
+        migration.migrate();
+
+        assertEquals(0, jdbc.queryForObject("select count(*) from transactions where amount_minor is null", Integer.class));
+        assertEquals(12_500L * 25_001 + Money.sum(minorOf(AMOUNTS), 0, AMOUNTS.length),
+                jdbc.queryForObject("select sum(amount_minor) from transactions", Long.class));
+    }
+
+    @Test
+    void resumesAfterAnInterruptedStart() {
+        // the column was added and partly filled before the previous start stopped
+        jdbc.execute("alter table transactions add column amount_minor bigint null");
+        jdbc.update("update transactions set amount_minor = 101 where id = 1");
+
+        migration.migrate();
+
+        assertEquals(Money.toMinor(19.99), jdbc.queryForObject("select amount_minor from transactions where id = 2", Long.class));
+        assertEquals(101, jdbc.queryForObject("select amount_minor from transactions where id = 1", Long.class));
+    }
+
+    private boolean nullable(String table, String column) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet rs = connection.getMetaData().getColumns(null, null, table, column)) {
+            assertTrue(rs.next(), table + "." + column);
+            return rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls;
+        }
+    }
+
+    private static long[] minorOf(double[] amounts) {
+        long[] minor = new long[amounts.length];
+        for (int i = 0; i < amounts.length; i++) minor[i] = Money.toMinor(amounts[i]);
+        return minor;
+    }
+}
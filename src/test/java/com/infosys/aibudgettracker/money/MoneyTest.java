@@ -0,0 +1,54 @@
+package com.infosys.aibudgettracker.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void toMinorRoundsHalfUpOnTheDecimalTheClientSent() {
+        // 1.005 is stored as 1.00499999999999989..., but the client meant 1.005
+        assertEquals(101, Money.toMinor(1.005));
+        assertEquals(29, Money.toMinor(0.285));
+        assertEquals(-101, Money.toMinor(-1.005));
+        assertEquals(1999, Money.toMinor(19.99));
+        assertEquals(1, Money.toMinor(0.005));
+        assertEquals(0, Money.toMinor(0.004));
+        assertEquals(0, Money.toMinor(-0.0));
+    }
+
+    @Test
+    void toMinorRejectsWhatIsNotAnAmount() {
+        assertThrows(ArithmeticException.class, () -> Money.toMinor(Double.NaN));
+        assertThrows(ArithmeticException.class, () -> Money.toMinor(Double.POSITIVE_INFINITY));
+        assertThrows(ArithmeticException.class, () -> Money.toMinor(Double.NEGATIVE_INFINITY));
+        assertThrows(ArithmeticException.class, () -> Money.toMinor(1e30));
+        assertNull(Money.toMinor((Double) null));
+    }
+
+    @Test
+    void toUnitsGivesTheSameDoubleAsTheTwoDecimalString() {
+        assertEquals(247676.52, Money.toUnits(24_767_652L));
+        assertEquals(0.1, Money.toUnits(10L));
+        assertEquals(Double.parseDouble("-12.34"), Money.toUnits(-1_234L));
+        assertNull(Money.toUnits((Long) null));
+    }
+
+    @Test
+    void arithmeticIsExactAndFailsOnOverflow() {
+        Money total = Money.ZERO;
+        for (int i = 0; i < 10; i++) total = total.plus(Money.of(0.1));
+
+        assertEquals(Money.of(1.0), total);
+        assertEquals("1.00", total.toString());
+        assertEquals(Money.of(new BigDecimal("2.345")), Money.ofMinor(235));
+        assertEquals(-1, Money.of(0.5).minus(Money.of(0.75)).signum());
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1)));
+        assertThrows(ArithmeticException.class, () -> Money.sum(new long[]{Long.MAX_VALUE, 1}, 0, 2));
+    }
+}
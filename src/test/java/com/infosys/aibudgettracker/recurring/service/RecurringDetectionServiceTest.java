@@ -0,0 +1,28 @@
+package com.infosys.aibudgettracker.recurring.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RecurringDetectionServiceTest {
+
+    @Test
+    void descriptionsGroupByTheirLettersOnly() {
+        assertEquals("netflixcom", RecurringDetectionService.normalize("NETFLIX.COM 8841", "Entertainment"));
+        assertEquals("netflixcom", RecurringDetectionService.normalize("Netflix.com 9910", null));
+        assertEquals("big bazaar", RecurringDetectionService.normalize("  BIG  Bazaar #221", null));
+    }
+
+    @Test
+    void categoryKeyDoesNotDependOnTheDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertEquals("#bills", RecurringDetectionService.normalize("1234", " BILLS "));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.infosys.aibudgettracker.recurring.service;
+
+import com.infosys.aibudgettracker.recurring.model.RecurringPeriod;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecurringDetectorTest {
+
+    private static final int START = (int) LocalDate.of(2026, 1, 5).toEpochDay();
+
+    private final RecurringDetector detector = new RecurringDetector(0.10, 3, 0.7);
+    private final Rows rows = new Rows();
+
+    @Test
+    void monthlyBillIsFoundWithItsSpanAndMeanAmount() {
+        rows.series(0, START, new int[]{31, 28, 31, 30, 31}, 649.0, 649.0, 655.0, 649.0, 649.0, 649.0);
+
+        List<RecurringDetector.Candidate> found = rows.detect(detector, 1);
+
+        assertEquals(1, found.size());
+        RecurringDetector.Candidate c = found.get(0);
+        assertEquals(0, c.group);
+        assertEquals(RecurringPeriod.MONTHLY, c.period);
+        assertEquals(6, c.occurrences);
+        assertEquals(START, c.firstDay);
+        assertEquals(START + 151, c.lastDay);
+        assertEquals(1.0, c.confidence);
+        assertEquals(650.0, c.amount, 1e-9);
+    }
+
+    @Test
+    void weeklyIntervalsWithinTheBandCount() {
+        rows.series(0, START, new int[]{6, 7, 8, 7}, 120.0, 120.0, 118.0, 121.0, 120.0);
+
+        List<RecurringDetector.Candidate> found = rows.detect(detector, 1);
+
+        assertEquals(1, found.size());
+        assertEquals(RecurringPeriod.WEEKLY, found.get(0).period);
+    }
+
+    @Test
+    void amountsFarApartAreSeparateSeriesInOneGroup() {
+        // two plans from the same merchant, each on its own schedule
+        rows.series(0, START, new int[]{30, 30, 30}, 199.0, 199.0, 199.0, 199.0);
+        rows.series(0, START + 3, new int[]{30, 30, 30}, 649.0, 649.0, 649.0, 649.0);
+
+        List<RecurringDetector.Candidate> found = new ArrayList<>(rows.detect(detector, 1));
+        found.sort(Comparator.comparingDouble(c -> c.amount));
+
+        assertEquals(2, found.size());
+        assertEquals(199.0, found.get(0).amount, 1e-9);
+        assertEquals(649.0, found.get(1).amount, 1e-9);
+    }
+
+    @Test
+    void irregularSpendIsNotASeries() {
+        rows.series(0, START, new int[]{3, 19, 44, 9, 71}, 300.0, 300.0, 300.0, 300.0, 300.0, 300.0);
+
+        assertTrue(rows.detect(detector, 1).isEmpty());
+    }
+
+    @Test
+    void lowShareOfIntervalsInTheBandIsRejected() {
+        // the median picks weekly, but only three of five intervals are weekly
+        rows.series(0, START, new int[]{7, 30, 7, 30, 7}, 50.0, 50.0, 50.0, 50.0, 50.0, 50.0);
+
+        assertTrue(rows.detect(detector, 1).isEmpty());
+    }
+
+    @Test
+    void sameDayRowsCountOnce() {
+        rows.add(0, START, 99.0);
+        rows.add(0, START, 99.0);
+        rows.add(0, START + 30, 99.0);
+        rows.add(0, START + 30, 99.0);
+
+        assertTrue(rows.detect(detector, 1).isEmpty());
+    }
+
+    @Test
+    void groupsAreJudgedSeparately() {
+        rows.series(0, START, new int[]{30, 30}, 10.0, 10.0, 10.0);
+        rows.series(1, START + 1, new int[]{5, 40}, 10.0, 10.0, 10.0);
+        rows.series(2, START + 2, new int[]{91, 92}, 5_000.0, 5_000.0, 5_000.0);
+
+        List<RecurringDetector.Candidate> found = rows.detect(detector, 3);
+
+        assertEquals(2, found.size());
+        assertEquals(0, found.get(0).group);
+        assertEquals(RecurringPeriod.MONTHLY, found.get(0).period);
+        assertEquals(2, found.get(1).group);
+        assertEquals(RecurringPeriod.QUARTERLY, found.get(1).period);
+    }
+
+    @Test
+    void singleGroupTestMatchesTheBatch() {
+        rows.series(0, START, new int[]{30, 31, 30, 31}, 649.0, 649.0, 649.0, 649.0, 649.0);
+        int[] all = new int[rows.size];
+        for (int i = 0; i < all.length; i++) all[i] = i;
+
+        List<RecurringDetector.Candidate> batch = rows.detect(detector, 1);
+        List<RecurringDetector.Candidate> single = detector.detectGroup(0, all, 0, all.length, rows.day, rows.amount);
+
+        assertEquals(1, single.size());
+        assertEquals(batch.get(0).period, single.get(0).period);
+        assertEquals(batch.get(0).lastDay, single.get(0).lastDay);
+        assertEquals(batch.get(0).occurrences, single.get(0).occurrences);
+    }
+
+    /** Rows added in any order and put in date order before detection. */
+    private static final class Rows {
+        int size;
+        int[] group = new int[64];
+        int[] day = new int[64];
+        double[] amount = new double[64];
+
+        void add(int g, int d, double a) {
+            group[size] = g;
+            day[size] = d;
+            amount[size] = a;
+            size++;
+        }
+
+        void series(int g, int first, int[] gaps, double... amounts) {
+            int d = first;
+            for (int i = 0; i < amounts.length; i++) {
+                add(g, d, amounts[i]);
+                if (i < gaps.length) d += gaps[i];
+            }
+        }
+
+        List<RecurringDetector.Candidate> detect(RecurringDetector detector, int groups) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparingInt(i -> day[i]));
+            int[] g = new int[size];
+            int[] d = new int[size];
+            double[] a = new double[size];
+            for (int i = 0; i < size; i++) {
+                g[i] = group[order[i]];
+                d[i] = day[order[i]];
+                a[i] = amount[order[i]];
+            }
+            group = g;
+            day = d;
+            amount = a;
+            return detector.detect(size, group, groups, day, amount);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.infosys.aibudgettracker.savingsgoal.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SavingsForecastServiceTest {
+
+    private static final double[] MONTHLY_NET = {850, -300, 1200, 400, 975.5, -1200, 640, 2100, 300, 710, 0, 1500};
+
+    @Test
+    void sameSeedGivesTheSamePathsDespiteParallelChunks() {
+        double[] remaining = {5_000, 20_000, 0};
+
+        int[] first = SavingsForecastService.simulate(MONTHLY_NET, remaining, 10_000, 240, new SplittableRandom(42));
+        int[] second = SavingsForecastService.simulate(MONTHLY_NET, remaining, 10_000, 240, new SplittableRandom(42));
+
+        assertArrayEquals(first, second);
+    }
+
+    @Test
+    void hitMonthsFollowTheSavedAmount() {
+        double[] remaining = {1_000, 0, 10_000};
+
+        // a constant 300 a month reaches 1,000 in month 4, and never reaches 10,000 within 24 months
+        int[] hits = SavingsForecastService.simulate(new double[]{300}, remaining, 600, 24, new SplittableRandom(1));
+
+        for (int p = 0; p < 600; p++) {
+            assertEquals(4, hits[p]);
+            assertEquals(0, hits[600 + p]);
+            assertEquals(25, hits[1200 + p]);
+        }
+    }
+}
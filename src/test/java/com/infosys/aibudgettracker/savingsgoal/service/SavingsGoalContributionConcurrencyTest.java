@@ -0,0 +1,90 @@
+package com.infosys.aibudgettracker.savingsgoal.service;
+
+import com.infosys.aibudgettracker.money.Money;
+import com.infosys.aibudgettracker.savingsgoal.dto.SavingsContributionResponse;
+import com.infosys.aibudgettracker.savingsgoal.dto.SavingsGoalRequest;
+import com.infosys.aibudgettracker.savingsgoal.model.SavingsGoal;
+import com.infosys.aibudgettracker.savingsgoal.repository.SavingsContributionRepository;
+import com.infosys.aibudgettracker.savingsgoal.repository.SavingsGoalRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class SavingsGoalContributionConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int CONTRIBUTIONS_PER_THREAD = 25;
+
+    @Autowired
+    private SavingsGoalService savingsGoalService;
+
+    @Autowired
+    private SavingsGoalRepository savingsGoalRepository;
+
+    @Autowired
+    private SavingsContributionRepository contributionRepository;
+
+    @Test
+    void concurrentContributionsAreNeverLost() throws Exception {
+        SavingsGoal goal = new SavingsGoal();
+        goal.setUserId(42L);
+        goal.setName("Emergency fund");
+        goal.setTargetAmount(1_000_000.0);
+        goal.setCurrentAmount(100.0);
+        Long goalId = savingsGoalRepository.save(goal).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < CONTRIBUTIONS_PER_THREAD; i++) {
+                    savingsGoalService.addToSavingsGoal(goalId, 42L, 1.0);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        pool.shutdown();
+
+        int expected = THREADS * CONTRIBUTIONS_PER_THREAD;
+        SavingsGoal reloaded = savingsGoalRepository.findById(goalId).orElseThrow();
+        assertEquals(100.0 + expected, reloaded.getCurrentAmount(), 1e-9);
+        assertEquals(expected, contributionRepository.countByGoalId(goalId));
+        assertEquals(expected, savingsGoalService.getContributions(goalId, 42L).size());
+    }
+
+    @Test
+    void ledgerSumsToCurrentAmountWhenTheAmountIsSet() {
+        SavingsGoalRequest request = new SavingsGoalRequest();
+        request.setName("Holiday");
+        request.setTargetAmount(2_000.0);
+        request.setCurrentAmount(250.10);
+        Long goalId = savingsGoalService.createSavingsGoal(43L, request).getId();
+
+        savingsGoalService.addToSavingsGoal(goalId, 43L, 49.90);
+        request.setCurrentAmount(120.0);
+        savingsGoalService.updateSavingsGoal(goalId, 43L, request);
+
+        List<SavingsContributionResponse> ledger = savingsGoalService.getContributions(goalId, 43L);
+        assertEquals(3, ledger.size());
+        assertEquals(12_000L, ledger.stream().mapToLong(c -> Money.toMinor(c.getAmount())).sum());
+        assertEquals(120.0, savingsGoalRepository.findById(goalId).orElseThrow().getCurrentAmount(), 1e-9);
+    }
+}
@@ -0,0 +1,64 @@
+package com.infosys.aibudgettracker.savingsgoal.service;
+
+import com.infosys.aibudgettracker.savingsgoal.model.SavingsGoal;
+import com.infosys.aibudgettracker.savingsgoal.model.SweepAllocationRule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class SavingsSweepServiceTest {
+
+    @Test
+    void proportionalSharesAddUpToTheSurplusExactly() {
+        List<SavingsGoal> goals = List.of(goal(100_00, 0, null, null), goal(100_00, 0, null, null), goal(100_00, 0, null, null));
+
+        // 100.00 over three equal needs: 33.33 each and the spare paisa to one goal
+        long[] amounts = SavingsSweepService.allocate(goals, 100_00, SweepAllocationRule.PROPORTIONAL);
+
+        assertArrayEquals(new long[]{33_34, 33_33, 33_33}, amounts);
+    }
+
+    @Test
+    void proportionalRemainderGoesToTheGoalWithTheMostRoom() {
+        List<SavingsGoal> goals = List.of(goal(1_000, 0, null, null), goal(7_001, 1, null, null), goal(3_000, 0, null, null));
+
+        long[] amounts = SavingsSweepService.allocate(goals, 5_501, SweepAllocationRule.PROPORTIONAL);
+
+        // needs 1000, 7000, 3000 of 11000: floors 500, 3500, 1500 leave 1 for the largest need
+        assertArrayEquals(new long[]{500, 3_501, 1_500}, amounts);
+    }
+
+    @Test
+    void surplusAboveTheTotalNeedFillsEveryGoal() {
+        List<SavingsGoal> goals = List.of(goal(5_000, 4_999, null, null), goal(2_000, 2_500, null, null), goal(300, 0, null, null));
+
+        assertArrayEquals(new long[]{1, 0, 300},
+                SavingsSweepService.allocate(goals, 1_000_000, SweepAllocationRule.PROPORTIONAL));
+    }
+
+    @Test
+    void sequentialRulesFillInOrderWithoutRounding() {
+        LocalDate soon = LocalDate.of(2027, 1, 1);
+        LocalDate later = LocalDate.of(2028, 1, 1);
+        List<SavingsGoal> goals = List.of(goal(10_000, 0, later, 1), goal(3_333, 0, soon, 2), goal(5_000, 0, null, 1));
+
+        assertArrayEquals(new long[]{5_667, 3_333, 0},
+                SavingsSweepService.allocate(goals, 9_000, SweepAllocationRule.EARLIEST_DEADLINE));
+        assertArrayEquals(new long[]{9_000, 0, 0},
+                SavingsSweepService.allocate(goals, 9_000, SweepAllocationRule.PRIORITY));
+        assertArrayEquals(new long[]{0, 0, 0},
+                SavingsSweepService.allocate(goals, -50, SweepAllocationRule.PRIORITY));
+    }
+
+    private static SavingsGoal goal(long targetMinor, long currentMinor, LocalDate targetDate, Integer priority) {
+        SavingsGoal g = new SavingsGoal();
+        g.setTargetAmountMinor(targetMinor);
+        g.setCurrentAmountMinor(currentMinor);
+        g.setTargetDate(targetDate);
+        g.setPriority(priority);
+        return g;
+    }
+}
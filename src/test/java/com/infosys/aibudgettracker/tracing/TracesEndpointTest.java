@@ -0,0 +1,17 @@
+package com.infosys.aibudgettracker.tracing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TracesEndpointTest {
+
+    @Test
+    void negativeLimitListsNothingInsteadOfFailing() {
+        TracesEndpoint endpoint = new TracesEndpoint();
+        ReflectionTestUtils.setField(endpoint, "recentTraces", new RecentTraces(10, 10));
+
+        assertTrue(endpoint.slowest(-3).isEmpty());
+    }
+}